@@ -0,0 +1,43 @@
+package com.example.spring_claude_demo.archive;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Period;
+
+@ConfigurationProperties(prefix = "app.archive")
+public class ArchiveProperties {
+
+    // Scheduled runs (app.archive.interval); POST /api/employees/archive works either way.
+    // Off by default: a run moves rows out of the table that plain reads see
+    private boolean enabled = false;
+
+    // Employees terminated longer ago than this are moved to archived_employees
+    private Period retention = Period.ofYears(1);
+
+    // Rows moved per transaction, so locks and undo stay short while the API keeps serving
+    private int batchSize = 500;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Period getRetention() {
+        return retention;
+    }
+
+    public void setRetention(Period retention) {
+        this.retention = retention;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
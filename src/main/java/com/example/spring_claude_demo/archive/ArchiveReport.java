@@ -0,0 +1,6 @@
+package com.example.spring_claude_demo.archive;
+
+// Outcome of an archive run, with the table sizes afterwards (summed over shards)
+public record ArchiveReport(int archived, int batches, long activeEmployees, long archivedEmployees,
+                            double durationMillis) {
+}
@@ -0,0 +1,167 @@
+package com.example.spring_claude_demo.archive;
+
+import com.example.spring_claude_demo.event.EmployeeChangeEvent;
+import com.example.spring_claude_demo.event.EmployeeChangeType;
+import com.example.spring_claude_demo.model.ArchivedEmployee;
+import com.example.spring_claude_demo.model.Employee;
+import com.example.spring_claude_demo.model.EmployeeTombstone;
+import com.example.spring_claude_demo.repository.ArchivedEmployeeRepository;
+import com.example.spring_claude_demo.repository.EmployeeRepository;
+import com.example.spring_claude_demo.repository.EmployeeTombstoneRepository;
+import com.example.spring_claude_demo.sharding.ShardRouter;
+import com.example.spring_claude_demo.sync.ChangeSequence;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Hot/cold split: moves employees terminated longer ago than the retention from employees to
+// archived_employees, in small batches on each shard. Each batch is one transaction that copies
+// the rows, deletes them through JPA (so the response cache, id filter, off-heap tier and
+// second-level cache drop them) and writes tombstones, so delta sync clients see them leave.
+@Component
+@EnableConfigurationProperties(ArchiveProperties.class)
+public class EmployeeArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeArchiver.class);
+
+    private final EmployeeRepository employeeRepository;
+    private final ArchivedEmployeeRepository archivedRepository;
+    private final EmployeeTombstoneRepository tombstoneRepository;
+    private final ChangeSequence changeSequence;
+    private final ShardRouter shardRouter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ArchiveProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    // One run at a time, whether scheduled or requested
+    private final ReentrantLock running = new ReentrantLock();
+
+    private final Counter archivedCounter;
+    private final Timer batchTimer;
+
+    // Table sizes as of the last run or stats call, so the gauges never query
+    private volatile long activeEmployees;
+    private volatile long archivedEmployees;
+
+    public EmployeeArchiver(EmployeeRepository employeeRepository, ArchivedEmployeeRepository archivedRepository,
+                            EmployeeTombstoneRepository tombstoneRepository, ChangeSequence changeSequence,
+                            ShardRouter shardRouter, ApplicationEventPublisher eventPublisher,
+                            ArchiveProperties properties, PlatformTransactionManager transactionManager,
+                            DataSource dataSource, MeterRegistry meterRegistry) {
+        this.employeeRepository = employeeRepository;
+        this.archivedRepository = archivedRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.changeSequence = changeSequence;
+        this.shardRouter = shardRouter;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+
+        this.archivedCounter = Counter.builder("employee.archive.archived")
+                .description("Former employees moved to the archive table")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("employee.archive.batch")
+                .description("Time spent moving one batch of employees to the archive table")
+                .register(meterRegistry);
+        Gauge.builder("employee.archive.rows", this, archiver -> archiver.activeEmployees)
+                .tag("table", "employees")
+                .description("Rows in the employee tables as of the last archive run")
+                .register(meterRegistry);
+        Gauge.builder("employee.archive.rows", this, archiver -> archiver.archivedEmployees)
+                .tag("table", "archived_employees")
+                .description("Rows in the employee tables as of the last archive run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.archive.interval:PT1H}", initialDelayString = "${app.archive.initial-delay:PT5M}")
+    public void archiveScheduled() {
+        if (properties.isEnabled()) {
+            ArchiveReport report = archive();
+            if (report.archived() > 0) {
+                log.info("Archived {} former employees in {} batches ({} ms)", report.archived(), report.batches(),
+                        Math.round(report.durationMillis()));
+            }
+        }
+    }
+
+    public ArchiveReport archive() {
+        running.lock();
+        try {
+            long start = System.nanoTime();
+            LocalDate cutoff = LocalDate.now().minus(properties.getRetention());
+            Pageable batch = PageRequest.of(0, Math.max(1, properties.getBatchSize()), Sort.by("id"));
+            int archived = 0;
+            int batches = 0;
+            for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+                int moved;
+                do {
+                    moved = shardRouter.onShard(shard, () -> batchTimer.record(() -> moveBatch(cutoff, batch)));
+                    archived += moved;
+                    batches += moved > 0 ? 1 : 0;
+                } while (moved == batch.getPageSize());
+            }
+            ArchiveReport sizes = stats();
+            return new ArchiveReport(archived, batches, sizes.activeEmployees(), sizes.archivedEmployees(),
+                    (System.nanoTime() - start) / 1_000_000.0);
+        } finally {
+            running.unlock();
+        }
+    }
+
+    // Current table sizes, summed over shards
+    public ArchiveReport stats() {
+        long active = 0;
+        long archived = 0;
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            long[] counts = shardRouter.onShard(shard, () -> new long[]{
+                    jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employees", Long.class),
+                    jdbcTemplate.queryForObject("SELECT COUNT(*) FROM archived_employees", Long.class)});
+            active += counts[0];
+            archived += counts[1];
+        }
+        activeEmployees = active;
+        archivedEmployees = archived;
+        return new ArchiveReport(0, 0, active, archived, 0);
+    }
+
+    private int moveBatch(LocalDate cutoff, Pageable batch) {
+        Integer moved = transactionTemplate.execute(status -> {
+            List<Employee> employees = employeeRepository.findByTerminationDateBefore(cutoff, batch);
+            if (employees.isEmpty()) {
+                return 0;
+            }
+            Instant now = Instant.now();
+            archivedRepository.saveAll(employees.stream().map(employee -> ArchivedEmployee.of(employee, now)).toList());
+            employeeRepository.deleteAll(employees);
+            tombstoneRepository.saveAll(employees.stream()
+                    .map(employee -> new EmployeeTombstone(employee.getId(), changeSequence.next(), now))
+                    .toList());
+            employees.forEach(employee -> eventPublisher.publishEvent(
+                    new EmployeeChangeEvent(EmployeeChangeType.DELETED, employee)));
+            return employees.size();
+        });
+        archivedCounter.increment(moved);
+        return moved;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.spring_claude_demo.arrow;
+
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+// POST /actuator/arrowexport writes a full Arrow file export now, without waiting for the schedule.
+// A management endpoint rather than an API route: it makes the server write every employee to its
+// disk, so it is only reachable where management.endpoints.web.exposure.include lists it.
+@Component
+@WebEndpoint(id = "arrowexport")
+public class ArrowExportEndpoint {
+
+    private final EmployeeArrowExporter exporter;
+
+    public ArrowExportEndpoint(EmployeeArrowExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    @WriteOperation
+    public ArrowExportReport export() throws IOException {
+        return exporter.exportFile();
+    }
+}
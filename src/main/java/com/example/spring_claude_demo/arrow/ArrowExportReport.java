@@ -0,0 +1,5 @@
+package com.example.spring_claude_demo.arrow;
+
+// Outcome of a file export: the file written, rows and record batches in it, and its size
+public record ArrowExportReport(String file, long rows, int batches, long bytes, double durationMillis) {
+}
@@ -0,0 +1,53 @@
+package com.example.spring_claude_demo.arrow;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.arrow")
+public class ArrowProperties {
+
+    // Rows per record batch, also the JDBC fetch size; an export holds one batch in memory at a time
+    private int batchSize = 8192;
+
+    // Scheduled file exports (app.arrow.export-interval); POST /actuator/arrowexport works either way
+    private boolean exportEnabled = false;
+
+    private Duration exportInterval = Duration.ofHours(24);
+
+    // Where file exports are written, as employees-<timestamp>.arrow
+    private Path exportDirectory = Path.of("exports");
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public boolean isExportEnabled() {
+        return exportEnabled;
+    }
+
+    public void setExportEnabled(boolean exportEnabled) {
+        this.exportEnabled = exportEnabled;
+    }
+
+    public Duration getExportInterval() {
+        return exportInterval;
+    }
+
+    public void setExportInterval(Duration exportInterval) {
+        this.exportInterval = exportInterval;
+    }
+
+    public Path getExportDirectory() {
+        return exportDirectory;
+    }
+
+    public void setExportDirectory(Path exportDirectory) {
+        this.exportDirectory = exportDirectory;
+    }
+}
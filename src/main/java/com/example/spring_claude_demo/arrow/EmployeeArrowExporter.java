@@ -0,0 +1,293 @@
+package com.example.spring_claude_demo.arrow;
+
+import com.example.spring_claude_demo.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.ipc.ArrowWriter;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+// Columnar export of the employees table as Arrow IPC, for pandas, Spark or DuckDB consumers.
+// Each shard is read with one forward-only JDBC cursor whose rows are copied into a single set
+// of vectors; every app.arrow.batch-size rows the vectors are written out as a record batch and
+// reset, so an export holds one batch in memory however large the table is. The stream format
+// backs GET /api/employees/arrow, the file format (with a footer for random access) the export job.
+@Component
+@EnableConfigurationProperties(ArrowProperties.class)
+public class EmployeeArrowExporter implements DisposableBean {
+
+    public static final String STREAM_VALUE = "application/vnd.apache.arrow.stream";
+
+    // Same names as the JSON representation, so a client switching over keeps its column names
+    public static final Schema SCHEMA = new Schema(List.of(
+            new Field("id", FieldType.notNullable(new ArrowType.Int(64, true)), null),
+            utf8("firstName"),
+            utf8("lastName"),
+            utf8("email"),
+            utf8("phoneNumber"),
+            utf8("position"),
+            new Field("salary", FieldType.nullable(new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE)), null),
+            date("hireDate"),
+            date("terminationDate")));
+
+    // Column order matches SCHEMA
+    private static final String SELECT_EMPLOYEES = "SELECT id, first_name, last_name, email, phone_number, position, "
+            + "salary, hire_date, termination_date FROM employees";
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeArrowExporter.class);
+
+    private final ShardRouter shardRouter;
+    private final ArrowProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final BufferAllocator allocator = new RootAllocator();
+
+    // One file export at a time, whether scheduled or requested
+    private final ReentrantLock exporting = new ReentrantLock();
+
+    private final Counter streamedRows;
+    private final Counter exportedRows;
+    private final Timer fileTimer;
+
+    public EmployeeArrowExporter(ShardRouter shardRouter, ArrowProperties properties, DataSource dataSource,
+                                 MeterRegistry meterRegistry) {
+        this.shardRouter = shardRouter;
+        this.properties = properties;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // Drivers that stream results (PostgreSQL inside a transaction, MySQL with cursor fetch) then
+        // hold one batch of rows; H2 spills results beyond its MAX_MEMORY_ROWS to disk instead
+        jdbcTemplate.setFetchSize(Math.max(1, properties.getBatchSize()));
+
+        this.streamedRows = Counter.builder("employee.arrow.rows")
+                .tag("format", "stream")
+                .description("Employee rows written as Arrow record batches")
+                .register(meterRegistry);
+        this.exportedRows = Counter.builder("employee.arrow.rows")
+                .tag("format", "file")
+                .description("Employee rows written as Arrow record batches")
+                .register(meterRegistry);
+        this.fileTimer = Timer.builder("employee.arrow.export")
+                .description("Time spent writing an Arrow export file")
+                .register(meterRegistry);
+        Gauge.builder("employee.arrow.memory", allocator, BufferAllocator::getAllocatedMemory)
+                .description("Off-heap memory held by Arrow exports in progress")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    private static Field utf8(String name) {
+        return new Field(name, FieldType.nullable(ArrowType.Utf8.INSTANCE), null);
+    }
+
+    private static Field date(String name) {
+        return new Field(name, FieldType.nullable(new ArrowType.Date(DateUnit.DAY)), null);
+    }
+
+    // Writes every employee to out in the Arrow streaming format; out is left open
+    public long writeStream(OutputStream out) throws IOException {
+        long rows = write("employee-arrow-stream",
+                root -> new ArrowStreamWriter(root, null, Channels.newChannel(StreamUtils.nonClosing(out)))).rows();
+        streamedRows.increment(rows);
+        return rows;
+    }
+
+    @Scheduled(fixedDelayString = "${app.arrow.export-interval:PT24H}", initialDelayString = "${app.arrow.export-interval:PT24H}")
+    public void exportScheduled() {
+        if (properties.isExportEnabled()) {
+            try {
+                ArrowExportReport report = exportFile();
+                log.info("Exported {} employees in {} batches to {} ({} ms)", report.rows(), report.batches(),
+                        report.file(), Math.round(report.durationMillis()));
+            } catch (IOException | RuntimeException ex) {
+                log.error("Arrow export failed", ex);
+            }
+        }
+    }
+
+    // Writes every employee to a new file in app.arrow.export-directory. The file only appears
+    // under its final name once complete, so consumers polling the directory never see a partial one.
+    public ArrowExportReport exportFile() throws IOException {
+        exporting.lock();
+        try {
+            long start = System.nanoTime();
+            Path directory = properties.getExportDirectory();
+            Files.createDirectories(directory);
+            Path target = directory.resolve("employees-" + FILE_TIMESTAMP.format(LocalDateTime.now()) + ".arrow");
+            Path partial = directory.resolve(target.getFileName() + ".partial");
+            Written written;
+            try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                written = write("employee-arrow-file", root -> new ArrowFileWriter(root, null, channel));
+            } catch (IOException | RuntimeException ex) {
+                Files.deleteIfExists(partial);
+                throw ex;
+            }
+            Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            long nanos = System.nanoTime() - start;
+            fileTimer.record(nanos, TimeUnit.NANOSECONDS);
+            exportedRows.increment(written.rows());
+            return new ArrowExportReport(target.toString(), written.rows(), written.batches(), Files.size(target),
+                    nanos / 1_000_000.0);
+        } finally {
+            exporting.unlock();
+        }
+    }
+
+    private record Written(long rows, int batches) {
+    }
+
+    private Written write(String name, Function<VectorSchemaRoot, ArrowWriter> writerFactory) throws IOException {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        try (BufferAllocator exportAllocator = allocator.newChildAllocator(name, 0, Long.MAX_VALUE);
+             VectorSchemaRoot root = VectorSchemaRoot.create(SCHEMA, exportAllocator);
+             ArrowWriter writer = writerFactory.apply(root)) {
+            BatchWriter batches = new BatchWriter(root, writer, batchSize);
+            writer.start();
+            try {
+                for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+                    shardRouter.onShard(shard, () -> {
+                        jdbcTemplate.query(SELECT_EMPLOYEES, batches);
+                        return null;
+                    });
+                }
+                batches.flush();
+            } catch (UncheckedIOException ex) {
+                // Usually the client went away mid-stream
+                throw ex.getCause();
+            }
+            writer.end();
+            return new Written(batches.rows, batches.count);
+        }
+    }
+
+    // Copies rows into the vectors of root and writes them out every batchSize rows
+    private static final class BatchWriter implements RowCallbackHandler {
+
+        private final VectorSchemaRoot root;
+        private final ArrowWriter writer;
+        private final int batchSize;
+        private final BigIntVector id;
+        private final VarCharVector[] texts;
+        private final Float8Vector salary;
+        private final DateDayVector hireDate;
+        private final DateDayVector terminationDate;
+        private int size;
+        private long rows;
+        private int count;
+
+        BatchWriter(VectorSchemaRoot root, ArrowWriter writer, int batchSize) {
+            this.root = root;
+            this.writer = writer;
+            this.batchSize = batchSize;
+            List<FieldVector> vectors = root.getFieldVectors();
+            this.id = (BigIntVector) vectors.get(0);
+            this.texts = vectors.subList(1, 6).toArray(VarCharVector[]::new);
+            this.salary = (Float8Vector) vectors.get(6);
+            this.hireDate = (DateDayVector) vectors.get(7);
+            this.terminationDate = (DateDayVector) vectors.get(8);
+            vectors.forEach(vector -> vector.setInitialCapacity(batchSize));
+            root.allocateNew();
+        }
+
+        @Override
+        public void processRow(ResultSet row) throws SQLException {
+            id.setSafe(size, row.getLong(1));
+            for (int i = 0; i < texts.length; i++) {
+                String text = row.getString(2 + i);
+                if (text == null) {
+                    texts[i].setNull(size);
+                } else {
+                    texts[i].setSafe(size, text.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            double value = row.getDouble(7);
+            if (row.wasNull()) {
+                salary.setNull(size);
+            } else {
+                salary.setSafe(size, value);
+            }
+            setDate(hireDate, row.getObject(8, LocalDate.class));
+            setDate(terminationDate, row.getObject(9, LocalDate.class));
+            if (++size == batchSize) {
+                flush();
+            }
+        }
+
+        private void setDate(DateDayVector vector, LocalDate date) {
+            if (date == null) {
+                vector.setNull(size);
+            } else {
+                vector.setSafe(size, Math.toIntExact(date.toEpochDay()));
+            }
+        }
+
+        void flush() {
+            if (size == 0) {
+                return;
+            }
+            root.setRowCount(size);
+            try {
+                writer.writeBatch();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            rows += size;
+            count++;
+            size = 0;
+            // Keeps the buffers, so the next batch reuses the same memory
+            root.getFieldVectors().forEach(FieldVector::reset);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        allocator.close();
+    }
+}
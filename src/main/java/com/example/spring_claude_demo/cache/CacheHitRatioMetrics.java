@@ -0,0 +1,44 @@
+package com.example.spring_claude_demo.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+// Hit ratio per cache region; hibernate-micrometer already publishes the raw hit/miss/put counters
+@Component
+public class CacheHitRatioMetrics {
+
+    private final Statistics statistics;
+
+    public CacheHitRatioMetrics(EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Gauge.builder("employee.cache.hit.ratio", this, metrics -> metrics.entityHitRatio())
+                .description("Second-level cache hit ratio for employee entities")
+                .tag("region", CacheRegions.EMPLOYEES)
+                .register(meterRegistry);
+        Gauge.builder("employee.cache.hit.ratio", this, metrics -> metrics.queryHitRatio())
+                .description("Query cache hit ratio for the employee finder queries")
+                .tag("region", CacheRegions.EMPLOYEE_QUERIES)
+                .register(meterRegistry);
+    }
+
+    public double entityHitRatio() {
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(CacheRegions.EMPLOYEES);
+        return region == null ? Double.NaN : ratio(region.getHitCount(), region.getMissCount());
+    }
+
+    public double queryHitRatio() {
+        CacheRegionStatistics region = statistics.getQueryRegionStatistics(CacheRegions.EMPLOYEE_QUERIES);
+        return region == null ? Double.NaN : ratio(region.getHitCount(), region.getMissCount());
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? Double.NaN : (double) hits / total;
+    }
+}
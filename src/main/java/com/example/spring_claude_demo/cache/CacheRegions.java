@@ -0,0 +1,18 @@
+package com.example.spring_claude_demo.cache;
+
+// Hibernate second-level cache region names
+public final class CacheRegions {
+
+    // Employee entities by id
+    public static final String EMPLOYEES = "employees";
+
+    // Result id lists of the cacheable derived queries in EmployeeRepository
+    public static final String EMPLOYEE_QUERIES = "employee-queries";
+
+    // Last write time per table; Hibernate checks it to discard stale query results,
+    // so it must never expire or evict
+    public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    private CacheRegions() {
+    }
+}
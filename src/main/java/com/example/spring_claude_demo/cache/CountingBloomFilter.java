@@ -0,0 +1,101 @@
+package com.example.spring_claude_demo.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Counting Bloom filter over long keys: 4-bit counters, sixteen to a long, updated with CAS so
+// readers and writers never lock. Unlike a plain Bloom filter it supports remove(), as long as
+// every remove matches an earlier add. A counter that reaches 15 sticks there, trading a
+// permanent false positive on that slot for never producing a false negative.
+class CountingBloomFilter {
+
+    private static final int COUNTERS_PER_LONG = 16;
+    private static final long SATURATED = 0xF;
+
+    private final AtomicLongArray counters;
+    private final long counterCount;
+    private final int hashCount;
+
+    CountingBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+        // Standard sizing: m = -n ln p / (ln 2)^2 counters and k = m/n ln 2 hash functions
+        long slots = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int longs = Math.toIntExact((slots + COUNTERS_PER_LONG - 1) / COUNTERS_PER_LONG);
+        this.counters = new AtomicLongArray(longs);
+        this.counterCount = (long) longs * COUNTERS_PER_LONG;
+        this.hashCount = Math.max(1, (int) Math.round((double) slots / expectedInsertions * Math.log(2)));
+    }
+
+    void add(long key) {
+        long hash = LongHashing.mix(key);
+        for (int i = 0; i < hashCount; i++) {
+            increment(index(hash, i));
+        }
+    }
+
+    void remove(long key) {
+        long hash = LongHashing.mix(key);
+        for (int i = 0; i < hashCount; i++) {
+            decrement(index(hash, i));
+        }
+    }
+
+    boolean mightContain(long key) {
+        long hash = LongHashing.mix(key);
+        for (int i = 0; i < hashCount; i++) {
+            if (counter(index(hash, i)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long sizeInBytes() {
+        return (long) counters.length() * Long.BYTES;
+    }
+
+    private long counter(long index) {
+        return (counters.get((int) (index / COUNTERS_PER_LONG)) >>> shift(index)) & SATURATED;
+    }
+
+    private void increment(long index) {
+        int slot = (int) (index / COUNTERS_PER_LONG);
+        int shift = shift(index);
+        long current;
+        do {
+            current = counters.get(slot);
+            if (((current >>> shift) & SATURATED) == SATURATED) {
+                return;
+            }
+        } while (!counters.compareAndSet(slot, current, current + (1L << shift)));
+    }
+
+    private void decrement(long index) {
+        int slot = (int) (index / COUNTERS_PER_LONG);
+        int shift = shift(index);
+        long current;
+        do {
+            current = counters.get(slot);
+            long value = (current >>> shift) & SATURATED;
+            // A saturated counter no longer knows how many keys it holds, so it is never lowered
+            if (value == 0 || value == SATURATED) {
+                return;
+            }
+        } while (!counters.compareAndSet(slot, current, current - (1L << shift)));
+    }
+
+    private static int shift(long index) {
+        return (int) (index % COUNTERS_PER_LONG) * 4;
+    }
+
+    // Double hashing (Kirsch-Mitzenmacher): the i-th index is h1 + i * h2
+    private long index(long hash, int i) {
+        long h1 = hash & 0xFFFFFFFFL;
+        long h2 = (hash >>> 32) | 1;
+        return Math.floorMod(h1 + i * h2, counterCount);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.spring_claude_demo.cache;
+
+import com.example.spring_claude_demo.model.Employee;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+// Evicts second-level and off-heap cache entries for employee writes that bypass Hibernate
+// (R2DBC, plain JDBC). Writes through JPA are already handled by Hibernate itself and by
+// EmployeeRecordCacheListener.
+@Component
+public class EmployeeCacheEvictor {
+
+    private final SessionFactory sessionFactory;
+    private final EmployeeRecordCache recordCache;
+
+    public EmployeeCacheEvictor(EntityManagerFactory entityManagerFactory, EmployeeRecordCache recordCache) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.recordCache = recordCache;
+    }
+
+    public void evict(Long employeeId) {
+        sessionFactory.getCache().evictEntityData(Employee.class, employeeId);
+        sessionFactory.getCache().evictQueryRegion(CacheRegions.EMPLOYEE_QUERIES);
+        recordCache.invalidate(employeeId);
+    }
+
+    // Batch variant: the query region is dropped once rather than per employee
+    public void evict(Collection<Long> employeeIds) {
+        employeeIds.forEach(id -> {
+            sessionFactory.getCache().evictEntityData(Employee.class, id);
+            recordCache.invalidate(id);
+        });
+        sessionFactory.getCache().evictQueryRegion(CacheRegions.EMPLOYEE_QUERIES);
+    }
+
+    public void evictAll() {
+        sessionFactory.getCache().evictEntityData(Employee.class);
+        sessionFactory.getCache().evictQueryRegion(CacheRegions.EMPLOYEE_QUERIES);
+        recordCache.invalidateAll();
+    }
+}
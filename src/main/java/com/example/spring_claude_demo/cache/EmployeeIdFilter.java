@@ -0,0 +1,106 @@
+package com.example.spring_claude_demo.cache;
+
+import com.example.spring_claude_demo.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+
+// Negative-lookup cache for employee ids: a "no" from the filter is definite, so lookups for
+// ids that never existed or were deleted are answered without a connection or a query.
+// Definite only while this instance is the sole writer, hence off unless app.id-filter.enabled;
+// when off every id might exist and lookups go to the database.
+// Loaded from every shard at startup, then kept current by EmployeeIdFilterListener (JPA writes)
+// and ReactiveEmployeeService (R2DBC writes). Ids are added before commit and removed after it,
+// so the filter can be briefly too permissive but never hides a committed row.
+@Component
+@EnableConfigurationProperties(IdFilterProperties.class)
+public class EmployeeIdFilter implements InitializingBean {
+
+    private final ShardRouter shardRouter;
+    private final JdbcTemplate jdbcTemplate;
+    private final CountingBloomFilter filter;
+    private final Counter rejections;
+
+    // Until the initial load has finished every id might exist
+    private volatile boolean loaded;
+
+    public EmployeeIdFilter(IdFilterProperties properties, ShardRouter shardRouter, DataSource dataSource,
+                            MeterRegistry meterRegistry) {
+        this.shardRouter = shardRouter;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.filter = properties.isEnabled()
+                ? new CountingBloomFilter(properties.getExpectedInsertions(), properties.getFalsePositiveRate())
+                : null;
+
+        this.rejections = Counter.builder("employee.id.filter.rejections")
+                .description("Employee lookups answered as not found without querying the database")
+                .register(meterRegistry);
+        Gauge.builder("employee.id.filter.memory", this, idFilter -> idFilter.filter == null ? 0 : idFilter.filter.sizeInBytes())
+                .description("Heap used by the employee id filter")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        reload();
+    }
+
+    // Adds every stored id again, e.g. after missing invalidations from another instance. Ids that
+    // were already present are counted twice, which only makes the filter more permissive.
+    public void reload() {
+        if (filter == null) {
+            return;
+        }
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            shardRouter.onShard(shard, () -> {
+                jdbcTemplate.query("SELECT id FROM employees", (RowCallbackHandler) row -> filter.add(row.getLong(1)));
+                return null;
+            });
+        }
+        loaded = true;
+    }
+
+    public boolean mightContain(Long id) {
+        if (filter == null || !loaded || id == null) {
+            return true;
+        }
+        if (filter.mightContain(id)) {
+            return true;
+        }
+        rejections.increment();
+        return false;
+    }
+
+    public void add(Long id) {
+        if (filter != null && id != null) {
+            filter.add(id);
+        }
+    }
+
+    // Removed once the delete has committed; a rollback leaves the id in place
+    public void removeAfterCommit(Long id) {
+        if (filter == null || id == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            filter.remove(id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                filter.remove(id);
+            }
+        });
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.spring_claude_demo.cache;
+
+import com.example.spring_claude_demo.model.Employee;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+// Keeps EmployeeIdFilter in step with every JPA insert and delete, whether it comes through
+// EmployeeService or straight from a repository
+@Component
+public class EmployeeIdFilterListener {
+
+    // Resolved lazily, Hibernate creates this listener while the EntityManagerFactory is being built
+    private final ObjectProvider<EmployeeIdFilter> idFilter;
+
+    public EmployeeIdFilterListener(ObjectProvider<EmployeeIdFilter> idFilter) {
+        this.idFilter = idFilter;
+    }
+
+    @PostPersist
+    public void added(Employee employee) {
+        idFilter.getObject().add(employee.getId());
+    }
+
+    @PostRemove
+    public void removed(Employee employee) {
+        idFilter.getObject().removeAfterCommit(employee.getId());
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.spring_claude_demo.cache;
+
+import com.example.spring_claude_demo.model.Employee;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Optional off-heap read tier for single-employee lookups, in front of the second-level cache.
+// Entries are dropped after every committed update or delete (EmployeeRecordCacheListener for
+// JPA, EmployeeCacheEvictor for R2DBC writes). A reader that loaded an employee before such a
+// write passes the stamp it took before loading, and its put is undone if an invalidation
+// happened in between.
+@Component
+@EnableConfigurationProperties(OffHeapCacheProperties.class)
+public class EmployeeRecordCache implements DisposableBean {
+
+    private final OffHeapEmployeeStore store;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    public EmployeeRecordCache(OffHeapCacheProperties properties, MeterRegistry meterRegistry) {
+        this.store = properties.isEnabled()
+                ? new OffHeapEmployeeStore(Math.toIntExact(properties.getSlabSize().toBytes()), properties.getMaxSlabs(),
+                        properties.getCompactionThreshold(), properties.getExpectedEntries(), properties.getDirectory())
+                : null;
+
+        this.hits = Counter.builder("employee.offheap.lookups").tag("result", "hit")
+                .description("Employee lookups against the off-heap cache, by result")
+                .register(meterRegistry);
+        this.misses = Counter.builder("employee.offheap.lookups").tag("result", "miss")
+                .description("Employee lookups against the off-heap cache, by result")
+                .register(meterRegistry);
+        if (store != null) {
+            Gauge.builder("employee.offheap.entries", store, s -> s.stats().entries())
+                    .description("Employees held off-heap")
+                    .register(meterRegistry);
+            Gauge.builder("employee.offheap.memory", store, s -> s.stats().allocatedBytes())
+                    .description("Off-heap memory allocated for employee slabs")
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+            Gauge.builder("employee.offheap.live", store, s -> s.stats().liveBytes())
+                    .description("Slab bytes holding current employee records")
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+            FunctionCounter.builder("employee.offheap.compactions", store, s -> s.stats().compactions())
+                    .description("Slabs compacted to reclaim dead records")
+                    .register(meterRegistry);
+            FunctionCounter.builder("employee.offheap.evictions", store, s -> s.stats().evictions())
+                    .description("Employees evicted with their slab")
+                    .register(meterRegistry);
+        }
+    }
+
+    public boolean isEnabled() {
+        return store != null;
+    }
+
+    public Employee get(Long id) {
+        if (store == null || id == null) {
+            return null;
+        }
+        Employee employee = store.get(id);
+        (employee != null ? hits : misses).increment();
+        return employee;
+    }
+
+    // Take before loading the employee that will be passed to put
+    public long stamp() {
+        return invalidations.get();
+    }
+
+    public void put(Employee employee, long stamp) {
+        if (store == null || invalidations.get() != stamp) {
+            return;
+        }
+        store.put(employee);
+        // An invalidation that raced with the put may have run before it; undo the put then
+        if (invalidations.get() != stamp) {
+            store.remove(employee.getId());
+        }
+    }
+
+    public void invalidate(Long id) {
+        if (store == null || id == null) {
+            return;
+        }
+        invalidations.incrementAndGet();
+        store.remove(id);
+    }
+
+    public void invalidateAll() {
+        if (store == null) {
+            return;
+        }
+        invalidations.incrementAndGet();
+        store.clear();
+    }
+
+    public void invalidateAfterCompletion(Long id) {
+        if (store == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                invalidate(id);
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        if (store != null) {
+            store.close();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.spring_claude_demo.cache;
+
+import com.example.spring_claude_demo.model.Employee;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+// Drops off-heap copies of employees changed through JPA, once the transaction is over
+@Component
+public class EmployeeRecordCacheListener {
+
+    // Resolved lazily, Hibernate creates this listener while the EntityManagerFactory is being built
+    private final ObjectProvider<EmployeeRecordCache> recordCache;
+
+    public EmployeeRecordCacheListener(ObjectProvider<EmployeeRecordCache> recordCache) {
+        this.recordCache = recordCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void invalidate(Employee employee) {
+        recordCache.getObject().invalidateAfterCompletion(employee.getId());
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.spring_claude_demo.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.id-filter")
+public class IdFilterProperties {
+
+    // Opt-in: a miss is answered as "not found" without asking the database, which is only right
+    // when this instance makes every write itself. With other instances writing to the same
+    // database, their inserts reach this filter late (coherence flush window) or never (transport
+    // none, lost datagrams), and lookups for those rows would 404 until the next reload.
+    private boolean enabled = false;
+
+    // The false positive rate holds up to about this many employees, then degrades gracefully
+    private long expectedInsertions = 100_000;
+
+    // Share of lookups for missing ids that still go to the database
+    private double falsePositiveRate = 0.01;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    public void setExpectedInsertions(long expectedInsertions) {
+        this.expectedInsertions = expectedInsertions;
+    }
+
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public void setFalsePositiveRate(double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.spring_claude_demo.cache;
+
+final class LongHashing {
+
+    private LongHashing() {
+    }
+
+    // MurmurHash3 fmix64; employee ids are sequential, so they need a proper spread
+    static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+}
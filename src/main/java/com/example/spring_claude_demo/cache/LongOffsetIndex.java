@@ -0,0 +1,132 @@
+package com.example.spring_claude_demo.cache;
+
+import java.util.Arrays;
+
+// Open-addressing hash map from a positive long key to a long value, in two primitive arrays:
+// no per-entry objects, so a few million entries cost the GC two array headers.
+// Linear probing; removal shifts the following entries back instead of leaving tombstones.
+// Not thread-safe: OffHeapEmployeeStore guards it with its lock.
+final class LongOffsetIndex {
+
+    static final long ABSENT = -1;
+
+    private static final long EMPTY = 0;
+    private static final double MAX_LOAD = 0.7;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+
+    LongOffsetIndex(int expectedEntries) {
+        int needed = (int) Math.min(1 << 30, (long) Math.ceil(Math.max(1, expectedEntries) / MAX_LOAD));
+        allocate(Math.max(16, Integer.highestOneBit(needed - 1) << 1));
+    }
+
+    long get(long key) {
+        if (key <= 0) {
+            return ABSENT;
+        }
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                return values[slot];
+            }
+            if (current == EMPTY) {
+                return ABSENT;
+            }
+        }
+    }
+
+    // Returns the previous value, or ABSENT
+    long put(long key, long value) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("Keys must be positive: " + key);
+        }
+        if (size + 1 > keys.length * MAX_LOAD) {
+            resize(keys.length << 1);
+        }
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                long previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            if (current == EMPTY) {
+                keys[slot] = key;
+                values[slot] = value;
+                size++;
+                return ABSENT;
+            }
+        }
+    }
+
+    // Returns the removed value, or ABSENT
+    long remove(long key) {
+        if (key <= 0) {
+            return ABSENT;
+        }
+        int slot = slot(key);
+        while (keys[slot] != key) {
+            if (keys[slot] == EMPTY) {
+                return ABSENT;
+            }
+            slot = (slot + 1) & mask;
+        }
+        long removed = values[slot];
+        // Backward-shift deletion: pull up every following entry whose home slot is at or before the hole
+        int hole = slot;
+        for (int next = (hole + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            int home = slot(keys[next]);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+        }
+        keys[hole] = EMPTY;
+        values[hole] = 0;
+        size--;
+        return removed;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long sizeInBytes() {
+        return 2L * keys.length * Long.BYTES;
+    }
+
+    void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(oldKeys[i]);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    private int slot(long key) {
+        return (int) LongHashing.mix(key) & mask;
+    }
+}
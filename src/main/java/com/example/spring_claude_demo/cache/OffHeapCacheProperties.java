@@ -0,0 +1,75 @@
+package com.example.spring_claude_demo.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+@ConfigurationProperties(prefix = "app.offheap-cache")
+public class OffHeapCacheProperties {
+
+    private boolean enabled = false;
+
+    // Records are appended to slabs of this size; the store never holds more than slabSize * maxSlabs
+    private DataSize slabSize = DataSize.ofMegabytes(64);
+
+    private int maxSlabs = 16;
+
+    // When the store is full, a slab that is at most this fraction live is compacted instead
+    // of evicting the oldest slab
+    private double compactionThreshold = 0.5;
+
+    // Initial size of the id index; it grows past this as needed
+    private int expectedEntries = 1_000_000;
+
+    // Memory-mapped slab files go here; unset means direct buffers (counted against -XX:MaxDirectMemorySize)
+    private Path directory;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public DataSize getSlabSize() {
+        return slabSize;
+    }
+
+    public void setSlabSize(DataSize slabSize) {
+        this.slabSize = slabSize;
+    }
+
+    public int getMaxSlabs() {
+        return maxSlabs;
+    }
+
+    public void setMaxSlabs(int maxSlabs) {
+        this.maxSlabs = maxSlabs;
+    }
+
+    public double getCompactionThreshold() {
+        return compactionThreshold;
+    }
+
+    public void setCompactionThreshold(double compactionThreshold) {
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    public int getExpectedEntries() {
+        return expectedEntries;
+    }
+
+    public void setExpectedEntries(int expectedEntries) {
+        this.expectedEntries = expectedEntries;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(Path directory) {
+        this.directory = directory;
+    }
+}
@@ -0,0 +1,410 @@
+package com.example.spring_claude_demo.cache;
+
+import com.example.spring_claude_demo.model.Employee;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Employee records serialized into large ByteBuffer slabs outside the Java heap, either direct
+// buffers or memory-mapped temp files. The heap only holds the slabs' buffer objects and a
+// primitive id -> (slab, offset) index, so millions of cached employees add nothing for the GC
+// to trace. get() decodes a fresh, detached Employee on every call.
+//
+// Records are appended to the active slab; overwriting or removing an id only marks the old
+// record dead. When every slab is in use, the emptiest one is compacted in place if enough of
+// it is dead, otherwise the oldest slab is evicted as a whole.
+public class OffHeapEmployeeStore implements AutoCloseable {
+
+    // Record layout (big-endian):
+    //   0  int     record length, header included
+    //   4  byte    LIVE or DEAD
+    //   5  byte    null flags for the fixed-length fields
+    //   6  long    id
+    //   14 long    change sequence
+    //   22 double  salary
+    //   30 int     hire date as epoch day
+    //   34 int     termination date as epoch day
+    //   38         first name, last name, email, phone number and position, each an unsigned
+    //              short byte count (NULL_STRING for null) followed by the UTF-8 bytes
+    private static final int STATE = 4;
+    private static final int FLAGS = 5;
+    private static final int ID = 6;
+    private static final int CHANGE_SEQ = 14;
+    private static final int SALARY = 22;
+    private static final int HIRE_DATE = 30;
+    private static final int TERMINATION_DATE = 34;
+    static final int FIXED_BYTES = 38;
+
+    private static final byte DEAD = 0;
+    private static final byte LIVE = 1;
+
+    private static final int NO_CHANGE_SEQ = 1;
+    private static final int NO_SALARY = 2;
+    private static final int NO_HIRE_DATE = 4;
+    private static final int NO_TERMINATION_DATE = 8;
+
+    private static final int NULL_STRING = 0xFFFF;
+    private static final int MAX_STRING_BYTES = 0xFFFE;
+    private static final int STRING_FIELDS = 5;
+
+    private final int slabBytes;
+    private final int maxSlabs;
+    private final double compactionThreshold;
+    private final Path directory;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongOffsetIndex index;
+    private final List<Slab> slabs = new ArrayList<>();
+    private final ArrayDeque<Slab> freeSlabs = new ArrayDeque<>();
+
+    // Guarded by the write lock
+    private Slab active;
+    private long slabSequence;
+    private byte[] scratch = new byte[256];
+    private long compactions;
+    private long evictions;
+
+    private static final class Slab {
+
+        final int number;
+        final ByteBuffer buffer;
+        int writeOffset;
+        long liveBytes;
+        int liveRecords;
+        // When the slab last became the active one; the lowest is evicted first
+        long sequence;
+
+        Slab(int number, ByteBuffer buffer) {
+            this.number = number;
+            this.buffer = buffer;
+        }
+
+        void reset() {
+            writeOffset = 0;
+            liveBytes = 0;
+            liveRecords = 0;
+        }
+    }
+
+    public record Stats(int entries, long liveBytes, long allocatedBytes, long indexBytes,
+                        long compactions, long evictions) {
+    }
+
+    // directory: where to create memory-mapped slab files, or null for direct buffers.
+    // compactionThreshold: a full store compacts its emptiest slab when at most this fraction of
+    // it is live, and evicts its oldest slab otherwise.
+    public OffHeapEmployeeStore(int slabBytes, int maxSlabs, double compactionThreshold, int expectedEntries,
+                                Path directory) {
+        if (slabBytes < 1024) {
+            throw new IllegalArgumentException("slabBytes must be at least 1024");
+        }
+        if (maxSlabs < 1) {
+            throw new IllegalArgumentException("maxSlabs must be positive");
+        }
+        this.slabBytes = slabBytes;
+        this.maxSlabs = maxSlabs;
+        this.compactionThreshold = compactionThreshold;
+        this.directory = directory;
+        this.index = new LongOffsetIndex(expectedEntries);
+    }
+
+    public Employee get(long id) {
+        lock.readLock().lock();
+        try {
+            long location = index.get(id);
+            if (location == LongOffsetIndex.ABSENT) {
+                return null;
+            }
+            return decode(slabs.get(slabNumber(location)).buffer, offset(location));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Stores (or replaces) the employee. Returns false for records the store cannot hold:
+    // no positive id, a field over 64 KB, or bigger than a slab.
+    public boolean put(Employee employee) {
+        Long id = employee.getId();
+        if (id == null || id <= 0) {
+            return false;
+        }
+        byte[][] strings = {utf8(employee.getFirstName()), utf8(employee.getLastName()), utf8(employee.getEmail()),
+                utf8(employee.getPhoneNumber()), utf8(employee.getPosition())};
+        int length = FIXED_BYTES;
+        for (byte[] string : strings) {
+            if (string != null && string.length > MAX_STRING_BYTES) {
+                return false;
+            }
+            length += Short.BYTES + (string == null ? 0 : string.length);
+        }
+        if (length > slabBytes) {
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Slab slab = slabWithRoom(length);
+            int offset = slab.writeOffset;
+            encode(slab.buffer, offset, length, employee, strings);
+            slab.writeOffset += length;
+            slab.liveBytes += length;
+            slab.liveRecords++;
+            long previous = index.put(id, location(slab.number, offset));
+            if (previous != LongOffsetIndex.ABSENT) {
+                markDead(previous);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            long location = index.remove(id);
+            if (location == LongOffsetIndex.ABSENT) {
+                return false;
+            }
+            markDead(location);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Drops every record; the slabs are kept for reuse
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            index.clear();
+            freeSlabs.clear();
+            for (Slab slab : slabs) {
+                slab.reset();
+                freeSlabs.add(slab);
+            }
+            active = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Stats stats() {
+        lock.readLock().lock();
+        try {
+            long liveBytes = 0;
+            for (Slab slab : slabs) {
+                liveBytes += slab.liveBytes;
+            }
+            return new Stats(index.size(), liveBytes, (long) slabs.size() * slabBytes, index.sizeInBytes(),
+                    compactions, evictions);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Direct and mapped buffers are released once unreachable; there is no supported way to
+    // free them eagerly
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            index.clear();
+            slabs.clear();
+            freeSlabs.clear();
+            active = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Slab slabWithRoom(int length) {
+        if (active != null && slabBytes - active.writeOffset >= length) {
+            return active;
+        }
+        Slab next = freeSlabs.poll();
+        if (next == null && slabs.size() < maxSlabs) {
+            next = new Slab(slabs.size(), allocate());
+            slabs.add(next);
+        }
+        if (next == null) {
+            next = reclaim(length);
+        }
+        if (active != null && active != next && active.liveRecords == 0) {
+            active.reset();
+            freeSlabs.add(active);
+        }
+        next.sequence = ++slabSequence;
+        active = next;
+        return next;
+    }
+
+    // Every slab is in use: compact the emptiest one if that frees enough, else evict the oldest
+    private Slab reclaim(int length) {
+        Slab emptiest = slabs.get(0);
+        Slab oldest = slabs.get(0);
+        for (Slab slab : slabs) {
+            if (slab.liveBytes < emptiest.liveBytes) {
+                emptiest = slab;
+            }
+            if (slab.sequence < oldest.sequence) {
+                oldest = slab;
+            }
+        }
+        if (emptiest.liveBytes <= slabBytes * compactionThreshold && slabBytes - emptiest.liveBytes >= length) {
+            compact(emptiest);
+            return emptiest;
+        }
+        evict(oldest);
+        return oldest;
+    }
+
+    // Slides the live records to the front of the slab. Records only ever move towards lower
+    // offsets, so copying them in order never overwrites one that has not been moved yet.
+    private void compact(Slab slab) {
+        ByteBuffer buffer = slab.buffer;
+        int read = 0;
+        int write = 0;
+        while (read < slab.writeOffset) {
+            int length = buffer.getInt(read);
+            if (buffer.get(read + STATE) == LIVE) {
+                if (write != read) {
+                    if (scratch.length < length) {
+                        scratch = new byte[Math.max(length, scratch.length * 2)];
+                    }
+                    buffer.get(read, scratch, 0, length);
+                    buffer.put(write, scratch, 0, length);
+                    index.put(buffer.getLong(write + ID), location(slab.number, write));
+                }
+                write += length;
+            }
+            read += length;
+        }
+        slab.writeOffset = write;
+        compactions++;
+    }
+
+    private void evict(Slab slab) {
+        ByteBuffer buffer = slab.buffer;
+        for (int offset = 0; offset < slab.writeOffset; offset += buffer.getInt(offset)) {
+            if (buffer.get(offset + STATE) == LIVE) {
+                index.remove(buffer.getLong(offset + ID));
+                evictions++;
+            }
+        }
+        slab.reset();
+    }
+
+    private void markDead(long location) {
+        Slab slab = slabs.get(slabNumber(location));
+        int offset = offset(location);
+        slab.buffer.put(offset + STATE, DEAD);
+        slab.liveBytes -= slab.buffer.getInt(offset);
+        slab.liveRecords--;
+        // A sealed slab with nothing left in it can be reused straight away
+        if (slab.liveRecords == 0 && slab != active) {
+            slab.reset();
+            freeSlabs.add(slab);
+        }
+    }
+
+    private ByteBuffer allocate() {
+        if (directory == null) {
+            return ByteBuffer.allocateDirect(slabBytes);
+        }
+        try {
+            Path file = Files.createTempFile(directory, "employee-slab-", ".bin");
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // The mapping stays valid after the channel is closed and the file is unlinked
+                return channel.map(FileChannel.MapMode.READ_WRITE, 0, slabBytes);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not map an employee slab in " + directory, ex);
+        }
+    }
+
+    private static void encode(ByteBuffer buffer, int offset, int length, Employee employee, byte[][] strings) {
+        int flags = (employee.getChangeSeq() == null ? NO_CHANGE_SEQ : 0)
+                | (employee.getSalary() == null ? NO_SALARY : 0)
+                | (employee.getHireDate() == null ? NO_HIRE_DATE : 0)
+                | (employee.getTerminationDate() == null ? NO_TERMINATION_DATE : 0);
+        buffer.putInt(offset, length);
+        buffer.put(offset + STATE, LIVE);
+        buffer.put(offset + FLAGS, (byte) flags);
+        buffer.putLong(offset + ID, employee.getId());
+        buffer.putLong(offset + CHANGE_SEQ, employee.getChangeSeq() == null ? 0 : employee.getChangeSeq());
+        buffer.putDouble(offset + SALARY, employee.getSalary() == null ? 0 : employee.getSalary());
+        buffer.putInt(offset + HIRE_DATE, employee.getHireDate() == null ? 0 : (int) employee.getHireDate().toEpochDay());
+        buffer.putInt(offset + TERMINATION_DATE,
+                employee.getTerminationDate() == null ? 0 : (int) employee.getTerminationDate().toEpochDay());
+        int position = offset + FIXED_BYTES;
+        for (byte[] string : strings) {
+            if (string == null) {
+                buffer.putShort(position, (short) NULL_STRING);
+                position += Short.BYTES;
+            } else {
+                buffer.putShort(position, (short) string.length);
+                buffer.put(position + Short.BYTES, string);
+                position += Short.BYTES + string.length;
+            }
+        }
+    }
+
+    private static Employee decode(ByteBuffer buffer, int offset) {
+        int flags = buffer.get(offset + FLAGS);
+        Employee employee = new Employee();
+        employee.setId(buffer.getLong(offset + ID));
+        employee.setChangeSeq((flags & NO_CHANGE_SEQ) != 0 ? null : buffer.getLong(offset + CHANGE_SEQ));
+        employee.setSalary((flags & NO_SALARY) != 0 ? null : buffer.getDouble(offset + SALARY));
+        employee.setHireDate((flags & NO_HIRE_DATE) != 0 ? null : LocalDate.ofEpochDay(buffer.getInt(offset + HIRE_DATE)));
+        employee.setTerminationDate((flags & NO_TERMINATION_DATE) != 0
+                ? null : LocalDate.ofEpochDay(buffer.getInt(offset + TERMINATION_DATE)));
+        String[] strings = new String[STRING_FIELDS];
+        int position = offset + FIXED_BYTES;
+        for (int i = 0; i < STRING_FIELDS; i++) {
+            int length = Short.toUnsignedInt(buffer.getShort(position));
+            position += Short.BYTES;
+            if (length != NULL_STRING) {
+                byte[] bytes = new byte[length];
+                buffer.get(position, bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+                position += length;
+            }
+        }
+        employee.setFirstName(strings[0]);
+        employee.setLastName(strings[1]);
+        employee.setEmail(strings[2]);
+        employee.setPhoneNumber(strings[3]);
+        employee.setPosition(strings[4]);
+        return employee;
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long location(int slab, int offset) {
+        return ((long) slab << 32) | offset;
+    }
+
+    private static int slabNumber(long location) {
+        return (int) (location >>> 32);
+    }
+
+    private static int offset(long location) {
+        return (int) location;
+    }
+}
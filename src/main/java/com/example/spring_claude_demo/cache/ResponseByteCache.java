@@ -0,0 +1,187 @@
+package com.example.spring_claude_demo.cache;
+
+import com.example.spring_claude_demo.event.EmployeeChangeEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+// Encoded response bodies (plain and gzipped) for hot GET endpoints, keyed by request.
+// Every committed employee write bumps a version counter and drops all entries. A response is
+// stored under the version seen before its handler ran, so a body rendered from data that
+// changed meanwhile is never served as current.
+@Component
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseByteCache {
+
+    private static final Object INVALIDATION_PENDING = new Object();
+
+    private final ResponseCacheProperties properties;
+    private final AtomicLong version = new AtomicLong();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry> entries;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter notModified;
+
+    // Guarded by lock
+    private long storedBytes;
+
+    public record Entry(long version, String contentType, byte[] body, byte[] gzippedBody, String etag) {
+
+        long size() {
+            return body.length + (gzippedBody != null ? gzippedBody.length : 0);
+        }
+    }
+
+    public ResponseByteCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.entries = new LinkedHashMap<>(64, 0.75f, true);
+
+        this.hits = requests(meterRegistry, "hit");
+        this.misses = requests(meterRegistry, "miss");
+        this.notModified = requests(meterRegistry, "not_modified");
+        Gauge.builder("employee.response.cache.entries", this, ResponseByteCache::size)
+                .description("Cached response bodies")
+                .register(meterRegistry);
+        Gauge.builder("employee.response.cache.bytes", this, ResponseByteCache::bytes)
+                .description("Bytes held by cached response bodies, plain and gzipped")
+                .register(meterRegistry);
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("employee.response.cache.requests")
+                .description("Requests to cached endpoints by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public long currentVersion() {
+        return version.get();
+    }
+
+    public Entry get(String key) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.version() == version.get()) {
+                hits.increment();
+                return entry;
+            }
+            misses.increment();
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Returns the stored entry, or null if the body is too large or already out of date
+    public Entry put(String key, long renderedAtVersion, String contentType, byte[] body) {
+        if (body.length > properties.getMaxEntryBytes() || renderedAtVersion != version.get()) {
+            return null;
+        }
+        byte[] gzipped = body.length >= properties.getGzipMinBytes() ? gzip(body) : null;
+        Entry entry = new Entry(renderedAtVersion, contentType, body, gzipped,
+                "W/\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+
+        lock.lock();
+        try {
+            if (renderedAtVersion != version.get()) {
+                return null;
+            }
+            Entry previous = entries.put(key, entry);
+            storedBytes += entry.size() - (previous != null ? previous.size() : 0);
+            var eldest = entries.entrySet().iterator();
+            while (entries.size() > properties.getMaxEntries()) {
+                storedBytes -= eldest.next().getValue().size();
+                eldest.remove();
+            }
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void recordNotModified() {
+        notModified.increment();
+    }
+
+    // Writes through EmployeeService; also covers reactive writes, which bypass JPA
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChange(EmployeeChangeEvent event) {
+        invalidate();
+    }
+
+    // Called from the JPA listener for writes that do not go through EmployeeService. Invalidates
+    // once per transaction, after it completes, so readers cannot cache pre-commit data as current.
+    public void invalidateAfterCompletion() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(INVALIDATION_PENDING)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(INVALIDATION_PENDING, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(INVALIDATION_PENDING);
+                invalidate();
+            }
+        });
+    }
+
+    public void invalidate() {
+        lock.lock();
+        try {
+            version.incrementAndGet();
+            entries.clear();
+            storedBytes = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long bytes() {
+        lock.lock();
+        try {
+            return storedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return buffer.toByteArray();
+    }
+}
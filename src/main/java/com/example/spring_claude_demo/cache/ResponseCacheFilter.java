@@ -0,0 +1,128 @@
+package com.example.spring_claude_demo.cache;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Enumeration;
+import java.util.List;
+
+// Serves GET responses from ResponseByteCache: a hit is written straight from the cached array
+// (or answered with 304 when If-None-Match matches) without reaching the controller, the
+// database or Jackson. Misses are rendered normally, captured and stored.
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    // JSON and the binary formats negotiated next to it; Accept is part of the key
+    private static final List<MediaType> CACHEABLE_TYPES = List.of(MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_CBOR, MediaType.parseMediaType("application/x-jackson-smile"));
+
+    private static final String VARY = HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING;
+
+    private final ResponseByteCache cache;
+
+    public ResponseCacheFilter(ResponseByteCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = cacheKey(request);
+        ResponseByteCache.Entry entry = cache.get(key);
+        if (entry != null) {
+            write(request, response, entry);
+            return;
+        }
+
+        long version = cache.currentVersion();
+        ContentCachingResponseWrapper capture = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, capture);
+
+        if (capture.getStatus() == HttpStatus.OK.value() && isCacheable(capture.getContentType())) {
+            entry = cache.put(key, version, capture.getContentType(), capture.getContentAsByteArray());
+        }
+        if (entry != null) {
+            write(request, response, entry);
+        } else {
+            capture.copyBodyToResponse();
+        }
+    }
+
+    private void write(HttpServletRequest request, HttpServletResponse response, ResponseByteCache.Entry entry)
+            throws IOException {
+        response.setHeader(HttpHeaders.ETAG, entry.etag());
+        response.setHeader(HttpHeaders.VARY, VARY);
+        if (matches(request.getHeaders(HttpHeaders.IF_NONE_MATCH), entry.etag())) {
+            cache.recordNotModified();
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+        byte[] body = entry.body();
+        if (entry.gzippedBody() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            body = entry.gzippedBody();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(entry.contentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    static String cacheKey(HttpServletRequest request) {
+        String query = request.getQueryString();
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return request.getRequestURI() + (query != null ? "?" + query : "") + '|' + (accept != null ? accept : "*/*");
+    }
+
+    private static boolean isCacheable(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            return CACHEABLE_TYPES.stream().anyMatch(mediaType::isCompatibleWith);
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+
+    // Weak comparison (RFC 9110 13.1.2): W/ prefixes are ignored on both sides
+    static boolean matches(Enumeration<String> ifNoneMatch, String etag) {
+        String opaque = etag.startsWith("W/") ? etag.substring(2) : etag;
+        while (ifNoneMatch != null && ifNoneMatch.hasMoreElements()) {
+            for (String candidate : ifNoneMatch.nextElement().split(",")) {
+                String trimmed = candidate.trim();
+                if (trimmed.equals("*") || (trimmed.startsWith("W/") ? trimmed.substring(2) : trimmed).equals(opaque)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.spring_claude_demo.cache;
+
+import com.example.spring_claude_demo.model.Employee;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+// Invalidates cached responses for employee writes that bypass EmployeeService (repository
+// calls from batch code and tests)
+@Component
+public class ResponseCacheInvalidationListener {
+
+    // Resolved lazily, Hibernate creates this listener while the EntityManagerFactory is being built
+    private final ObjectProvider<ResponseByteCache> responseCache;
+
+    public ResponseCacheInvalidationListener(ObjectProvider<ResponseByteCache> responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void invalidate(Employee employee) {
+        responseCache.getObject().invalidateAfterCompletion();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.spring_claude_demo.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "app.cache")
+public class SecondLevelCacheProperties {
+
+    // Size and time-to-live per region (see CacheRegions)
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    public static class Region {
+
+        private long maxEntries = 10_000;
+
+        // Null means entries never expire
+        private Duration ttl;
+
+        public Region() {
+        }
+
+        public Region(long maxEntries, Duration ttl) {
+            this.maxEntries = maxEntries;
+            this.ttl = ttl;
+        }
+
+        public long getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+
+    public SecondLevelCacheProperties() {
+        regions.put(CacheRegions.EMPLOYEES, new Region(10_000, Duration.ofMinutes(10)));
+        regions.put(CacheRegions.EMPLOYEE_QUERIES, new Region(1_000, Duration.ofMinutes(5)));
+        regions.put(CacheRegions.UPDATE_TIMESTAMPS, new Region(1_000, null));
+    }
+
+    public Map<String, Region> getRegions() {
+        return regions;
+    }
+
+    public void setRegions(Map<String, Region> regions) {
+        this.regions = regions;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.spring_claude_demo.coherence;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "app.coherence")
+public class CoherenceProperties {
+
+    public enum Transport {
+        // Single instance: nothing is sent or received
+        NONE,
+        // Instances in the same JVM with the same loopback-group
+        LOOPBACK,
+        // Instances on one host or network, addressed by udp-port and peers
+        UDP
+    }
+
+    private Transport transport = Transport.NONE;
+
+    private String loopbackGroup = "default";
+
+    // Address this instance receives on; 0 picks a free port
+    private String udpHost = "127.0.0.1";
+    private int udpPort = 0;
+
+    // Every other instance as host:port
+    private List<String> peers = new ArrayList<>();
+
+    private DataSize receiveBuffer = DataSize.ofMegabytes(4);
+
+    // Writes are coalesced for this long before being sent (lower bound on staleness elsewhere)
+    private Duration flushInterval = Duration.ofMillis(5);
+
+    // An instance repeats its last message sequence this often, so peers notice lost trailing
+    // messages within about this long; zero turns heartbeats off
+    private Duration heartbeatInterval = Duration.ofSeconds(1);
+
+    // Employees per message; a full batch is sent without waiting for the interval. Over UDP a
+    // batch must fit one datagram (about 3800 employees), which is checked at startup
+    private int maxBatchSize = 512;
+
+    public Transport getTransport() {
+        return transport;
+    }
+
+    public void setTransport(Transport transport) {
+        this.transport = transport;
+    }
+
+    public String getLoopbackGroup() {
+        return loopbackGroup;
+    }
+
+    public void setLoopbackGroup(String loopbackGroup) {
+        this.loopbackGroup = loopbackGroup;
+    }
+
+    public String getUdpHost() {
+        return udpHost;
+    }
+
+    public void setUdpHost(String udpHost) {
+        this.udpHost = udpHost;
+    }
+
+    public int getUdpPort() {
+        return udpPort;
+    }
+
+    public void setUdpPort(int udpPort) {
+        this.udpPort = udpPort;
+    }
+
+    public List<String> getPeers() {
+        return peers;
+    }
+
+    public void setPeers(List<String> peers) {
+        this.peers = peers;
+    }
+
+    public DataSize getReceiveBuffer() {
+        return receiveBuffer;
+    }
+
+    public void setReceiveBuffer(DataSize receiveBuffer) {
+        this.receiveBuffer = receiveBuffer;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(Duration heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+}
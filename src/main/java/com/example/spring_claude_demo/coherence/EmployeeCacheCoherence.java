@@ -0,0 +1,350 @@
+package com.example.spring_claude_demo.coherence;
+
+import com.example.spring_claude_demo.cache.EmployeeCacheEvictor;
+import com.example.spring_claude_demo.cache.EmployeeIdFilter;
+import com.example.spring_claude_demo.cache.ResponseByteCache;
+import com.example.spring_claude_demo.event.EmployeeChangeEvent;
+import com.example.spring_claude_demo.event.EmployeeChangeType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.net.InetSocketAddress;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Keeps the per-instance employee caches (second-level, query, off-heap, response bytes and the
+// id filter) coherent across replicas. Committed writes are coalesced per employee and sent
+// every flush interval as one message per batch over the configured InvalidationBus. Other
+// instances evict what the message names; one that notices a gap in an origin's sequence cannot
+// know what it missed and drops everything. Heartbeats carry the last sequence sent, so a gap at
+// the end of a burst is noticed within a heartbeat interval rather than at the next write. Each
+// entry's version stamp is only reported (employee.coherence.remote.version): instances number
+// their writes independently, so entries are never refused as older than one already applied.
+// Salary percentiles and the search index cannot be evicted by id, so a RemoteEmployeeChangeEvent
+// is published for them; the percentiles rebuild on it, the search index does not listen yet.
+@Component
+@EnableConfigurationProperties(CoherenceProperties.class)
+public class EmployeeCacheCoherence implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeCacheCoherence.class);
+
+    private final String origin = UUID.randomUUID().toString();
+    private final CoherenceProperties properties;
+    private final EmployeeCacheEvictor cacheEvictor;
+    private final ResponseByteCache responseCache;
+    private final EmployeeIdFilter idFilter;
+    private final InvalidationBus bus;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ScheduledExecutorService flushExecutor;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Guarded by lock; insertion order keeps the oldest write first
+    private LinkedHashMap<Long, InvalidationMessage.Entry> pending = new LinkedHashMap<>();
+    private long oldestPendingMicros;
+
+    // Owned by the flush thread
+    private long sequence;
+
+    private final Map<String, Long> lastSequenceByOrigin = new ConcurrentHashMap<>();
+    private final AtomicLong highestRemoteVersion = new AtomicLong();
+
+    private final Counter writesCoalesced;
+    private final Counter messagesSent;
+    private final Counter invalidationsSent;
+    private final Counter invalidationsReceived;
+    private final Counter gaps;
+    private final Timer staleness;
+
+    public EmployeeCacheCoherence(CoherenceProperties properties, EmployeeCacheEvictor cacheEvictor,
+                                  ResponseByteCache responseCache, EmployeeIdFilter idFilter,
+                                  ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.cacheEvictor = cacheEvictor;
+        this.responseCache = responseCache;
+        this.idFilter = idFilter;
+        checkBatchFits(properties, origin);
+        this.bus = openBus(properties);
+        this.eventPublisher = eventPublisher;
+
+        this.writesCoalesced = Counter.builder("employee.coherence.coalesced")
+                .description("Writes folded into an invalidation already waiting to be sent")
+                .register(meterRegistry);
+        this.messagesSent = Counter.builder("employee.coherence.messages")
+                .description("Invalidation messages sent to other instances")
+                .register(meterRegistry);
+        this.invalidationsSent = invalidations(meterRegistry, "sent");
+        this.invalidationsReceived = invalidations(meterRegistry, "received");
+        this.gaps = Counter.builder("employee.coherence.gaps")
+                .description("Lost invalidation messages detected, each answered by dropping every cache")
+                .register(meterRegistry);
+        this.staleness = Timer.builder("employee.coherence.staleness")
+                .description("Time from a commit on another instance to its invalidation being applied here")
+                .register(meterRegistry);
+        Gauge.builder("employee.coherence.pending", this, EmployeeCacheCoherence::pendingCount)
+                .description("Employees changed here whose invalidation has not been sent yet")
+                .register(meterRegistry);
+        Gauge.builder("employee.coherence.remote.version", highestRemoteVersion, AtomicLong::get)
+                .description("Highest change sequence invalidated on behalf of another instance")
+                .register(meterRegistry);
+
+        if (bus != null) {
+            this.flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "cache-invalidation-flush");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long flushMicros = properties.getFlushInterval().toNanos() / 1_000;
+            flushExecutor.scheduleWithFixedDelay(this::flushQuietly, flushMicros, flushMicros, TimeUnit.MICROSECONDS);
+            long heartbeatMillis = properties.getHeartbeatInterval().toMillis();
+            if (heartbeatMillis > 0) {
+                flushExecutor.scheduleWithFixedDelay(this::heartbeatQuietly, heartbeatMillis, heartbeatMillis,
+                        TimeUnit.MILLISECONDS);
+            }
+            bus.subscribe(this::apply);
+        } else {
+            this.flushExecutor = null;
+        }
+    }
+
+    private static Counter invalidations(MeterRegistry meterRegistry, String direction) {
+        return Counter.builder("employee.coherence.invalidations")
+                .tag("direction", direction)
+                .description("Employee invalidations exchanged with other instances")
+                .register(meterRegistry);
+    }
+
+    private static InvalidationBus openBus(CoherenceProperties properties) {
+        return switch (properties.getTransport()) {
+            case NONE -> null;
+            case LOOPBACK -> new LoopbackInvalidationBus(properties.getLoopbackGroup());
+            case UDP -> new UdpInvalidationBus(new InetSocketAddress(properties.getUdpHost(), properties.getUdpPort()),
+                    properties.getPeers().stream().map(EmployeeCacheCoherence::peerAddress).toList(),
+                    Math.toIntExact(properties.getReceiveBuffer().toBytes()));
+        };
+    }
+
+    // A full batch that cannot be encoded would fail every flush on the flush thread; refuse it at startup
+    private static void checkBatchFits(CoherenceProperties properties, String origin) {
+        if (properties.getTransport() == CoherenceProperties.Transport.UDP
+                && InvalidationCodec.encodedSize(origin, properties.getMaxBatchSize()) > UdpInvalidationBus.MAX_DATAGRAM_BYTES) {
+            int fits = (UdpInvalidationBus.MAX_DATAGRAM_BYTES - InvalidationCodec.encodedSize(origin, 0))
+                    / InvalidationCodec.ENTRY_BYTES;
+            throw new IllegalArgumentException("app.coherence.max-batch-size=" + properties.getMaxBatchSize()
+                    + " does not fit a UDP datagram; at most " + fits + " employees per message");
+        }
+    }
+
+    private static InetSocketAddress peerAddress(String peer) {
+        int colon = peer.lastIndexOf(':');
+        if (colon <= 0) {
+            throw new IllegalArgumentException("Peer must be host:port: " + peer);
+        }
+        return new InetSocketAddress(peer.substring(0, colon), Integer.parseInt(peer.substring(colon + 1)));
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    // After commit, so another instance cannot reload the old row once it has evicted it
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChange(EmployeeChangeEvent event) {
+        if (bus == null || event.getEmployeeId() == null) {
+            return;
+        }
+        Long changeSeq = event.getEmployee() != null ? event.getEmployee().getChangeSeq() : null;
+        int kinds = event.getType() == EmployeeChangeType.CREATED ? InvalidationMessage.CREATED
+                : event.getType() == EmployeeChangeType.DELETED ? InvalidationMessage.DELETED : 0;
+        InvalidationMessage.Entry entry = new InvalidationMessage.Entry(event.getEmployeeId(),
+                changeSeq != null ? changeSeq : 0, kinds);
+        boolean full;
+        lock.lock();
+        try {
+            if (pending.isEmpty()) {
+                oldestPendingMicros = nowMicros();
+            }
+            InvalidationMessage.Entry queued = pending.get(entry.employeeId());
+            if (queued != null) {
+                pending.put(entry.employeeId(), queued.merge(entry));
+                writesCoalesced.increment();
+            } else {
+                pending.put(entry.employeeId(), entry);
+            }
+            full = pending.size() == properties.getMaxBatchSize();
+        } finally {
+            lock.unlock();
+        }
+        if (full) {
+            flushExecutor.execute(this::flushQuietly);
+        }
+    }
+
+    // Sends everything pending now; also used by tests and benchmarks
+    public void flush() {
+        if (flushExecutor == null) {
+            return;
+        }
+        try {
+            Future<?> done = flushExecutor.submit(this::sendPending);
+            done.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            throw new IllegalStateException("Invalidation flush failed", ex);
+        }
+    }
+
+    // Announces the last sequence sent now; also used by tests
+    public void heartbeat() {
+        if (flushExecutor == null) {
+            return;
+        }
+        try {
+            Future<?> done = flushExecutor.submit(this::sendHeartbeat);
+            done.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            throw new IllegalStateException("Invalidation heartbeat failed", ex);
+        }
+    }
+
+    private void heartbeatQuietly() {
+        try {
+            sendHeartbeat();
+        } catch (RuntimeException ex) {
+            log.warn("Invalidation heartbeat failed", ex);
+        }
+    }
+
+    // Nothing sent yet means nothing a peer could have missed
+    private void sendHeartbeat() {
+        if (sequence > 0) {
+            bus.publish(InvalidationMessage.heartbeat(origin, sequence, nowMicros()));
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            sendPending();
+        } catch (RuntimeException ex) {
+            log.warn("Invalidation flush failed", ex);
+        }
+    }
+
+    private void sendPending() {
+        List<InvalidationMessage.Entry> entries;
+        long oldestWriteMicros;
+        lock.lock();
+        try {
+            if (pending.isEmpty()) {
+                return;
+            }
+            entries = new ArrayList<>(pending.values());
+            oldestWriteMicros = oldestPendingMicros;
+            pending = new LinkedHashMap<>();
+        } finally {
+            lock.unlock();
+        }
+        int batchSize = Math.max(1, properties.getMaxBatchSize());
+        for (int from = 0; from < entries.size(); from += batchSize) {
+            List<InvalidationMessage.Entry> batch = entries.subList(from, Math.min(entries.size(), from + batchSize));
+            bus.publish(new InvalidationMessage(origin, ++sequence, oldestWriteMicros, nowMicros(), batch));
+            messagesSent.increment();
+            invalidationsSent.increment(batch.size());
+        }
+    }
+
+    private void apply(InvalidationMessage message) {
+        if (origin.equals(message.origin())) {
+            return;
+        }
+        // One origin's messages all arrive on the same bus thread. A datagram that shows up late
+        // has already been treated as lost, so it only evicts again. A heartbeat repeats the last
+        // sequence sent, so anything past what arrived was lost. Sequences start at 1, so an origin
+        // heard from for the first time past that lost its first messages; for a peer that was up
+        // before this instance that costs one full drop.
+        Long previous = lastSequenceByOrigin.get(message.origin());
+        boolean heartbeat = message.isHeartbeat();
+        boolean gap = message.sequence() > (previous != null ? previous : 0) + (heartbeat ? 0 : 1);
+        if (previous == null || message.sequence() > previous) {
+            lastSequenceByOrigin.put(message.origin(), message.sequence());
+        }
+        if (heartbeat && !gap) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(message.entries().size());
+        long version = 0;
+        for (InvalidationMessage.Entry entry : message.entries()) {
+            ids.add(entry.employeeId());
+            version = Math.max(version, entry.version());
+            if ((entry.kinds() & InvalidationMessage.CREATED) != 0) {
+                idFilter.add(entry.employeeId());
+            }
+            if ((entry.kinds() & InvalidationMessage.DELETED) != 0) {
+                idFilter.removeAfterCommit(entry.employeeId());
+            }
+        }
+        if (gap) {
+            gaps.increment();
+            log.warn("Missed invalidations from instance {}, dropping all employee caches", message.origin());
+            cacheEvictor.evictAll();
+            // New ids from the lost messages would otherwise be reported as not found
+            flushExecutor.execute(idFilter::reload);
+        } else {
+            cacheEvictor.evict(ids);
+        }
+        responseCache.invalidate();
+        eventPublisher.publishEvent(new RemoteEmployeeChangeEvent(message.origin(), ids.size(), !gap));
+        highestRemoteVersion.accumulateAndGet(version, Math::max);
+        invalidationsReceived.increment(ids.size());
+        if (!heartbeat) {
+            staleness.record(Math.max(0, nowMicros() - message.oldestWriteMicros()), TimeUnit.MICROSECONDS);
+        }
+    }
+
+    private int pendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static long nowMicros() {
+        Instant now = Instant.now();
+        return now.getEpochSecond() * 1_000_000 + now.getNano() / 1_000;
+    }
+
+    @Override
+    public void destroy() {
+        if (flushExecutor != null) {
+            flushQuietly();
+            flushExecutor.shutdownNow();
+        }
+        if (bus != null) {
+            bus.close();
+        }
+    }
+}
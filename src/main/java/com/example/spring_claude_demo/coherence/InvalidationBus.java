@@ -0,0 +1,18 @@
+package com.example.spring_claude_demo.coherence;
+
+import java.util.function.Consumer;
+
+// Carries cache invalidations between instances of the service. Delivery is best effort and may
+// reorder or drop messages; receivers detect gaps from the per-origin sequence and fall back to
+// dropping everything (see EmployeeCacheCoherence).
+public interface InvalidationBus extends AutoCloseable {
+
+    // Sends to every other instance, never back to this one
+    void publish(InvalidationMessage message);
+
+    // Called on the bus's own thread for every message from another instance
+    void subscribe(Consumer<InvalidationMessage> listener);
+
+    @Override
+    void close();
+}
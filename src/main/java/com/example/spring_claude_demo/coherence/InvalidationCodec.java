@@ -0,0 +1,65 @@
+package com.example.spring_claude_demo.coherence;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// Wire format of an InvalidationMessage: a fixed header followed by 17 bytes per entry
+//   magic:int format:byte origin:(short length, UTF-8) sequence:long oldestWriteMicros:long
+//   sentMicros:long count:int { employeeId:long version:long kinds:byte }*
+final class InvalidationCodec {
+
+    static final int ENTRY_BYTES = 17;
+
+    private static final int MAGIC = 0x45494E56;
+    private static final byte FORMAT = 1;
+
+    private InvalidationCodec() {
+    }
+
+    static int encodedSize(InvalidationMessage message) {
+        return encodedSize(message.origin(), message.entries().size());
+    }
+
+    static int encodedSize(String origin, int entries) {
+        return 4 + 1 + 2 + origin.getBytes(StandardCharsets.UTF_8).length + 8 * 3 + 4 + ENTRY_BYTES * entries;
+    }
+
+    static void encode(InvalidationMessage message, ByteBuffer buffer) {
+        byte[] origin = message.origin().getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(MAGIC).put(FORMAT).putShort((short) origin.length).put(origin)
+                .putLong(message.sequence()).putLong(message.oldestWriteMicros()).putLong(message.sentMicros())
+                .putInt(message.entries().size());
+        for (InvalidationMessage.Entry entry : message.entries()) {
+            buffer.putLong(entry.employeeId()).putLong(entry.version()).put((byte) entry.kinds());
+        }
+    }
+
+    // Null for anything that is not a complete message in this format
+    static InvalidationMessage decode(ByteBuffer buffer) {
+        try {
+            if (buffer.getInt() != MAGIC || buffer.get() != FORMAT) {
+                return null;
+            }
+            byte[] origin = new byte[buffer.getShort()];
+            buffer.get(origin);
+            long sequence = buffer.getLong();
+            long oldestWriteMicros = buffer.getLong();
+            long sentMicros = buffer.getLong();
+            int count = buffer.getInt();
+            if (count < 0 || count > buffer.remaining() / ENTRY_BYTES) {
+                return null;
+            }
+            List<InvalidationMessage.Entry> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                entries.add(new InvalidationMessage.Entry(buffer.getLong(), buffer.getLong(), buffer.get()));
+            }
+            return new InvalidationMessage(new String(origin, StandardCharsets.UTF_8), sequence, oldestWriteMicros,
+                    sentMicros, entries);
+        } catch (BufferUnderflowException | NegativeArraySizeException ex) {
+            return null;
+        }
+    }
+}
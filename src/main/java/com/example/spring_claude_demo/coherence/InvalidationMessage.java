@@ -0,0 +1,33 @@
+package com.example.spring_claude_demo.coherence;
+
+import java.util.List;
+
+// One batch of coalesced employee invalidations from one instance.
+// sequence counts messages per origin without gaps; oldestWriteMicros is the commit time of the
+// earliest write in the batch, so a receiver can tell how long its caches were stale.
+// A message without entries is a heartbeat repeating the last sequence sent, so losing the
+// final messages of a burst shows up as a gap too.
+public record InvalidationMessage(String origin, long sequence, long oldestWriteMicros, long sentMicros,
+                                  List<Entry> entries) {
+
+    public static final int CREATED = 1;
+    public static final int DELETED = 2;
+
+    static InvalidationMessage heartbeat(String origin, long sequence, long sentMicros) {
+        return new InvalidationMessage(origin, sequence, sentMicros, sentMicros, List.of());
+    }
+
+    public boolean isHeartbeat() {
+        return entries.isEmpty();
+    }
+
+    // version is the change sequence of the latest write to the employee, for monitoring only:
+    // each instance numbers its own writes, so versions from different origins do not compare.
+    // kinds is a mask of CREATED and DELETED (neither for a plain update)
+    public record Entry(long employeeId, long version, int kinds) {
+
+        Entry merge(Entry later) {
+            return new Entry(employeeId, Math.max(version, later.version), kinds | later.kinds);
+        }
+    }
+}
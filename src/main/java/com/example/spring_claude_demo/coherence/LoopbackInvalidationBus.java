@@ -0,0 +1,45 @@
+package com.example.spring_claude_demo.coherence;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// In-memory bus between instances in the same JVM that share a group name (tests, benchmarks).
+// Messages are delivered synchronously on the publishing thread and never lost.
+public class LoopbackInvalidationBus implements InvalidationBus {
+
+    private static final Map<String, List<LoopbackInvalidationBus>> GROUPS = new ConcurrentHashMap<>();
+
+    private final String group;
+    private volatile Consumer<InvalidationMessage> listener;
+
+    public LoopbackInvalidationBus(String group) {
+        this.group = group;
+        GROUPS.computeIfAbsent(group, key -> new CopyOnWriteArrayList<>()).add(this);
+    }
+
+    @Override
+    public void publish(InvalidationMessage message) {
+        for (LoopbackInvalidationBus member : GROUPS.getOrDefault(group, List.of())) {
+            Consumer<InvalidationMessage> memberListener = member.listener;
+            if (member != this && memberListener != null) {
+                memberListener.accept(message);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<InvalidationMessage> listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void close() {
+        GROUPS.computeIfPresent(group, (key, members) -> {
+            members.remove(this);
+            return members.isEmpty() ? null : members;
+        });
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.spring_claude_demo.coherence;
+
+// Published on the bus thread when another instance reports changed employees, for state that
+// is fed by local events and cannot be evicted entry by entry. complete is false when messages
+// from that instance were lost, so more changed than the count says.
+public record RemoteEmployeeChangeEvent(String origin, int employees, boolean complete) {
+}
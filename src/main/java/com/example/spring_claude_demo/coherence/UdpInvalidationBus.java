@@ -0,0 +1,110 @@
+package com.example.spring_claude_demo.coherence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Peer-to-peer bus over UDP: every message is sent as one datagram to each configured peer, and a
+// daemon thread receives on the bound address. Nothing is retransmitted; a lost datagram shows up
+// as a sequence gap at the receiver.
+public class UdpInvalidationBus implements InvalidationBus {
+
+    // Largest UDP payload over IPv4
+    public static final int MAX_DATAGRAM_BYTES = 65_507;
+
+    private static final Logger log = LoggerFactory.getLogger(UdpInvalidationBus.class);
+
+    private final DatagramChannel channel;
+    private final List<InetSocketAddress> peers;
+    private final ByteBuffer sendBuffer = ByteBuffer.allocateDirect(MAX_DATAGRAM_BYTES);
+    private volatile Consumer<InvalidationMessage> listener;
+    private Thread receiver;
+
+    public UdpInvalidationBus(InetSocketAddress bindAddress, List<InetSocketAddress> peers, int receiveBufferBytes) {
+        this.peers = List.copyOf(peers);
+        try {
+            this.channel = DatagramChannel.open();
+            // A bigger socket buffer rides out bursts while the receiving thread is busy evicting
+            channel.setOption(StandardSocketOptions.SO_RCVBUF, receiveBufferBytes);
+            channel.bind(bindAddress);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot bind invalidation bus to " + bindAddress, ex);
+        }
+    }
+
+    public InetSocketAddress localAddress() {
+        try {
+            return (InetSocketAddress) channel.getLocalAddress();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public synchronized void publish(InvalidationMessage message) {
+        if (InvalidationCodec.encodedSize(message) > MAX_DATAGRAM_BYTES) {
+            throw new IllegalArgumentException("Invalidation message does not fit a datagram: "
+                    + message.entries().size() + " entries");
+        }
+        sendBuffer.clear();
+        InvalidationCodec.encode(message, sendBuffer);
+        sendBuffer.flip();
+        for (InetSocketAddress peer : peers) {
+            try {
+                channel.send(sendBuffer.duplicate(), peer);
+            } catch (IOException ex) {
+                // The peer will see a gap and drop its caches
+                log.debug("Invalidation to {} failed: {}", peer, ex.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public synchronized void subscribe(Consumer<InvalidationMessage> listener) {
+        this.listener = listener;
+        if (receiver == null) {
+            receiver = new Thread(this::receive, "invalidation-bus-udp");
+            receiver.setDaemon(true);
+            receiver.start();
+        }
+    }
+
+    private void receive() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(MAX_DATAGRAM_BYTES);
+        while (channel.isOpen()) {
+            try {
+                buffer.clear();
+                channel.receive(buffer);
+                buffer.flip();
+                InvalidationMessage message = InvalidationCodec.decode(buffer);
+                if (message == null) {
+                    log.debug("Ignoring a datagram that is not an invalidation message");
+                } else {
+                    listener.accept(message);
+                }
+            } catch (ClosedChannelException ex) {
+                return;
+            } catch (IOException | RuntimeException ex) {
+                log.warn("Invalidation receive failed", ex);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            log.debug("Closing the invalidation bus failed", ex);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.example.spring_claude_demo.config;
 
 import com.example.spring_claude_demo.model.Employee;
 import com.example.spring_claude_demo.repository.EmployeeRepository;
+import com.example.spring_claude_demo.service.EmployeeService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
@@ -14,7 +15,7 @@ import java.util.Arrays;
 public class DataInitializer {
 
     @Bean
-    CommandLineRunner initDatabase(EmployeeRepository repository) {
+    CommandLineRunner initDatabase(EmployeeRepository repository, EmployeeService employeeService) {
         return args -> {
             // Clear previous data
             repository.deleteAll();
@@ -45,8 +46,8 @@ public class DataInitializer {
                     "DevOps Engineer", 92000.0, LocalDate.of(2018, 11, 12)
             );
             
-            // Save sample employees
-            repository.saveAll(Arrays.asList(emp1, emp2, emp3, emp4, emp5));
+            // Save sample employees through the service so they are placed on their shards
+            Arrays.asList(emp1, emp2, emp3, emp4, emp5).forEach(employeeService::saveEmployee);
             
             System.out.println("Sample employee data has been initialized");
         };
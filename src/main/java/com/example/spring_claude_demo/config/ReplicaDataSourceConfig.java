@@ -0,0 +1,76 @@
+package com.example.spring_claude_demo.config;
+
+import com.example.spring_claude_demo.datasource.ReadWriteRoutingDataSource;
+import com.example.spring_claude_demo.datasource.ReplicaNode;
+import com.example.spring_claude_demo.datasource.ReplicaProperties;
+import com.example.spring_claude_demo.datasource.ReplicaSynchronizer;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                                 ReplicaProperties replicaProperties,
+                                                                 MeterRegistry meterRegistry) {
+        MicrometerMetricsTrackerFactory metricsTrackerFactory = new MicrometerMetricsTrackerFactory(meterRegistry);
+
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName(ReadWriteRoutingDataSource.PRIMARY);
+        primary.setMetricsTrackerFactory(metricsTrackerFactory);
+
+        List<ReplicaNode> replicas = new ArrayList<>();
+        List<String> urls = replicaProperties.getUrls();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + i);
+            pool.setJdbcUrl(urls.get(i));
+            pool.setUsername(replicaProperties.getUsername());
+            pool.setPassword(replicaProperties.getPassword());
+            pool.setMaximumPoolSize(replicaProperties.getPoolSize());
+            pool.setMetricsTrackerFactory(metricsTrackerFactory);
+            replicas.add(new ReplicaNode(pool.getPoolName(), urls.get(i), pool));
+        }
+
+        return new ReadWriteRoutingDataSource(primary, replicas, replicaProperties.getMaxLag(), meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        // Defers the physical connection until the first statement, by which point the
+        // transaction's read-only flag has been bound and the router can see it
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaSynchronizer replicaSynchronizer(ReadWriteRoutingDataSource readWriteRoutingDataSource,
+                                                   DataSourceProperties dataSourceProperties,
+                                                   ReplicaProperties replicaProperties) {
+        return new ReplicaSynchronizer(
+                readWriteRoutingDataSource.getResolvedDefaultDataSource(),
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword(),
+                readWriteRoutingDataSource.getReplicas(),
+                replicaProperties.getTables(),
+                replicaProperties.getSyncInterval());
+    }
+}
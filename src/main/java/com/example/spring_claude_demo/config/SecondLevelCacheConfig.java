@@ -0,0 +1,53 @@
+package com.example.spring_claude_demo.config;
+
+import com.example.spring_claude_demo.cache.CacheRegions;
+import com.example.spring_claude_demo.cache.SecondLevelCacheProperties;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.Map;
+import java.util.UUID;
+
+@Configuration
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfig {
+
+    // One cache manager per application context, with every region sized from app.cache.regions
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(SecondLevelCacheProperties properties) {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(
+                EhcacheCachingProvider.class.getName());
+        // A unique URI keeps test contexts in the same JVM from sharing caches
+        CacheManager cacheManager = provider.getCacheManager(URI.create("employee-l2-" + UUID.randomUUID()),
+                new DefaultConfiguration(getClass().getClassLoader()));
+        for (Map.Entry<String, SecondLevelCacheProperties.Region> entry : properties.getRegions().entrySet()) {
+            SecondLevelCacheProperties.Region region = entry.getValue();
+            // Expiring update timestamps would let stale query results through
+            boolean eternal = region.getTtl() == null || CacheRegions.UPDATE_TIMESTAMPS.equals(entry.getKey());
+            cacheManager.createCache(entry.getKey(), Eh107Configuration.fromEhcacheCacheConfiguration(
+                    CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
+                                    ResourcePoolsBuilder.heap(region.getMaxEntries()))
+                            .withExpiry(eternal
+                                    ? ExpiryPolicyBuilder.noExpiration()
+                                    : ExpiryPolicyBuilder.timeToLiveExpiration(region.getTtl()))));
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
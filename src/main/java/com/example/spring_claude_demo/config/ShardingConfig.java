@@ -0,0 +1,56 @@
+package com.example.spring_claude_demo.config;
+
+import com.example.spring_claude_demo.sharding.ShardProperties;
+import com.example.spring_claude_demo.sharding.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(ShardProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.datasource.sharding", name = "enabled", havingValue = "true")
+    public ShardRoutingDataSource shardRoutingDataSource(ShardProperties shardProperties,
+                                                         MeterRegistry meterRegistry,
+                                                         Environment environment) {
+        if (environment.getProperty("app.datasource.replica.enabled", Boolean.class, false)) {
+            throw new IllegalStateException("Sharding and read replicas cannot be enabled together");
+        }
+        MicrometerMetricsTrackerFactory metricsTrackerFactory = new MicrometerMetricsTrackerFactory(meterRegistry);
+
+        List<HikariDataSource> shards = new ArrayList<>();
+        for (int i = 0; i < shardProperties.getCount(); i++) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("shard-" + i);
+            pool.setJdbcUrl(String.format(shardProperties.getUrlTemplate(), i));
+            pool.setUsername(shardProperties.getUsername());
+            pool.setPassword(shardProperties.getPassword());
+            pool.setMaximumPoolSize(shardProperties.getPoolSize());
+            pool.setMetricsTrackerFactory(metricsTrackerFactory);
+            shards.add(pool);
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "app.datasource.sharding", name = "enabled", havingValue = "true")
+    public DataSource shardedDataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        // The shard is bound in ShardContext inside the transaction, so the physical
+        // connection must not be fetched before the first statement
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.spring_claude_demo.config;
+
+import com.example.spring_claude_demo.cache.ResponseByteCache;
+import com.example.spring_claude_demo.cache.ResponseCacheFilter;
+import com.example.spring_claude_demo.cache.ResponseCacheProperties;
+import com.example.spring_claude_demo.jfr.JfrRequestFilter;
+import com.example.spring_claude_demo.limit.ConcurrencyLimitInterceptor;
+import com.example.spring_claude_demo.limit.LimitProperties;
+import com.example.spring_claude_demo.timing.ServerTimingFilter;
+import com.example.spring_claude_demo.timing.ServerTimingProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@EnableConfigurationProperties(ServerTimingProperties.class)
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+    private final LimitProperties limitProperties;
+
+    public WebConfig(ConcurrencyLimitInterceptor concurrencyLimitInterceptor, LimitProperties limitProperties) {
+        this.concurrencyLimitInterceptor = concurrencyLimitInterceptor;
+        this.limitProperties = limitProperties;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (limitProperties.isEnabled()) {
+            // The SSE stream holds its request open by design, so it is not limited
+            registry.addInterceptor(concurrencyLimitInterceptor)
+                    .addPathPatterns("/api/employees", "/api/employees/**")
+                    .excludePathPatterns("/api/employees/changes");
+        }
+    }
+
+    // Runs before the limiter interceptor, so cache hits never take an endpoint permit
+    @Bean
+    @ConditionalOnProperty(prefix = "app.response-cache", name = "enabled", matchIfMissing = true)
+    public FilterRegistrationBean<ResponseCacheFilter> responseCacheFilter(ResponseByteCache cache,
+                                                                           ResponseCacheProperties properties) {
+        FilterRegistrationBean<ResponseCacheFilter> registration = new FilterRegistrationBean<>(new ResponseCacheFilter(cache));
+        registration.setUrlPatterns(properties.getUrlPatterns());
+        return registration;
+    }
+
+    // Outermost filter, so request events cover everything else in the chain
+    @Bean
+    public FilterRegistrationBean<JfrRequestFilter> jfrRequestFilter() {
+        FilterRegistrationBean<JfrRequestFilter> registration = new FilterRegistrationBean<>(new JfrRequestFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    // Outside the response cache, so cache hits get a header too (with empty phases)
+    @Bean
+    @ConditionalOnProperty(prefix = "app.server-timing", name = "enabled", havingValue = "true")
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(ServerTimingProperties properties) {
+        FilterRegistrationBean<ServerTimingFilter> registration =
+                new FilterRegistrationBean<>(new ServerTimingFilter(properties.getExcludedPaths()));
+        registration.setUrlPatterns(properties.getUrlPatterns());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.spring_claude_demo.controller;
+
+import com.example.spring_claude_demo.archive.ArchiveReport;
+import com.example.spring_claude_demo.archive.EmployeeArchiver;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/employees/archive")
+@Tag(name = "Employee", description = "Employee management APIs")
+public class EmployeeArchiveController {
+
+    private final EmployeeArchiver archiver;
+
+    @Autowired
+    public EmployeeArchiveController(EmployeeArchiver archiver) {
+        this.archiver = archiver;
+    }
+
+    @Operation(summary = "Archive former employees now", description = "Moves employees terminated longer ago than "
+            + "app.archive.retention to the archive table, in batches, without waiting for the scheduled run")
+    @ApiResponse(responseCode = "200", description = "Number of employees archived and the table sizes afterwards",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ArchiveReport.class)))
+    @PostMapping
+    public ResponseEntity<ArchiveReport> archive() {
+        return new ResponseEntity<>(archiver.archive(), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Archive table sizes", description = "Returns the number of current and archived employees")
+    @ApiResponse(responseCode = "200", description = "Table sizes",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ArchiveReport.class)))
+    @GetMapping("/stats")
+    public ResponseEntity<ArchiveReport> stats() {
+        return new ResponseEntity<>(archiver.stats(), HttpStatus.OK);
+    }
+}
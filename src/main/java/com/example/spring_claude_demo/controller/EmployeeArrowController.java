@@ -0,0 +1,44 @@
+package com.example.spring_claude_demo.controller;
+
+import com.example.spring_claude_demo.arrow.EmployeeArrowExporter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/employees/arrow")
+@Tag(name = "Employee", description = "Employee management APIs")
+public class EmployeeArrowController {
+
+    private final EmployeeArrowExporter exporter;
+
+    @Autowired
+    public EmployeeArrowController(EmployeeArrowExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    @Operation(summary = "Stream all employees as Arrow",
+            description = "Returns every current employee as an Arrow IPC stream of record batches of "
+                    + "app.arrow.batch-size rows, read straight from the database. Load it with e.g. "
+                    + "pyarrow.ipc.open_stream(response.raw).read_pandas()")
+    @ApiResponse(responseCode = "200", description = "Arrow IPC stream",
+            content = @Content(mediaType = EmployeeArrowExporter.STREAM_VALUE))
+    @GetMapping(produces = EmployeeArrowExporter.STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEmployees() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(EmployeeArrowExporter.STREAM_VALUE));
+        return new ResponseEntity<>(exporter::writeStream, headers, HttpStatus.OK);
+    }
+}
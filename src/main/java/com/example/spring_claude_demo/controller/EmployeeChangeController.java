@@ -0,0 +1,83 @@
+package com.example.spring_claude_demo.controller;
+
+import com.example.spring_claude_demo.event.ChangeStreamProperties;
+import com.example.spring_claude_demo.event.EmployeeChangeBus;
+import com.example.spring_claude_demo.event.EmployeeChangeBus.ChangeRecord;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Locale;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/employees")
+@Tag(name = "Employee", description = "Employee management APIs")
+public class EmployeeChangeController {
+
+    private final EmployeeChangeBus changeBus;
+    private final ChangeStreamProperties properties;
+
+    @Autowired
+    public EmployeeChangeController(EmployeeChangeBus changeBus, ChangeStreamProperties properties) {
+        this.changeBus = changeBus;
+        this.properties = properties;
+    }
+
+    @Operation(summary = "Stream employee changes",
+            description = "Server-Sent Events stream of employee creates, updates and deletes. "
+                    + "Reconnect with Last-Event-ID to resume; a 'reset' event means the gap could not be replayed "
+                    + "and the client should reload the full list")
+    @ApiResponse(responseCode = "200", description = "Change stream opened",
+            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE))
+    @GetMapping(path = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @Parameter(description = "Id of the last event the client received")
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(properties.getEmitterTimeout().toMillis());
+        EmployeeChangeBus.Subscription subscription = changeBus.subscribe(lastEventId, new SseChangeSink(emitter));
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(ex -> subscription.close());
+        return emitter;
+    }
+
+    private static final class SseChangeSink implements EmployeeChangeBus.ChangeSink {
+
+        private final SseEmitter emitter;
+
+        SseChangeSink(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void send(ChangeRecord record) throws Exception {
+            switch (record.kind()) {
+                case CHANGE -> emitter.send(SseEmitter.event()
+                        .id(Long.toString(record.sequence()))
+                        .name(record.event().getType().name().toLowerCase(Locale.ROOT))
+                        .data(record.event(), MediaType.APPLICATION_JSON));
+                case RESET -> emitter.send(SseEmitter.event()
+                        .id(Long.toString(record.sequence()))
+                        .name("reset")
+                        .data("reload"));
+                case HEARTBEAT -> emitter.send(SseEmitter.event().comment("keep-alive"));
+            }
+        }
+
+        @Override
+        public void close() {
+            emitter.complete();
+        }
+    }
+}
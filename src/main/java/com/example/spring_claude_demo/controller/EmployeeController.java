@@ -1,7 +1,9 @@
 package com.example.spring_claude_demo.controller;
 
-import com.example.spring_claude_demo.exception.ResourceNotFoundException;
+import com.example.spring_claude_demo.exception.EmployeeNotFoundException;
+import com.example.spring_claude_demo.json.EmployeeStreamWriter;
 import com.example.spring_claude_demo.model.Employee;
+import com.example.spring_claude_demo.repository.EmployeeQuery;
 import com.example.spring_claude_demo.service.EmployeeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,25 +13,38 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/employees")
 @Tag(name = "Employee", description = "Employee management APIs")
 public class EmployeeController {
 
+    private static final int MAX_QUERY_LIMIT = 1000;
+    private static final int STREAM_PAGE_SIZE = 1000;
+
     private final EmployeeService employeeService;
+    private final EmployeeStreamWriter streamWriter;
 
     @Autowired
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, EmployeeStreamWriter streamWriter) {
         this.employeeService = employeeService;
+        this.streamWriter = streamWriter;
     }
 
     @Operation(summary = "Create a new employee", description = "Creates a new employee and returns the created employee details")
@@ -47,15 +62,55 @@ public class EmployeeController {
         return new ResponseEntity<>(savedEmployee, HttpStatus.CREATED);
     }
 
+    @Operation(summary = "Create employees in bulk",
+            description = "Creates every employee in the list and returns them with their ids. The list is saved "
+                    + "in one transaction as batched inserts, so either every employee is created or none is")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Employees created successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Employee.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid employee data provided",
+                    content = @Content)
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<List<Employee>> createEmployees(
+            @Parameter(description = "Employees to be created", required = true)
+            @RequestBody List<Employee> employees) {
+        List<Employee> savedEmployees = employeeService.saveEmployees(employees);
+        return new ResponseEntity<>(savedEmployees, HttpStatus.CREATED);
+    }
+
     @Operation(summary = "Get all employees", description = "Returns a list of all employees in the system")
     @ApiResponse(responseCode = "200", description = "List of employees retrieved successfully",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = Employee.class)))
     @GetMapping
-    public ResponseEntity<List<Employee>> getAllEmployees() {
-        List<Employee> employees = employeeService.getAllEmployees();
+    public ResponseEntity<List<Employee>> getAllEmployees(
+            @Parameter(description = "Also return former employees from the archive")
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        List<Employee> employees = employeeService.getAllEmployees(includeArchived);
         return new ResponseEntity<>(employees, HttpStatus.OK);
     }
 
+    @Operation(summary = "Stream all employees",
+            description = "Returns every employee as a sequence of top-level values rather than one array: "
+                    + "newline-delimited JSON, a CBOR sequence or Smile values, depending on Accept")
+    @ApiResponse(responseCode = "200", description = "Employee stream",
+            content = {
+                    @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE),
+                    @Content(mediaType = EmployeeStreamWriter.CBOR_SEQ_VALUE),
+                    @Content(mediaType = EmployeeStreamWriter.SMILE_VALUE)
+            })
+    @GetMapping(path = "/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE,
+            EmployeeStreamWriter.CBOR_SEQ_VALUE, EmployeeStreamWriter.SMILE_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamEmployees(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        MediaType mediaType = streamWriter.negotiate(accept);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(mediaType);
+        // Read a page at a time while writing, so the response never holds the whole table
+        Iterable<Employee> employees = employeeService.streamAllEmployees(STREAM_PAGE_SIZE);
+        return new ResponseEntity<>(streamWriter.write(employees, mediaType), headers, HttpStatus.OK);
+    }
+
     @Operation(summary = "Get employee by ID", description = "Returns a single employee identified by their ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Employee found",
@@ -66,10 +121,51 @@ public class EmployeeController {
     @GetMapping("/{id}")
     public ResponseEntity<Employee> getEmployeeById(
             @Parameter(description = "ID of the employee to retrieve", required = true)
-            @PathVariable Long id) {
-        Optional<Employee> employee = employeeService.getEmployeeById(id);
+            @PathVariable Long id,
+            @Parameter(description = "Also return former employees from the archive")
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        Optional<Employee> employee = employeeService.getEmployeeById(id, includeArchived);
         return employee.map(value -> new ResponseEntity<>(value, HttpStatus.OK))
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
+                .orElseThrow(() -> new EmployeeNotFoundException(id));
+    }
+
+    @Operation(summary = "Query employees", description = "Combines position, salary range, hire-date range and "
+            + "last-name prefix filters with sort and limit in one indexed query. "
+            + "Sort with e.g. sort=salary,desc&sort=lastName; ties are broken by id. Current employees only")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Employees found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Employee.class))),
+            @ApiResponse(responseCode = "204", description = "No employees match the filters",
+                    content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid range, limit or sort property",
+                    content = @Content)
+    })
+    @GetMapping("/query")
+    public ResponseEntity<List<Employee>> queryEmployees(
+            @Parameter(description = "Exact position")
+            @RequestParam(required = false) String position,
+            @Parameter(description = "Minimum salary (inclusive)")
+            @RequestParam(required = false) Double minSalary,
+            @Parameter(description = "Maximum salary (inclusive)")
+            @RequestParam(required = false) Double maxSalary,
+            @Parameter(description = "Earliest hire date (inclusive), yyyy-MM-dd")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hiredFrom,
+            @Parameter(description = "Latest hire date (inclusive), yyyy-MM-dd")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hiredTo,
+            @Parameter(description = "Last-name prefix, case sensitive")
+            @RequestParam(required = false) String namePrefix,
+            @Parameter(hidden = true) Sort sort,
+            @Parameter(description = "Maximum number of employees returned (1-" + MAX_QUERY_LIMIT + ")")
+            @RequestParam(defaultValue = "100") int limit) {
+        if (limit < 1 || limit > MAX_QUERY_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_QUERY_LIMIT);
+        }
+        EmployeeQuery query = new EmployeeQuery(position, minSalary, maxSalary, hiredFrom, hiredTo, namePrefix);
+        List<Employee> employees = employeeService.queryEmployees(query, sort, limit);
+        if (employees.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return new ResponseEntity<>(employees, HttpStatus.OK);
     }
 
     @Operation(summary = "Get employees by last name", description = "Returns a list of employees with the specified last name")
@@ -82,8 +178,10 @@ public class EmployeeController {
     @GetMapping("/lastName/{lastName}")
     public ResponseEntity<List<Employee>> getEmployeesByLastName(
             @Parameter(description = "Last name to search for", required = true)
-            @PathVariable String lastName) {
-        List<Employee> employees = employeeService.getEmployeesByLastName(lastName);
+            @PathVariable String lastName,
+            @Parameter(description = "Also return former employees from the archive")
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        List<Employee> employees = employeeService.getEmployeesByLastName(lastName, includeArchived);
         if (employees.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
@@ -100,8 +198,10 @@ public class EmployeeController {
     @GetMapping("/position/{position}")
     public ResponseEntity<List<Employee>> getEmployeesByPosition(
             @Parameter(description = "Position to search for", required = true)
-            @PathVariable String position) {
-        List<Employee> employees = employeeService.getEmployeesByPosition(position);
+            @PathVariable String position,
+            @Parameter(description = "Also return former employees from the archive")
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        List<Employee> employees = employeeService.getEmployeesByPosition(position, includeArchived);
         if (employees.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
@@ -118,8 +218,10 @@ public class EmployeeController {
     @GetMapping("/email")
     public ResponseEntity<List<Employee>> getEmployeesByEmailContaining(
             @Parameter(description = "Text to search for in email addresses", required = true)
-            @RequestParam String contains) {
-        List<Employee> employees = employeeService.getEmployeesByEmailContaining(contains);
+            @RequestParam String contains,
+            @Parameter(description = "Also return former employees from the archive")
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        List<Employee> employees = employeeService.getEmployeesByEmailContaining(contains, includeArchived);
         if (employees.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
@@ -136,8 +238,10 @@ public class EmployeeController {
     @GetMapping("/salary")
     public ResponseEntity<List<Employee>> getEmployeesByMinimumSalary(
             @Parameter(description = "Minimum salary threshold", required = true)
-            @RequestParam Double minSalary) {
-        List<Employee> employees = employeeService.getEmployeesByMinimumSalary(minSalary);
+            @RequestParam Double minSalary,
+            @Parameter(description = "Also return former employees from the archive")
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        List<Employee> employees = employeeService.getEmployeesByMinimumSalary(minSalary, includeArchived);
         if (employees.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
@@ -0,0 +1,53 @@
+package com.example.spring_claude_demo.controller;
+
+import com.example.spring_claude_demo.search.EmployeeSearchIndex;
+import com.example.spring_claude_demo.search.EmployeeSearchResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/employees")
+@Tag(name = "Employee", description = "Employee management APIs")
+public class EmployeeSearchController {
+
+    private final EmployeeSearchIndex searchIndex;
+
+    @Autowired
+    public EmployeeSearchController(EmployeeSearchIndex searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    @Operation(summary = "Full-text search", description = "Searches first name, last name, position and email. "
+            + "Every word must match, either exactly, as a prefix or with a small typo; results are ranked with BM25")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ranked page of matching employees",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = EmployeeSearchResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Empty query",
+                    content = @Content)
+    })
+    @GetMapping("/search")
+    public ResponseEntity<EmployeeSearchResponse> search(
+            @Parameter(description = "Search text, e.g. 'senior eng smith'")
+            @RequestParam String q,
+            @Parameter(description = "Zero-based page number")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size")
+            @RequestParam(defaultValue = "20") int size) {
+        if (q.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+        return new ResponseEntity<>(searchIndex.search(q, page, size), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.spring_claude_demo.controller;
+
+import com.example.spring_claude_demo.stats.SalaryPercentiles;
+import com.example.spring_claude_demo.stats.SalaryPercentilesResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/employees")
+@Tag(name = "Employee", description = "Employee management APIs")
+public class EmployeeStatsController {
+
+    private final SalaryPercentiles salaryPercentiles;
+
+    @Autowired
+    public EmployeeStatsController(SalaryPercentiles salaryPercentiles) {
+        this.salaryPercentiles = salaryPercentiles;
+    }
+
+    @Operation(summary = "Salary percentiles", description = "Estimated p50, p90 and p99 salary overall and per "
+            + "position, from sketches kept up to date with every change made through this instance, up to about "
+            + "a second ago; does not scan the employees. Changes made through other instances are only included "
+            + "from the next rebuild: otherInstanceChanges counts the employees still missing since rebuiltAt")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Percentiles with the number of employees behind each",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = SalaryPercentilesResponse.class)))
+    })
+    @GetMapping("/stats/percentiles")
+    public ResponseEntity<SalaryPercentilesResponse> getSalaryPercentiles() {
+        return new ResponseEntity<>(salaryPercentiles.current(), HttpStatus.OK);
+    }
+}
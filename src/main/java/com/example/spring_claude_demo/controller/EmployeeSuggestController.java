@@ -0,0 +1,52 @@
+package com.example.spring_claude_demo.controller;
+
+import com.example.spring_claude_demo.suggest.EmployeeNameSuggester;
+import com.example.spring_claude_demo.suggest.EmployeeSuggestResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/employees")
+@Tag(name = "Employee", description = "Employee management APIs")
+public class EmployeeSuggestController {
+
+    private final EmployeeNameSuggester nameSuggester;
+
+    @Autowired
+    public EmployeeSuggestController(EmployeeNameSuggester nameSuggester) {
+        this.nameSuggester = nameSuggester;
+    }
+
+    @Operation(summary = "Autocomplete names", description = "Last and first names starting with the prefix "
+            + "(case-insensitive), the most common first. Meant to be called on every keystroke of a people picker; "
+            + "look the chosen name up with /lastName/{lastName}")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching names with how many employees have each",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = EmployeeSuggestResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Empty prefix",
+                    content = @Content)
+    })
+    @GetMapping("/suggest")
+    public ResponseEntity<EmployeeSuggestResponse> suggest(
+            @Parameter(description = "Start of a last or first name, e.g. 'smi'")
+            @RequestParam String prefix,
+            @Parameter(description = "Number of suggestions, at most app.suggest.max-limit")
+            @RequestParam(defaultValue = "10") int limit) {
+        if (prefix.isBlank()) {
+            throw new IllegalArgumentException("Suggestion prefix must not be empty");
+        }
+        return new ResponseEntity<>(nameSuggester.suggest(prefix, limit), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.spring_claude_demo.controller;
+
+import com.example.spring_claude_demo.sync.EmployeeSyncResponse;
+import com.example.spring_claude_demo.sync.EmployeeSyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/employees")
+@Tag(name = "Employee", description = "Employee management APIs")
+public class EmployeeSyncController {
+
+    private final EmployeeSyncService syncService;
+
+    @Autowired
+    public EmployeeSyncController(EmployeeSyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    @Operation(summary = "Delta sync", description = "Returns employees created, updated or deleted since the given token, "
+            + "plus the token to use next time. Without a token (or with an expired one) a full snapshot is returned "
+            + "with reset=true")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes since the token",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = EmployeeSyncResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Malformed token",
+                    content = @Content)
+    })
+    @GetMapping("/sync")
+    public ResponseEntity<EmployeeSyncResponse> sync(
+            @Parameter(description = "Token returned by the previous sync call")
+            @RequestParam(required = false) String since,
+            @Parameter(description = "Maximum number of changes to return")
+            @RequestParam(required = false) Integer limit) {
+        return new ResponseEntity<>(syncService.changesSince(since, limit), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.spring_claude_demo.controller;
+
+import com.example.spring_claude_demo.exception.EmployeeNotFoundException;
+import com.example.spring_claude_demo.model.Employee;
+import com.example.spring_claude_demo.reactive.ReactiveEmployeeService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// WebFlux mirror of EmployeeController, active with the 'reactive' profile.
+// application/json responses keep the servlet semantics (a JSON array, 204 when empty);
+// list endpoints also stream as application/x-ndjson, one employee per line, fetched from
+// the database only as fast as the client reads them.
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/employees")
+@Tag(name = "Employee", description = "Employee management APIs")
+public class ReactiveEmployeeController {
+
+    private final ReactiveEmployeeService employeeService;
+
+    @Autowired
+    public ReactiveEmployeeController(ReactiveEmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    @Operation(summary = "Create a new employee", description = "Creates a new employee and returns the created employee details")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Employee created successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Employee.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid employee data provided",
+                    content = @Content)
+    })
+    @PostMapping
+    public Mono<ResponseEntity<Employee>> createEmployee(
+            @Parameter(description = "Employee object to be created", required = true)
+            @RequestBody Employee employee) {
+        return employeeService.saveEmployee(employee)
+                .map(savedEmployee -> new ResponseEntity<>(savedEmployee, HttpStatus.CREATED));
+    }
+
+    @Operation(summary = "Get all employees", description = "Returns a list of all employees in the system")
+    @ApiResponse(responseCode = "200", description = "List of employees retrieved successfully",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = Employee.class)))
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<List<Employee>>> getAllEmployees() {
+        return employeeService.getAllEmployees().collectList()
+                .map(employees -> new ResponseEntity<>(employees, HttpStatus.OK));
+    }
+
+    @Operation(summary = "Stream all employees", description = "Streams every employee as newline-delimited JSON")
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Employee> streamAllEmployees() {
+        return employeeService.getAllEmployees();
+    }
+
+    @Operation(summary = "Get employee by ID", description = "Returns a single employee identified by their ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Employee found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Employee.class))),
+            @ApiResponse(responseCode = "404", description = "Employee not found",
+                    content = @Content)
+    })
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Employee>> getEmployeeById(
+            @Parameter(description = "ID of the employee to retrieve", required = true)
+            @PathVariable Long id) {
+        return employeeService.getEmployeeById(id)
+                .map(employee -> new ResponseEntity<>(employee, HttpStatus.OK))
+                .switchIfEmpty(Mono.error(() -> new EmployeeNotFoundException(id)));
+    }
+
+    @Operation(summary = "Get employees by last name", description = "Returns a list of employees with the specified last name")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Employees found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Employee.class))),
+            @ApiResponse(responseCode = "204", description = "No employees found with the specified last name",
+                    content = @Content)
+    })
+    @GetMapping(path = "/lastName/{lastName}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<List<Employee>>> getEmployeesByLastName(
+            @Parameter(description = "Last name to search for", required = true)
+            @PathVariable String lastName) {
+        return okOrNoContent(employeeService.getEmployeesByLastName(lastName));
+    }
+
+    @Operation(summary = "Stream employees by last name", description = "Streams employees with the specified last name as newline-delimited JSON")
+    @GetMapping(path = "/lastName/{lastName}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Employee> streamEmployeesByLastName(@PathVariable String lastName) {
+        return employeeService.getEmployeesByLastName(lastName);
+    }
+
+    @Operation(summary = "Get employees by position", description = "Returns a list of employees with the specified position")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Employees found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Employee.class))),
+            @ApiResponse(responseCode = "204", description = "No employees found with the specified position",
+                    content = @Content)
+    })
+    @GetMapping(path = "/position/{position}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<List<Employee>>> getEmployeesByPosition(
+            @Parameter(description = "Position to search for", required = true)
+            @PathVariable String position) {
+        return okOrNoContent(employeeService.getEmployeesByPosition(position));
+    }
+
+    @Operation(summary = "Stream employees by position", description = "Streams employees with the specified position as newline-delimited JSON")
+    @GetMapping(path = "/position/{position}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Employee> streamEmployeesByPosition(@PathVariable String position) {
+        return employeeService.getEmployeesByPosition(position);
+    }
+
+    @Operation(summary = "Get employees by email pattern", description = "Returns a list of employees whose email contains the specified text")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Employees found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Employee.class))),
+            @ApiResponse(responseCode = "204", description = "No employees found with the specified email pattern",
+                    content = @Content)
+    })
+    @GetMapping(path = "/email", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<List<Employee>>> getEmployeesByEmailContaining(
+            @Parameter(description = "Text to search for in email addresses", required = true)
+            @RequestParam String contains) {
+        return okOrNoContent(employeeService.getEmployeesByEmailContaining(contains));
+    }
+
+    @Operation(summary = "Stream employees by email pattern", description = "Streams employees whose email contains the specified text as newline-delimited JSON")
+    @GetMapping(path = "/email", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Employee> streamEmployeesByEmailContaining(@RequestParam String contains) {
+        return employeeService.getEmployeesByEmailContaining(contains);
+    }
+
+    @Operation(summary = "Get employees by minimum salary", description = "Returns a list of employees with salary equal to or greater than the specified amount")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Employees found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Employee.class))),
+            @ApiResponse(responseCode = "204", description = "No employees found with the specified minimum salary",
+                    content = @Content)
+    })
+    @GetMapping(path = "/salary", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<List<Employee>>> getEmployeesByMinimumSalary(
+            @Parameter(description = "Minimum salary threshold", required = true)
+            @RequestParam Double minSalary) {
+        return okOrNoContent(employeeService.getEmployeesByMinimumSalary(minSalary));
+    }
+
+    @Operation(summary = "Stream employees by minimum salary", description = "Streams employees earning at least the specified amount as newline-delimited JSON")
+    @GetMapping(path = "/salary", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Employee> streamEmployeesByMinimumSalary(@RequestParam Double minSalary) {
+        return employeeService.getEmployeesByMinimumSalary(minSalary);
+    }
+
+    @Operation(summary = "Update an employee", description = "Updates an existing employee identified by their ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Employee updated successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Employee.class))),
+            @ApiResponse(responseCode = "404", description = "Employee not found",
+                    content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid employee data provided",
+                    content = @Content)
+    })
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Employee>> updateEmployee(
+            @Parameter(description = "ID of the employee to update", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "Updated employee details", required = true)
+            @RequestBody Employee employeeDetails) {
+        return employeeService.updateEmployee(id, employeeDetails)
+                .map(updatedEmployee -> new ResponseEntity<>(updatedEmployee, HttpStatus.OK));
+    }
+
+    @Operation(summary = "Delete an employee", description = "Deletes an employee identified by their ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Employee deleted successfully",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "404", description = "Employee not found",
+                    content = @Content)
+    })
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Map<String, Boolean>>> deleteEmployee(
+            @Parameter(description = "ID of the employee to delete", required = true)
+            @PathVariable Long id) {
+        return employeeService.deleteEmployee(id).then(Mono.fromSupplier(() -> {
+            Map<String, Boolean> response = new HashMap<>();
+            response.put("deleted", Boolean.TRUE);
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        }));
+    }
+
+    private static Mono<ResponseEntity<List<Employee>>> okOrNoContent(Flux<Employee> employees) {
+        return employees.collectList().map(list -> list.isEmpty()
+                ? new ResponseEntity<>(HttpStatus.NO_CONTENT)
+                : new ResponseEntity<>(list, HttpStatus.OK));
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.spring_claude_demo.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Copies table definitions between H2 databases using the SCRIPT NODATA command.
+// Hibernate only creates the schema on the database it is bootstrapped against,
+// so secondary H2 instances (replicas, shards) get their tables from here.
+public final class H2SchemaCopier {
+
+    private H2SchemaCopier() {
+    }
+
+    public static void copyTables(Connection source, Connection target, List<String> tables,
+                                  boolean includeUniqueConstraints) throws SQLException {
+        for (String table : tables) {
+            if (!tableExists(source, table) || tableExists(target, table)) {
+                continue;
+            }
+            try (Statement statement = target.createStatement()) {
+                for (String ddl : scriptTable(source, table, includeUniqueConstraints)) {
+                    statement.execute(ddl);
+                }
+            }
+        }
+    }
+
+    public static void copyAllTables(Connection source, Connection target) throws SQLException {
+        List<String> tables = new ArrayList<>();
+        try (ResultSet result = source.getMetaData().getTables(null, "PUBLIC", null, new String[]{"TABLE"})) {
+            while (result.next()) {
+                tables.add(result.getString("TABLE_NAME"));
+            }
+        }
+        copyTables(source, target, tables, true);
+    }
+
+    public static boolean tableExists(Connection connection, String table) throws SQLException {
+        try (ResultSet tables = connection.getMetaData()
+                .getTables(null, null, table.toUpperCase(Locale.ROOT), new String[]{"TABLE"})) {
+            return tables.next();
+        }
+    }
+
+    private static List<String> scriptTable(Connection source, String table,
+                                            boolean includeUniqueConstraints) throws SQLException {
+        List<String> statements = new ArrayList<>();
+        try (Statement statement = source.createStatement();
+             ResultSet script = statement.executeQuery("SCRIPT NODATA NOPASSWORDS NOSETTINGS TABLE " + table)) {
+            while (script.next()) {
+                String ddl = script.getString(1);
+                if (ddl.startsWith("CREATE USER") || ddl.startsWith("--")) {
+                    continue;
+                }
+                if (!includeUniqueConstraints && ddl.contains(" UNIQUE(")) {
+                    continue;
+                }
+                statements.add(ddl);
+            }
+        }
+        return statements;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.spring_claude_demo.datasource;
+
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+// Wraps the application DataSource so every JDBC statement goes through the
+// QueryExecutionListener beans (JFR events, Server-Timing, ...). Routing data sources
+// (replica, sharded) are injected by their concrete type and already sit behind a lazy
+// proxy bean, which is the one that gets wrapped.
+@Component
+public class QueryListenerDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<QueryExecutionListener> listeners;
+
+    public QueryListenerDataSourcePostProcessor(ObjectProvider<QueryExecutionListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource)
+                || bean instanceof ProxyDataSource
+                || bean instanceof AbstractRoutingDataSource) {
+            return bean;
+        }
+        ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource).name(beanName);
+        listeners.orderedStream().forEach(builder::listener);
+        return builder.build();
+    }
+}
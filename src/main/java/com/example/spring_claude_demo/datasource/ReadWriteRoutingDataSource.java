@@ -0,0 +1,132 @@
+package com.example.spring_claude_demo.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Sends read-only transactions to a replica (round robin) and everything else to the primary.
+// A replica whose lag exceeds maxLag is skipped; when none qualifies the read falls back to the primary.
+// Reads are only bounded-stale, not read-your-writes: a read-only transaction right after a write,
+// even the caller's own, may go to a replica that has not applied it yet. Reads that must see a
+// preceding write belong in a read-write transaction.
+// Must sit behind a LazyConnectionDataSourceProxy so the read-only flag is known when the
+// connection is actually fetched.
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    public static final String PRIMARY = "primary";
+
+    private final HikariDataSource primary;
+    private final List<ReplicaNode> replicas;
+    private final long maxLagNanos;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final AtomicLong lastPrimaryWriteNanos = new AtomicLong(System.nanoTime());
+
+    private final Counter primaryWrites;
+    private final Counter fallbackReads;
+    private final Map<String, Counter> replicaReads = new HashMap<>();
+
+    public ReadWriteRoutingDataSource(HikariDataSource primary, List<ReplicaNode> replicas,
+                                      Duration maxLag, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLagNanos = maxLag.toNanos();
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (ReplicaNode replica : this.replicas) {
+            targets.put(replica.getName(), replica.getDataSource());
+            replicaReads.put(replica.getName(), routeCounter(meterRegistry, replica.getName(), "read"));
+            Gauge.builder("employee.datasource.replica.lag", replica,
+                            r -> r.lagNanos(lastPrimaryWriteNanos.get(), System.nanoTime()) / 1e9)
+                    .tag("route", replica.getName())
+                    .baseUnit("seconds")
+                    .description("Replication lag of the stand-in replica (-1 when not yet synced)")
+                    .register(meterRegistry);
+        }
+        this.primaryWrites = routeCounter(meterRegistry, PRIMARY, "write");
+        this.fallbackReads = routeCounter(meterRegistry, PRIMARY, "fallback-read");
+
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    private static Counter routeCounter(MeterRegistry registry, String route, String kind) {
+        return Counter.builder("employee.datasource.route")
+                .tag("route", route)
+                .tag("kind", kind)
+                .description("Connections handed out per routing decision")
+                .register(registry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            ReplicaNode replica = pickReplica();
+            if (replica != null) {
+                replicaReads.get(replica.getName()).increment();
+                return replica.getName();
+            }
+            fallbackReads.increment();
+            return PRIMARY;
+        }
+        primaryWrites.increment();
+        markPrimaryWrite();
+        return PRIMARY;
+    }
+
+    private ReplicaNode pickReplica() {
+        int count = replicas.size();
+        if (count == 0) {
+            return null;
+        }
+        long lastWrite = lastPrimaryWriteNanos.get();
+        long now = System.nanoTime();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), count);
+        for (int i = 0; i < count; i++) {
+            ReplicaNode candidate = replicas.get((start + i) % count);
+            long lag = candidate.lagNanos(lastWrite, now);
+            if (lag >= 0 && lag <= maxLagNanos) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    // The lag clock starts when a write transaction completes on the primary
+    private void markPrimaryWrite() {
+        lastPrimaryWriteNanos.set(System.nanoTime());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    lastPrimaryWriteNanos.set(System.nanoTime());
+                }
+            });
+        }
+    }
+
+    public List<ReplicaNode> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public void close() {
+        for (ReplicaNode replica : replicas) {
+            replica.getDataSource().close();
+        }
+        primary.close();
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.spring_claude_demo.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+// One read replica: its pool plus the replication state the router needs to
+// decide whether the replica is fresh enough to serve reads.
+public class ReplicaNode {
+
+    private final String name;
+    private final String url;
+    private final HikariDataSource dataSource;
+
+    // System.nanoTime() at which the last successful sync took its snapshot of the primary
+    private volatile long syncedAtNanos;
+    private volatile boolean synced = false;
+
+    public ReplicaNode(String name, String url, HikariDataSource dataSource) {
+        this.name = name;
+        this.url = url;
+        this.dataSource = dataSource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public HikariDataSource getDataSource() {
+        return dataSource;
+    }
+
+    void markSynced(long snapshotNanos) {
+        this.syncedAtNanos = snapshotNanos;
+        this.synced = true;
+    }
+
+    void markFailed() {
+        this.synced = false;
+    }
+
+    // How stale the replica's data may be, or -1 when never synced: 0 when its snapshot was taken
+    // after the last primary write, otherwise the age of that snapshot. Every write it is missing
+    // came after the snapshot, so none is older than this, however often the primary writes since
+    long lagNanos(long lastPrimaryWriteNanos, long nowNanos) {
+        if (!synced) {
+            return -1;
+        }
+        long syncedAt = syncedAtNanos;
+        return syncedAt - lastPrimaryWriteNanos >= 0 ? 0 : nowNanos - syncedAt;
+    }
+}
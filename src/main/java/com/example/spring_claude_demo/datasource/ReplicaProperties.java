@@ -0,0 +1,97 @@
+package com.example.spring_claude_demo.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "app.datasource.replica")
+public class ReplicaProperties {
+
+    // Turns on read/write routing; reads in read-only transactions go to the replicas
+    private boolean enabled = false;
+
+    // JDBC urls of the read replicas (each one gets its own pool)
+    private List<String> urls = new ArrayList<>(List.of("jdbc:h2:mem:employeedb_replica0"));
+
+    private String username = "sa";
+    private String password = "password";
+
+    // Pool size used for every replica pool
+    private int poolSize = 10;
+
+    // How often the local stand-in replicas are refreshed from the primary
+    private Duration syncInterval = Duration.ofMillis(500);
+
+    // Replicas lagging more than this are skipped and reads fall back to the primary; also how old
+    // a write a read-only transaction may miss, the caller's own writes included
+    private Duration maxLag = Duration.ofSeconds(2);
+
+    // Tables copied from the primary into the stand-in replicas
+    private List<String> tables = new ArrayList<>(List.of("employees"));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getUrls() {
+        return urls;
+    }
+
+    public void setUrls(List<String> urls) {
+        this.urls = urls;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    public Duration getSyncInterval() {
+        return syncInterval;
+    }
+
+    public void setSyncInterval(Duration syncInterval) {
+        this.syncInterval = syncInterval;
+    }
+
+    public Duration getMaxLag() {
+        return maxLag;
+    }
+
+    public void setMaxLag(Duration maxLag) {
+        this.maxLag = maxLag;
+    }
+
+    public List<String> getTables() {
+        return tables;
+    }
+
+    public void setTables(List<String> tables) {
+        this.tables = tables;
+    }
+}
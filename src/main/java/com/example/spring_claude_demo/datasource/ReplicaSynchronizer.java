@@ -0,0 +1,123 @@
+package com.example.spring_claude_demo.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Keeps the local stand-in replicas in sync with the primary H2 database.
+// Each replica links the primary tables (CREATE LINKED TABLE) and periodically
+// applies a MERGE + DELETE pass, which gives asynchronous replication with a
+// measurable lag, the same trade-off a real streaming replica has.
+public class ReplicaSynchronizer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaSynchronizer.class);
+
+    private final DataSource primary;
+    private final String primaryUrl;
+    private final String primaryUsername;
+    private final String primaryPassword;
+    private final List<ReplicaNode> replicas;
+    private final List<String> tables;
+    private final Duration interval;
+
+    private ScheduledExecutorService executor;
+    private volatile boolean running = false;
+
+    public ReplicaSynchronizer(DataSource primary, String primaryUrl, String primaryUsername, String primaryPassword,
+                               List<ReplicaNode> replicas, List<String> tables, Duration interval) {
+        this.primary = primary;
+        this.primaryUrl = primaryUrl;
+        this.primaryUsername = primaryUsername;
+        this.primaryPassword = primaryPassword;
+        this.replicas = replicas;
+        this.tables = tables;
+        this.interval = interval;
+    }
+
+    @Override
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::syncAll, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void syncAll() {
+        for (ReplicaNode replica : replicas) {
+            long snapshotNanos = System.nanoTime();
+            try (Connection connection = replica.getDataSource().getConnection()) {
+                prepare(connection);
+                sync(connection);
+                replica.markSynced(snapshotNanos);
+            } catch (SQLException ex) {
+                replica.markFailed();
+                log.warn("Replica {} sync failed: {}", replica.getName(), ex.getMessage());
+            }
+        }
+    }
+
+    private void prepare(Connection replica) throws SQLException {
+        try (Connection source = primary.getConnection(); Statement statement = replica.createStatement()) {
+            // Unique constraints are left out: the row-by-row MERGE may briefly violate them
+            H2SchemaCopier.copyTables(source, replica, tables, false);
+            for (String table : tables) {
+                if (H2SchemaCopier.tableExists(source, table)) {
+                    statement.execute("CREATE LINKED TABLE IF NOT EXISTS " + linkName(table)
+                            + "('org.h2.Driver', '" + primaryUrl + "', '" + primaryUsername + "', '"
+                            + primaryPassword + "', '" + table.toUpperCase(Locale.ROOT) + "') READONLY");
+                }
+            }
+        }
+    }
+
+    private void sync(Connection replica) throws SQLException {
+        replica.setAutoCommit(false);
+        try (Statement statement = replica.createStatement()) {
+            for (String table : tables) {
+                if (!H2SchemaCopier.tableExists(replica, table)) {
+                    continue;
+                }
+                String link = linkName(table);
+                statement.executeUpdate("MERGE INTO " + table + " KEY(ID) SELECT * FROM " + link);
+                statement.executeUpdate("DELETE FROM " + table + " WHERE ID NOT IN (SELECT ID FROM " + link + ")");
+            }
+            replica.commit();
+        } catch (SQLException ex) {
+            replica.rollback();
+            throw ex;
+        } finally {
+            replica.setAutoCommit(true);
+        }
+    }
+
+    private static String linkName(String table) {
+        return table + "_primary_link";
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.spring_claude_demo.datasource;
+
+import com.example.spring_claude_demo.sharding.ShardIds;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Counts JDBC round trips per thread, by statement kind. A batch is one round trip.
+// Tests reset the counts, drive a request through MockMvc (same thread) and assert a budget,
+// so an extra SELECT or an N+1 fails the build. Id sequence reads are counted on their own and
+// left out of the budgets: each hands out a block of ids, so whether one falls in a given call
+// depends on what ran before it.
+@Component
+public class SqlStatementCounter implements QueryExecutionListener {
+
+    private static final ThreadLocal<Counts> COUNTS = ThreadLocal.withInitial(Counts::new);
+
+    public static Counts current() {
+        return COUNTS.get();
+    }
+
+    public static void reset() {
+        COUNTS.get().reset();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Counts counts = COUNTS.get();
+        for (QueryInfo query : queryInfoList) {
+            counts.record(query.getQuery());
+        }
+    }
+
+    public static final class Counts {
+
+        private int selects;
+        private int inserts;
+        private int updates;
+        private int deletes;
+        private int sequences;
+        private int others;
+
+        void record(String sql) {
+            int start = 0;
+            while (start < sql.length() && !Character.isLetter(sql.charAt(start))) {
+                start++;
+            }
+            if (sql.regionMatches(true, start, ShardIds.NEXT_VALUE_SQL, 0, ShardIds.NEXT_VALUE_SQL.length())) {
+                sequences++;
+            } else if (startsWith(sql, start, "select") || startsWith(sql, start, "with")) {
+                selects++;
+            } else if (startsWith(sql, start, "insert")) {
+                inserts++;
+            } else if (startsWith(sql, start, "update")) {
+                updates++;
+            } else if (startsWith(sql, start, "delete")) {
+                deletes++;
+            } else {
+                others++;
+            }
+        }
+
+        void reset() {
+            selects = 0;
+            inserts = 0;
+            updates = 0;
+            deletes = 0;
+            sequences = 0;
+            others = 0;
+        }
+
+        public int getSelects() {
+            return selects;
+        }
+
+        public int getInserts() {
+            return inserts;
+        }
+
+        public int getUpdates() {
+            return updates;
+        }
+
+        public int getDeletes() {
+            return deletes;
+        }
+
+        public int getSequences() {
+            return sequences;
+        }
+
+        public int getOthers() {
+            return others;
+        }
+
+        public int getTotal() {
+            return selects + inserts + updates + deletes + sequences + others;
+        }
+
+        @Override
+        public String toString() {
+            return "select=" + selects + ", insert=" + inserts + ", update=" + updates + ", delete=" + deletes
+                    + ", sequence=" + sequences + ", other=" + others;
+        }
+
+        private static boolean startsWith(String sql, int offset, String keyword) {
+            return sql.regionMatches(true, offset, keyword, 0, keyword.length());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.spring_claude_demo.event;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.changes")
+public class ChangeStreamProperties {
+
+    // Number of recent events kept for Last-Event-ID resumption
+    private int bufferSize = 1024;
+
+    // Events queued per subscriber before it is considered too slow and dropped
+    private int subscriberQueueSize = 256;
+
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    private Duration emitterTimeout = Duration.ofMinutes(30);
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public int getSubscriberQueueSize() {
+        return subscriberQueueSize;
+    }
+
+    public void setSubscriberQueueSize(int subscriberQueueSize) {
+        this.subscriberQueueSize = subscriberQueueSize;
+    }
+
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(Duration heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    public Duration getEmitterTimeout() {
+        return emitterTimeout;
+    }
+
+    public void setEmitterTimeout(Duration emitterTimeout) {
+        this.emitterTimeout = emitterTimeout;
+    }
+}
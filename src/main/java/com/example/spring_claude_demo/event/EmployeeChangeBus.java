@@ -0,0 +1,224 @@
+package com.example.spring_claude_demo.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+// In-process broadcast of committed employee changes.
+// Every change gets a sequence number and is kept in a bounded ring buffer so a reconnecting
+// client can resume from its last seen sequence. Each subscriber has its own bounded queue
+// drained on a separate thread; a subscriber whose queue is full is dropped instead of
+// making the writer wait.
+@Component
+@EnableConfigurationProperties(ChangeStreamProperties.class)
+public class EmployeeChangeBus implements DisposableBean {
+
+    private final ChangeRecord[] ring;
+    private final int subscriberQueueSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final ExecutorService dispatchExecutor;
+    private final ScheduledExecutorService heartbeatExecutor;
+
+    private final Counter publishedChanges;
+    private final Counter droppedSubscribers;
+
+    // Guarded by lock
+    private long nextSequence = 1;
+
+    public EmployeeChangeBus(ChangeStreamProperties properties, MeterRegistry meterRegistry,
+                             @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.ring = new ChangeRecord[properties.getBufferSize()];
+        this.subscriberQueueSize = properties.getSubscriberQueueSize();
+
+        if (virtualThreads) {
+            // Drains block on slow SSE writes; a virtual thread per drain keeps that cheap
+            this.dispatchExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("change-stream-", 1).factory());
+        } else {
+            AtomicInteger threadIndex = new AtomicInteger();
+            this.dispatchExecutor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "change-stream-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        this.heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "change-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long heartbeatMillis = properties.getHeartbeatInterval().toMillis();
+        heartbeatExecutor.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+
+        this.publishedChanges = Counter.builder("employee.changes.published")
+                .description("Employee changes broadcast to subscribers")
+                .register(meterRegistry);
+        this.droppedSubscribers = Counter.builder("employee.changes.dropped.subscribers")
+                .description("Subscribers dropped because they could not keep up")
+                .register(meterRegistry);
+        Gauge.builder("employee.changes.subscribers", subscriptions, List::size)
+                .description("Open change stream subscriptions")
+                .register(meterRegistry);
+    }
+
+    // Only committed changes are broadcast; reactive writes publish after their own commit,
+    // outside any Spring-managed transaction, hence the fallback
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChange(EmployeeChangeEvent event) {
+        publish(event);
+    }
+
+    public long publish(EmployeeChangeEvent event) {
+        lock.lock();
+        try {
+            ChangeRecord record = new ChangeRecord(ChangeRecord.Kind.CHANGE, nextSequence++, event);
+            ring[slot(record.sequence())] = record;
+            for (Subscription subscription : subscriptions) {
+                if (!subscription.offer(record)) {
+                    drop(subscription);
+                }
+            }
+            publishedChanges.increment();
+            return record.sequence();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Registers a sink, first replaying everything after lastSequence that is still buffered.
+    // If lastSequence is too old (or from another run) the sink gets a RESET and should reload.
+    public Subscription subscribe(Long lastSequence, ChangeSink sink) {
+        lock.lock();
+        try {
+            long latest = nextSequence - 1;
+            long oldestBuffered = Math.max(1, nextSequence - ring.length);
+            boolean replayable = lastSequence != null && lastSequence >= oldestBuffered - 1 && lastSequence <= latest;
+            int replayCount = replayable ? (int) (latest - lastSequence) : 0;
+
+            Subscription subscription = new Subscription(sink, subscriberQueueSize + replayCount + 1);
+            if (lastSequence != null && !replayable) {
+                subscription.offer(new ChangeRecord(ChangeRecord.Kind.RESET, latest, null));
+            }
+            for (long sequence = latest - replayCount + 1; sequence <= latest; sequence++) {
+                subscription.offer(ring[slot(sequence)]);
+            }
+            subscriptions.add(subscription);
+            return subscription;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void heartbeat() {
+        ChangeRecord heartbeat = new ChangeRecord(ChangeRecord.Kind.HEARTBEAT, 0, null);
+        for (Subscription subscription : subscriptions) {
+            // A full queue already means the subscriber will be dropped on the next change
+            subscription.offer(heartbeat);
+        }
+    }
+
+    private void drop(Subscription subscription) {
+        droppedSubscribers.increment();
+        subscription.close();
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % ring.length);
+    }
+
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    @Override
+    public void destroy() {
+        heartbeatExecutor.shutdownNow();
+        subscriptions.forEach(Subscription::close);
+        dispatchExecutor.shutdownNow();
+    }
+
+    public record ChangeRecord(Kind kind, long sequence, EmployeeChangeEvent event) {
+        public enum Kind {
+            CHANGE,
+            RESET,
+            HEARTBEAT
+        }
+    }
+
+    // Transport for one subscriber (an SSE connection, a test probe, ...)
+    public interface ChangeSink {
+        void send(ChangeRecord record) throws Exception;
+
+        // Called once when the subscription ends, for whatever reason
+        void close();
+    }
+
+    public final class Subscription {
+
+        private final ChangeSink sink;
+        private final ArrayBlockingQueue<ChangeRecord> queue;
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscription(ChangeSink sink, int capacity) {
+            this.sink = sink;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        private boolean offer(ChangeRecord record) {
+            if (closed.get()) {
+                return true;
+            }
+            if (!queue.offer(record)) {
+                return false;
+            }
+            if (pending.getAndIncrement() == 0) {
+                dispatchExecutor.execute(this::drain);
+            }
+            return true;
+        }
+
+        // Only one drain runs per subscription at a time; 'pending' hands over work that
+        // arrives while it is running
+        private void drain() {
+            int missed = 1;
+            do {
+                ChangeRecord record;
+                while (!closed.get() && (record = queue.poll()) != null) {
+                    try {
+                        sink.send(record);
+                    } catch (Exception ex) {
+                        close();
+                        return;
+                    }
+                }
+                missed = pending.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        public void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            subscriptions.remove(this);
+            queue.clear();
+            sink.close();
+        }
+    }
+}
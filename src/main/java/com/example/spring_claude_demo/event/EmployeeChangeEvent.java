@@ -0,0 +1,52 @@
+package com.example.spring_claude_demo.event;
+
+import com.example.spring_claude_demo.model.Employee;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Instant;
+
+// Published by EmployeeService for every committed create, update and delete
+public class EmployeeChangeEvent {
+
+    private final EmployeeChangeType type;
+    private final Long employeeId;
+    private final Employee employee;
+    private final Employee previous;
+    private final Instant occurredAt;
+
+    public EmployeeChangeEvent(EmployeeChangeType type, Employee employee) {
+        this(type, employee, null);
+    }
+
+    public EmployeeChangeEvent(EmployeeChangeType type, Employee employee, Employee previous) {
+        this.type = type;
+        this.employeeId = employee.getId();
+        this.employee = employee;
+        this.previous = previous;
+        this.occurredAt = Instant.now();
+    }
+
+    public EmployeeChangeType getType() {
+        return type;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    // State after the change; for deletes, the state that was removed
+    public Employee getEmployee() {
+        return employee;
+    }
+
+    // For updates, the state before the change when the writer had it loaded; null otherwise.
+    // In-process listeners only: the SSE stream must not expose the old salary and contact details
+    @JsonIgnore
+    public Employee getPrevious() {
+        return previous;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+}
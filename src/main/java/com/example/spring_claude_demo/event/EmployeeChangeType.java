@@ -0,0 +1,7 @@
+package com.example.spring_claude_demo.event;
+
+public enum EmployeeChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,37 @@
+package com.example.spring_claude_demo.exception;
+
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.sql.SQLException;
+import java.util.Locale;
+
+// Tells unique-constraint violations (a conflict with an existing row) apart from other integrity
+// violations (a bad request), for the REST and gRPC error mappings. Messages never include the SQL.
+public final class ConstraintViolations {
+
+    // SQLSTATE for a unique or primary key violation
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private ConstraintViolations() {
+    }
+
+    public static boolean isDuplicate(DataIntegrityViolationException ex) {
+        if (ex instanceof DuplicateKeyException) {
+            return true;
+        }
+        return NestedExceptionUtils.getMostSpecificCause(ex) instanceof SQLException sql
+                && UNIQUE_VIOLATION.equals(sql.getSQLState());
+    }
+
+    public static String detail(DataIntegrityViolationException ex) {
+        if (!isDuplicate(ex)) {
+            return "The request violates a data constraint";
+        }
+        String message = String.valueOf(NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+        return message.toLowerCase(Locale.ROOT).contains("uk_employees_email")
+                ? "An employee with this email already exists"
+                : "The request conflicts with an existing record";
+    }
+}
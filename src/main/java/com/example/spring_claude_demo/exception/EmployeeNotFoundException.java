@@ -0,0 +1,23 @@
+package com.example.spring_claude_demo.exception;
+
+// Carries only the id; the message is built if someone actually reads it (logs, gRPC status),
+// the REST handlers answer with a precomputed body instead
+public class EmployeeNotFoundException extends ResourceNotFoundException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long employeeId;
+
+    public EmployeeNotFoundException(long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public long getEmployeeId() {
+        return employeeId;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Employee not found with id: " + employeeId;
+    }
+}
@@ -1,37 +1,56 @@
 package com.example.spring_claude_demo.exception;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
-import org.springframework.web.context.request.WebRequest;
-
-import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+// Errors are RFC 7807 problem details (application/problem+json). Spring MVC's own exceptions
+// (bad parameters, unsupported media types, ...) keep the status the base class gives them.
 @ControllerAdvice
-public class GlobalExceptionHandler {
-
-    // Handle specific exceptions
-    @ExceptionHandler(RuntimeException.class)
-    public ResponseEntity<?> handleResourceNotFoundException(RuntimeException ex, WebRequest request) {
-        Map<String, Object> errorDetails = new HashMap<>();
-        errorDetails.put("timestamp", new Date());
-        errorDetails.put("message", ex.getMessage());
-        errorDetails.put("details", request.getDescription(false));
-        
-        return new ResponseEntity<>(errorDetails, HttpStatus.NOT_FOUND);
+@Profile("!reactive")
+public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    // The hot path for misses: no allocation beyond what the container needs to write the bytes
+    @ExceptionHandler(EmployeeNotFoundException.class)
+    public ResponseEntity<byte[]> handleEmployeeNotFoundException(EmployeeNotFoundException ex) {
+        return ProblemResponses.EMPLOYEE_NOT_FOUND;
+    }
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ProblemDetail> handleResourceNotFoundException(ResourceNotFoundException ex) {
+        return new ResponseEntity<>(ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, ex.getMessage()),
+                HttpStatus.NOT_FOUND);
     }
-    
-    // Handle global exceptions
+
+    // A duplicate email (uk_employees_email) is a conflict with the existing employee; other
+    // constraint violations are the request's fault
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ProblemDetail> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        HttpStatus status = ConstraintViolations.isDuplicate(ex) ? HttpStatus.CONFLICT : HttpStatus.BAD_REQUEST;
+        return new ResponseEntity<>(ProblemDetail.forStatusAndDetail(status, ConstraintViolations.detail(ex)), status);
+    }
+
+    // Handle invalid arguments (e.g. malformed tokens)
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ProblemDetail> handleIllegalArgumentException(IllegalArgumentException ex) {
+        return new ResponseEntity<>(ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage()),
+                HttpStatus.BAD_REQUEST);
+    }
+
+    // Anything else is a bug or an outage, not a missing resource; the details stay in the log
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<?> handleGlobalException(Exception ex, WebRequest request) {
-        Map<String, Object> errorDetails = new HashMap<>();
-        errorDetails.put("timestamp", new Date());
-        errorDetails.put("message", ex.getMessage());
-        errorDetails.put("details", request.getDescription(false));
-        
-        return new ResponseEntity<>(errorDetails, HttpStatus.INTERNAL_SERVER_ERROR);
+    public ResponseEntity<ProblemDetail> handleGlobalException(Exception ex) {
+        log.error("Unhandled exception", ex);
+        return new ResponseEntity<>(ProblemDetail.forStatusAndDetail(HttpStatus.INTERNAL_SERVER_ERROR,
+                ProblemResponses.INTERNAL_ERROR_DETAIL), HttpStatus.INTERNAL_SERVER_ERROR);
     }
 }
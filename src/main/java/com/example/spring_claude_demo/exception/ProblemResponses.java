@@ -0,0 +1,28 @@
+package com.example.spring_claude_demo.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+
+// RFC 7807 bodies that never change, serialized once. Shared by the servlet and WebFlux handlers.
+final class ProblemResponses {
+
+    // Deliberately without the id, so the bytes (and the headers) can be reused for every miss
+    static final ResponseEntity<byte[]> EMPLOYEE_NOT_FOUND = precomputed(HttpStatus.NOT_FOUND, "Employee not found");
+
+    static final String INTERNAL_ERROR_DETAIL = "An unexpected error occurred";
+
+    private ProblemResponses() {
+    }
+
+    private static ResponseEntity<byte[]> precomputed(HttpStatus status, String detail) {
+        byte[] body = ("{\"type\":\"about:blank\",\"title\":\"" + status.getReasonPhrase() + "\",\"status\":"
+                + status.value() + ",\"detail\":\"" + detail + "\"}").getBytes(StandardCharsets.UTF_8);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_PROBLEM_JSON);
+        return new ResponseEntity<>(body, HttpHeaders.readOnlyHttpHeaders(headers), status);
+    }
+}
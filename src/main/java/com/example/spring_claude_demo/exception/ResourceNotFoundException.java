@@ -3,12 +3,19 @@ package com.example.spring_claude_demo.exception;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+// Stackless: a not-found is an expected outcome, and filling in the stack trace was most of
+// the cost of a miss
 @ResponseStatus(value = HttpStatus.NOT_FOUND)
 public class ResourceNotFoundException extends RuntimeException {
     
     private static final long serialVersionUID = 1L;
     
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
+    }
+
+    // For subclasses that build their message lazily
+    protected ResourceNotFoundException() {
+        super(null, null, false, false);
     }
 }
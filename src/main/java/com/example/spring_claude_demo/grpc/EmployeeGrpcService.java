@@ -0,0 +1,279 @@
+package com.example.spring_claude_demo.grpc;
+
+import com.example.spring_claude_demo.exception.ConstraintViolations;
+import com.example.spring_claude_demo.exception.EmployeeNotFoundException;
+import com.example.spring_claude_demo.exception.ResourceNotFoundException;
+import com.example.spring_claude_demo.grpc.proto.BulkCreateAck;
+import com.example.spring_claude_demo.grpc.proto.DeleteEmployeeRequest;
+import com.example.spring_claude_demo.grpc.proto.DeleteEmployeeResponse;
+import com.example.spring_claude_demo.grpc.proto.EmployeeServiceGrpc;
+import com.example.spring_claude_demo.grpc.proto.ExportChunk;
+import com.example.spring_claude_demo.grpc.proto.ExportEmployeesRequest;
+import com.example.spring_claude_demo.grpc.proto.GetEmployeeRequest;
+import com.example.spring_claude_demo.grpc.proto.ListEmployeesRequest;
+import com.example.spring_claude_demo.grpc.proto.SearchEmployeesRequest;
+import com.example.spring_claude_demo.grpc.proto.SearchHit;
+import com.example.spring_claude_demo.grpc.proto.UpdateEmployeeRequest;
+import com.example.spring_claude_demo.model.Employee;
+import com.example.spring_claude_demo.repository.EmployeeSpecifications;
+import com.example.spring_claude_demo.search.EmployeeSearchIndex;
+import com.example.spring_claude_demo.search.SearchProperties;
+import com.example.spring_claude_demo.service.EmployeeService;
+import com.example.spring_claude_demo.sync.EmployeeSyncResponse;
+import com.example.spring_claude_demo.sync.EmployeeSyncService;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// gRPC front end for EmployeeService; REST and gRPC share the service layer, events and caches.
+// Streaming RPCs honour transport flow control: rows are only produced while the client keeps up.
+@Component
+public class EmployeeGrpcService extends EmployeeServiceGrpc.EmployeeServiceImplBase {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeGrpcService.class);
+
+    private final EmployeeService employeeService;
+    private final EmployeeSearchIndex searchIndex;
+    private final EmployeeSyncService syncService;
+    private final SearchProperties searchProperties;
+    private final GrpcProperties properties;
+
+    public EmployeeGrpcService(EmployeeService employeeService, EmployeeSearchIndex searchIndex,
+                               EmployeeSyncService syncService, SearchProperties searchProperties,
+                               GrpcProperties properties) {
+        this.employeeService = employeeService;
+        this.searchIndex = searchIndex;
+        this.syncService = syncService;
+        this.searchProperties = searchProperties;
+        this.properties = properties;
+    }
+
+    @Override
+    public void createEmployee(com.example.spring_claude_demo.grpc.proto.Employee request,
+                               StreamObserver<com.example.spring_claude_demo.grpc.proto.Employee> responseObserver) {
+        unary(responseObserver, () -> {
+            Employee employee = EmployeeMessages.fromMessage(request);
+            employee.setId(null);
+            return EmployeeMessages.toMessage(employeeService.saveEmployee(employee));
+        });
+    }
+
+    @Override
+    public void getEmployee(GetEmployeeRequest request,
+                            StreamObserver<com.example.spring_claude_demo.grpc.proto.Employee> responseObserver) {
+        unary(responseObserver, () -> employeeService.getEmployeeById(request.getId())
+                .map(EmployeeMessages::toMessage)
+                .orElseThrow(() -> new EmployeeNotFoundException(request.getId())));
+    }
+
+    @Override
+    public void updateEmployee(UpdateEmployeeRequest request,
+                               StreamObserver<com.example.spring_claude_demo.grpc.proto.Employee> responseObserver) {
+        unary(responseObserver, () -> EmployeeMessages.toMessage(
+                employeeService.updateEmployee(request.getId(), EmployeeMessages.fromMessage(request.getEmployee()))));
+    }
+
+    @Override
+    public void deleteEmployee(DeleteEmployeeRequest request, StreamObserver<DeleteEmployeeResponse> responseObserver) {
+        unary(responseObserver, () -> {
+            employeeService.deleteEmployee(request.getId());
+            return DeleteEmployeeResponse.newBuilder().setDeleted(true).build();
+        });
+    }
+
+    // Rows are read a page at a time in id order, and the next page only once the client has
+    // taken the previous one, so a full listing never holds the whole table
+    @Override
+    public void listEmployees(ListEmployeesRequest request,
+                              StreamObserver<com.example.spring_claude_demo.grpc.proto.Employee> responseObserver) {
+        Specification<Employee> filter = switch (request.getFilterCase()) {
+            case LAST_NAME -> EmployeeSpecifications.lastNameEquals(request.getLastName());
+            case POSITION -> EmployeeSpecifications.positionEquals(request.getPosition());
+            case EMAIL_CONTAINS -> EmployeeSpecifications.emailContaining(request.getEmailContains());
+            case MIN_SALARY -> EmployeeSpecifications.salaryBetween(request.getMinSalary(), null);
+            case FILTER_NOT_SET -> null;
+        };
+        Iterator<Employee> employees = employeeService
+                .streamEmployees(filter, Math.max(1, properties.getListPageSize())).iterator();
+        stream(responseObserver, employees, EmployeeMessages::toMessage);
+    }
+
+    @Override
+    public void searchEmployees(SearchEmployeesRequest request, StreamObserver<SearchHit> responseObserver) {
+        if (request.getQuery().isBlank()) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription("query must not be blank").asRuntimeException());
+            return;
+        }
+        int limit = request.getLimit() > 0 ? request.getLimit() : searchProperties.getMaxPageSize();
+        stream(responseObserver, searchIndex.search(request.getQuery(), 0, limit).getHits().iterator(),
+                hit -> SearchHit.newBuilder()
+                        .setScore(hit.score())
+                        .setEmployee(EmployeeMessages.toMessage(hit.employee()))
+                        .build());
+    }
+
+    // Each chunk is one delta-sync page, fetched only when the client is ready for it
+    @Override
+    public void exportEmployees(ExportEmployeesRequest request, StreamObserver<ExportChunk> responseObserver) {
+        Integer pageSize = request.getPageSize() > 0 ? request.getPageSize() : null;
+        Iterator<EmployeeSyncResponse> pages = new Iterator<>() {
+            private String token = request.getSinceToken();
+            private boolean more = true;
+
+            @Override
+            public boolean hasNext() {
+                return more;
+            }
+
+            @Override
+            public EmployeeSyncResponse next() {
+                if (!more) {
+                    throw new NoSuchElementException();
+                }
+                EmployeeSyncResponse page = syncService.changesSince(token, pageSize);
+                token = page.getNextToken();
+                more = page.isHasMore();
+                return page;
+            }
+        };
+        stream(responseObserver, pages, page -> ExportChunk.newBuilder()
+                .addAllUpserts(page.getUpserts().stream().map(EmployeeMessages::toMessage).toList())
+                .addAllDeletedIds(page.getDeletes())
+                .setNextToken(page.getNextToken())
+                .setReset(page.isReset())
+                .build());
+    }
+
+    // Requests are buffered into batches of app.grpc.bulk-batch-size; each batch is persisted in
+    // one transaction and acknowledged. Inbound flow control pauses the client while a batch is written.
+    @Override
+    public StreamObserver<com.example.spring_claude_demo.grpc.proto.Employee> bulkCreateEmployees(
+            StreamObserver<BulkCreateAck> responseObserver) {
+        int batchSize = Math.max(1, properties.getBulkBatchSize());
+        return new StreamObserver<>() {
+            private List<Employee> batch = new ArrayList<>(batchSize);
+            private long total;
+            private boolean failed;
+
+            @Override
+            public void onNext(com.example.spring_claude_demo.grpc.proto.Employee message) {
+                if (failed) {
+                    return;
+                }
+                try {
+                    Employee employee = EmployeeMessages.fromMessage(message);
+                    employee.setId(null);
+                    batch.add(employee);
+                } catch (RuntimeException ex) {
+                    fail(ex);
+                    return;
+                }
+                if (batch.size() >= batchSize) {
+                    flush();
+                }
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                // Client went away; batches already acknowledged stay committed
+                batch.clear();
+            }
+
+            @Override
+            public void onCompleted() {
+                if (!failed && !batch.isEmpty()) {
+                    flush();
+                }
+                if (!failed) {
+                    responseObserver.onCompleted();
+                }
+            }
+
+            private void flush() {
+                try {
+                    List<Employee> saved = employeeService.saveEmployees(batch);
+                    total += saved.size();
+                    responseObserver.onNext(BulkCreateAck.newBuilder()
+                            .setTotal(total)
+                            .addAllIds(saved.stream().map(Employee::getId).toList())
+                            .build());
+                    batch = new ArrayList<>(batchSize);
+                } catch (RuntimeException ex) {
+                    fail(ex);
+                }
+            }
+
+            private void fail(RuntimeException ex) {
+                failed = true;
+                batch.clear();
+                responseObserver.onError(toStatus(ex));
+            }
+        };
+    }
+
+    private static <T> void unary(StreamObserver<T> responseObserver, Supplier<T> call) {
+        T response;
+        try {
+            response = call.get();
+        } catch (RuntimeException ex) {
+            responseObserver.onError(toStatus(ex));
+            return;
+        }
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
+
+    // Sends rows only while the transport is ready; the rest go out from the onReady callback
+    private static <S, T> void stream(StreamObserver<T> responseObserver, Iterator<S> rows, Function<S, T> toMessage) {
+        ServerCallStreamObserver<T> call = (ServerCallStreamObserver<T>) responseObserver;
+        AtomicBoolean done = new AtomicBoolean();
+        call.setOnCancelHandler(() -> done.set(true));
+        call.setOnReadyHandler(() -> {
+            try {
+                while (!done.get() && call.isReady() && rows.hasNext()) {
+                    call.onNext(toMessage.apply(rows.next()));
+                }
+                if (!rows.hasNext() && done.compareAndSet(false, true)) {
+                    call.onCompleted();
+                }
+            } catch (RuntimeException ex) {
+                if (done.compareAndSet(false, true)) {
+                    call.onError(toStatus(ex));
+                }
+            }
+        });
+    }
+
+    static StatusRuntimeException toStatus(Throwable ex) {
+        if (ex instanceof StatusRuntimeException status) {
+            return status;
+        }
+        if (ex instanceof ResourceNotFoundException) {
+            return Status.NOT_FOUND.withDescription(ex.getMessage()).asRuntimeException();
+        }
+        if (ex instanceof DataIntegrityViolationException integrity) {
+            return (ConstraintViolations.isDuplicate(integrity) ? Status.ALREADY_EXISTS : Status.INVALID_ARGUMENT)
+                    .withDescription(ConstraintViolations.detail(integrity)).asRuntimeException();
+        }
+        if (ex instanceof IllegalArgumentException || ex instanceof DateTimeParseException) {
+            return Status.INVALID_ARGUMENT.withDescription(ex.getMessage()).asRuntimeException();
+        }
+        log.error("gRPC call failed", ex);
+        return Status.INTERNAL.withDescription(ex.getMessage()).withCause(ex).asRuntimeException();
+    }
+}
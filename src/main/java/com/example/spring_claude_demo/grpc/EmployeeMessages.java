@@ -0,0 +1,64 @@
+package com.example.spring_claude_demo.grpc;
+
+import com.example.spring_claude_demo.model.Employee;
+
+import java.time.LocalDate;
+
+// Conversion between the JPA entity and the protobuf message; unset optional fields map to null
+final class EmployeeMessages {
+
+    private EmployeeMessages() {
+    }
+
+    static com.example.spring_claude_demo.grpc.proto.Employee toMessage(Employee employee) {
+        com.example.spring_claude_demo.grpc.proto.Employee.Builder message =
+                com.example.spring_claude_demo.grpc.proto.Employee.newBuilder();
+        if (employee.getId() != null) {
+            message.setId(employee.getId());
+        }
+        if (employee.getFirstName() != null) {
+            message.setFirstName(employee.getFirstName());
+        }
+        if (employee.getLastName() != null) {
+            message.setLastName(employee.getLastName());
+        }
+        if (employee.getEmail() != null) {
+            message.setEmail(employee.getEmail());
+        }
+        if (employee.getPhoneNumber() != null) {
+            message.setPhoneNumber(employee.getPhoneNumber());
+        }
+        if (employee.getPosition() != null) {
+            message.setPosition(employee.getPosition());
+        }
+        if (employee.getSalary() != null) {
+            message.setSalary(employee.getSalary());
+        }
+        if (employee.getHireDate() != null) {
+            message.setHireDate(employee.getHireDate().toString());
+        }
+        if (employee.getTerminationDate() != null) {
+            message.setTerminationDate(employee.getTerminationDate().toString());
+        }
+        return message.build();
+    }
+
+    // Throws DateTimeParseException for a malformed hire_date or termination_date
+    static Employee fromMessage(com.example.spring_claude_demo.grpc.proto.Employee message) {
+        Employee employee = new Employee(
+                message.hasFirstName() ? message.getFirstName() : null,
+                message.hasLastName() ? message.getLastName() : null,
+                message.hasEmail() ? message.getEmail() : null,
+                message.hasPhoneNumber() ? message.getPhoneNumber() : null,
+                message.hasPosition() ? message.getPosition() : null,
+                message.hasSalary() ? message.getSalary() : null,
+                message.hasHireDate() ? LocalDate.parse(message.getHireDate()) : null);
+        if (message.hasId()) {
+            employee.setId(message.getId());
+        }
+        if (message.hasTerminationDate()) {
+            employee.setTerminationDate(LocalDate.parse(message.getTerminationDate()));
+        }
+        return employee;
+    }
+}
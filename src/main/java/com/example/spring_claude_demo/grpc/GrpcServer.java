@@ -0,0 +1,106 @@
+package com.example.spring_claude_demo.grpc;
+
+import io.grpc.Grpc;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.Server;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs the gRPC server next to the web server, on its own port, for the lifetime of the context.
+// Calls run on their own executor since the service methods block on JDBC.
+@Component
+@EnableConfigurationProperties(GrpcProperties.class)
+@ConditionalOnProperty(prefix = "app.grpc", name = "enabled", matchIfMissing = true)
+public class GrpcServer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(GrpcServer.class);
+
+    private final GrpcProperties properties;
+    private final EmployeeGrpcService employeeGrpcService;
+    private final boolean virtualThreads;
+
+    private volatile Server server;
+    private ExecutorService executor;
+
+    public GrpcServer(GrpcProperties properties, EmployeeGrpcService employeeGrpcService,
+                      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.properties = properties;
+        this.employeeGrpcService = employeeGrpcService;
+        this.virtualThreads = virtualThreads;
+    }
+
+    @Override
+    public void start() {
+        executor = createExecutor();
+        try {
+            server = Grpc.newServerBuilderForPort(properties.getPort(), InsecureServerCredentials.create())
+                    .addService(employeeGrpcService)
+                    .executor(executor)
+                    .maxInboundMessageSize(properties.getMaxInboundMessageSize())
+                    .build()
+                    .start();
+        } catch (IOException ex) {
+            executor.shutdownNow();
+            throw new UncheckedIOException("Could not start gRPC server on port " + properties.getPort(), ex);
+        }
+        log.info("gRPC server started on port {}", server.getPort());
+    }
+
+    private ExecutorService createExecutor() {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("grpc-call-", 1).factory());
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "grpc-call-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void stop() {
+        Server running = server;
+        if (running == null) {
+            return;
+        }
+        running.shutdown();
+        try {
+            if (!running.awaitTermination(properties.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                running.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            running.shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    // The bound port, useful when app.grpc.port is 0
+    public int getPort() {
+        Server running = server;
+        if (running == null) {
+            throw new IllegalStateException("gRPC server is not running");
+        }
+        return running.getPort();
+    }
+}
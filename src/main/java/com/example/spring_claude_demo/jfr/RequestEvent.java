@@ -0,0 +1,25 @@
+package com.example.spring_claude_demo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("employee.Request")
+@Label("HTTP Request")
+@Category({"Employee API", "Web"})
+@Description("One HTTP request, from the outermost filter until the response is complete")
+@StackTrace(false)
+public class RequestEvent extends jdk.jfr.Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Endpoint")
+    @Description("Matched handler pattern, or the request URI when no handler ran (cache hits, 404s)")
+    String endpoint;
+
+    @Label("Status")
+    int status;
+}
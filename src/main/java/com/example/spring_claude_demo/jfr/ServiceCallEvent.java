@@ -0,0 +1,22 @@
+package com.example.spring_claude_demo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("employee.ServiceCall")
+@Label("Service Call")
+@Category({"Employee API", "Service"})
+@Description("One EmployeeService method call, including its transaction commit")
+@StackTrace(false)
+public class ServiceCallEvent extends jdk.jfr.Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Exception")
+    @Description("Class of the exception thrown, if any")
+    String exception;
+}
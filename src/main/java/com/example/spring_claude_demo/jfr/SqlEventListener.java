@@ -0,0 +1,52 @@
+package com.example.spring_claude_demo.jfr;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Emits a SqlStatementEvent around every statement executed through the proxied DataSource.
+// The event is only created and carried to afterQuery while a recording has it enabled.
+@Component
+class SqlEventListener implements QueryExecutionListener {
+
+    private static final String EVENT = SqlStatementEvent.class.getName();
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStatementEvent event = new SqlStatementEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            execInfo.addCustomValue(EVENT, event);
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStatementEvent event = execInfo.getCustomValue(EVENT, SqlStatementEvent.class);
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.sql = queryInfoList.size() == 1 ? queryInfoList.get(0).getQuery() : join(queryInfoList);
+            event.dataSource = execInfo.getDataSourceName();
+            event.batchSize = execInfo.isBatch() ? execInfo.getBatchSize() : 0;
+            event.success = execInfo.isSuccess();
+            event.commit();
+        }
+    }
+
+    private static String join(List<QueryInfo> queries) {
+        StringBuilder sql = new StringBuilder();
+        for (QueryInfo query : queries) {
+            if (!sql.isEmpty()) {
+                sql.append(";\n");
+            }
+            sql.append(query.getQuery());
+        }
+        return sql.toString();
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.spring_claude_demo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("employee.SqlStatement")
+@Label("SQL Statement")
+@Category({"Employee API", "JDBC"})
+@Description("One JDBC execute call; a batch is one event")
+@StackTrace(false)
+public class SqlStatementEvent extends jdk.jfr.Event {
+
+    @Label("SQL")
+    String sql;
+
+    @Label("Data Source")
+    String dataSource;
+
+    @Label("Batch Size")
+    int batchSize;
+
+    @Label("Success")
+    boolean success;
+}
@@ -0,0 +1,118 @@
+package com.example.spring_claude_demo.json;
+
+import com.example.spring_claude_demo.model.Employee;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Hand-written Employee serializer for the list and lookup endpoints. Produces exactly what the
+// reflective bean serializer would (same field order, nulls written, ISO dates, changeSeq left
+// out) but without property introspection per value: field names and dates are pre-encoded
+// to UTF-8 once and written without intermediate strings.
+@JsonComponent
+public class EmployeeJsonSerializer extends StdSerializer<Employee> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString FIRST_NAME = new SerializedString("firstName");
+    private static final SerializedString LAST_NAME = new SerializedString("lastName");
+    private static final SerializedString EMAIL = new SerializedString("email");
+    private static final SerializedString PHONE_NUMBER = new SerializedString("phoneNumber");
+    private static final SerializedString POSITION = new SerializedString("position");
+    private static final SerializedString SALARY = new SerializedString("salary");
+    private static final SerializedString HIRE_DATE = new SerializedString("hireDate");
+    private static final SerializedString TERMINATION_DATE = new SerializedString("terminationDate");
+
+    // Dates repeat a lot (a few thousand distinct days cover decades), so each one is
+    // encoded once and then copied as ready-made UTF-8 bytes
+    private static final int MAX_ENCODED_DATES = 16_384;
+    private static final Map<LocalDate, SerializedString> ENCODED_DATES = new ConcurrentHashMap<>();
+
+    public EmployeeJsonSerializer() {
+        super(Employee.class);
+    }
+
+    @Override
+    public void serialize(Employee employee, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(employee);
+
+        gen.writeFieldName(ID);
+        Long id = employee.getId();
+        if (id == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(id);
+        }
+        writeString(gen, FIRST_NAME, employee.getFirstName());
+        writeString(gen, LAST_NAME, employee.getLastName());
+        writeString(gen, EMAIL, employee.getEmail());
+        writeString(gen, PHONE_NUMBER, employee.getPhoneNumber());
+        writeString(gen, POSITION, employee.getPosition());
+
+        gen.writeFieldName(SALARY);
+        Double salary = employee.getSalary();
+        if (salary == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(salary);
+        }
+
+        gen.writeFieldName(HIRE_DATE);
+        writeDate(gen, employee.getHireDate());
+
+        gen.writeFieldName(TERMINATION_DATE);
+        writeDate(gen, employee.getTerminationDate());
+
+        gen.writeEndObject();
+    }
+
+    private static void writeString(JsonGenerator gen, SerializedString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    private static void writeDate(JsonGenerator gen, LocalDate date) throws IOException {
+        if (date == null) {
+            gen.writeNull();
+            return;
+        }
+        SerializedString encoded = ENCODED_DATES.get(date);
+        if (encoded == null) {
+            encoded = new SerializedString(format(date));
+            if (ENCODED_DATES.size() < MAX_ENCODED_DATES) {
+                ENCODED_DATES.putIfAbsent(date, encoded);
+            }
+        }
+        gen.writeString(encoded);
+    }
+
+    private static String format(LocalDate date) {
+        int year = date.getYear();
+        if (year < 0 || year > 9999) {
+            // ISO_LOCAL_DATE adds a sign and extra digits here, leave those to LocalDate
+            return date.toString();
+        }
+        char[] chars = new char[10];
+        chars[0] = (char) ('0' + year / 1000);
+        chars[1] = (char) ('0' + year / 100 % 10);
+        chars[2] = (char) ('0' + year / 10 % 10);
+        chars[3] = (char) ('0' + year % 10);
+        chars[4] = '-';
+        chars[5] = (char) ('0' + date.getMonthValue() / 10);
+        chars[6] = (char) ('0' + date.getMonthValue() % 10);
+        chars[7] = '-';
+        chars[8] = (char) ('0' + date.getDayOfMonth() / 10);
+        chars[9] = (char) ('0' + date.getDayOfMonth() % 10);
+        return new String(chars);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.spring_claude_demo.json;
+
+import com.example.spring_claude_demo.model.Employee;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Writes employee lists as a sequence of top-level values instead of one array, so clients can
+// decode row by row: newline-delimited JSON, a CBOR sequence (RFC 8742) or Smile values.
+// Uses the same mappers as the message converters.
+@Component
+public class EmployeeStreamWriter {
+
+    public static final String CBOR_SEQ_VALUE = "application/cbor-seq";
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    private final Map<MediaType, ObjectWriter> writers = new LinkedHashMap<>();
+
+    public EmployeeStreamWriter(ObjectMapper objectMapper, MappingJackson2CborHttpMessageConverter cborConverter,
+                                MappingJackson2SmileHttpMessageConverter smileConverter) {
+        writers.put(MediaType.APPLICATION_NDJSON, writerFor(objectMapper));
+        writers.put(MediaType.parseMediaType(CBOR_SEQ_VALUE), writerFor(cborConverter.getObjectMapper()));
+        writers.put(MediaType.parseMediaType(SMILE_VALUE), writerFor(smileConverter.getObjectMapper()));
+    }
+
+    // Flushing after every row would turn each employee into its own write on the socket
+    private static ObjectWriter writerFor(ObjectMapper mapper) {
+        return mapper.writerFor(Employee.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    // Most preferred supported type from the Accept header, NDJSON when nothing specific was asked for
+    public MediaType negotiate(String accept) {
+        if (accept != null) {
+            List<MediaType> requested = MediaType.parseMediaTypes(accept);
+            requested.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+            for (MediaType candidate : requested) {
+                for (MediaType supported : writers.keySet()) {
+                    if (candidate.getQualityValue() > 0 && !candidate.isWildcardSubtype()
+                            && candidate.isCompatibleWith(supported)) {
+                        return supported;
+                    }
+                }
+            }
+        }
+        return MediaType.APPLICATION_NDJSON;
+    }
+
+    public StreamingResponseBody write(Iterable<Employee> employees, MediaType mediaType) {
+        ObjectWriter writer = writers.get(mediaType);
+        boolean json = MediaType.APPLICATION_NDJSON.equals(mediaType);
+        return out -> {
+            try (JsonGenerator generator = writer.createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                for (Employee employee : employees) {
+                    writer.writeValue(generator, employee);
+                    if (json) {
+                        generator.writeRaw('\n');
+                    }
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.spring_claude_demo.limit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Per-endpoint bulkheads with adaptive limits. Each handler method gets its own limiter, keyed by
+// controller and method name, so a slow full-table scan can only exhaust its own permits; requests
+// over the limit get a 503 with Retry-After straight away instead of waiting for a thread.
+// Async requests (streaming bodies) hold their permit until the async dispatch completes: the
+// initial dispatch ends in afterConcurrentHandlingStarted without afterCompletion, and the async
+// dispatch passes preHandle again with the permit still on the request.
+@Component
+@EnableConfigurationProperties(LimitProperties.class)
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+
+    private final LimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final String retryAfterSeconds;
+    private final Map<String, EndpointLimiter> limiters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> rejections = new ConcurrentHashMap<>();
+
+    private record Permit(EndpointLimiter limiter, long startNanos, int inFlight) {
+    }
+
+    public ConcurrencyLimitInterceptor(LimitProperties properties, MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+        this.retryAfterSeconds = Long.toString(Math.max(1, (properties.getRetryAfter().toMillis() + 999) / 1000));
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        if (request.getDispatcherType() == DispatcherType.ASYNC || request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            // Already admitted; the permit is released once, in afterCompletion of the last dispatch
+            return true;
+        }
+        EndpointLimiter limiter = limiterFor(endpointOf(handlerMethod));
+        int inFlight = limiter.tryAcquire();
+        if (inFlight < 0) {
+            rejections.get(limiter.getEndpoint()).increment();
+            reject(request, response, limiter);
+            return false;
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, new Permit(limiter, System.nanoTime(), inFlight));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof Permit permit) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            boolean failed = ex != null || response.getStatus() >= 500;
+            permit.limiter().release(System.nanoTime() - permit.startNanos(), permit.inFlight(), failed);
+        }
+    }
+
+    // e.g. EmployeeController.getAllEmployees
+    static String endpointOf(HandlerMethod handlerMethod) {
+        return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, EndpointLimiter limiter) throws IOException {
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("timestamp", new Date());
+        errorDetails.put("message", "Too many concurrent requests for " + limiter.getEndpoint() + ", retry later");
+        errorDetails.put("details", "uri=" + request.getRequestURI());
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorDetails);
+    }
+
+    public EndpointLimiter limiterFor(String endpoint) {
+        EndpointLimiter limiter = limiters.get(endpoint);
+        return limiter != null ? limiter : limiters.computeIfAbsent(endpoint, this::createLimiter);
+    }
+
+    private EndpointLimiter createLimiter(String endpoint) {
+        LimitProperties.Endpoint settings = properties.resolve(endpoint);
+        LimitAlgorithm algorithm = switch (properties.getAlgorithm()) {
+            case GRADIENT -> new GradientLimit(settings.getInitialLimit(), settings.getMinLimit(), settings.getMaxLimit());
+            case AIMD -> new AimdLimit(settings.getInitialLimit(), settings.getMinLimit(), settings.getMaxLimit(),
+                    properties.getAimdLatencyThreshold().toNanos());
+        };
+        EndpointLimiter limiter = new EndpointLimiter(endpoint, algorithm);
+
+        Gauge.builder("employee.limiter.limit", limiter, EndpointLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        Gauge.builder("employee.limiter.inflight", limiter, EndpointLimiter::getInFlight)
+                .description("Requests currently holding a permit")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        rejections.put(endpoint, Counter.builder("employee.limiter.rejected")
+                .description("Requests shed with a 503 because the endpoint was at its limit")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry));
+        return limiter;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.spring_claude_demo.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Bulkhead for one endpoint: a lock-free in-flight counter checked against the current
+// adaptive limit. Requests over the limit are rejected immediately rather than queued.
+public class EndpointLimiter {
+
+    private final String endpoint;
+    private final LimitAlgorithm algorithm;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    EndpointLimiter(String endpoint, LimitAlgorithm algorithm) {
+        this.endpoint = endpoint;
+        this.algorithm = algorithm;
+    }
+
+    // Returns the in-flight count including this request, or -1 when rejected
+    public int tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= algorithm.getLimit()) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    public void release(long rttNanos, int inFlightAtStart, boolean failed) {
+        inFlight.decrementAndGet();
+        algorithm.onSample(rttNanos, inFlightAtStart, failed);
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public int getLimit() {
+        return algorithm.getLimit();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
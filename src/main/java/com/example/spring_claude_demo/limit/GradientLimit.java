@@ -0,0 +1,79 @@
+package com.example.spring_claude_demo.limit;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+// Gradient concurrency limit: compares the latency of recent requests with a long-term
+// average. While recent latency stays close to the long-term figure the limit grows by
+// roughly sqrt(limit) per window; once requests start queueing (recent latency rises)
+// the gradient drops below 1 and the limit shrinks proportionally.
+class GradientLimit implements LimitAlgorithm {
+
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double LONG_WINDOW_WEIGHT = 0.05;
+    private static final int MIN_WINDOW_SAMPLES = 10;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile int limit;
+
+    // Guarded by lock
+    private double estimatedLimit;
+    private double longRtt = 0;
+    private long windowRttSum = 0;
+    private int windowSamples = 0;
+    private int windowMaxInFlight = 0;
+
+    GradientLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public void onSample(long rttNanos, int inFlight, boolean failed) {
+        // Samples are cheap to skip; a request thread never waits on another's update
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            windowRttSum += rttNanos;
+            windowSamples++;
+            windowMaxInFlight = Math.max(windowMaxInFlight, inFlight);
+            if (windowSamples < Math.max(MIN_WINDOW_SAMPLES, limit)) {
+                return;
+            }
+            double shortRtt = (double) windowRttSum / windowSamples;
+            int maxInFlight = windowMaxInFlight;
+            windowRttSum = 0;
+            windowSamples = 0;
+            windowMaxInFlight = 0;
+
+            longRtt = longRtt == 0 ? shortRtt : longRtt * (1 - LONG_WINDOW_WEIGHT) + shortRtt * LONG_WINDOW_WEIGHT;
+            // After a long overload the average is inflated; let it decay back quickly
+            if (longRtt / shortRtt > 2) {
+                longRtt *= 0.95;
+            }
+
+            // Don't grow while the endpoint isn't using most of its current limit
+            if (maxInFlight < estimatedLimit / 2) {
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+            double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            estimatedLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+            estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit));
+            limit = (int) estimatedLimit;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
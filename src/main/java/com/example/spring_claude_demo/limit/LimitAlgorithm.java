@@ -0,0 +1,10 @@
+package com.example.spring_claude_demo.limit;
+
+// Adjusts a concurrency limit from observed request latency
+interface LimitAlgorithm {
+
+    int getLimit();
+
+    // Called once per completed request with its latency and the in-flight count when it started
+    void onSample(long rttNanos, int inFlight, boolean failed);
+}
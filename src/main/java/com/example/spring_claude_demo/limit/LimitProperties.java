@@ -0,0 +1,134 @@
+package com.example.spring_claude_demo.limit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "app.limits")
+public class LimitProperties {
+
+    public enum Algorithm {
+        GRADIENT,
+        AIMD
+    }
+
+    private boolean enabled = true;
+
+    private Algorithm algorithm = Algorithm.GRADIENT;
+
+    // Sent as Retry-After on a 503
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    // AIMD only: a request slower than this counts as a congestion signal
+    private Duration aimdLatencyThreshold = Duration.ofMillis(500);
+
+    // Defaults for every endpoint
+    private Endpoint defaults = new Endpoint();
+
+    // Per-endpoint overrides, keyed by controller and handler method (in properties files
+    // app.limits.endpoints[EmployeeController.getAllEmployees].max-limit) or by method name alone
+    private Map<String, Endpoint> endpoints = new HashMap<>();
+
+    public static class Endpoint {
+
+        private Integer initialLimit;
+        private Integer minLimit;
+
+        // Bulkhead size: the adaptive limit never goes above it
+        private Integer maxLimit;
+
+        public Integer getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(Integer initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public Integer getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(Integer minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public Integer getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(Integer maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+    }
+
+    public LimitProperties() {
+        defaults.setInitialLimit(20);
+        defaults.setMinLimit(1);
+        defaults.setMaxLimit(200);
+    }
+
+    // Override values where set, defaults otherwise
+    public Endpoint resolve(String endpoint) {
+        Endpoint override = endpoints.get(endpoint);
+        if (override == null) {
+            override = endpoints.getOrDefault(endpoint.substring(endpoint.lastIndexOf('.') + 1), new Endpoint());
+        }
+        Endpoint resolved = new Endpoint();
+        resolved.setMinLimit(override.getMinLimit() != null ? override.getMinLimit() : defaults.getMinLimit());
+        resolved.setMaxLimit(override.getMaxLimit() != null ? override.getMaxLimit() : defaults.getMaxLimit());
+        int initial = override.getInitialLimit() != null ? override.getInitialLimit() : defaults.getInitialLimit();
+        resolved.setInitialLimit(Math.max(resolved.getMinLimit(), Math.min(initial, resolved.getMaxLimit())));
+        return resolved;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public void setAlgorithm(Algorithm algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    public void setRetryAfter(Duration retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getAimdLatencyThreshold() {
+        return aimdLatencyThreshold;
+    }
+
+    public void setAimdLatencyThreshold(Duration aimdLatencyThreshold) {
+        this.aimdLatencyThreshold = aimdLatencyThreshold;
+    }
+
+    public Endpoint getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(Endpoint defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(Map<String, Endpoint> endpoints) {
+        this.endpoints = endpoints;
+    }
+}
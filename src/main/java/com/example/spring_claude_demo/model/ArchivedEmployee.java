@@ -0,0 +1,122 @@
+package com.example.spring_claude_demo.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+// Cold copy of a former employee, moved out of the employees table by EmployeeArchiver so the
+// hot table and its indexes only hold current staff. Keeps the original id, on the same shard.
+@Entity
+@Table(name = "archived_employees", indexes = {
+        @Index(name = "idx_archived_employees_last_name", columnList = "last_name"),
+        @Index(name = "idx_archived_employees_position", columnList = "position"),
+        @Index(name = "idx_archived_employees_salary", columnList = "salary"),
+        @Index(name = "idx_archived_employees_termination_date", columnList = "termination_date")
+})
+public class ArchivedEmployee implements Persistable<Long> {
+
+    // Assigned from the employee, not generated
+    @Id
+    private Long id;
+
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String phoneNumber;
+    private String position;
+    private Double salary;
+    private LocalDate hireDate;
+    private LocalDate terminationDate;
+    private Instant archivedAt;
+
+    // Lets save() persist straight away instead of selecting the assigned id first
+    @Transient
+    private boolean isNew = true;
+
+    // Default constructor
+    public ArchivedEmployee() {
+    }
+
+    public static ArchivedEmployee of(Employee employee, Instant archivedAt) {
+        ArchivedEmployee archived = new ArchivedEmployee();
+        archived.id = employee.getId();
+        archived.firstName = employee.getFirstName();
+        archived.lastName = employee.getLastName();
+        archived.email = employee.getEmail();
+        archived.phoneNumber = employee.getPhoneNumber();
+        archived.position = employee.getPosition();
+        archived.salary = employee.getSalary();
+        archived.hireDate = employee.getHireDate();
+        archived.terminationDate = employee.getTerminationDate();
+        archived.archivedAt = archivedAt;
+        return archived;
+    }
+
+    // Detached view in the API shape, for includeArchived reads
+    public Employee toEmployee() {
+        Employee employee = new Employee(firstName, lastName, email, phoneNumber, position, salary, hireDate);
+        employee.setId(id);
+        employee.setTerminationDate(terminationDate);
+        return employee;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public String getPosition() {
+        return position;
+    }
+
+    public Double getSalary() {
+        return salary;
+    }
+
+    public LocalDate getHireDate() {
+        return hireDate;
+    }
+
+    public LocalDate getTerminationDate() {
+        return terminationDate;
+    }
+
+    public Instant getArchivedAt() {
+        return archivedAt;
+    }
+}
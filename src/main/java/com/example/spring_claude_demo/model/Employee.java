@@ -1,21 +1,53 @@
 package com.example.spring_claude_demo.model;
 
+import com.example.spring_claude_demo.cache.CacheRegions;
+import com.example.spring_claude_demo.cache.EmployeeIdFilterListener;
+import com.example.spring_claude_demo.cache.EmployeeRecordCacheListener;
+import com.example.spring_claude_demo.cache.ResponseCacheInvalidationListener;
+import com.example.spring_claude_demo.sharding.ShardedId;
+import com.example.spring_claude_demo.sync.ChangeSequenceListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", uniqueConstraints = {
+        // Natural key for PUT /api/employees/upsert; enforced per shard
+        @UniqueConstraint(name = "uk_employees_email", columnNames = "email")
+}, indexes = {
+        @Index(name = "idx_employees_change_seq", columnList = "change_seq"),
+        // Equality on position first, then the range column, for /query and the position finders
+        @Index(name = "idx_employees_position_salary", columnList = "position, salary"),
+        @Index(name = "idx_employees_position_hire_date", columnList = "position, hire_date"),
+        // Last-name prefix and equality, returned in name order straight from the index
+        @Index(name = "idx_employees_last_name_first_name", columnList = "last_name, first_name"),
+        @Index(name = "idx_employees_salary", columnList = "salary"),
+        @Index(name = "idx_employees_hire_date", columnList = "hire_date"),
+        // Finds the next archival batch without scanning current employees
+        @Index(name = "idx_employees_termination_date", columnList = "termination_date")
+})
+@EntityListeners({ChangeSequenceListener.class, ResponseCacheInvalidationListener.class, EmployeeIdFilterListener.class,
+        EmployeeRecordCacheListener.class})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.EMPLOYEES)
 
 public class Employee {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @ShardedId
     private Long id;
     
     private String firstName;
@@ -26,6 +58,20 @@ public class Employee {
     private Double salary;
     private LocalDate hireDate;
 
+    // Last working day; null while employed. Former employees are moved to archived_employees
+    // once this is older than the archive retention
+    private LocalDate terminationDate;
+
+    // Position in the global change sequence, assigned on every insert and update (used by delta sync)
+    @JsonIgnore
+    @Column(name = "change_seq")
+    private Long changeSeq;
+
+    // EmployeeContentHash of the client-visible fields, so batch upserts can skip unchanged rows
+    @JsonIgnore
+    @Column(name = "content_hash")
+    private Long contentHash;
+
     // Default constructor
     public Employee() {
     }
@@ -107,6 +153,46 @@ public class Employee {
         this.hireDate = hireDate;
     }
 
+    public LocalDate getTerminationDate() {
+        return terminationDate;
+    }
+
+    public void setTerminationDate(LocalDate terminationDate) {
+        this.terminationDate = terminationDate;
+    }
+
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(Long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
+    public Long getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(Long contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    // Detached copy, e.g. the state before an update for change events
+    public Employee copy() {
+        Employee copy = new Employee(firstName, lastName, email, phoneNumber, position, salary, hireDate);
+        copy.setId(id);
+        copy.setTerminationDate(terminationDate);
+        copy.setChangeSeq(changeSeq);
+        copy.setContentHash(contentHash);
+        return copy;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void refreshContentHash() {
+        contentHash = EmployeeContentHash.of(this);
+    }
+
     @Override
     public String toString() {
         return "Employee{" +
@@ -118,6 +204,7 @@ public class Employee {
                 ", position='" + position + '\'' +
                 ", salary=" + salary +
                 ", hireDate=" + hireDate +
+                ", terminationDate=" + terminationDate +
                 '}';
     }
 }
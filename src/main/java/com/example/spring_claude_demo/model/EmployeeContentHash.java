@@ -0,0 +1,51 @@
+package com.example.spring_claude_demo.model;
+
+import java.util.Objects;
+
+// 64-bit fingerprint of the fields a client sends, stored in employees.content_hash so a batch
+// upsert can tell unchanged rows apart without comparing every column. Not the id or the change
+// sequence: two rows with the same data have the same hash wherever they were written.
+public final class EmployeeContentHash {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private EmployeeContentHash() {
+    }
+
+    public static long of(Employee employee) {
+        long hash = FNV_OFFSET;
+        hash = field(hash, employee.getFirstName());
+        hash = field(hash, employee.getLastName());
+        hash = field(hash, employee.getEmail());
+        hash = field(hash, employee.getPhoneNumber());
+        hash = field(hash, employee.getPosition());
+        hash = field(hash, employee.getSalary() == null ? null : Double.toString(employee.getSalary()));
+        hash = field(hash, Objects.toString(employee.getHireDate(), null));
+        hash = field(hash, Objects.toString(employee.getTerminationDate(), null));
+        return mix(hash);
+    }
+
+    // FNV-1a over the UTF-16 units, with a separator so ("ab", "c") and ("a", "bc") differ
+    private static long field(long hash, String value) {
+        if (value == null) {
+            return (hash ^ 0xFFFF) * FNV_PRIME;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            hash = (hash ^ (c & 0xFF)) * FNV_PRIME;
+            hash = (hash ^ (c >>> 8)) * FNV_PRIME;
+        }
+        return (hash ^ 0xFFFE) * FNV_PRIME;
+    }
+
+    // MurmurHash3 fmix64, so every input bit reaches every output bit
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.spring_claude_demo.model;
+
+import com.example.spring_claude_demo.sharding.ShardedId;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+// Record of a deleted employee, kept so delta sync clients learn about the delete
+@Entity
+@Table(name = "employee_tombstones", indexes = {
+        @Index(name = "idx_employee_tombstones_change_seq", columnList = "change_seq")
+})
+public class EmployeeTombstone {
+
+    @Id
+    @ShardedId
+    private Long id;
+
+    private Long employeeId;
+
+    @Column(name = "change_seq")
+    private Long changeSeq;
+
+    private Instant deletedAt;
+
+    // Default constructor
+    public EmployeeTombstone() {
+    }
+
+    public EmployeeTombstone(Long employeeId, Long changeSeq, Instant deletedAt) {
+        this.employeeId = employeeId;
+        this.changeSeq = changeSeq;
+        this.deletedAt = deletedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(Long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(Instant deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.spring_claude_demo.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// Named change-sequence mark that has to survive a restart, e.g. how far tombstones were purged
+@Entity
+@Table(name = "sync_watermarks")
+public class SyncWatermark {
+
+    @Id
+    private String name;
+
+    @Column(name = "change_seq")
+    private Long changeSeq;
+
+    // Default constructor
+    public SyncWatermark() {
+    }
+
+    public SyncWatermark(String name, Long changeSeq) {
+        this.name = name;
+        this.changeSeq = changeSeq;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(Long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+}
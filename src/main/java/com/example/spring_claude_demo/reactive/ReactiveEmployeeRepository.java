@@ -0,0 +1,166 @@
+package com.example.spring_claude_demo.reactive;
+
+import com.example.spring_claude_demo.model.Employee;
+import com.example.spring_claude_demo.model.EmployeeContentHash;
+import com.example.spring_claude_demo.sharding.ShardIds;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+// R2DBC counterpart of EmployeeRepository over the same employees table.
+// Rows are emitted as the driver produces them, so a slow subscriber slows the fetch
+// instead of the whole result being buffered.
+@Repository
+@Profile("reactive")
+public class ReactiveEmployeeRepository {
+
+    private static final String SELECT = "SELECT id, first_name, last_name, email, phone_number, position, "
+            + "salary, hire_date, termination_date, change_seq FROM employees";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveEmployeeRepository(ConnectionFactory connectionFactory) {
+        this.databaseClient = DatabaseClient.create(connectionFactory);
+    }
+
+    public Flux<Employee> findAll() {
+        return databaseClient.sql(SELECT + " ORDER BY id")
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .all();
+    }
+
+    public Mono<Employee> findById(Long id) {
+        return databaseClient.sql(SELECT + " WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .one();
+    }
+
+    public Flux<Employee> findByLastName(String lastName) {
+        return databaseClient.sql(SELECT + " WHERE last_name = :lastName ORDER BY id")
+                .bind("lastName", lastName)
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .all();
+    }
+
+    public Flux<Employee> findByPosition(String position) {
+        return databaseClient.sql(SELECT + " WHERE position = :position ORDER BY id")
+                .bind("position", position)
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .all();
+    }
+
+    // Same semantics as the derived 'Containing' query: wildcards in the input match literally
+    public Flux<Employee> findByEmailContaining(String emailPart) {
+        return databaseClient.sql(SELECT + " WHERE email LIKE :pattern ESCAPE '\\' ORDER BY id")
+                .bind("pattern", "%" + escapeLike(emailPart) + "%")
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .all();
+    }
+
+    public Flux<Employee> findBySalaryGreaterThanEqual(Double minSalary) {
+        return databaseClient.sql(SELECT + " WHERE salary >= :minSalary ORDER BY id")
+                .bind("minSalary", minSalary)
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .all();
+    }
+
+    // The reactive profile refuses to start sharded, so a sequence value is the id itself. Each
+    // call takes a whole block of the sequence and uses its first value
+    public Mono<Long> nextId() {
+        return databaseClient.sql(ShardIds.NEXT_VALUE_SQL)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    public Mono<Boolean> existsById(Long id) {
+        return databaseClient.sql("SELECT 1 FROM employees WHERE id = :id")
+                .bind("id", id)
+                .map(row -> Boolean.TRUE)
+                .first()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    public Mono<Employee> insert(Employee employee) {
+        return bindColumns(databaseClient.sql("INSERT INTO employees (id, first_name, last_name, email, phone_number, "
+                        + "position, salary, hire_date, termination_date, change_seq, content_hash) VALUES (:id, :firstName, "
+                        + ":lastName, :email, :phoneNumber, :position, :salary, :hireDate, :terminationDate, :changeSeq, "
+                        + ":contentHash)"), employee)
+                .fetch()
+                .rowsUpdated()
+                .thenReturn(employee);
+    }
+
+    public Mono<Employee> update(Employee employee) {
+        return bindColumns(databaseClient.sql("UPDATE employees SET first_name = :firstName, last_name = :lastName, "
+                        + "email = :email, phone_number = :phoneNumber, position = :position, salary = :salary, "
+                        + "hire_date = :hireDate, termination_date = :terminationDate, change_seq = :changeSeq, "
+                        + "content_hash = :contentHash WHERE id = :id"),
+                employee)
+                .fetch()
+                .rowsUpdated()
+                .thenReturn(employee);
+    }
+
+    public Mono<Long> deleteById(Long id) {
+        return databaseClient.sql("DELETE FROM employees WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> insertTombstone(Long employeeId, Long changeSeq, Instant deletedAt) {
+        return databaseClient.sql("INSERT INTO employee_tombstones (id, employee_id, change_seq, deleted_at) "
+                        + "VALUES (NEXT VALUE FOR " + ShardIds.SEQUENCE + ", :employeeId, :changeSeq, :deletedAt)")
+                .bind("employeeId", employeeId)
+                .bind("changeSeq", changeSeq)
+                .bind("deletedAt", deletedAt)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindColumns(DatabaseClient.GenericExecuteSpec spec, Employee employee) {
+        spec = spec.bind("id", employee.getId());
+        spec = bindNullable(spec, "firstName", employee.getFirstName(), String.class);
+        spec = bindNullable(spec, "lastName", employee.getLastName(), String.class);
+        spec = bindNullable(spec, "email", employee.getEmail(), String.class);
+        spec = bindNullable(spec, "phoneNumber", employee.getPhoneNumber(), String.class);
+        spec = bindNullable(spec, "position", employee.getPosition(), String.class);
+        spec = bindNullable(spec, "salary", employee.getSalary(), Double.class);
+        spec = bindNullable(spec, "hireDate", employee.getHireDate(), LocalDate.class);
+        spec = bindNullable(spec, "terminationDate", employee.getTerminationDate(), LocalDate.class);
+        spec = spec.bind("contentHash", EmployeeContentHash.of(employee));
+        return bindNullable(spec, "changeSeq", employee.getChangeSeq(), Long.class);
+    }
+
+    private static <T> DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec,
+                                                                     String name, T value, Class<T> type) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+    }
+
+    private static Employee toEmployee(Readable row) {
+        Employee employee = new Employee(
+                row.get("first_name", String.class),
+                row.get("last_name", String.class),
+                row.get("email", String.class),
+                row.get("phone_number", String.class),
+                row.get("position", String.class),
+                row.get("salary", Double.class),
+                row.get("hire_date", LocalDate.class));
+        employee.setId(row.get("id", Long.class));
+        employee.setTerminationDate(row.get("termination_date", LocalDate.class));
+        employee.setChangeSeq(row.get("change_seq", Long.class));
+        return employee;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.spring_claude_demo.reactive;
+
+import com.example.spring_claude_demo.cache.EmployeeCacheEvictor;
+import com.example.spring_claude_demo.cache.EmployeeIdFilter;
+import com.example.spring_claude_demo.event.EmployeeChangeEvent;
+import com.example.spring_claude_demo.event.EmployeeChangeType;
+import com.example.spring_claude_demo.exception.EmployeeNotFoundException;
+import com.example.spring_claude_demo.model.Employee;
+import com.example.spring_claude_demo.sync.ChangeSequence;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.time.Instant;
+import java.util.function.Function;
+
+// Non-blocking counterpart of EmployeeService. Writes keep the same side effects as the
+// servlet stack: a change sequence stamp, a tombstone on delete, id filter upkeep, second-level
+// cache eviction and an EmployeeChangeEvent, the last two once the R2DBC transaction has committed.
+@Service
+@Profile("reactive")
+public class ReactiveEmployeeService {
+
+    private final ReactiveEmployeeRepository employeeRepository;
+    private final ChangeSequence changeSequence;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EmployeeCacheEvictor cacheEvictor;
+    private final EmployeeIdFilter idFilter;
+    private final TransactionalOperator transactionalOperator;
+
+    public ReactiveEmployeeService(ReactiveEmployeeRepository employeeRepository, ConnectionFactory connectionFactory,
+                                   ChangeSequence changeSequence, ApplicationEventPublisher eventPublisher,
+                                   EmployeeCacheEvictor cacheEvictor, EmployeeIdFilter idFilter) {
+        this.employeeRepository = employeeRepository;
+        this.changeSequence = changeSequence;
+        this.eventPublisher = eventPublisher;
+        this.cacheEvictor = cacheEvictor;
+        this.idFilter = idFilter;
+        // Not a bean: a second TransactionManager would make @Transactional on the JPA services ambiguous
+        this.transactionalOperator = TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+
+    // Create (or replace, when the id is given and exists)
+    public Mono<Employee> saveEmployee(Employee employee) {
+        if (employee.getId() == null) {
+            return employeeRepository.nextId().flatMap(id -> {
+                employee.setId(id);
+                return write(changeSeq -> {
+                    employee.setChangeSeq(changeSeq);
+                    return insert(employee);
+                });
+            }).doOnNext(saved -> publish(EmployeeChangeType.CREATED, saved));
+        }
+        return write(changeSeq -> {
+            employee.setChangeSeq(changeSeq);
+            return employeeRepository.existsById(employee.getId())
+                    .flatMap(exists -> exists ? employeeRepository.update(employee) : insert(employee));
+        }).doOnNext(saved -> publish(EmployeeChangeType.UPDATED, saved));
+    }
+
+    public Flux<Employee> getAllEmployees() {
+        return employeeRepository.findAll();
+    }
+
+    public Mono<Employee> getEmployeeById(Long id) {
+        if (!idFilter.mightContain(id)) {
+            return Mono.empty();
+        }
+        return employeeRepository.findById(id);
+    }
+
+    public Flux<Employee> getEmployeesByLastName(String lastName) {
+        return employeeRepository.findByLastName(lastName);
+    }
+
+    public Flux<Employee> getEmployeesByPosition(String position) {
+        return employeeRepository.findByPosition(position);
+    }
+
+    public Flux<Employee> getEmployeesByEmailContaining(String emailPart) {
+        return employeeRepository.findByEmailContaining(emailPart);
+    }
+
+    public Flux<Employee> getEmployeesByMinimumSalary(Double minSalary) {
+        return employeeRepository.findBySalaryGreaterThanEqual(minSalary);
+    }
+
+    public Mono<Employee> updateEmployee(Long id, Employee employeeDetails) {
+        return write(changeSeq -> findExisting(id).flatMap(employee -> {
+            Employee previous = employee.copy();
+            employee.setFirstName(employeeDetails.getFirstName());
+            employee.setLastName(employeeDetails.getLastName());
+            employee.setEmail(employeeDetails.getEmail());
+            employee.setPhoneNumber(employeeDetails.getPhoneNumber());
+            employee.setPosition(employeeDetails.getPosition());
+            employee.setSalary(employeeDetails.getSalary());
+            employee.setHireDate(employeeDetails.getHireDate());
+            employee.setTerminationDate(employeeDetails.getTerminationDate());
+            employee.setChangeSeq(changeSeq);
+            return employeeRepository.update(employee).map(saved -> Tuples.of(saved, previous));
+        })).doOnNext(updated -> publish(EmployeeChangeType.UPDATED, updated.getT1(), updated.getT2()))
+                .map(Tuple2::getT1);
+    }
+
+    public Mono<Void> deleteEmployee(Long id) {
+        return write(changeSeq -> findExisting(id).flatMap(employee -> employeeRepository.deleteById(id)
+                        .then(employeeRepository.insertTombstone(id, changeSeq, Instant.now()))
+                        .thenReturn(employee)))
+                .doOnNext(deleted -> publish(EmployeeChangeType.DELETED, deleted))
+                .then();
+    }
+
+    // Like JPA's @PostPersist, the id is added before commit: a rollback only leaves a false positive
+    private Mono<Employee> insert(Employee employee) {
+        return employeeRepository.insert(employee).doOnNext(inserted -> idFilter.add(inserted.getId()));
+    }
+
+    private Mono<Employee> findExisting(Long id) {
+        return employeeRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new EmployeeNotFoundException(id)));
+    }
+
+    // Runs the write in one transaction; its change sequence stays in flight until the
+    // transaction has committed or rolled back, as with the JPA path
+    private <T> Mono<T> write(Function<Long, Mono<T>> work) {
+        return Mono.using(changeSequence::reserve,
+                changeSeq -> work.apply(changeSeq).as(transactionalOperator::transactional),
+                changeSequence::release);
+    }
+
+    private void publish(EmployeeChangeType type, Employee employee) {
+        publish(type, employee, null);
+    }
+
+    private void publish(EmployeeChangeType type, Employee employee, Employee previous) {
+        // Hibernate didn't see this write, so its second-level cache and the id filter have to be told
+        cacheEvictor.evict(employee.getId());
+        if (type == EmployeeChangeType.DELETED) {
+            idFilter.removeAfterCommit(employee.getId());
+        }
+        eventPublisher.publishEvent(new EmployeeChangeEvent(type, employee, previous));
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.spring_claude_demo.repository;
+
+import com.example.spring_claude_demo.model.ArchivedEmployee;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// Former employees; only read when a caller asks for includeArchived
+@Repository
+public interface ArchivedEmployeeRepository extends JpaRepository<ArchivedEmployee, Long> {
+
+    List<ArchivedEmployee> findByLastName(String lastName);
+
+    List<ArchivedEmployee> findByPosition(String position);
+
+    List<ArchivedEmployee> findByEmailContaining(String emailPart);
+
+    List<ArchivedEmployee> findBySalaryGreaterThanEqual(Double minSalary);
+}
@@ -0,0 +1,25 @@
+package com.example.spring_claude_demo.repository;
+
+import java.time.LocalDate;
+
+// Combined filter for GET /api/employees/query; null criteria are not applied.
+// Ranges are inclusive on both ends.
+public record EmployeeQuery(String position,
+                            Double minSalary,
+                            Double maxSalary,
+                            LocalDate hiredFrom,
+                            LocalDate hiredTo,
+                            String lastNamePrefix) {
+
+    public EmployeeQuery {
+        if (minSalary != null && maxSalary != null && minSalary > maxSalary) {
+            throw new IllegalArgumentException("minSalary must not be greater than maxSalary");
+        }
+        if (hiredFrom != null && hiredTo != null && hiredFrom.isAfter(hiredTo)) {
+            throw new IllegalArgumentException("hiredFrom must not be after hiredTo");
+        }
+        if (lastNamePrefix != null && lastNamePrefix.isBlank()) {
+            lastNamePrefix = null;
+        }
+    }
+}
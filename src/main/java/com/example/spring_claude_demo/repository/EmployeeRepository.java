@@ -1,17 +1,64 @@
 package com.example.spring_claude_demo.repository;
 
+import com.example.spring_claude_demo.cache.CacheRegions;
 import com.example.spring_claude_demo.model.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee> {
     
-    // Custom query methods
+    // Custom query methods; results are kept in the query cache until a write to employees
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.EMPLOYEE_QUERIES)})
     List<Employee> findByLastName(String lastName);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.EMPLOYEE_QUERIES)})
     List<Employee> findByPosition(String position);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.EMPLOYEE_QUERIES)})
     List<Employee> findByEmailContaining(String emailPart);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.EMPLOYEE_QUERIES)})
     List<Employee> findBySalaryGreaterThanEqual(Double minSalary);
+
+    // Paged variants, used for ordered scatter-gather across shards
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.EMPLOYEE_QUERIES)})
+    List<Employee> findByLastName(String lastName, Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.EMPLOYEE_QUERIES)})
+    List<Employee> findByPosition(String position, Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.EMPLOYEE_QUERIES)})
+    List<Employee> findByEmailContaining(String emailPart, Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.EMPLOYEE_QUERIES)})
+    List<Employee> findBySalaryGreaterThanEqual(Double minSalary, Pageable pageable);
+
+    // Rows changed inside a window of the change sequence, for delta sync
+    List<Employee> findByChangeSeqGreaterThanAndChangeSeqLessThanEqual(Long since, Long until, Pageable pageable);
+
+    // Combined filter behind GET /api/employees/query, sorted and limited in the database
+    default List<Employee> findMatching(EmployeeQuery query, Sort sort, int limit) {
+        return findBy(EmployeeSpecifications.matching(query), q -> q.sortBy(sort).limit(limit).all());
+    }
+
+    // Next archival batch, through idx_employees_termination_date
+    List<Employee> findByTerminationDateBefore(LocalDate cutoff, Pageable pageable);
 }
@@ -0,0 +1,86 @@
+package com.example.spring_claude_demo.repository;
+
+import com.example.spring_claude_demo.model.Employee;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+// Translates an EmployeeQuery into one WHERE clause. Every predicate is a plain comparison on
+// an indexed column (the name prefix becomes LIKE 'abc%', which H2 turns into an index range),
+// so the planner can pick one of the composite indexes on employees.
+public final class EmployeeSpecifications {
+
+    private EmployeeSpecifications() {
+    }
+
+    public static Specification<Employee> matching(EmployeeQuery query) {
+        return Specification.allOf(
+                positionEquals(query.position()),
+                salaryBetween(query.minSalary(), query.maxSalary()),
+                hiredBetween(query.hiredFrom(), query.hiredTo()),
+                lastNameStartsWith(query.lastNamePrefix()));
+    }
+
+    public static Specification<Employee> positionEquals(String position) {
+        return position == null ? null : (root, cq, cb) -> cb.equal(root.get("position"), position);
+    }
+
+    public static Specification<Employee> salaryBetween(Double min, Double max) {
+        if (min == null && max == null) {
+            return null;
+        }
+        return (root, cq, cb) -> {
+            if (max == null) {
+                return cb.greaterThanOrEqualTo(root.get("salary"), min);
+            }
+            if (min == null) {
+                return cb.lessThanOrEqualTo(root.get("salary"), max);
+            }
+            return cb.between(root.get("salary"), min, max);
+        };
+    }
+
+    static Specification<Employee> hiredBetween(LocalDate from, LocalDate to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        return (root, cq, cb) -> {
+            if (to == null) {
+                return cb.greaterThanOrEqualTo(root.get("hireDate"), from);
+            }
+            if (from == null) {
+                return cb.lessThanOrEqualTo(root.get("hireDate"), to);
+            }
+            return cb.between(root.get("hireDate"), from, to);
+        };
+    }
+
+    static Specification<Employee> lastNameStartsWith(String prefix) {
+        if (prefix == null) {
+            return null;
+        }
+        String pattern = escapeLike(prefix) + "%";
+        return (root, cq, cb) -> cb.like(root.get("lastName"), pattern, '\\');
+    }
+
+    public static Specification<Employee> lastNameEquals(String lastName) {
+        return lastName == null ? null : (root, cq, cb) -> cb.equal(root.get("lastName"), lastName);
+    }
+
+    public static Specification<Employee> emailContaining(String emailPart) {
+        if (emailPart == null) {
+            return null;
+        }
+        String pattern = "%" + escapeLike(emailPart) + "%";
+        return (root, cq, cb) -> cb.like(root.get("email"), pattern, '\\');
+    }
+
+    // Keyset position for paging in id order
+    public static Specification<Employee> idAfter(long id) {
+        return (root, cq, cb) -> cb.greaterThan(root.get("id"), id);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
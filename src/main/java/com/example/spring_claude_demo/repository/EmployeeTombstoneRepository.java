@@ -0,0 +1,24 @@
+package com.example.spring_claude_demo.repository;
+
+import com.example.spring_claude_demo.model.EmployeeTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface EmployeeTombstoneRepository extends JpaRepository<EmployeeTombstone, Long> {
+
+    List<EmployeeTombstone> findByChangeSeqGreaterThanAndChangeSeqLessThanEqual(Long since, Long until, Pageable pageable);
+
+    @Query("select max(t.changeSeq) from EmployeeTombstone t where t.deletedAt < :cutoff")
+    Long findMaxChangeSeqDeletedBefore(Instant cutoff);
+
+    @Modifying
+    @Query("delete from EmployeeTombstone t where t.changeSeq <= :changeSeq")
+    int deleteUpToChangeSeq(Long changeSeq);
+}
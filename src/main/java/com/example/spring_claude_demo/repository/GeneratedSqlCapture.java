@@ -0,0 +1,49 @@
+package com.example.spring_claude_demo.repository;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Records the statements one piece of work sends on the current thread, as the driver sees
+// them: the SQL Hibernate generated plus the parameter bindings, in order. Idle otherwise.
+@Component
+class GeneratedSqlCapture implements QueryExecutionListener {
+
+    private static final ThreadLocal<List<CapturedStatement>> CAPTURED = new ThreadLocal<>();
+
+    List<CapturedStatement> capture(Runnable work) {
+        List<CapturedStatement> captured = new ArrayList<>();
+        CAPTURED.set(captured);
+        try {
+            work.run();
+        } finally {
+            CAPTURED.remove();
+        }
+        return captured;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        List<CapturedStatement> captured = CAPTURED.get();
+        if (captured == null) {
+            return;
+        }
+        for (QueryInfo query : queryInfoList) {
+            List<ParameterSetOperation> parameters = query.getParametersList().isEmpty()
+                    ? List.of() : List.copyOf(query.getParametersList().get(0));
+            captured.add(new CapturedStatement(query.getQuery(), parameters));
+        }
+    }
+
+    record CapturedStatement(String sql, List<ParameterSetOperation> parameters) {
+    }
+}
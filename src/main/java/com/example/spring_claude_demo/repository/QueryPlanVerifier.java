@@ -0,0 +1,132 @@
+package com.example.spring_claude_demo.repository;
+
+import com.example.spring_claude_demo.repository.GeneratedSqlCapture.CapturedStatement;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Runs EXPLAIN at startup for the query shapes behind GET /api/employees/query and checks
+// that H2 picks the composite index each one was designed for. Each shape is run once through
+// EmployeeRepository.findMatching, the query the endpoint issues, and the SQL Hibernate
+// generates for it is captured at the driver and explained with the same bindings. A missing
+// or renamed index, or a specification or mapping change that leaves a predicate no index can
+// serve, shows up here instead of as a slow table scan in production. Logs a warning by
+// default; app.query-plan.fail-on-scan turns it into a startup failure.
+@Component
+@DependsOn("entityManagerFactory")
+public class QueryPlanVerifier implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryPlanVerifier.class);
+
+    // Sorts include the id tie-break EmployeeService adds; Sort.by("id") is the endpoint's default
+    static final List<PlanCheck> CHECKS = List.of(
+            new PlanCheck("position + salary range",
+                    new EmployeeQuery("Developer", 50000.0, 90000.0, null, null, null),
+                    Sort.by(Sort.Order.desc("salary"), Sort.Order.asc("id")),
+                    "idx_employees_position_salary"),
+            new PlanCheck("position + hire date range",
+                    new EmployeeQuery("Developer", null, null, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 12, 31), null),
+                    Sort.by("id"),
+                    "idx_employees_position_hire_date"),
+            new PlanCheck("last name prefix",
+                    new EmployeeQuery(null, null, null, null, null, "Sm"),
+                    Sort.by("lastName", "firstName", "id"),
+                    "idx_employees_last_name_first_name"),
+            new PlanCheck("salary range",
+                    new EmployeeQuery(null, 90000.0, null, null, null, null),
+                    Sort.by("id"),
+                    "idx_employees_salary"),
+            new PlanCheck("hire date range",
+                    new EmployeeQuery(null, null, null, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 12, 31), null),
+                    Sort.by("id"),
+                    "idx_employees_hire_date"));
+
+    private static final int LIMIT = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EmployeeRepository employeeRepository;
+    private final GeneratedSqlCapture sqlCapture;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean failOnScan;
+
+    public QueryPlanVerifier(DataSource dataSource, EmployeeRepository employeeRepository, GeneratedSqlCapture sqlCapture,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.query-plan.fail-on-scan:false}") boolean failOnScan) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.employeeRepository = employeeRepository;
+        this.sqlCapture = sqlCapture;
+        // Read-write, so replica routing keeps the query on the primary alongside the EXPLAIN
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.failOnScan = failOnScan;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        List<String> misses = verify();
+        if (misses.isEmpty()) {
+            log.info("Query plans verified: {} employee query shapes use their indexes", CHECKS.size());
+            return;
+        }
+        if (failOnScan) {
+            throw new IllegalStateException("Employee queries do not use their indexes: " + misses);
+        }
+        misses.forEach(miss -> log.warn("Employee query does not use its index: {}", miss));
+    }
+
+    // Returns one line per check whose plan does not name the expected index
+    public List<String> verify() {
+        List<String> misses = new ArrayList<>();
+        for (PlanCheck check : CHECKS) {
+            CapturedStatement statement = generatedSql(check);
+            if (statement == null) {
+                misses.add(check.name() + ": no SELECT captured");
+                continue;
+            }
+            String plan = explain(statement);
+            if (plan == null || !plan.toLowerCase(Locale.ROOT).contains(check.index())) {
+                misses.add(check.name() + " (expected " + check.index() + "): " + plan);
+            }
+        }
+        return misses;
+    }
+
+    private CapturedStatement generatedSql(PlanCheck check) {
+        List<CapturedStatement> statements = sqlCapture.capture(() -> transactionTemplate.executeWithoutResult(
+                status -> employeeRepository.findMatching(check.query(), check.sort(), LIMIT)));
+        return statements.stream()
+                .filter(statement -> statement.sql().stripLeading().regionMatches(true, 0, "select", 0, 6))
+                .reduce((first, second) -> second)
+                .orElse(null);
+    }
+
+    // Replays the captured bindings, so literals Hibernate inlined and parameters it bound both count
+    private String explain(CapturedStatement statement) {
+        return jdbcTemplate.query("EXPLAIN " + statement.sql(), ps -> {
+            for (ParameterSetOperation parameter : statement.parameters()) {
+                try {
+                    parameter.getMethod().invoke(ps, parameter.getArgs());
+                } catch (ReflectiveOperationException ex) {
+                    throw new SQLException("Could not bind " + parameter.getMethod().getName(), ex);
+                }
+            }
+        }, rs -> rs.next() ? rs.getString(1) : null);
+    }
+
+    record PlanCheck(String name, EmployeeQuery query, Sort sort, String index) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.spring_claude_demo.repository;
+
+import com.example.spring_claude_demo.model.SyncWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SyncWatermarkRepository extends JpaRepository<SyncWatermark, String> {
+}
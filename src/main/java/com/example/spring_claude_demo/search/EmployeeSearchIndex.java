@@ -0,0 +1,209 @@
+package com.example.spring_claude_demo.search;
+
+import com.example.spring_claude_demo.event.EmployeeChangeEvent;
+import com.example.spring_claude_demo.event.EmployeeChangeType;
+import com.example.spring_claude_demo.model.Employee;
+import com.example.spring_claude_demo.service.EmployeeService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Near-real-time full-text index of employees.
+// Committed changes are queued and applied in batches by a single refresh thread, so writers
+// never wait on the index and searches see every change at most one refresh interval later.
+// The index is rebuilt from the database once the application is ready.
+@Component
+@EnableConfigurationProperties(SearchProperties.class)
+public class EmployeeSearchIndex implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeSearchIndex.class);
+
+    private final EmployeeService employeeService;
+    private final SearchProperties properties;
+    private final InvertedIndex index = new InvertedIndex();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ConcurrentLinkedQueue<PendingChange> pending = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService refreshExecutor;
+
+    private final Timer refreshTimer;
+    private final Timer visibilityTimer;
+    private final Timer queryTimer;
+
+    // Published after each refresh so the gauges never take the lock
+    private volatile long estimatedBytes;
+    private volatile int documentCount;
+    private volatile int termCount;
+
+    private record PendingChange(EmployeeChangeType type, Long employeeId, Employee employee, long queuedAt) {
+    }
+
+    public EmployeeSearchIndex(EmployeeService employeeService, SearchProperties properties, MeterRegistry meterRegistry) {
+        this.employeeService = employeeService;
+        this.properties = properties;
+        this.refreshExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "search-index-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long refreshMillis = properties.getRefreshInterval().toMillis();
+        refreshExecutor.scheduleWithFixedDelay(this::refreshQuietly, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+
+        this.refreshTimer = Timer.builder("employee.search.refresh")
+                .description("Time spent applying queued changes to the search index")
+                .register(meterRegistry);
+        this.visibilityTimer = Timer.builder("employee.search.visibility")
+                .description("Delay between a committed change and it becoming searchable")
+                .register(meterRegistry);
+        this.queryTimer = Timer.builder("employee.search.query")
+                .description("Search query latency")
+                .register(meterRegistry);
+        Gauge.builder("employee.search.index.memory", this, searchIndex -> searchIndex.estimatedBytes)
+                .description("Estimated heap used by the search index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("employee.search.index.documents", this, searchIndex -> searchIndex.documentCount)
+                .description("Employees in the search index")
+                .register(meterRegistry);
+        Gauge.builder("employee.search.index.terms", this, searchIndex -> searchIndex.termCount)
+                .description("Distinct terms in the search index")
+                .register(meterRegistry);
+        Gauge.builder("employee.search.pending", pending, ConcurrentLinkedQueue::size)
+                .description("Committed changes not yet applied to the search index")
+                .register(meterRegistry);
+    }
+
+    // Only committed changes are indexed (reactive writes are published after their commit)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChange(EmployeeChangeEvent event) {
+        pending.add(new PendingChange(event.getType(), event.getEmployeeId(), event.getEmployee(), System.nanoTime()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        // Runs on the refresh thread so changes committed meanwhile are applied after the snapshot
+        refreshExecutor.execute(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException ex) {
+                log.error("Search index rebuild failed", ex);
+            }
+        });
+    }
+
+    public EmployeeSearchResponse search(String query, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, properties.getMaxPageSize()));
+        int pageNumber = Math.max(0, page);
+        return queryTimer.record(() -> {
+            List<InvertedIndex.Hit> hits;
+            lock.readLock().lock();
+            try {
+                hits = index.search(query);
+            } finally {
+                lock.readLock().unlock();
+            }
+            long from = (long) pageNumber * pageSize;
+            List<EmployeeSearchResponse.Hit> pageHits = new ArrayList<>(pageSize);
+            for (long i = from; i < hits.size() && i < from + pageSize; i++) {
+                InvertedIndex.Hit hit = hits.get((int) i);
+                pageHits.add(new EmployeeSearchResponse.Hit(hit.score(), hit.employee()));
+            }
+            return new EmployeeSearchResponse(query, pageNumber, pageSize, hits.size(), pageHits);
+        });
+    }
+
+    // Applies every queued change now; also used by tests that need read-your-writes
+    public void refresh() {
+        try {
+            Future<?> done = refreshExecutor.submit(this::applyPending);
+            done.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            throw new IllegalStateException("Search index refresh failed", ex);
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            applyPending();
+        } catch (RuntimeException ex) {
+            log.warn("Search index refresh failed", ex);
+        }
+    }
+
+    private void applyPending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<PendingChange> batch = new ArrayList<>();
+        PendingChange change;
+        while ((change = pending.poll()) != null) {
+            batch.add(change);
+        }
+        refreshTimer.record(() -> {
+            lock.writeLock().lock();
+            try {
+                for (PendingChange queued : batch) {
+                    if (queued.type() == EmployeeChangeType.DELETED) {
+                        index.remove(queued.employeeId());
+                    } else {
+                        index.put(queued.employee());
+                    }
+                }
+                publishStats();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+        long now = System.nanoTime();
+        for (PendingChange queued : batch) {
+            visibilityTimer.record(now - queued.queuedAt(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void rebuild() {
+        long start = System.nanoTime();
+        List<Employee> employees = employeeService.getAllEmployees();
+        lock.writeLock().lock();
+        try {
+            index.clear();
+            employees.forEach(index::put);
+            publishStats();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Search index rebuilt with {} employees in {} ms", employees.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    // Caller holds the write lock
+    private void publishStats() {
+        estimatedBytes = index.estimatedBytes();
+        documentCount = index.documentCount();
+        termCount = index.termCount();
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+}
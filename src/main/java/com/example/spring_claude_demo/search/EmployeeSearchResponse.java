@@ -0,0 +1,49 @@
+package com.example.spring_claude_demo.search;
+
+import com.example.spring_claude_demo.model.Employee;
+
+import java.util.List;
+
+public class EmployeeSearchResponse {
+
+    private final String query;
+    private final int page;
+    private final int size;
+
+    // Number of matching employees across all pages
+    private final int total;
+
+    // Best match first
+    private final List<Hit> hits;
+
+    public EmployeeSearchResponse(String query, int page, int size, int total, List<Hit> hits) {
+        this.query = query;
+        this.page = page;
+        this.size = size;
+        this.total = total;
+        this.hits = hits;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public List<Hit> getHits() {
+        return hits;
+    }
+
+    public record Hit(float score, Employee employee) {
+    }
+}
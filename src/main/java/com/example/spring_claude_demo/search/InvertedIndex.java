@@ -0,0 +1,253 @@
+package com.example.spring_claude_demo.search;
+
+import com.example.spring_claude_demo.model.Employee;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+// Small in-memory inverted index over the employee text fields with BM25 ranking.
+// Field boosts are folded into the term frequencies (a simplified BM25F). Every query
+// term must match (AND); each one matches exactly, by prefix, or within a small edit
+// distance, with lower weights for the looser matches.
+// Not thread-safe: EmployeeSearchIndex guards it with a read/write lock.
+class InvertedIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private static final float FIRST_NAME_BOOST = 1.5f;
+    private static final float LAST_NAME_BOOST = 2.0f;
+    private static final float POSITION_BOOST = 1.0f;
+    private static final float EMAIL_BOOST = 0.5f;
+
+    private static final float EXACT_WEIGHT = 1.0f;
+    private static final float PREFIX_WEIGHT = 0.8f;
+    private static final float FUZZY_WEIGHT = 0.6f;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    // Rough per-object sizes used for the memory estimate
+    private static final long TERM_OVERHEAD_BYTES = 96;
+    private static final long POSTING_BYTES = 64;
+    private static final long DOCUMENT_OVERHEAD_BYTES = 256;
+
+    // term -> (employee id -> boosted term frequency)
+    private final TreeMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private double totalLength = 0;
+    private long estimatedBytes = 0;
+
+    private record Document(Employee employee, Map<String, Float> terms, float length) {
+    }
+
+    record Hit(Employee employee, float score) {
+    }
+
+    void put(Employee employee) {
+        remove(employee.getId());
+
+        Map<String, Float> terms = new HashMap<>();
+        addField(terms, employee.getFirstName(), FIRST_NAME_BOOST);
+        addField(terms, employee.getLastName(), LAST_NAME_BOOST);
+        addField(terms, employee.getPosition(), POSITION_BOOST);
+        addField(terms, employee.getEmail(), EMAIL_BOOST);
+
+        float length = 0;
+        for (Map.Entry<String, Float> term : terms.entrySet()) {
+            length += term.getValue();
+            Map<Long, Float> docs = postings.get(term.getKey());
+            if (docs == null) {
+                docs = new HashMap<>();
+                postings.put(term.getKey(), docs);
+                estimatedBytes += TERM_OVERHEAD_BYTES + 2L * term.getKey().length();
+            }
+            docs.put(employee.getId(), term.getValue());
+            estimatedBytes += 2 * POSTING_BYTES;
+        }
+        documents.put(employee.getId(), new Document(employee, terms, length));
+        totalLength += length;
+        estimatedBytes += DOCUMENT_OVERHEAD_BYTES;
+    }
+
+    void remove(Long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms().keySet()) {
+            Map<Long, Float> docs = postings.get(term);
+            docs.remove(id);
+            estimatedBytes -= 2 * POSTING_BYTES;
+            if (docs.isEmpty()) {
+                postings.remove(term);
+                estimatedBytes -= TERM_OVERHEAD_BYTES + 2L * term.length();
+            }
+        }
+        totalLength -= document.length();
+        estimatedBytes -= DOCUMENT_OVERHEAD_BYTES;
+    }
+
+    void clear() {
+        postings.clear();
+        documents.clear();
+        totalLength = 0;
+        estimatedBytes = 0;
+    }
+
+    List<Hit> search(String query) {
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty() || documents.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Float> scores = null;
+        for (String queryTerm : queryTerms) {
+            Map<Long, Float> termScores = scoreTerm(queryTerm);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                // AND: keep only employees that matched every query term so far
+                Map<Long, Float> intersection = new HashMap<>();
+                for (Map.Entry<Long, Float> entry : scores.entrySet()) {
+                    Float termScore = termScores.get(entry.getKey());
+                    if (termScore != null) {
+                        intersection.put(entry.getKey(), entry.getValue() + termScore);
+                    }
+                }
+                scores = intersection;
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+        List<Hit> hits = new ArrayList<>(scores.size());
+        for (Map.Entry<Long, Float> entry : scores.entrySet()) {
+            hits.add(new Hit(documents.get(entry.getKey()).employee(), entry.getValue()));
+        }
+        hits.sort(Comparator.comparing(Hit::score).reversed()
+                .thenComparing(hit -> hit.employee().getId()));
+        return hits;
+    }
+
+    // Best score per employee over all index terms this query term expands to
+    private Map<Long, Float> scoreTerm(String queryTerm) {
+        Map<Long, Float> scores = new HashMap<>();
+        for (Map.Entry<String, Float> expansion : expand(queryTerm).entrySet()) {
+            Map<Long, Float> docs = postings.get(expansion.getKey());
+            float idf = idf(docs.size());
+            for (Map.Entry<Long, Float> posting : docs.entrySet()) {
+                float score = expansion.getValue() * idf * bm25Tf(posting.getValue(), documents.get(posting.getKey()).length());
+                scores.merge(posting.getKey(), score, Math::max);
+            }
+        }
+        return scores;
+    }
+
+    private Map<String, Float> expand(String queryTerm) {
+        Map<String, Float> expansions = new LinkedHashMap<>();
+        if (postings.containsKey(queryTerm)) {
+            expansions.put(queryTerm, EXACT_WEIGHT);
+        }
+        if (queryTerm.length() >= 2) {
+            NavigableMap<String, Map<Long, Float>> prefixed =
+                    postings.subMap(queryTerm, false, queryTerm + Character.MAX_VALUE, false);
+            int count = 0;
+            for (String term : prefixed.keySet()) {
+                if (count++ == MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                expansions.putIfAbsent(term, PREFIX_WEIGHT);
+            }
+        }
+        int maxEdits = queryTerm.length() >= 8 ? 2 : queryTerm.length() >= 4 ? 1 : 0;
+        if (maxEdits > 0) {
+            for (String term : postings.keySet()) {
+                if (!expansions.containsKey(term)
+                        && Math.abs(term.length() - queryTerm.length()) <= maxEdits
+                        && withinEditDistance(queryTerm, term, maxEdits)) {
+                    expansions.put(term, FUZZY_WEIGHT);
+                }
+            }
+        }
+        return expansions;
+    }
+
+    private float idf(int documentFrequency) {
+        int total = documents.size();
+        return (float) Math.log(1 + (total - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private float bm25Tf(float termFrequency, float documentLength) {
+        double averageLength = totalLength / documents.size();
+        return (float) (termFrequency * (K1 + 1)
+                / (termFrequency + K1 * (1 - B + B * documentLength / averageLength)));
+    }
+
+    // Levenshtein distance with an early exit once every cell in a row exceeds maxEdits
+    static boolean withinEditDistance(String a, String b, int maxEdits) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMinimum = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (rowMinimum > maxEdits) {
+                return false;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()] <= maxEdits;
+    }
+
+    private static void addField(Map<String, Float> terms, String value, float boost) {
+        for (String token : tokenize(value)) {
+            terms.merge(token, boost, Float::sum);
+        }
+    }
+
+    // Lower-cases and splits on anything that is not a letter or digit ("john.doe@example.com" -> john, doe, example, com)
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    int documentCount() {
+        return documents.size();
+    }
+
+    int termCount() {
+        return postings.size();
+    }
+
+    long estimatedBytes() {
+        return estimatedBytes;
+    }
+}
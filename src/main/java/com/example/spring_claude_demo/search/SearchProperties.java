@@ -0,0 +1,31 @@
+package com.example.spring_claude_demo.search;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.search")
+public class SearchProperties {
+
+    // How often committed changes are applied to the index (upper bound on search staleness)
+    private Duration refreshInterval = Duration.ofMillis(200);
+
+    // Largest page size a search request may ask for
+    private int maxPageSize = 100;
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    public void setMaxPageSize(int maxPageSize) {
+        this.maxPageSize = maxPageSize;
+    }
+}
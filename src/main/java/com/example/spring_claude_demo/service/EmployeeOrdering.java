@@ -0,0 +1,50 @@
+package com.example.spring_claude_demo.service;
+
+import com.example.spring_claude_demo.model.Employee;
+import org.springframework.data.domain.Sort;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.function.Function;
+
+// In-memory equivalents of the ORDER BY clauses the repository issues, used to merge
+// per-shard results. Nulls sort first ascending and last descending, like H2.
+final class EmployeeOrdering {
+
+    static final Comparator<Employee> BY_ID = Comparator.comparing(Employee::getId);
+
+    private static final Map<String, Comparator<Employee>> PROPERTIES = Map.of(
+            "id", BY_ID,
+            "firstName", nullsFirst(Employee::getFirstName),
+            "lastName", nullsFirst(Employee::getLastName),
+            "email", nullsFirst(Employee::getEmail),
+            "phoneNumber", nullsFirst(Employee::getPhoneNumber),
+            "position", nullsFirst(Employee::getPosition),
+            "salary", nullsFirst(Employee::getSalary),
+            "hireDate", nullsFirst(Employee::getHireDate),
+            "terminationDate", nullsFirst(Employee::getTerminationDate)
+    );
+
+    private EmployeeOrdering() {
+    }
+
+    static Comparator<Employee> of(Sort sort) {
+        Comparator<Employee> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<Employee> property = PROPERTIES.get(order.getProperty());
+            if (property == null) {
+                throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+            }
+            if (order.isDescending()) {
+                property = property.reversed();
+            }
+            comparator = comparator == null ? property : comparator.thenComparing(property);
+        }
+        // Ties are broken by id so every shard and the merge agree on one total order
+        return comparator == null ? BY_ID : comparator.thenComparing(BY_ID);
+    }
+
+    private static <U extends Comparable<? super U>> Comparator<Employee> nullsFirst(Function<Employee, U> key) {
+        return Comparator.comparing(key, Comparator.nullsFirst(Comparator.naturalOrder()));
+    }
+}
@@ -1,85 +1,330 @@
 package com.example.spring_claude_demo.service;
 
-import com.example.spring_claude_demo.exception.ResourceNotFoundException;
+import com.example.spring_claude_demo.cache.EmployeeIdFilter;
+import com.example.spring_claude_demo.cache.EmployeeRecordCache;
+import com.example.spring_claude_demo.event.EmployeeChangeEvent;
+import com.example.spring_claude_demo.event.EmployeeChangeType;
+import com.example.spring_claude_demo.exception.EmployeeNotFoundException;
+import com.example.spring_claude_demo.model.ArchivedEmployee;
 import com.example.spring_claude_demo.model.Employee;
+import com.example.spring_claude_demo.model.EmployeeTombstone;
+import com.example.spring_claude_demo.repository.ArchivedEmployeeRepository;
+import com.example.spring_claude_demo.repository.EmployeeQuery;
 import com.example.spring_claude_demo.repository.EmployeeRepository;
+import com.example.spring_claude_demo.repository.EmployeeSpecifications;
+import com.example.spring_claude_demo.repository.EmployeeTombstoneRepository;
+import com.example.spring_claude_demo.sharding.ShardRouter;
+import com.example.spring_claude_demo.sync.ChangeSequence;
+import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 @Service
 public class EmployeeService {
 
     private final EmployeeRepository employeeRepository;
+    private final EmployeeTombstoneRepository tombstoneRepository;
+    private final ChangeSequence changeSequence;
+    private final ShardRouter shardRouter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EmployeeIdFilter idFilter;
+    private final EmployeeRecordCache recordCache;
+    private final ArchivedEmployeeRepository archivedRepository;
+    private final EntityManager entityManager;
 
     @Autowired
-    public EmployeeService(EmployeeRepository employeeRepository) {
+    public EmployeeService(EmployeeRepository employeeRepository, EmployeeTombstoneRepository tombstoneRepository,
+                           ChangeSequence changeSequence, ShardRouter shardRouter,
+                           ApplicationEventPublisher eventPublisher, EmployeeIdFilter idFilter,
+                           EmployeeRecordCache recordCache, ArchivedEmployeeRepository archivedRepository,
+                           EntityManager entityManager) {
         this.employeeRepository = employeeRepository;
+        this.archivedRepository = archivedRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.changeSequence = changeSequence;
+        this.shardRouter = shardRouter;
+        this.eventPublisher = eventPublisher;
+        this.idFilter = idFilter;
+        this.recordCache = recordCache;
+        this.entityManager = entityManager;
     }
 
     // Create
+    @Transactional
     public Employee saveEmployee(Employee employee) {
-        return employeeRepository.save(employee);
+        boolean isNew = employee.getId() == null;
+        Employee saved = isNew
+                // Flushed while the shard is bound: the INSERT is what pins the transaction's connection
+                ? shardRouter.onNewRowShard(() -> employeeRepository.saveAndFlush(employee))
+                : shardRouter.onShardOf(employee.getId(), () -> employeeRepository.save(employee));
+        eventPublisher.publishEvent(new EmployeeChangeEvent(
+                isNew ? EmployeeChangeType.CREATED : EmployeeChangeType.UPDATED, saved));
+        return saved;
+    }
+
+    // Bulk create: the whole batch is one transaction on one placement shard, so the inserts
+    // are flushed together as JDBC batches (hibernate.jdbc.batch_size)
+    @Transactional
+    public List<Employee> saveEmployees(List<Employee> employees) {
+        List<Employee> saved = shardRouter.onNewRowShard(() -> {
+            List<Employee> rows = employeeRepository.saveAll(employees);
+            employeeRepository.flush();
+            return rows;
+        });
+        saved.forEach(employee -> eventPublisher.publishEvent(new EmployeeChangeEvent(EmployeeChangeType.CREATED, employee)));
+        return saved;
     }
 
     // Read - All employees
+    @Transactional(readOnly = true)
     public List<Employee> getAllEmployees() {
-        return employeeRepository.findAll();
+        return shardRouter.scatter(employeeRepository::findAll, EmployeeOrdering.BY_ID);
+    }
+
+    // Every employee in id order, read in keyset pages as the caller iterates. Not @Transactional:
+    // each page is its own short read-only query per shard, so a long response holds neither a
+    // transaction nor the whole table. Each page is detached once read: under open-in-view the
+    // request's EntityManager is bound to the thread writing the response and would otherwise
+    // keep every streamed row
+    public Iterable<Employee> streamAllEmployees(int pageSize) {
+        return streamEmployees(null, pageSize);
+    }
+
+    // The employees matching 'filter' (null for all), paged the same way
+    public Iterable<Employee> streamEmployees(Specification<Employee> filter, int pageSize) {
+        Pageable firstPage = PageRequest.of(0, pageSize, Sort.by("id"));
+        return () -> new Iterator<>() {
+            private Iterator<Employee> page = Collections.emptyIterator();
+            private long lastId = Long.MIN_VALUE;
+            private boolean more = true;
+
+            @Override
+            public boolean hasNext() {
+                if (!page.hasNext() && more) {
+                    long after = lastId;
+                    Specification<Employee> pageFilter = Specification.allOf(filter, EmployeeSpecifications.idAfter(after));
+                    List<Employee> rows = shardRouter.scatterPage(pageable -> employeeRepository.findBy(pageFilter,
+                            q -> q.sortBy(pageable.getSort()).limit(pageable.getPageSize()).all()), EmployeeOrdering.BY_ID, firstPage);
+                    rows.forEach(entityManager::detach);
+                    more = rows.size() == pageSize;
+                    if (!rows.isEmpty()) {
+                        lastId = rows.get(rows.size() - 1).getId();
+                    }
+                    page = rows.iterator();
+                }
+                return page.hasNext();
+            }
+
+            @Override
+            public Employee next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return page.next();
+            }
+        };
+    }
+
+    // The includeArchived variants also read archived_employees; without it only the hot table is touched
+    @Transactional(readOnly = true)
+    public List<Employee> getAllEmployees(boolean includeArchived) {
+        return includeArchived
+                ? withArchived(employeeRepository::findAll, archivedRepository::findAll)
+                : getAllEmployees();
     }
 
     // Read - Single employee by ID
+    // Not @Transactional: an id the filter rules out is answered without opening a transaction
+    // or borrowing a connection; findById runs in the repository's own read-only transaction
     public Optional<Employee> getEmployeeById(Long id) {
-        return employeeRepository.findById(id);
+        if (!idFilter.mightContain(id)) {
+            return Optional.empty();
+        }
+        if (!recordCache.isEnabled()) {
+            return shardRouter.onShardOf(id, () -> employeeRepository.findById(id));
+        }
+        // Off-heap tier first, then the second-level cache and the database behind findById
+        Employee cached = recordCache.get(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long stamp = recordCache.stamp();
+        Optional<Employee> employee = shardRouter.onShardOf(id, () -> employeeRepository.findById(id));
+        employee.ifPresent(loaded -> recordCache.put(loaded, stamp));
+        return employee;
+    }
+
+    // Archived employees are gone from the id filter and the caches, so the fallback always queries
+    public Optional<Employee> getEmployeeById(Long id, boolean includeArchived) {
+        Optional<Employee> employee = getEmployeeById(id);
+        if (employee.isPresent() || !includeArchived) {
+            return employee;
+        }
+        return shardRouter.onShardOf(id, () -> archivedRepository.findById(id).map(ArchivedEmployee::toEmployee));
     }
 
     // Read - Employees by last name
+    @Transactional(readOnly = true)
     public List<Employee> getEmployeesByLastName(String lastName) {
-        return employeeRepository.findByLastName(lastName);
+        return shardRouter.scatter(() -> employeeRepository.findByLastName(lastName), EmployeeOrdering.BY_ID);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Employee> getEmployeesByLastName(String lastName, boolean includeArchived) {
+        return includeArchived
+                ? withArchived(() -> employeeRepository.findByLastName(lastName), () -> archivedRepository.findByLastName(lastName))
+                : getEmployeesByLastName(lastName);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Employee> getEmployeesByLastName(String lastName, Pageable pageable) {
+        Pageable page = withIdTieBreak(pageable);
+        return shardRouter.scatterPage(p -> employeeRepository.findByLastName(lastName, p),
+                EmployeeOrdering.of(page.getSort()), page);
     }
 
     // Read - Employees by position
+    @Transactional(readOnly = true)
     public List<Employee> getEmployeesByPosition(String position) {
-        return employeeRepository.findByPosition(position);
+        return shardRouter.scatter(() -> employeeRepository.findByPosition(position), EmployeeOrdering.BY_ID);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Employee> getEmployeesByPosition(String position, boolean includeArchived) {
+        return includeArchived
+                ? withArchived(() -> employeeRepository.findByPosition(position), () -> archivedRepository.findByPosition(position))
+                : getEmployeesByPosition(position);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Employee> getEmployeesByPosition(String position, Pageable pageable) {
+        Pageable page = withIdTieBreak(pageable);
+        return shardRouter.scatterPage(p -> employeeRepository.findByPosition(position, p),
+                EmployeeOrdering.of(page.getSort()), page);
     }
 
     // Read - Employees by email containing
+    @Transactional(readOnly = true)
     public List<Employee> getEmployeesByEmailContaining(String emailPart) {
-        return employeeRepository.findByEmailContaining(emailPart);
+        return shardRouter.scatter(() -> employeeRepository.findByEmailContaining(emailPart), EmployeeOrdering.BY_ID);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Employee> getEmployeesByEmailContaining(String emailPart, boolean includeArchived) {
+        return includeArchived
+                ? withArchived(() -> employeeRepository.findByEmailContaining(emailPart), () -> archivedRepository.findByEmailContaining(emailPart))
+                : getEmployeesByEmailContaining(emailPart);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Employee> getEmployeesByEmailContaining(String emailPart, Pageable pageable) {
+        Pageable page = withIdTieBreak(pageable);
+        return shardRouter.scatterPage(p -> employeeRepository.findByEmailContaining(emailPart, p),
+                EmployeeOrdering.of(page.getSort()), page);
     }
 
     // Read - Employees by minimum salary
+    @Transactional(readOnly = true)
     public List<Employee> getEmployeesByMinimumSalary(Double minSalary) {
-        return employeeRepository.findBySalaryGreaterThanEqual(minSalary);
+        return shardRouter.scatter(() -> employeeRepository.findBySalaryGreaterThanEqual(minSalary), EmployeeOrdering.BY_ID);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Employee> getEmployeesByMinimumSalary(Double minSalary, boolean includeArchived) {
+        return includeArchived
+                ? withArchived(() -> employeeRepository.findBySalaryGreaterThanEqual(minSalary), () -> archivedRepository.findBySalaryGreaterThanEqual(minSalary))
+                : getEmployeesByMinimumSalary(minSalary);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Employee> getEmployeesByMinimumSalary(Double minSalary, Pageable pageable) {
+        Pageable page = withIdTieBreak(pageable);
+        return shardRouter.scatterPage(p -> employeeRepository.findBySalaryGreaterThanEqual(minSalary, p),
+                EmployeeOrdering.of(page.getSort()), page);
+    }
+
+    // Read - Combined filter, sort and limit in one query; on a sharded setup every shard returns
+    // its first 'limit' rows in order and the runs are merged
+    @Transactional(readOnly = true)
+    public List<Employee> queryEmployees(EmployeeQuery query, Sort sort, int limit) {
+        Pageable page = withIdTieBreak(PageRequest.of(0, limit, sort));
+        return shardRouter.scatterPage(p -> employeeRepository.findMatching(query, p.getSort(), p.getPageSize()),
+                EmployeeOrdering.of(page.getSort()), page);
     }
 
     // Update
+    @Transactional
     public Employee updateEmployee(Long id, Employee employeeDetails) {
-        Employee employee = employeeRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
-        
-        employee.setFirstName(employeeDetails.getFirstName());
-        employee.setLastName(employeeDetails.getLastName());
-        employee.setEmail(employeeDetails.getEmail());
-        employee.setPhoneNumber(employeeDetails.getPhoneNumber());
-        employee.setPosition(employeeDetails.getPosition());
-        employee.setSalary(employeeDetails.getSalary());
-        employee.setHireDate(employeeDetails.getHireDate());
-        
-        return employeeRepository.save(employee);
+        return shardRouter.onShardOf(id, () -> {
+            Employee employee = employeeRepository.findById(id)
+                    .orElseThrow(() -> new EmployeeNotFoundException(id));
+            Employee previous = employee.copy();
+
+            employee.setFirstName(employeeDetails.getFirstName());
+            employee.setLastName(employeeDetails.getLastName());
+            employee.setEmail(employeeDetails.getEmail());
+            employee.setPhoneNumber(employeeDetails.getPhoneNumber());
+            employee.setPosition(employeeDetails.getPosition());
+            employee.setSalary(employeeDetails.getSalary());
+            employee.setHireDate(employeeDetails.getHireDate());
+            employee.setTerminationDate(employeeDetails.getTerminationDate());
+
+            Employee saved = employeeRepository.save(employee);
+            eventPublisher.publishEvent(new EmployeeChangeEvent(EmployeeChangeType.UPDATED, saved, previous));
+            return saved;
+        });
     }
 
     // Delete
+    @Transactional
     public void deleteEmployee(Long id) {
-        Employee employee = employeeRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
-        
-        employeeRepository.delete(employee);
+        shardRouter.onShardOf(id, () -> {
+            Employee employee = employeeRepository.findById(id)
+                    .orElseThrow(() -> new EmployeeNotFoundException(id));
+
+            employeeRepository.delete(employee);
+            // Tombstone on the same shard, so delta sync clients learn about the delete
+            tombstoneRepository.save(new EmployeeTombstone(id, changeSequence.next(), Instant.now()));
+            eventPublisher.publishEvent(new EmployeeChangeEvent(EmployeeChangeType.DELETED, employee));
+        });
     }
 
     // Check if employee exists
+    // Not @Transactional, for the same reason as getEmployeeById
     public boolean employeeExists(Long id) {
-        return employeeRepository.existsById(id);
+        return idFilter.mightContain(id) && shardRouter.onShardOf(id, () -> employeeRepository.existsById(id));
+    }
+
+    // Paged results are ordered by id after the requested sort so shard merges are deterministic
+    private static Pageable withIdTieBreak(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return pageable;
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().and(Sort.by("id")));
+    }
+
+    // Both tables of a shard, merged by id; ids are unique across them since archiving moves the row
+    private List<Employee> withArchived(Supplier<List<Employee>> active, Supplier<List<ArchivedEmployee>> archived) {
+        return shardRouter.scatter(() -> {
+            List<Employee> employees = new ArrayList<>(active.get());
+            archived.get().forEach(row -> employees.add(row.toEmployee()));
+            employees.sort(EmployeeOrdering.BY_ID);
+            return employees;
+        }, EmployeeOrdering.BY_ID);
     }
 }
@@ -0,0 +1,63 @@
+package com.example.spring_claude_demo.sharding;
+
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerationException;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Hibernate generator for @ShardedId: encodes the shard the row is written to into the id.
+// Hands out a block of sequence values per shard before reading the sequence again, over the
+// session's own connection, which is already routed to that shard. Blocks are per instance,
+// and so per session factory, so applications on different databases in one JVM never share one.
+public class ShardAwareIdGenerator implements IdentifierGenerator {
+
+    private final Map<Integer, Block> blocks = new ConcurrentHashMap<>();
+
+    public ShardAwareIdGenerator(ShardedId config, Member member, CustomIdGeneratorCreationContext context) {
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        int shard = ShardContext.currentShard();
+        return ShardIds.idOf(blocks.computeIfAbsent(shard, key -> new Block()).next(session), shard);
+    }
+
+    private static final class Block {
+        private long next;
+        private long limit;
+
+        synchronized long next(SharedSessionContractImplementor session) {
+            if (next == limit) {
+                next = readSequence(session);
+                limit = next + ShardIds.BLOCK_SIZE;
+            }
+            return next++;
+        }
+    }
+
+    private static long readSequence(SharedSessionContractImplementor session) {
+        JdbcCoordinator jdbc = session.getJdbcCoordinator();
+        PreparedStatement statement = jdbc.getStatementPreparer().prepareStatement(ShardIds.NEXT_VALUE_SQL);
+        try {
+            ResultSet result = jdbc.getResultSetReturn().extract(statement, ShardIds.NEXT_VALUE_SQL);
+            if (!result.next()) {
+                throw new IdentifierGenerationException("Sequence " + ShardIds.SEQUENCE + " returned no value");
+            }
+            return result.getLong(1);
+        } catch (SQLException ex) {
+            throw session.getJdbcServices().getSqlExceptionHelper()
+                    .convert(ex, "Could not read sequence " + ShardIds.SEQUENCE, ShardIds.NEXT_VALUE_SQL);
+        } finally {
+            jdbc.getLogicalConnection().getResourceRegistry().release(statement);
+            jdbc.afterStatementExecution();
+        }
+    }
+}
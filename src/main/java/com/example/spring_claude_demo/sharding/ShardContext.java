@@ -0,0 +1,30 @@
+package com.example.spring_claude_demo.sharding;
+
+// Shard the current thread is working against. Read by ShardRoutingDataSource when a
+// connection is fetched and by ShardAwareIdGenerator when an id is assigned.
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> currentShard = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static int currentShard() {
+        Integer shard = currentShard.get();
+        return shard != null ? shard : 0;
+    }
+
+    static Integer bind(int shard) {
+        Integer previous = currentShard.get();
+        currentShard.set(shard);
+        return previous;
+    }
+
+    static void restore(Integer previous) {
+        if (previous == null) {
+            currentShard.remove();
+        } else {
+            currentShard.set(previous);
+        }
+    }
+}
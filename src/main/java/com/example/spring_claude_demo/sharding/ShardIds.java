@@ -0,0 +1,48 @@
+package com.example.spring_claude_demo.sharding;
+
+// Id layout: id = sequence value * shardCount + shard, so shard = id mod shardCount.
+// Sequence values come from the employee_ids database sequence of the shard the row is
+// written to, which ShardRouter creates at startup; with one shard the id is the sequence
+// value itself. Being in the database, the sequence is shared by every instance using it and
+// survives restarts, so ids of deleted and archived employees are never handed out again.
+// The sequence steps by BLOCK_SIZE and each value read reserves that many, so inserts only
+// read it once per block and can still be batched.
+// Hibernate instantiates id generators itself, hence the static shard count; it is configured
+// once by ShardRouter at startup.
+public final class ShardIds {
+
+    public static final String SEQUENCE = "employee_ids";
+
+    public static final int BLOCK_SIZE = 50;
+
+    public static final String NEXT_VALUE_SQL = "SELECT NEXT VALUE FOR " + SEQUENCE;
+
+    // Takes the number of values as its one parameter
+    public static final String NEXT_VALUES_SQL = NEXT_VALUE_SQL + " FROM SYSTEM_RANGE(1, ?)";
+
+    private static volatile int shardCount = 1;
+
+    private ShardIds() {
+    }
+
+    static void configure(int count) {
+        shardCount = count;
+    }
+
+    public static long idOf(long sequenceValue, int shard) {
+        return sequenceValue * shardCount + shard;
+    }
+
+    // The sequence value of an id already in storage
+    static long sequenceValueOf(long id) {
+        return id / shardCount;
+    }
+
+    public static int shardOf(long id) {
+        return (int) Math.floorMod(id, (long) shardCount);
+    }
+
+    public static int shardCount() {
+        return shardCount;
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.spring_claude_demo.sharding;
+
+import com.example.spring_claude_demo.datasource.H2SchemaCopier;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Runs repository work on the right shard: point operations on the shard encoded in the id,
+// new rows on a hashed placement shard, and multi-row queries scattered to every shard in
+// parallel and gathered back in order. With sharding disabled there is one shard and every
+// call runs inline on the caller's thread.
+@Component
+@DependsOn("entityManagerFactory")
+public class ShardRouter implements InitializingBean, DisposableBean {
+
+    private final ShardProperties properties;
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate shardReadTemplate;
+    private final int shardCount;
+    private final boolean virtualThreads;
+    private final AtomicLong placement = new AtomicLong();
+
+    private ExecutorService executor;
+
+    public ShardRouter(ShardProperties properties, DataSource dataSource, PlatformTransactionManager transactionManager,
+                       @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.properties = properties;
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.shardCount = properties.isEnabled() ? properties.getCount() : 1;
+        this.virtualThreads = virtualThreads;
+
+        this.shardReadTemplate = new TransactionTemplate(transactionManager);
+        this.shardReadTemplate.setReadOnly(true);
+        this.shardReadTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        ShardIds.configure(shardCount);
+        if (isSharded()) {
+            copySchemaToAllShards();
+            executor = createExecutor();
+        }
+        for (int shard = 0; shard < shardCount; shard++) {
+            onShard(shard, this::createIdSequence);
+        }
+    }
+
+    // Once per database: an existing sequence is already past every id it handed out. A new one
+    // starts past every id in use, including the ids of deleted (tombstoned) and archived employees
+    private Void createIdSequence() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT GREATEST("
+                + "(SELECT COALESCE(MAX(id), 0) FROM employees), "
+                + "(SELECT COALESCE(MAX(id), 0) FROM archived_employees), "
+                + "(SELECT COALESCE(MAX(GREATEST(id, employee_id)), 0) FROM employee_tombstones))", Long.class);
+        long start = ShardIds.sequenceValueOf(maxId != null ? maxId : 0) + 1;
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + ShardIds.SEQUENCE + " START WITH " + start
+                + " INCREMENT BY " + ShardIds.BLOCK_SIZE);
+        return null;
+    }
+
+    // Ids for 'count' new rows on the shard bound to the calling thread, in one round trip;
+    // what is left of the last block is not used
+    public List<Long> nextIds(int count) {
+        int shard = ShardContext.currentShard();
+        int blocks = (count + ShardIds.BLOCK_SIZE - 1) / ShardIds.BLOCK_SIZE;
+        List<Long> ids = new ArrayList<>(count);
+        for (Long blockStart : jdbcTemplate.queryForList(ShardIds.NEXT_VALUES_SQL, Long.class, blocks)) {
+            for (int i = 0; i < ShardIds.BLOCK_SIZE && ids.size() < count; i++) {
+                ids.add(ShardIds.idOf(blockStart + i, shard));
+            }
+        }
+        return ids;
+    }
+
+    // Hibernate only creates the schema on shard 0, the other shards get a copy of it
+    private void copySchemaToAllShards() throws SQLException {
+        List<HikariDataSource> shards = dataSource.unwrap(ShardRoutingDataSource.class).getShards();
+        try (Connection source = shards.get(0).getConnection()) {
+            for (int shard = 1; shard < shards.size(); shard++) {
+                try (Connection target = shards.get(shard).getConnection()) {
+                    H2SchemaCopier.copyAllTables(source, target);
+                }
+            }
+        }
+    }
+
+    // Shard pools already bound how many queries run at once, so with virtual threads there is
+    // no point capping the executor as well
+    private ExecutorService createExecutor() {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("shard-query-", 1).factory());
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        return Executors.newFixedThreadPool(shardCount * properties.getPoolSize(), runnable -> {
+            Thread thread = new Thread(runnable, "shard-query-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public boolean isSharded() {
+        return shardCount > 1;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public <T> T onShard(int shard, Supplier<T> work) {
+        if (!isSharded()) {
+            return work.get();
+        }
+        Integer previous = ShardContext.bind(shard);
+        try {
+            return work.get();
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+
+    public <T> T onShardOf(Long id, Supplier<T> work) {
+        return onShard(id == null ? 0 : ShardIds.shardOf(id), work);
+    }
+
+    public void onShardOf(Long id, Runnable work) {
+        onShardOf(id, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    // Picks the shard for a row that does not have an id yet
+    public <T> T onNewRowShard(Supplier<T> work) {
+        return onShard(Math.floorMod(mix(placement.incrementAndGet()), shardCount), work);
+    }
+
+    // Runs the query on every shard in parallel and returns the combined rows sorted by 'order'
+    public <T> List<T> scatter(Supplier<List<T>> query, Comparator<? super T> order) {
+        if (!isSharded()) {
+            return query.get();
+        }
+        List<T> merged = new ArrayList<>();
+        for (List<T> rows : gather(shard -> query.get())) {
+            merged.addAll(rows);
+        }
+        merged.sort(order);
+        return merged;
+    }
+
+    // Paged scatter-gather: every shard returns its first offset+size rows in 'order'
+    // and the sorted runs are k-way merged, so the page matches a single-database query
+    public <T> List<T> scatterPage(Function<Pageable, List<T>> query, Comparator<? super T> order, Pageable pageable) {
+        if (!isSharded() || pageable.isUnpaged()) {
+            return isSharded() ? scatter(() -> query.apply(pageable), order) : query.apply(pageable);
+        }
+        long offset = pageable.getOffset();
+        int size = pageable.getPageSize();
+        Pageable perShard = PageRequest.of(0, Math.toIntExact(offset + size), pageable.getSort());
+        return mergeSorted(gather(shard -> query.apply(perShard)), order, offset, size);
+    }
+
+    private <T> List<List<T>> gather(Function<Integer, List<T>> query) {
+        List<CompletableFuture<List<T>>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> onShard(target, () -> shardReadTemplate.execute(status -> query.apply(target))), executor));
+        }
+        List<List<T>> results = new ArrayList<>(shardCount);
+        try {
+            for (CompletableFuture<List<T>> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+        return results;
+    }
+
+    static <T> List<T> mergeSorted(List<List<T>> runs, Comparator<? super T> order, long offset, int limit) {
+        PriorityQueue<Run<T>> heap = new PriorityQueue<>(Math.max(1, runs.size()),
+                (a, b) -> order.compare(a.head, b.head));
+        for (List<T> run : runs) {
+            Iterator<T> iterator = run.iterator();
+            if (iterator.hasNext()) {
+                heap.add(new Run<>(iterator));
+            }
+        }
+        List<T> page = new ArrayList<>(limit);
+        long skipped = 0;
+        while (!heap.isEmpty() && page.size() < limit) {
+            Run<T> run = heap.poll();
+            if (skipped < offset) {
+                skipped++;
+            } else {
+                page.add(run.head);
+            }
+            if (run.advance()) {
+                heap.add(run);
+            }
+        }
+        return page;
+    }
+
+    private static final class Run<T> {
+        private final Iterator<T> iterator;
+        private T head;
+
+        Run(Iterator<T> iterator) {
+            this.iterator = iterator;
+            this.head = iterator.next();
+        }
+
+        boolean advance() {
+            if (!iterator.hasNext()) {
+                return false;
+            }
+            head = iterator.next();
+            return true;
+        }
+    }
+
+    // fmix64 from MurmurHash3, spreads consecutive placement counters evenly across shards
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb3f97a4c8a1bL;
+        value ^= value >>> 33;
+        return value;
+    }
+}
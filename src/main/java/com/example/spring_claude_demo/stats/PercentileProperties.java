@@ -0,0 +1,65 @@
+package com.example.spring_claude_demo.stats;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.percentiles")
+public class PercentileProperties {
+
+    // t-digest compression: higher keeps more centroids per sketch and tighter tail quantiles
+    private double compression = 100;
+
+    // How often committed changes are folded into the sketches (upper bound on staleness)
+    private Duration refreshInterval = Duration.ofSeconds(1);
+
+    // Full rebuild from the database regardless of drift (app.percentiles.rebuild-interval)
+    private Duration rebuildInterval = Duration.ofMinutes(30);
+
+    // Shortest time between rebuilds triggered by changes made through other instances, which the
+    // sketches only learn about over the coherence bus (app.coherence.transport) and cannot apply
+    private Duration remoteRebuildInterval = Duration.ofSeconds(30);
+
+    // Removed weight relative to the live weight of a sketch beyond which it is rebuilt early
+    private double maxDrift = 0.2;
+
+    public double getCompression() {
+        return compression;
+    }
+
+    public void setCompression(double compression) {
+        this.compression = compression;
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    public Duration getRebuildInterval() {
+        return rebuildInterval;
+    }
+
+    public void setRebuildInterval(Duration rebuildInterval) {
+        this.rebuildInterval = rebuildInterval;
+    }
+
+    public Duration getRemoteRebuildInterval() {
+        return remoteRebuildInterval;
+    }
+
+    public void setRemoteRebuildInterval(Duration remoteRebuildInterval) {
+        this.remoteRebuildInterval = remoteRebuildInterval;
+    }
+
+    public double getMaxDrift() {
+        return maxDrift;
+    }
+
+    public void setMaxDrift(double maxDrift) {
+        this.maxDrift = maxDrift;
+    }
+}
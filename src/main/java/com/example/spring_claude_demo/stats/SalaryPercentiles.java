@@ -0,0 +1,353 @@
+package com.example.spring_claude_demo.stats;
+
+import com.example.spring_claude_demo.coherence.RemoteEmployeeChangeEvent;
+import com.example.spring_claude_demo.event.EmployeeChangeEvent;
+import com.example.spring_claude_demo.event.EmployeeChangeType;
+import com.example.spring_claude_demo.model.Employee;
+import com.example.spring_claude_demo.sharding.ShardRouter;
+import com.example.spring_claude_demo.sync.ChangeSequence;
+import com.example.spring_claude_demo.sync.ScanReconciliation;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Salary percentiles per position and overall, kept as t-digest sketches.
+// Committed changes are queued and folded in by a single refresh thread, which then publishes an
+// immutable response, so reads are a volatile load. Deletes and the old side of updates are
+// subtracted (see SalarySketch); the error that adds is bounded by rebuilding from the database
+// when a sketch drifts past app.percentiles.max-drift, and periodically in any case.
+// Writes made through other instances never reach the queue; the coherence bus only says that
+// they happened, so they are picked up by a rebuild and counted in the response until then.
+@Component
+@EnableConfigurationProperties(PercentileProperties.class)
+public class SalaryPercentiles implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(SalaryPercentiles.class);
+
+    private static final String SCAN = ScanReconciliation.scanSql("position", "salary");
+
+    private final ShardRouter shardRouter;
+    private final ChangeSequence changeSequence;
+    private final PercentileProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final ConcurrentLinkedQueue<EmployeeChangeEvent> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicLong otherInstanceChanges = new AtomicLong();
+    private final ScheduledExecutorService refreshExecutor;
+
+    private final Timer refreshTimer;
+    private final Timer rebuildTimer;
+
+    // Owned by the refresh thread
+    private SalarySketch overall;
+    private Map<String, SalarySketch> byPosition = new HashMap<>();
+    private final Set<String> dirtyPositions = new HashSet<>();
+    private boolean rebuildRequested;
+    private Instant rebuiltAt = Instant.EPOCH;
+    private long rebuiltNanos;
+    // Until every change the last rebuild could have seen has been queued
+    private ScanReconciliation lastScan;
+
+    private volatile SalaryPercentilesResponse current =
+            new SalaryPercentilesResponse(Instant.EPOCH, Instant.EPOCH, 0, percentiles(null), Map.of());
+    private volatile double drift;
+    private volatile long sketchBytes;
+
+    public SalaryPercentiles(ShardRouter shardRouter, ChangeSequence changeSequence, PercentileProperties properties,
+                             DataSource dataSource, MeterRegistry meterRegistry) {
+        this.shardRouter = shardRouter;
+        this.changeSequence = changeSequence;
+        this.properties = properties;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.overall = new SalarySketch(properties.getCompression());
+        this.refreshExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "salary-percentiles-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long refreshMillis = properties.getRefreshInterval().toMillis();
+        refreshExecutor.scheduleWithFixedDelay(this::refreshQuietly, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+
+        this.refreshTimer = Timer.builder("employee.percentiles.refresh")
+                .description("Time spent folding queued changes into the salary sketches")
+                .register(meterRegistry);
+        this.rebuildTimer = Timer.builder("employee.percentiles.rebuild")
+                .description("Time spent rebuilding the salary sketches from the database")
+                .register(meterRegistry);
+        Gauge.builder("employee.percentiles.drift", this, percentiles -> percentiles.drift)
+                .description("Largest removed-to-live weight ratio among the salary sketches")
+                .register(meterRegistry);
+        Gauge.builder("employee.percentiles.memory", this, percentiles -> percentiles.sketchBytes)
+                .description("Heap held by the salary sketches")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("employee.percentiles.pending", pending, ConcurrentLinkedQueue::size)
+                .description("Committed changes not yet folded into the salary sketches")
+                .register(meterRegistry);
+    }
+
+    // Ahead of ChangeSequence releasing the change's number, see ScanReconciliation
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChange(EmployeeChangeEvent event) {
+        pending.add(event);
+    }
+
+    // The other instance's writes cannot be applied without their events, so they wait for a
+    // rebuild; an empty message is only a heartbeat, one after lost messages says nothing of how many
+    @EventListener
+    public void onRemoteEmployeeChange(RemoteEmployeeChangeEvent event) {
+        long changed = event.complete() ? event.employees() : Math.max(1, event.employees());
+        if (changed > 0) {
+            otherInstanceChanges.addAndGet(changed);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refreshExecutor.execute(this::rebuildQuietly);
+    }
+
+    @Scheduled(fixedDelayString = "${app.percentiles.rebuild-interval:PT30M}",
+            initialDelayString = "${app.percentiles.rebuild-interval:PT30M}")
+    public void scheduledRebuild() {
+        refreshExecutor.execute(this::rebuildQuietly);
+    }
+
+    public SalaryPercentilesResponse current() {
+        return current;
+    }
+
+    // Applies every queued change now; also used by tests that need read-your-writes
+    public void refresh() {
+        runOnRefreshThread(this::applyPending);
+    }
+
+    public void rebuild() {
+        runOnRefreshThread(this::rebuildFromDatabase);
+    }
+
+    private void runOnRefreshThread(Runnable task) {
+        try {
+            Future<?> done = refreshExecutor.submit(task);
+            done.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            throw new IllegalStateException("Salary percentile refresh failed", ex);
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            applyPending();
+        } catch (RuntimeException ex) {
+            log.warn("Salary percentile refresh failed", ex);
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuildFromDatabase();
+        } catch (RuntimeException ex) {
+            log.error("Salary percentile rebuild failed", ex);
+        }
+    }
+
+    private void applyPending() {
+        if (otherInstanceChanges.get() > 0
+                && System.nanoTime() - rebuiltNanos >= properties.getRemoteRebuildInterval().toNanos()) {
+            rebuildFromDatabase();
+            return;
+        }
+        if (pending.isEmpty()) {
+            if (current.otherInstanceChanges() != otherInstanceChanges.get()) {
+                publish();
+            }
+            return;
+        }
+        // Checked before draining, so the changes it covers are all in the queue
+        boolean lastReconcile = lastScan != null && lastScan.isComplete();
+        refreshTimer.record(() -> {
+            EmployeeChangeEvent event;
+            while ((event = pending.poll()) != null) {
+                if (lastScan == null || !lastScan.seen(event)) {
+                    apply(event);
+                }
+            }
+        });
+        if (lastReconcile) {
+            lastScan = null;
+        }
+        if (rebuildRequested || maxDrift() > properties.getMaxDrift()) {
+            rebuildFromDatabase();
+        } else {
+            publish();
+        }
+    }
+
+    private void apply(EmployeeChangeEvent event) {
+        Employee employee = event.getEmployee();
+        if (event.getType() == EmployeeChangeType.DELETED) {
+            remove(employee);
+            return;
+        }
+        if (event.getType() == EmployeeChangeType.UPDATED) {
+            if (event.getPrevious() == null) {
+                // Without the old salary the sketches would count this employee twice
+                rebuildRequested = true;
+                return;
+            }
+            remove(event.getPrevious());
+        }
+        add(employee);
+    }
+
+    private void add(Employee employee) {
+        if (employee == null || employee.getSalary() == null) {
+            return;
+        }
+        overall.add(employee.getSalary());
+        if (employee.getPosition() != null) {
+            byPosition.computeIfAbsent(employee.getPosition(), position -> new SalarySketch(properties.getCompression()))
+                    .add(employee.getSalary());
+            dirtyPositions.add(employee.getPosition());
+        }
+    }
+
+    private void remove(Employee employee) {
+        if (employee == null || employee.getSalary() == null) {
+            return;
+        }
+        overall.remove(employee.getSalary());
+        SalarySketch sketch = employee.getPosition() != null ? byPosition.get(employee.getPosition()) : null;
+        if (sketch != null) {
+            sketch.remove(employee.getSalary());
+            dirtyPositions.add(employee.getPosition());
+            if (sketch.count() <= 0) {
+                byPosition.remove(employee.getPosition());
+            }
+        }
+    }
+
+    // Small sketches only count once they have lost at least a compression's worth of values,
+    // so a handful of moves in a rare position does not rescan the table
+    private double maxDrift() {
+        double max = overall.drift();
+        for (SalarySketch sketch : byPosition.values()) {
+            if (sketch.removed() >= properties.getCompression()) {
+                max = Math.max(max, sketch.drift());
+            }
+        }
+        return max;
+    }
+
+    // Streams position and salary from every shard into fresh sketches. Changes queued before the
+    // scan are in it and dropped; those queued while it runs may or may not be, which lastScan
+    // tells apart
+    private void rebuildFromDatabase() {
+        long start = System.nanoTime();
+        Instant startedAt = Instant.now();
+        ScanReconciliation scan = new ScanReconciliation(changeSequence);
+        pending.clear();
+        otherInstanceChanges.set(0);
+        SalarySketch rebuiltOverall = new SalarySketch(properties.getCompression());
+        Map<String, SalarySketch> rebuiltByPosition = new HashMap<>();
+        rebuildTimer.record(() -> {
+            for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+                shardRouter.onShard(shard, () -> {
+                    jdbcTemplate.query(SCAN, (RowCallbackHandler) row -> {
+                        if (!scan.read(row)) {
+                            return;
+                        }
+                        double salary = row.getDouble(5);
+                        if (row.wasNull()) {
+                            return;
+                        }
+                        rebuiltOverall.add(salary);
+                        String position = row.getString(4);
+                        if (position != null) {
+                            rebuiltByPosition.computeIfAbsent(position,
+                                    key -> new SalarySketch(properties.getCompression())).add(salary);
+                        }
+                    }, scan.watermark());
+                    return null;
+                });
+            }
+        });
+        overall = rebuiltOverall;
+        byPosition = rebuiltByPosition;
+        rebuildRequested = false;
+        rebuiltAt = startedAt;
+        rebuiltNanos = start;
+        scan.finish();
+        lastScan = scan;
+        current = new SalaryPercentilesResponse(Instant.EPOCH, rebuiltAt, 0, percentiles(null), Map.of());
+        dirtyPositions.clear();
+        dirtyPositions.addAll(byPosition.keySet());
+        publish();
+        log.info("Salary percentiles rebuilt over {} employees in {} ms", overall.count(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    // Only positions touched since the last publish are re-estimated
+    private void publish() {
+        Map<String, SalaryPercentilesResponse.Percentiles> positions = new TreeMap<>(current.byPosition());
+        for (String position : dirtyPositions) {
+            SalarySketch sketch = byPosition.get(position);
+            if (sketch == null) {
+                positions.remove(position);
+            } else {
+                positions.put(position, percentiles(sketch));
+            }
+        }
+        dirtyPositions.clear();
+        current = new SalaryPercentilesResponse(Instant.now(), rebuiltAt, otherInstanceChanges.get(),
+                percentiles(overall), Collections.unmodifiableMap(positions));
+        drift = maxDrift();
+        long bytes = overall.sizeInBytes();
+        for (SalarySketch sketch : byPosition.values()) {
+            bytes += sketch.sizeInBytes();
+        }
+        sketchBytes = bytes;
+    }
+
+    private static SalaryPercentilesResponse.Percentiles percentiles(SalarySketch sketch) {
+        if (sketch == null || sketch.count() <= 0) {
+            return new SalaryPercentilesResponse.Percentiles(0, null, null, null);
+        }
+        return new SalaryPercentilesResponse.Percentiles(sketch.count(), sketch.quantile(0.5), sketch.quantile(0.9),
+                sketch.quantile(0.99));
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.spring_claude_demo.stats;
+
+import java.time.Instant;
+import java.util.Map;
+
+// Estimated salary percentiles as of the last refresh; values are null while a group is empty.
+// Between rebuilds only this instance's writes are applied: otherInstanceChanges counts employees
+// changed through other instances since rebuiltAt, which the numbers do not include yet.
+public record SalaryPercentilesResponse(Instant asOf, Instant rebuiltAt, long otherInstanceChanges,
+                                        Percentiles overall, Map<String, Percentiles> byPosition) {
+
+    public record Percentiles(long count, Double p50, Double p90, Double p99) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.spring_claude_demo.stats;
+
+// Quantiles over a multiset that also loses values: t-digests cannot forget, so removals go
+// into a second digest and the live distribution is the difference of the two,
+//   F(x) = (Wa * Fa(x) - Wr * Fr(x)) / (Wa - Wr)
+// inverted by bisection. The error grows with the removed share, which is why
+// SalaryPercentiles rebuilds sketches once drift() passes a threshold. Not thread-safe.
+public final class SalarySketch {
+
+    private static final int BISECTION_STEPS = 60;
+
+    private final TDigest added;
+    private final TDigest removed;
+
+    public SalarySketch(double compression) {
+        this.added = new TDigest(compression);
+        this.removed = new TDigest(compression);
+    }
+
+    public void add(double value) {
+        added.add(value);
+    }
+
+    public void remove(double value) {
+        removed.add(value);
+    }
+
+    public long count() {
+        return Math.round(added.totalWeight() - removed.totalWeight());
+    }
+
+    long removed() {
+        return Math.round(removed.totalWeight());
+    }
+
+    // Removed weight relative to what is left
+    double drift() {
+        double live = added.totalWeight() - removed.totalWeight();
+        return live <= 0 ? (removed.totalWeight() > 0 ? Double.POSITIVE_INFINITY : 0) : removed.totalWeight() / live;
+    }
+
+    long sizeInBytes() {
+        return added.sizeInBytes() + removed.sizeInBytes();
+    }
+
+    // NaN while empty; bounded by the smallest and largest value ever added
+    public double quantile(double q) {
+        double live = added.totalWeight() - removed.totalWeight();
+        if (live < 0.5) {
+            return Double.NaN;
+        }
+        if (removed.totalWeight() == 0) {
+            return added.quantile(q);
+        }
+        double low = added.min();
+        double high = added.max();
+        for (int i = 0; i < BISECTION_STEPS && low < high; i++) {
+            double middle = low + (high - low) / 2;
+            if (cdf(middle, live) < q) {
+                low = middle;
+            } else {
+                high = middle;
+            }
+        }
+        return high;
+    }
+
+    private double cdf(double value, double live) {
+        double below = added.totalWeight() * added.cdf(value) - removed.totalWeight() * removed.cdf(value);
+        return Math.min(1, Math.max(0, below / live));
+    }
+}
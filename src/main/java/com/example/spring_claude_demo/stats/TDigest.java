@@ -0,0 +1,223 @@
+package com.example.spring_claude_demo.stats;
+
+import java.util.Arrays;
+
+// Merging t-digest (Dunning): a few hundred weighted centroids whose size shrinks towards the
+// tails, so extreme quantiles stay accurate while memory does not grow with the number of values.
+// Values are buffered and folded into the centroids in sorted passes. Digests are mergeable:
+// add(TDigest) gives the digest of the combined data. Not thread-safe.
+final class TDigest {
+
+    private final double compression;
+    private final int maxCentroids;
+
+    private double[] means;
+    private double[] weights;
+    private int centroids;
+
+    private final double[] bufferMeans;
+    private final double[] bufferWeights;
+    private int buffered;
+
+    private double totalWeight;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    TDigest(double compression) {
+        if (compression < 10) {
+            throw new IllegalArgumentException("Compression must be at least 10: " + compression);
+        }
+        this.compression = compression;
+        this.maxCentroids = (int) Math.ceil(compression) * 2 + 10;
+        this.means = new double[maxCentroids];
+        this.weights = new double[maxCentroids];
+        this.bufferMeans = new double[maxCentroids * 5];
+        this.bufferWeights = new double[maxCentroids * 5];
+    }
+
+    void add(double value) {
+        add(value, 1);
+    }
+
+    void add(double value, double weight) {
+        if (Double.isNaN(value) || weight <= 0) {
+            return;
+        }
+        if (buffered == bufferMeans.length) {
+            compress();
+        }
+        bufferMeans[buffered] = value;
+        bufferWeights[buffered] = weight;
+        buffered++;
+        totalWeight += weight;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    void add(TDigest other) {
+        other.compress();
+        for (int i = 0; i < other.centroids; i++) {
+            add(other.means[i], other.weights[i]);
+        }
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    double totalWeight() {
+        return totalWeight;
+    }
+
+    double min() {
+        return min;
+    }
+
+    double max() {
+        return max;
+    }
+
+    int centroidCount() {
+        compress();
+        return centroids;
+    }
+
+    long sizeInBytes() {
+        return 16L * (means.length + bufferMeans.length);
+    }
+
+    // Fraction of the weight at or below value, interpolating linearly between centroid centres
+    double cdf(double value) {
+        compress();
+        if (centroids == 0 || value < min) {
+            return 0;
+        }
+        if (value >= max) {
+            return 1;
+        }
+        double cumulative = 0;
+        double previousMean = min;
+        double previousCumulative = 0;
+        for (int i = 0; i < centroids; i++) {
+            // Half of a centroid's weight is taken to lie below its mean
+            double centre = cumulative + weights[i] / 2;
+            if (value < means[i]) {
+                double span = means[i] - previousMean;
+                double fraction = span <= 0 ? 1 : (value - previousMean) / span;
+                return (previousCumulative + fraction * (centre - previousCumulative)) / totalWeight;
+            }
+            previousMean = means[i];
+            previousCumulative = centre;
+            cumulative += weights[i];
+        }
+        double span = max - previousMean;
+        double fraction = span <= 0 ? 1 : (value - previousMean) / span;
+        return (previousCumulative + fraction * (totalWeight - previousCumulative)) / totalWeight;
+    }
+
+    // Inverse of cdf; NaN while empty
+    double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1: " + q);
+        }
+        compress();
+        if (centroids == 0) {
+            return Double.NaN;
+        }
+        if (centroids == 1) {
+            return means[0];
+        }
+        double target = q * totalWeight;
+        double previousMean = min;
+        double previousCumulative = 0;
+        double cumulative = 0;
+        for (int i = 0; i < centroids; i++) {
+            double centre = cumulative + weights[i] / 2;
+            if (target < centre) {
+                double span = centre - previousCumulative;
+                double fraction = span <= 0 ? 0 : (target - previousCumulative) / span;
+                return previousMean + fraction * (means[i] - previousMean);
+            }
+            previousMean = means[i];
+            previousCumulative = centre;
+            cumulative += weights[i];
+        }
+        double span = totalWeight - previousCumulative;
+        double fraction = span <= 0 ? 1 : (target - previousCumulative) / span;
+        return previousMean + fraction * (max - previousMean);
+    }
+
+    // Folds the buffer into the centroids: the sorted buffer and the (already sorted) centroids are
+    // walked in one merged pass, merging neighbours while a centroid stays within one unit of the
+    // k1 scale function
+    private void compress() {
+        if (buffered == 0) {
+            return;
+        }
+        sortBuffer();
+        double[] mergedMeans = new double[maxCentroids];
+        double[] mergedWeights = new double[maxCentroids];
+        int count = -1;
+        double soFar = 0;
+        double limit = 0;
+        int c = 0;
+        int b = 0;
+        while (c < centroids || b < buffered) {
+            double mean;
+            double weight;
+            if (b >= buffered || (c < centroids && means[c] <= bufferMeans[b])) {
+                mean = means[c];
+                weight = weights[c++];
+            } else {
+                mean = bufferMeans[b];
+                weight = bufferWeights[b++];
+            }
+            if (count >= 0 && (soFar + mergedWeights[count] + weight <= limit || count == maxCentroids - 1)) {
+                double merged = mergedWeights[count] + weight;
+                mergedMeans[count] += (mean - mergedMeans[count]) * weight / merged;
+                mergedWeights[count] = merged;
+            } else {
+                if (count >= 0) {
+                    soFar += mergedWeights[count];
+                }
+                limit = totalWeight * qLimit(soFar / totalWeight);
+                count++;
+                mergedMeans[count] = mean;
+                mergedWeights[count] = weight;
+            }
+        }
+        buffered = 0;
+        means = mergedMeans;
+        weights = mergedWeights;
+        centroids = count + 1;
+    }
+
+    // Single values all have weight one, so the means can be sorted on their own
+    private void sortBuffer() {
+        boolean unitWeights = true;
+        for (int i = 0; i < buffered && unitWeights; i++) {
+            unitWeights = bufferWeights[i] == 1;
+        }
+        if (unitWeights) {
+            Arrays.sort(bufferMeans, 0, buffered);
+            return;
+        }
+        Integer[] order = new Integer[buffered];
+        for (int i = 0; i < buffered; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (x, y) -> Double.compare(bufferMeans[x], bufferMeans[y]));
+        double[] sortedMeans = new double[buffered];
+        double[] sortedWeights = new double[buffered];
+        for (int i = 0; i < buffered; i++) {
+            sortedMeans[i] = bufferMeans[order[i]];
+            sortedWeights[i] = bufferWeights[order[i]];
+        }
+        System.arraycopy(sortedMeans, 0, bufferMeans, 0, buffered);
+        System.arraycopy(sortedWeights, 0, bufferWeights, 0, buffered);
+    }
+
+    // Largest quantile a centroid starting at q may extend to: k1(q) = compression / 2pi * asin(2q - 1)
+    private double qLimit(double q) {
+        double k = compression / (2 * Math.PI) * Math.asin(2 * q - 1) + 1;
+        return k >= compression / 4 ? 1 : (Math.sin(2 * Math.PI * k / compression) + 1) / 2;
+    }
+}
@@ -0,0 +1,263 @@
+package com.example.spring_claude_demo.suggest;
+
+import com.example.spring_claude_demo.event.EmployeeChangeEvent;
+import com.example.spring_claude_demo.event.EmployeeChangeType;
+import com.example.spring_claude_demo.model.Employee;
+import com.example.spring_claude_demo.sharding.ShardRouter;
+import com.example.spring_claude_demo.sync.ChangeSequence;
+import com.example.spring_claude_demo.sync.ScanReconciliation;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Prefix autocomplete over last and first names, one NameTrie per field ranked by how many
+// employees share a name. Committed changes are applied as they arrive (updates retract the
+// previous names), so suggestions are current once a write returns. The tries are rebuilt from
+// the database once the application is ready, off the lock so suggestions and writes carry on
+// against the old tries meanwhile. Changes applied during the scan are replayed onto the new tries
+// unless the scan already saw them (see ScanReconciliation), and the result is swapped in.
+@Component
+@EnableConfigurationProperties(SuggestProperties.class)
+public class EmployeeNameSuggester implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeNameSuggester.class);
+
+    static final String LAST_NAME = "lastName";
+    static final String FIRST_NAME = "firstName";
+
+    private static final String SCAN = ScanReconciliation.scanSql("last_name", "first_name");
+
+    private static final Comparator<EmployeeSuggestResponse.Suggestion> RANKING =
+            Comparator.comparingInt(EmployeeSuggestResponse.Suggestion::count).reversed()
+                    .thenComparing(EmployeeSuggestResponse.Suggestion::text);
+
+    private final ShardRouter shardRouter;
+    private final ChangeSequence changeSequence;
+    private final SuggestProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ExecutorService rebuildExecutor;
+
+    // Guarded by lock
+    private NameTrie lastNames;
+    private NameTrie firstNames;
+    // Changes applied while a rebuild scans, to replay onto the rebuilt tries
+    private List<EmployeeChangeEvent> duringScan;
+    // Until every change the last rebuild could have seen has been applied
+    private ScanReconciliation lastScan;
+
+    private final Timer queryTimer;
+
+    public EmployeeNameSuggester(ShardRouter shardRouter, ChangeSequence changeSequence, SuggestProperties properties,
+                                 DataSource dataSource, MeterRegistry meterRegistry) {
+        this.shardRouter = shardRouter;
+        this.changeSequence = changeSequence;
+        this.properties = properties;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.lastNames = new NameTrie(properties.getMaxLimit());
+        this.firstNames = new NameTrie(properties.getMaxLimit());
+        this.rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "name-suggest-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.queryTimer = Timer.builder("employee.suggest.query")
+                .description("Name suggestion latency")
+                .register(meterRegistry);
+        Gauge.builder("employee.suggest.names", this, EmployeeNameSuggester::nameCount)
+                .description("Distinct last and first names in the suggestion tries")
+                .register(meterRegistry);
+        Gauge.builder("employee.suggest.memory", this, EmployeeNameSuggester::estimatedBytes)
+                .description("Estimated heap used by the suggestion tries")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    // Ahead of ChangeSequence releasing the change's number, see ScanReconciliation
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChange(EmployeeChangeEvent event) {
+        if (event.getEmployee() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (duringScan != null) {
+                duringScan.add(event);
+            }
+            if (lastScan != null && lastScan.isComplete()) {
+                lastScan = null;
+            }
+            if (lastScan != null && lastScan.seen(event)) {
+                return;
+            }
+            apply(lastNames, firstNames, event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (event.getType() == EmployeeChangeType.UPDATED && event.getPrevious() == null) {
+            // The old names cannot be retracted without knowing them
+            rebuildExecutor.execute(this::rebuildQuietly);
+        }
+    }
+
+    private static void apply(NameTrie lastNames, NameTrie firstNames, EmployeeChangeEvent event) {
+        Employee employee = event.getEmployee();
+        if (event.getType() == EmployeeChangeType.DELETED) {
+            remove(lastNames, firstNames, employee);
+            return;
+        }
+        if (event.getType() == EmployeeChangeType.UPDATED && event.getPrevious() != null) {
+            remove(lastNames, firstNames, event.getPrevious());
+        }
+        lastNames.add(employee.getLastName());
+        firstNames.add(employee.getFirstName());
+    }
+
+    private static void remove(NameTrie lastNames, NameTrie firstNames, Employee employee) {
+        lastNames.remove(employee.getLastName());
+        firstNames.remove(employee.getFirstName());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuildExecutor.execute(this::rebuildQuietly);
+    }
+
+    public EmployeeSuggestResponse suggest(String prefix, int limit) {
+        int size = Math.max(1, Math.min(limit, properties.getMaxLimit()));
+        return queryTimer.record(() -> {
+            List<EmployeeSuggestResponse.Suggestion> suggestions = new ArrayList<>(2 * size);
+            lock.readLock().lock();
+            try {
+                lastNames.suggest(prefix, size).forEach(suggestion -> suggestions.add(
+                        new EmployeeSuggestResponse.Suggestion(suggestion.name(), LAST_NAME, suggestion.count())));
+                firstNames.suggest(prefix, size).forEach(suggestion -> suggestions.add(
+                        new EmployeeSuggestResponse.Suggestion(suggestion.name(), FIRST_NAME, suggestion.count())));
+            } finally {
+                lock.readLock().unlock();
+            }
+            suggestions.sort(RANKING);
+            return new EmployeeSuggestResponse(prefix, List.copyOf(suggestions.subList(0, Math.min(size, suggestions.size()))));
+        });
+    }
+
+    // Runs on the rebuild thread, so rebuilds never overlap
+    public void rebuild() {
+        try {
+            Future<?> done = rebuildExecutor.submit(this::rebuildFromDatabase);
+            done.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            throw new IllegalStateException("Name suggestion rebuild failed", ex);
+        }
+    }
+
+    private void rebuildFromDatabase() {
+        long start = System.nanoTime();
+        NameTrie rebuiltLastNames = new NameTrie(properties.getMaxLimit());
+        NameTrie rebuiltFirstNames = new NameTrie(properties.getMaxLimit());
+        List<EmployeeChangeEvent> applied = new ArrayList<>();
+        ScanReconciliation scan;
+        lock.writeLock().lock();
+        try {
+            scan = new ScanReconciliation(changeSequence);
+            duringScan = applied;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+                shardRouter.onShard(shard, () -> {
+                    jdbcTemplate.query(SCAN, (RowCallbackHandler) row -> {
+                        if (scan.read(row)) {
+                            rebuiltLastNames.add(row.getString(4));
+                            rebuiltFirstNames.add(row.getString(5));
+                        }
+                    }, scan.watermark());
+                    return null;
+                });
+            }
+            scan.finish();
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                duringScan = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw ex;
+        }
+        lock.writeLock().lock();
+        try {
+            for (EmployeeChangeEvent event : applied) {
+                if (!scan.seen(event)) {
+                    apply(rebuiltLastNames, rebuiltFirstNames, event);
+                }
+            }
+            lastNames = rebuiltLastNames;
+            firstNames = rebuiltFirstNames;
+            duringScan = null;
+            lastScan = scan;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Name suggestions rebuilt with {} last and {} first names in {} ms", rebuiltLastNames.size(),
+                rebuiltFirstNames.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuildFromDatabase();
+        } catch (RuntimeException ex) {
+            log.error("Name suggestion rebuild failed", ex);
+        }
+    }
+
+    private int nameCount() {
+        lock.readLock().lock();
+        try {
+            return lastNames.size() + firstNames.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return lastNames.estimatedBytes() + firstNames.estimatedBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        rebuildExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.spring_claude_demo.suggest;
+
+import java.util.List;
+
+// Most common matching names first; field is lastName or firstName and count the number of
+// employees with that name
+public record EmployeeSuggestResponse(String prefix, List<Suggestion> suggestions) {
+
+    public record Suggestion(String text, String field, int count) {
+    }
+}
@@ -0,0 +1,371 @@
+package com.example.spring_claude_demo.suggest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+// Radix trie from lower-cased names to how many employees carry them. Chains of single-child
+// nodes are collapsed into one edge label, and every node keeps its subtree's best names
+// (highest count first) up to the largest limit a lookup may ask for, so a lookup is a walk
+// down the prefix plus a copy of that list. Adding or removing a name only touches those lists
+// on the path back to the root, and stops at the first one it does not change.
+// Not thread-safe: EmployeeNameSuggester guards it with a read/write lock.
+public final class NameTrie {
+
+    // Rough per-object sizes used for the memory estimate
+    private static final long NODE_BYTES = 40;
+    private static final long ARRAY_HEADER_BYTES = 16;
+    private static final long STRING_BYTES = 40;
+
+    private final int topSize;
+    private final Node root = new Node(new char[0]);
+    private int names;
+
+    public record Suggestion(String name, int count) {
+    }
+
+    private static final class Node {
+        char[] label;
+        Node[] children = NO_CHILDREN;
+        // Employees whose name ends at this node; name holds the latest spelling while above zero
+        int count;
+        String name;
+        Node[] top = NO_CHILDREN;
+
+        Node(char[] label) {
+            this.label = label;
+        }
+    }
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    public NameTrie(int topSize) {
+        if (topSize < 1) {
+            throw new IllegalArgumentException("Top size must be at least 1: " + topSize);
+        }
+        this.topSize = topSize;
+    }
+
+    public static String key(String name) {
+        return name.strip().toLowerCase(Locale.ROOT);
+    }
+
+    // Distinct names with at least one employee
+    public int size() {
+        return names;
+    }
+
+    public void add(String name) {
+        if (name == null || name.isBlank()) {
+            return;
+        }
+        char[] key = key(name).toCharArray();
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int i = 0;
+        while (i < key.length) {
+            int index = childIndex(node, key[i]);
+            if (index < 0) {
+                Node leaf = new Node(Arrays.copyOfRange(key, i, key.length));
+                insertChild(node, -index - 1, leaf);
+                node = leaf;
+                path.add(leaf);
+                i = key.length;
+                break;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, key, i);
+            if (common < child.label.length) {
+                // The key leaves this edge part-way: split it at the divergence
+                Node middle = new Node(Arrays.copyOfRange(child.label, 0, common));
+                child.label = Arrays.copyOfRange(child.label, common, child.label.length);
+                middle.children = new Node[]{child};
+                middle.top = child.top;
+                node.children[index] = middle;
+                child = middle;
+            }
+            node = child;
+            path.add(child);
+            i += common;
+        }
+        if (node.count++ == 0) {
+            names++;
+        }
+        node.name = name.strip();
+        promote(path, node);
+    }
+
+    public void remove(String name) {
+        if (name == null || name.isBlank()) {
+            return;
+        }
+        char[] key = key(name).toCharArray();
+        List<Node> path = find(key);
+        if (path == null) {
+            return;
+        }
+        Node node = path.get(path.size() - 1);
+        if (node.count == 0) {
+            return;
+        }
+        if (--node.count == 0) {
+            node.name = null;
+            names--;
+            prune(path);
+        }
+        demote(path, node);
+    }
+
+    // Best names starting with prefix, highest count first
+    public List<Suggestion> suggest(String prefix, int limit) {
+        char[] key = key(prefix).toCharArray();
+        Node node = root;
+        int i = 0;
+        while (i < key.length) {
+            int index = childIndex(node, key[i]);
+            if (index < 0) {
+                return List.of();
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, key, i);
+            // Either the prefix ends inside this edge or it diverges from it
+            if (common < child.label.length && i + common < key.length) {
+                return List.of();
+            }
+            node = child;
+            i += common;
+        }
+        int size = Math.min(limit, node.top.length);
+        List<Suggestion> suggestions = new ArrayList<>(size);
+        for (int j = 0; j < size; j++) {
+            suggestions.add(new Suggestion(node.top[j].name, node.top[j].count));
+        }
+        return suggestions;
+    }
+
+    public long estimatedBytes() {
+        return estimatedBytes(root);
+    }
+
+    private long estimatedBytes(Node node) {
+        long bytes = NODE_BYTES + ARRAY_HEADER_BYTES + 2L * node.label.length
+                + (node.children.length > 0 ? ARRAY_HEADER_BYTES + 4L * node.children.length : 0)
+                + (node.top.length > 0 ? ARRAY_HEADER_BYTES + 4L * node.top.length : 0)
+                + (node.name != null ? STRING_BYTES + node.name.length() : 0);
+        for (Node child : node.children) {
+            bytes += estimatedBytes(child);
+        }
+        return bytes;
+    }
+
+    // Root-to-node path of the exact key, or null if no node ends there
+    private List<Node> find(char[] key) {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int i = 0;
+        while (i < key.length) {
+            int index = childIndex(node, key[i]);
+            if (index < 0) {
+                return null;
+            }
+            Node child = node.children[index];
+            if (commonPrefix(child.label, key, i) < child.label.length) {
+                return null;
+            }
+            node = child;
+            path.add(child);
+            i += child.label.length;
+        }
+        return path;
+    }
+
+    // Drops the emptied node at the end of path, or folds it into its only child, then folds a
+    // parent left with one child and no name of its own. Keeps path pointing at live nodes.
+    private void prune(List<Node> path) {
+        int last = path.size() - 1;
+        if (last == 0) {
+            return;
+        }
+        Node node = path.get(last);
+        Node parent = path.get(last - 1);
+        if (node.children.length == 0) {
+            removeChild(parent, node);
+            path.remove(last);
+            if (last - 1 > 0 && parent.count == 0 && parent.children.length == 1) {
+                mergeWithOnlyChild(path.get(last - 2), parent);
+                path.remove(last - 1);
+            }
+        } else if (node.children.length == 1) {
+            mergeWithOnlyChild(parent, node);
+            path.remove(last);
+        }
+    }
+
+    // Replaces node in parent by its only child, whose edge then covers both labels
+    private static void mergeWithOnlyChild(Node parent, Node node) {
+        Node child = node.children[0];
+        char[] label = Arrays.copyOf(node.label, node.label.length + child.label.length);
+        System.arraycopy(child.label, 0, label, node.label.length, child.label.length);
+        child.label = label;
+        parent.children[childIndex(parent, node.label[0])] = child;
+    }
+
+    // After a count went up: named moves forward in each list on the way up. A list it cannot
+    // enter means no list above can either, as those only hold better names.
+    private void promote(List<Node> path, Node named) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+            Node[] top = node.top;
+            if (indexOf(top, named) >= 0) {
+                node.top = reorder(top, named, top.length);
+            } else if (top.length < topSize) {
+                node.top = reorder(top, named, top.length + 1);
+            } else if (ranksBefore(named, top[topSize - 1])) {
+                node.top = reorder(top, named, topSize);
+            } else {
+                return;
+            }
+        }
+    }
+
+    // After a count went down: named moves back in each list that holds it. Names left out of a
+    // full list all rank behind its last entry, so while named stays ahead of that entry the
+    // move is exact; otherwise one of them may now make the cut and the list is rebuilt from the
+    // children, which are already current.
+    private void demote(List<Node> path, Node named) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+            Node[] top = node.top;
+            int index = indexOf(top, named);
+            if (index < 0) {
+                return;
+            }
+            if (top.length < topSize) {
+                node.top = named.count > 0 ? reorder(top, named, top.length) : without(top, index);
+            } else if (named.count > 0 && index < topSize - 1 && ranksBefore(named, top[topSize - 1])) {
+                node.top = reorder(top, named, topSize);
+            } else {
+                refreshTop(node);
+            }
+        }
+    }
+
+    // Copy of top with named (re)inserted at its rank, cut to length
+    private static Node[] reorder(Node[] top, Node named, int length) {
+        Node[] updated = new Node[length];
+        int size = 0;
+        boolean placed = false;
+        for (Node entry : top) {
+            if (entry == named) {
+                continue;
+            }
+            if (!placed && ranksBefore(named, entry)) {
+                updated[size++] = named;
+                placed = true;
+            }
+            if (size < length) {
+                updated[size++] = entry;
+            }
+        }
+        if (!placed && size < length) {
+            updated[size] = named;
+        }
+        return updated;
+    }
+
+    private static Node[] without(Node[] top, int index) {
+        if (top.length == 1) {
+            return NO_CHILDREN;
+        }
+        Node[] updated = new Node[top.length - 1];
+        System.arraycopy(top, 0, updated, 0, index);
+        System.arraycopy(top, index + 1, updated, index, updated.length - index);
+        return updated;
+    }
+
+    private static int indexOf(Node[] top, Node named) {
+        for (int i = 0; i < top.length; i++) {
+            if (top[i] == named) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void refreshTop(Node node) {
+        Node[] best = new Node[topSize];
+        int size = 0;
+        if (node.count > 0) {
+            best[size++] = node;
+        }
+        for (Node child : node.children) {
+            for (Node candidate : child.top) {
+                if (size == topSize && !ranksBefore(candidate, best[size - 1])) {
+                    // Each child's list is ordered, so nothing after this can make it either
+                    break;
+                }
+                int position = size < topSize ? size++ : size - 1;
+                while (position > 0 && ranksBefore(candidate, best[position - 1])) {
+                    best[position] = best[position - 1];
+                    position--;
+                }
+                best[position] = candidate;
+            }
+        }
+        node.top = size == 0 ? NO_CHILDREN : Arrays.copyOf(best, size);
+    }
+
+    // More employees first, then alphabetical
+    private static boolean ranksBefore(Node a, Node b) {
+        if (a.count != b.count) {
+            return a.count > b.count;
+        }
+        return a.name.compareTo(b.name) < 0;
+    }
+
+    // Children are kept sorted by the first character of their label
+    private static int childIndex(Node node, char first) {
+        int low = 0;
+        int high = node.children.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char c = node.children[middle].label[0];
+            if (c < first) {
+                low = middle + 1;
+            } else if (c > first) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static void insertChild(Node node, int index, Node child) {
+        Node[] children = new Node[node.children.length + 1];
+        System.arraycopy(node.children, 0, children, 0, index);
+        children[index] = child;
+        System.arraycopy(node.children, index, children, index + 1, node.children.length - index);
+        node.children = children;
+    }
+
+    private static void removeChild(Node node, Node child) {
+        int index = childIndex(node, child.label[0]);
+        Node[] children = new Node[node.children.length - 1];
+        System.arraycopy(node.children, 0, children, 0, index);
+        System.arraycopy(node.children, index + 1, children, index, children.length - index);
+        node.children = children.length == 0 ? NO_CHILDREN : children;
+    }
+
+    private static int commonPrefix(char[] label, char[] key, int offset) {
+        int length = Math.min(label.length, key.length - offset);
+        int i = 0;
+        while (i < length && label[i] == key[offset + i]) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.spring_claude_demo.suggest;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.suggest")
+public class SuggestProperties {
+
+    // Largest limit a request may ask for; every trie node keeps this many best names
+    private int maxLimit = 10;
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.spring_claude_demo.sync;
+
+import com.example.spring_claude_demo.sharding.ShardRouter;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Monotonic change sequence stamped on every employee write and tombstone.
+// Sequence numbers are handed out before commit, so a transaction holding 5 can commit
+// after one holding 6. Readers therefore only trust the sequence up to the safe
+// watermark: just below the oldest number whose transaction is still in flight.
+@Component
+public class ChangeSequence implements InitializingBean {
+
+    private final ShardRouter shardRouter;
+    private final JdbcTemplate jdbcTemplate;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Guarded by lock
+    private long current = 0;
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+
+    public ChangeSequence(ShardRouter shardRouter, DataSource dataSource) {
+        this.shardRouter = shardRouter;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            Long max = shardRouter.onShard(shard, () -> jdbcTemplate.queryForObject(
+                    "SELECT GREATEST(COALESCE((SELECT MAX(change_seq) FROM employees), 0), "
+                            + "COALESCE((SELECT MAX(change_seq) FROM employee_tombstones), 0))", Long.class));
+            advanceTo(max != null ? max : 0);
+        }
+    }
+
+    private void advanceTo(long value) {
+        lock.lock();
+        try {
+            current = Math.max(current, value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Next sequence number; it stays in flight until the surrounding transaction completes
+    public long next() {
+        long value = reserve();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                // After the change's ordered after-commit listeners (see ScanReconciliation)
+                @Override
+                public int getOrder() {
+                    return Ordered.LOWEST_PRECEDENCE;
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    release(value);
+                }
+            });
+        } else {
+            release(value);
+        }
+        return value;
+    }
+
+    // Next sequence number for writes outside a Spring-managed transaction (R2DBC);
+    // the caller must release it once its transaction has completed
+    public long reserve() {
+        return reserveBlock(1);
+    }
+
+    // First of 'count' consecutive numbers, in flight until the caller releases the first one
+    public long reserveBlock(int count) {
+        lock.lock();
+        try {
+            long first = current + 1;
+            current += count;
+            inFlight.add(first);
+            return first;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(long value) {
+        lock.lock();
+        try {
+            inFlight.remove(value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Highest sequence number below which every change is committed (or rolled back)
+    public long safeWatermark() {
+        lock.lock();
+        try {
+            return inFlight.isEmpty() ? current : inFlight.first() - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long current() {
+        lock.lock();
+        try {
+            return current;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
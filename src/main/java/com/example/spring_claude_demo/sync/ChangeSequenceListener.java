@@ -0,0 +1,27 @@
+package com.example.spring_claude_demo.sync;
+
+import com.example.spring_claude_demo.model.Employee;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+// JPA listener that stamps every inserted or updated employee with the next change sequence,
+// whichever code path the write comes from
+@Component
+public class ChangeSequenceListener {
+
+    // Resolved lazily: Hibernate creates this listener while the EntityManagerFactory,
+    // which ChangeSequence depends on, is still being built
+    private final ObjectProvider<ChangeSequence> changeSequence;
+
+    public ChangeSequenceListener(ObjectProvider<ChangeSequence> changeSequence) {
+        this.changeSequence = changeSequence;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void stamp(Employee employee) {
+        employee.setChangeSeq(changeSequence.getObject().next());
+    }
+}
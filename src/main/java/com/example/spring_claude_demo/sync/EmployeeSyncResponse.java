@@ -0,0 +1,52 @@
+package com.example.spring_claude_demo.sync;
+
+import com.example.spring_claude_demo.model.Employee;
+
+import java.util.List;
+
+public class EmployeeSyncResponse {
+
+    // Employees created or updated since the token (current state)
+    private final List<Employee> upserts;
+
+    // Ids of employees deleted since the token
+    private final List<Long> deletes;
+
+    // Pass as 'since' on the next call
+    private final String nextToken;
+
+    // More changes are waiting; call again right away with nextToken
+    private final boolean hasMore;
+
+    // The token was too old or unknown: upserts is a full snapshot and local state must be replaced
+    private final boolean reset;
+
+    public EmployeeSyncResponse(List<Employee> upserts, List<Long> deletes, String nextToken,
+                                boolean hasMore, boolean reset) {
+        this.upserts = upserts;
+        this.deletes = deletes;
+        this.nextToken = nextToken;
+        this.hasMore = hasMore;
+        this.reset = reset;
+    }
+
+    public List<Employee> getUpserts() {
+        return upserts;
+    }
+
+    public List<Long> getDeletes() {
+        return deletes;
+    }
+
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public boolean isReset() {
+        return reset;
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.spring_claude_demo.sync;
+
+import com.example.spring_claude_demo.model.Employee;
+import com.example.spring_claude_demo.model.EmployeeTombstone;
+import com.example.spring_claude_demo.model.SyncWatermark;
+import com.example.spring_claude_demo.repository.EmployeeRepository;
+import com.example.spring_claude_demo.repository.EmployeeTombstoneRepository;
+import com.example.spring_claude_demo.repository.SyncWatermarkRepository;
+import com.example.spring_claude_demo.sharding.ShardRouter;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Delta sync: returns what changed after a token, read through the change_seq indexes,
+// so the cost follows the number of changes rather than the size of the table
+@Service
+@EnableConfigurationProperties(SyncProperties.class)
+public class EmployeeSyncService implements InitializingBean {
+
+    private static final Sort BY_CHANGE_SEQ = Sort.by("changeSeq");
+    private static final String TOMBSTONES_PURGED = "tombstones-purged";
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeTombstoneRepository tombstoneRepository;
+    private final SyncWatermarkRepository watermarkRepository;
+    private final ChangeSequence changeSequence;
+    private final ShardRouter shardRouter;
+    private final SyncProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    // Highest change sequence whose tombstones may have been purged; persisted on each shard in
+    // sync_watermarks with the purge itself, so tokens older than it are still reset after a restart
+    private final AtomicLong purgedThrough = new AtomicLong();
+
+    @Autowired
+    public EmployeeSyncService(EmployeeRepository employeeRepository, EmployeeTombstoneRepository tombstoneRepository,
+                               SyncWatermarkRepository watermarkRepository, ChangeSequence changeSequence, ShardRouter shardRouter, SyncProperties properties,
+                               PlatformTransactionManager transactionManager) {
+        this.employeeRepository = employeeRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.changeSequence = changeSequence;
+        this.shardRouter = shardRouter;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            shardRouter.onShard(shard, () -> watermarkRepository.findById(TOMBSTONES_PURGED))
+                    .ifPresent(watermark -> purgedThrough.accumulateAndGet(watermark.getChangeSeq(), Math::max));
+        }
+    }
+
+    // Read-write on purpose: with read replicas enabled this must see the primary, otherwise
+    // rows below the watermark that have not replicated yet would be skipped for good
+    @Transactional
+    public EmployeeSyncResponse changesSince(String token, Integer limit) {
+        long until = changeSequence.safeWatermark();
+        Long requested = token == null || token.isBlank() ? null : decode(token);
+        boolean reset = requested == null || requested > changeSequence.current() || requested < purgedThrough.get();
+        long since = reset ? 0 : requested;
+        int batchSize = Math.max(1, Math.min(limit != null ? limit : properties.getMaxBatchSize(),
+                properties.getMaxBatchSize()));
+
+        // One extra row per side tells whether another batch follows
+        Pageable page = PageRequest.of(0, batchSize + 1, BY_CHANGE_SEQ);
+        List<Employee> changed = shardRouter.scatterPage(
+                p -> employeeRepository.findByChangeSeqGreaterThanAndChangeSeqLessThanEqual(since, until, p),
+                Comparator.comparing(Employee::getChangeSeq), page);
+        // A reset is a full snapshot, deletes before it are irrelevant to the client
+        List<EmployeeTombstone> deleted = reset ? List.of() : shardRouter.scatterPage(
+                p -> tombstoneRepository.findByChangeSeqGreaterThanAndChangeSeqLessThanEqual(since, until, p),
+                Comparator.comparing(EmployeeTombstone::getChangeSeq), page);
+
+        List<Employee> upserts = new ArrayList<>();
+        List<Long> deletes = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        long last = since;
+        while (upserts.size() + deletes.size() < batchSize && (i < changed.size() || j < deleted.size())) {
+            boolean takeUpsert = j >= deleted.size()
+                    || (i < changed.size() && changed.get(i).getChangeSeq() < deleted.get(j).getChangeSeq());
+            if (takeUpsert) {
+                Employee employee = changed.get(i++);
+                upserts.add(employee);
+                last = employee.getChangeSeq();
+            } else {
+                EmployeeTombstone tombstone = deleted.get(j++);
+                deletes.add(tombstone.getEmployeeId());
+                last = tombstone.getChangeSeq();
+            }
+        }
+        boolean hasMore = i < changed.size() || j < deleted.size();
+        return new EmployeeSyncResponse(upserts, deletes, encode(hasMore ? last : until), hasMore, reset);
+    }
+
+    @Scheduled(fixedDelayString = "${app.sync.tombstone-purge-interval:PT1H}")
+    public void purgeTombstones() {
+        Instant cutoff = Instant.now().minus(properties.getTombstoneRetention());
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            shardRouter.onShard(shard, () -> transactionTemplate.execute(status -> {
+                Long purgeUpTo = tombstoneRepository.findMaxChangeSeqDeletedBefore(cutoff);
+                if (purgeUpTo != null) {
+                    // Raised before deleting so no client can sync across the gap in the meantime
+                    long purged = purgedThrough.accumulateAndGet(purgeUpTo, Math::max);
+                    watermarkRepository.save(new SyncWatermark(TOMBSTONES_PURGED, purged));
+                    tombstoneRepository.deleteUpToChangeSeq(purgeUpTo);
+                }
+                return null;
+            }));
+        }
+    }
+
+    static String encode(long sequence) {
+        return Long.toString(sequence, Character.MAX_RADIX);
+    }
+
+    static long decode(String token) {
+        try {
+            return Long.parseLong(token, Character.MAX_RADIX);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid sync token: " + token);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.spring_claude_demo.sync;
+
+import com.example.spring_claude_demo.event.EmployeeChangeEvent;
+import com.example.spring_claude_demo.event.EmployeeChangeType;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Tells which change events a full scan of the employees already saw, for state rebuilt from such
+// a scan while writes go on. Every change up to the safe watermark taken before the scan had
+// committed and been announced, so it is in the scan. Past the watermark, the scan notes the
+// change sequence of each row it reads and the tombstones it sees, both from one statement and so
+// from one snapshot. Needed until every change the scan could have seen has been announced, which
+// isComplete can only tell if the listener runs before ChangeSequence releases the change's number:
+// after-commit listeners run in afterCompletion too, so they need an @Order ahead of its release.
+// Not thread-safe.
+public final class ScanReconciliation {
+
+    private final ChangeSequence changeSequence;
+    private final long watermark;
+    private final Map<Long, Long> versions = new HashMap<>();
+    private final Set<Long> deletes = new HashSet<>();
+    private long until = Long.MAX_VALUE;
+
+    public ScanReconciliation(ChangeSequence changeSequence) {
+        this.changeSequence = changeSequence;
+        this.watermark = changeSequence.safeWatermark();
+    }
+
+    // Selects id, change_seq and a tombstone flag, then the given employee columns (NULL for
+    // tombstones); takes the watermark as its one parameter
+    public static String scanSql(String... columns) {
+        return "SELECT id, change_seq, FALSE, " + String.join(", ", columns) + " FROM employees UNION ALL "
+                + "SELECT employee_id, change_seq, TRUE, "
+                + Arrays.stream(columns).map(column -> "NULL").collect(Collectors.joining(", "))
+                + " FROM employee_tombstones WHERE change_seq > ?";
+    }
+
+    public long watermark() {
+        return watermark;
+    }
+
+    // Notes one row of scanSql; true for an employee, whose columns start at index 4
+    public boolean read(ResultSet row) throws SQLException {
+        long id = row.getLong(1);
+        if (row.getBoolean(3)) {
+            deletes.add(id);
+            return false;
+        }
+        long changeSeq = row.getLong(2);
+        if (changeSeq > watermark) {
+            versions.put(id, changeSeq);
+        }
+        return true;
+    }
+
+    // Called once the scan is done
+    public void finish() {
+        until = changeSequence.current();
+    }
+
+    // Once true, no change announced from now on can have been in the scan
+    public boolean isComplete() {
+        return changeSequence.safeWatermark() >= until;
+    }
+
+    public boolean seen(EmployeeChangeEvent event) {
+        if (event.getType() == EmployeeChangeType.DELETED) {
+            return deletes.contains(event.getEmployeeId());
+        }
+        Long changeSeq = event.getEmployee() != null ? event.getEmployee().getChangeSeq() : null;
+        if (changeSeq == null) {
+            return false;
+        }
+        return changeSeq <= watermark || versions.getOrDefault(event.getEmployeeId(), -1L) >= changeSeq;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.spring_claude_demo.sync;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.sync")
+public class SyncProperties {
+
+    // Upper bound on upserts + deletes returned by one sync call
+    private int maxBatchSize = 1000;
+
+    // Tombstones older than this are purged; clients with older tokens get a full reset
+    private Duration tombstoneRetention = Duration.ofDays(30);
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public Duration getTombstoneRetention() {
+        return tombstoneRetention;
+    }
+
+    public void setTombstoneRetention(Duration tombstoneRetention) {
+        this.tombstoneRetention = tombstoneRetention;
+    }
+}
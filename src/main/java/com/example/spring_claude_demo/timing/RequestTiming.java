@@ -0,0 +1,109 @@
+package com.example.spring_claude_demo.timing;
+
+import java.util.Locale;
+
+// Per-request phase accumulators for the Server-Timing header. One instance is bound to the
+// request thread by ServerTimingFilter and updated with plain field writes: everything that
+// touches it runs on that thread, so it needs no locks, and no maps or boxing are involved.
+// Work handed to other threads (sharded scatter queries) is not counted.
+public final class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+
+    private int statements;
+    private long dbNanos;
+    private long statementStart;
+
+    private int repositoryDepth;
+    private long repositoryStart;
+    private long repositoryDbStart;
+    private long hydrationNanos;
+
+    private int serviceDepth;
+    private long serviceStart;
+    private long serviceDbStart;
+    private long serviceHydrationStart;
+    private long serviceNanos;
+
+    private long serializationStart;
+
+    static RequestTiming bind() {
+        RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    // Null outside a timed request
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    void statementStarted() {
+        statementStart = System.nanoTime();
+    }
+
+    void statementFinished() {
+        dbNanos += System.nanoTime() - statementStart;
+        statements++;
+    }
+
+    // Time inside repository calls that is not spent in JDBC: query translation, result set
+    // mapping, entity instantiation and second-level cache lookups
+    void repositoryEntered() {
+        if (repositoryDepth++ == 0) {
+            repositoryStart = System.nanoTime();
+            repositoryDbStart = dbNanos;
+        }
+    }
+
+    void repositoryExited() {
+        if (--repositoryDepth == 0) {
+            hydrationNanos += System.nanoTime() - repositoryStart - (dbNanos - repositoryDbStart);
+        }
+    }
+
+    // Service time minus the database and hydration time spent inside it
+    void serviceEntered() {
+        if (serviceDepth++ == 0) {
+            serviceStart = System.nanoTime();
+            serviceDbStart = dbNanos;
+            serviceHydrationStart = hydrationNanos;
+        }
+    }
+
+    void serviceExited() {
+        if (--serviceDepth == 0) {
+            serviceNanos += System.nanoTime() - serviceStart
+                    - (dbNanos - serviceDbStart) - (hydrationNanos - serviceHydrationStart);
+        }
+    }
+
+    void serializationStarted() {
+        if (serializationStart == 0) {
+            serializationStart = System.nanoTime();
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    String toHeader(long endNanos) {
+        long serializationNanos = serializationStart == 0 ? 0 : endNanos - serializationStart;
+        return String.format(Locale.ROOT,
+                "db;dur=%.3f;desc=\"%d statements\", hydration;dur=%.3f, service;dur=%.3f, "
+                        + "serialization;dur=%.3f, total;dur=%.3f",
+                millis(dbNanos), statements, millis(hydrationNanos), millis(serviceNanos),
+                millis(serializationNanos), millis(endNanos - startNanos));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.spring_claude_demo.timing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// Feeds the service and hydration phases of RequestTiming. Runs outside the transaction
+// advice so the service phase includes commit.
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "app.server-timing", name = "enabled", havingValue = "true")
+public class ServerTimingAspect {
+
+    @Around("execution(public * com.example.spring_claude_demo.service.EmployeeService.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestTiming timing = RequestTiming.current();
+        if (timing == null) {
+            return joinPoint.proceed();
+        }
+        timing.serviceEntered();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timing.serviceExited();
+        }
+    }
+
+    @Around("this(org.springframework.data.jpa.repository.JpaRepository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestTiming timing = RequestTiming.current();
+        if (timing == null) {
+            return joinPoint.proceed();
+        }
+        timing.repositoryEntered();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timing.repositoryExited();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.spring_claude_demo.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.List;
+
+// Binds a RequestTiming for the request and adds the Server-Timing and X-SQL-Statement-Count
+// debug headers once the body has been rendered. The body is held back until then because
+// headers cannot follow it.
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    static final String SERVER_TIMING = "Server-Timing";
+    static final String SQL_STATEMENT_COUNT = "X-SQL-Statement-Count";
+
+    private final List<String> excludedPaths;
+
+    public ServerTimingFilter(List<String> excludedPaths) {
+        this.excludedPaths = excludedPaths;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return excludedPaths.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestTiming timing = RequestTiming.bind();
+        ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, buffered);
+            buffered.setHeader(SERVER_TIMING, timing.toHeader(System.nanoTime()));
+            buffered.setIntHeader(SQL_STATEMENT_COUNT, timing.getStatements());
+        } finally {
+            RequestTiming.unbind();
+            buffered.copyBodyToResponse();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.spring_claude_demo.timing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "app.server-timing")
+public class ServerTimingProperties {
+
+    // Off by default: responses are buffered so the header can be set after serialization
+    private boolean enabled = false;
+
+    // Servlet URL patterns that get the header
+    private List<String> urlPatterns = new ArrayList<>(List.of("/api/employees", "/api/employees/*"));
+
+    // Streaming responses under those patterns, which must not be buffered
+    private List<String> excludedPaths = new ArrayList<>(List.of("/api/employees/stream", "/api/employees/changes",
+            "/api/employees/arrow"));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getUrlPatterns() {
+        return urlPatterns;
+    }
+
+    public void setUrlPatterns(List<String> urlPatterns) {
+        this.urlPatterns = urlPatterns;
+    }
+
+    public List<String> getExcludedPaths() {
+        return excludedPaths;
+    }
+
+    public void setExcludedPaths(List<String> excludedPaths) {
+        this.excludedPaths = excludedPaths;
+    }
+}
@@ -0,0 +1,274 @@
+package com.example.spring_claude_demo.upsert;
+
+import com.example.spring_claude_demo.cache.EmployeeCacheEvictor;
+import com.example.spring_claude_demo.cache.EmployeeIdFilter;
+import com.example.spring_claude_demo.event.EmployeeChangeEvent;
+import com.example.spring_claude_demo.event.EmployeeChangeType;
+import com.example.spring_claude_demo.model.Employee;
+import com.example.spring_claude_demo.model.EmployeeContentHash;
+import com.example.spring_claude_demo.sharding.ShardIds;
+import com.example.spring_claude_demo.sharding.ShardRouter;
+import com.example.spring_claude_demo.sync.ChangeSequence;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// Idempotent bulk upsert keyed by email, for full-roster syncs. Each chunk costs one IN lookup
+// per shard to classify rows as new, changed or unchanged (by content hash), then one set-based
+// MERGE per shard in its own transaction; unchanged rows are never written, and the counts
+// reported are what the MERGE did. The MERGE bypasses
+// Hibernate, so the second-level, query and off-heap caches are evicted here and the id filter
+// is told about new ids; events drive the response cache, search index and change stream.
+@Service
+@EnableConfigurationProperties(UpsertProperties.class)
+public class EmployeeUpsertService {
+
+    // One set-based MERGE per chunk and shard. The chunk is bound as one array per column and
+    // unnested into the source table, so the statement text never changes with the chunk size. The
+    // standard MERGE rather than H2's MERGE ... KEY(email), which would also overwrite the id of a row
+    // created concurrently; the hash guard keeps a concurrent identical write a no-op. Wrapped in
+    // FINAL TABLE so the statement itself returns the rows it inserted or updated.
+    private static final String MERGE = "SELECT id, email FROM FINAL TABLE (MERGE INTO employees t USING ("
+            + "SELECT * FROM UNNEST(CAST(? AS BIGINT ARRAY), CAST(? AS VARCHAR ARRAY), CAST(? AS VARCHAR ARRAY), "
+            + "CAST(? AS VARCHAR ARRAY), CAST(? AS VARCHAR ARRAY), CAST(? AS VARCHAR ARRAY), "
+            + "CAST(? AS DOUBLE PRECISION ARRAY), CAST(? AS DATE ARRAY), CAST(? AS DATE ARRAY), "
+            + "CAST(? AS BIGINT ARRAY), CAST(? AS BIGINT ARRAY)) u(id, first_name, last_name, email, phone_number, "
+            + "position, salary, hire_date, termination_date, change_seq, content_hash)) s ON t.email = s.email "
+            + "WHEN MATCHED AND (t.content_hash IS NULL OR t.content_hash <> s.content_hash) THEN UPDATE SET "
+            + "first_name = s.first_name, last_name = s.last_name, phone_number = s.phone_number, "
+            + "position = s.position, salary = s.salary, hire_date = s.hire_date, "
+            + "termination_date = s.termination_date, change_seq = s.change_seq, content_hash = s.content_hash "
+            + "WHEN NOT MATCHED THEN INSERT (id, first_name, last_name, email, phone_number, position, salary, "
+            + "hire_date, termination_date, change_seq, content_hash) VALUES (s.id, s.first_name, s.last_name, "
+            + "s.email, s.phone_number, s.position, s.salary, s.hire_date, s.termination_date, s.change_seq, "
+            + "s.content_hash))";
+
+    // A join against the unnested keys rather than email IN (...): H2 checks every row an IN list
+    // finds against the whole list again
+    private static final String FIND_EXISTING = "SELECT e.id, e.email, e.content_hash "
+            + "FROM UNNEST(CAST(? AS VARCHAR ARRAY)) k(email) JOIN employees e ON e.email = k.email";
+
+    private final ShardRouter shardRouter;
+    private final ChangeSequence changeSequence;
+    private final EmployeeCacheEvictor cacheEvictor;
+    private final EmployeeIdFilter idFilter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UpsertProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter insertedCounter;
+    private final Counter updatedCounter;
+    private final Counter unchangedCounter;
+
+    public EmployeeUpsertService(ShardRouter shardRouter, ChangeSequence changeSequence,
+                                 EmployeeCacheEvictor cacheEvictor, EmployeeIdFilter idFilter,
+                                 ApplicationEventPublisher eventPublisher, UpsertProperties properties,
+                                 DataSource dataSource, PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry) {
+        this.shardRouter = shardRouter;
+        this.changeSequence = changeSequence;
+        this.cacheEvictor = cacheEvictor;
+        this.idFilter = idFilter;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.insertedCounter = rows(meterRegistry, "inserted");
+        this.updatedCounter = rows(meterRegistry, "updated");
+        this.unchangedCounter = rows(meterRegistry, "unchanged");
+    }
+
+    private static Counter rows(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("employee.upsert.rows")
+                .tag("result", result)
+                .description("Employees received by the batch upsert, by outcome")
+                .register(meterRegistry);
+    }
+
+    public UpsertResult upsert(List<Employee> employees) {
+        // Last occurrence of an email wins, as if the rows had been applied one by one
+        Map<String, Employee> byEmail = new LinkedHashMap<>();
+        for (Employee employee : employees) {
+            if (employee.getEmail() == null || employee.getEmail().isBlank()) {
+                throw new IllegalArgumentException("Every employee in an upsert needs an email");
+            }
+            byEmail.put(employee.getEmail(), employee);
+        }
+        List<Employee> rows = new ArrayList<>(byEmail.values());
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        UpsertResult result = new UpsertResult(0, 0, 0);
+        for (int from = 0; from < rows.size(); from += chunkSize) {
+            result = result.plus(upsertChunk(rows.subList(from, Math.min(rows.size(), from + chunkSize))));
+        }
+        insertedCounter.increment(result.inserted());
+        updatedCounter.increment(result.updated());
+        unchangedCounter.increment(result.unchanged());
+        return result;
+    }
+
+    private UpsertResult upsertChunk(List<Employee> chunk) {
+        Map<String, StoredRow> existing = findExisting(chunk.stream().map(Employee::getEmail).toList());
+        List<Employee> inserts = new ArrayList<>();
+        Map<Integer, List<Employee>> updatesByShard = new HashMap<>();
+        long unchanged = 0;
+        for (Employee employee : chunk) {
+            long hash = EmployeeContentHash.of(employee);
+            employee.setContentHash(hash);
+            StoredRow current = existing.get(employee.getEmail());
+            if (current == null) {
+                inserts.add(employee);
+            } else if (current.contentHash() != null && current.contentHash() == hash) {
+                unchanged++;
+            } else {
+                employee.setId(current.id());
+                updatesByShard.computeIfAbsent(ShardIds.shardOf(current.id()), shard -> new ArrayList<>()).add(employee);
+            }
+        }
+
+        UpsertResult result = new UpsertResult(0, 0, unchanged);
+        for (Map.Entry<Integer, List<Employee>> shardUpdates : updatesByShard.entrySet()) {
+            List<Employee> rows = shardUpdates.getValue();
+            result = result.plus(shardRouter.onShard(shardUpdates.getKey(), () -> merge(rows, false, findPrevious(rows))));
+        }
+        // New rows of a chunk share one placement shard, like EmployeeService.saveEmployees
+        if (!inserts.isEmpty()) {
+            result = result.plus(shardRouter.onNewRowShard(() -> {
+                List<Long> ids = shardRouter.nextIds(inserts.size());
+                for (int i = 0; i < inserts.size(); i++) {
+                    inserts.get(i).setId(ids.get(i));
+                }
+                return merge(inserts, true, Map.of());
+            }));
+        }
+        return result;
+    }
+
+    // Only what classification needs; the previous state is read for changed rows alone
+    private Map<String, StoredRow> findExisting(List<String> emails) {
+        Map<String, StoredRow> existing = new HashMap<>();
+        Object[] keys = emails.toArray();
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            shardRouter.onShard(shard, () -> {
+                jdbcTemplate.query(FIND_EXISTING, statement -> statement.setObject(1, keys),
+                        (RowCallbackHandler) row -> existing.put(row.getString(2),
+                                new StoredRow(row.getLong(1), row.getObject(3, Long.class))));
+                return null;
+            });
+        }
+        return existing;
+    }
+
+    // Whole rows about to be replaced, so update events can carry the state they replace.
+    // Runs on the bound shard.
+    private Map<Long, Employee> findPrevious(List<Employee> rows) {
+        Map<Long, Employee> previous = new HashMap<>();
+        Map<String, Object> parameters = Map.of("ids", rows.stream().map(Employee::getId).toList());
+        namedJdbcTemplate.query("SELECT id, first_name, last_name, email, phone_number, position, salary, "
+                + "hire_date, termination_date, change_seq, content_hash FROM employees WHERE id IN (:ids)",
+                parameters, (RowCallbackHandler) row -> {
+                    Employee current = new Employee(row.getString(2), row.getString(3), row.getString(4),
+                            row.getString(5), row.getString(6), row.getObject(7, Double.class),
+                            row.getObject(8, LocalDate.class));
+                    current.setId(row.getLong(1));
+                    current.setTerminationDate(row.getObject(9, LocalDate.class));
+                    current.setChangeSeq(row.getObject(10, Long.class));
+                    current.setContentHash(row.getObject(11, Long.class));
+                    previous.put(current.getId(), current);
+                });
+        return previous;
+    }
+
+    // Runs on the bound shard. Outcomes come from the MERGE itself, not the classification: a row
+    // classified as new can lose a race to a concurrent insert of the same email and match it
+    // instead, and a changed row can meet an identical concurrent write and match nothing.
+    private UpsertResult merge(List<Employee> rows, boolean inserts, Map<Long, Employee> previous) {
+        // In flight until the events are out, not just until commit: whoever trusts the safe
+        // watermark (SalaryPercentiles) expects every change below it to have been announced
+        long firstChangeSeq = changeSequence.reserveBlock(rows.size());
+        try {
+            List<EmployeeChangeEvent> events = new ArrayList<>(rows.size());
+            List<Long> updatedIds = new ArrayList<>();
+            UpsertResult result = transactionTemplate.execute(status -> {
+                long changeSeq = firstChangeSeq;
+                for (Employee employee : rows) {
+                    employee.setChangeSeq(changeSeq++);
+                }
+                Map<String, Long> written = new HashMap<>();
+                jdbcTemplate.query(MERGE, statement -> {
+                    statement.setObject(1, column(rows, Employee::getId));
+                    statement.setObject(2, column(rows, Employee::getFirstName));
+                    statement.setObject(3, column(rows, Employee::getLastName));
+                    statement.setObject(4, column(rows, Employee::getEmail));
+                    statement.setObject(5, column(rows, Employee::getPhoneNumber));
+                    statement.setObject(6, column(rows, Employee::getPosition));
+                    statement.setObject(7, column(rows, Employee::getSalary));
+                    statement.setObject(8, column(rows, Employee::getHireDate));
+                    statement.setObject(9, column(rows, Employee::getTerminationDate));
+                    statement.setObject(10, column(rows, Employee::getChangeSeq));
+                    statement.setObject(11, column(rows, Employee::getContentHash));
+                }, (RowCallbackHandler) row -> written.put(row.getString(2), row.getLong(1)));
+                long inserted = 0;
+                long updated = 0;
+                long unchanged = 0;
+                for (Employee employee : rows) {
+                    Long storedId = written.get(employee.getEmail());
+                    if (storedId == null) {
+                        // Matched a row that already had this content
+                        unchanged++;
+                    } else if (inserts && storedId.equals(employee.getId())) {
+                        inserted++;
+                        idFilter.add(employee.getId());
+                        events.add(new EmployeeChangeEvent(EmployeeChangeType.CREATED, employee));
+                    } else {
+                        // For an insert, lost the race: the generated id was never stored
+                        employee.setId(storedId);
+                        updated++;
+                        updatedIds.add(employee.getId());
+                        events.add(new EmployeeChangeEvent(EmployeeChangeType.UPDATED, employee,
+                                previous.get(employee.getId())));
+                    }
+                }
+                return new UpsertResult(inserted, updated, unchanged);
+            });
+            // Published after commit rather than inside the transaction, where every event would
+            // register one synchronization per listener; the listeners see the same committed state
+            events.forEach(eventPublisher::publishEvent);
+            // After commit, so a concurrent reader cannot cache the old row again
+            cacheEvictor.evict(updatedIds);
+            return result;
+        } finally {
+            changeSequence.release(firstChangeSeq);
+        }
+    }
+
+    private static Object[] column(List<Employee> rows, Function<Employee, Object> value) {
+        Object[] column = new Object[rows.size()];
+        for (int i = 0; i < column.length; i++) {
+            column[i] = value.apply(rows.get(i));
+        }
+        return column;
+    }
+
+    private record StoredRow(long id, Long contentHash) {
+    }
+}
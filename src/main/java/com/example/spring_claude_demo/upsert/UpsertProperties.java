@@ -0,0 +1,18 @@
+package com.example.spring_claude_demo.upsert;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.upsert")
+public class UpsertProperties {
+
+    // Employees looked up and merged per transaction: one key lookup plus one set-based MERGE per shard
+    private int chunkSize = 1000;
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+}
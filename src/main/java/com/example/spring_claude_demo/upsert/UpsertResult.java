@@ -0,0 +1,9 @@
+package com.example.spring_claude_demo.upsert;
+
+// Counts for one PUT /api/employees/upsert call; duplicate emails in the request count once
+public record UpsertResult(long inserted, long updated, long unchanged) {
+
+    UpsertResult plus(UpsertResult other) {
+        return new UpsertResult(inserted + other.inserted, updated + other.updated, unchanged + other.unchanged);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.spring_claude_demo.archive;
+
+import com.example.spring_claude_demo.model.Employee;
+import com.example.spring_claude_demo.service.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class EmployeeArchiverTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeArchiver archiver;
+
+    @Test
+    void archive_ShouldMoveFormerEmployeesOutOfDefaultReads() throws Exception {
+        // Arrange
+        Employee former = new Employee("Former", "Archivist", "former.archivist@example.com",
+                "555-0145", "Archive Tester", 52000.0, LocalDate.of(2015, 2, 1));
+        former.setTerminationDate(LocalDate.now().minusYears(2));
+        former = employeeService.saveEmployee(former);
+        Employee recent = new Employee("Recent", "Archivist", "recent.archivist@example.com",
+                "555-0146", "Archive Tester", 54000.0, LocalDate.of(2019, 4, 1));
+        recent.setTerminationDate(LocalDate.now().minusMonths(1));
+        recent = employeeService.saveEmployee(recent);
+        mockMvc.perform(get("/api/employees/lastName/Archivist")).andExpect(jsonPath("$.length()").value(2));
+        long archivedBefore = archiver.stats().archivedEmployees();
+
+        // Act
+        mockMvc.perform(post("/api/employees/archive"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.archived").value(1))
+                .andExpect(jsonPath("$.archivedEmployees").value(archivedBefore + 1));
+
+        // Assert
+        mockMvc.perform(get("/api/employees/" + former.getId())).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/employees/" + former.getId()).param("includeArchived", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("former.archivist@example.com"))
+                .andExpect(jsonPath("$.terminationDate").value(former.getTerminationDate().toString()));
+        mockMvc.perform(get("/api/employees/lastName/Archivist"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(recent.getId()));
+        // In the URL rather than param(): the response cache keys on the raw query string
+        mockMvc.perform(get("/api/employees/lastName/Archivist?includeArchived=true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(Math.min(former.getId(), recent.getId())));
+        assertFalse(employeeService.employeeExists(former.getId()));
+        assertEquals(archivedBefore + 1, archiver.stats().archivedEmployees());
+
+        employeeService.deleteEmployee(recent.getId());
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.spring_claude_demo.arrow;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ArrowExportEndpointExposureTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void export_ShouldNotBeReachableUnlessTheEndpointIsExposed() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/actuator/arrowexport")).andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/employees/arrow/export")).andExpect(status().is4xxClientError());
+    }
+}
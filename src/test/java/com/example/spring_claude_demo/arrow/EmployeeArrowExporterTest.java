@@ -0,0 +1,156 @@
+package com.example.spring_claude_demo.arrow;
+
+import com.example.spring_claude_demo.model.Employee;
+import com.example.spring_claude_demo.service.EmployeeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import org.apache.arrow.vector.ipc.ArrowReader;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "app.arrow.batch-size=3",
+        "app.arrow.export-directory=target/arrow-exports",
+        "management.endpoints.web.exposure.include=health,metrics,arrowexport"
+})
+@AutoConfigureMockMvc
+public class EmployeeArrowExporterTest {
+
+    private static final MediaType ARROW_STREAM = MediaType.parseMediaType(EmployeeArrowExporter.STREAM_VALUE);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void streamEmployees_ShouldWriteEveryEmployeeInBatchesOfTheConfiguredSize() throws Exception {
+        // Arrange
+        Employee former = new Employee("Columnar", "Arrowsmith", "columnar.arrowsmith@example.com",
+                "555-0150", "Data Engineer", 98500.0, LocalDate.of(2017, 6, 12));
+        former.setTerminationDate(LocalDate.of(2024, 3, 31));
+        former = employeeService.saveEmployee(former);
+        List<Employee> employees = employeeService.getAllEmployees();
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/employees/arrow").accept(ARROW_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(ARROW_STREAM))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        try (BufferAllocator allocator = new RootAllocator();
+             ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(body), allocator)) {
+            Map<Long, Integer> rowsById = new HashMap<>();
+            int batches = readAll(reader, rowsById);
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            assertEquals(EmployeeArrowExporter.SCHEMA, root.getSchema());
+            assertEquals(employees.size(), rowsById.size());
+            assertEquals((employees.size() + 2) / 3, batches);
+            assertTrue(rowsById.keySet().containsAll(employees.stream().map(Employee::getId).toList()));
+        }
+        try (BufferAllocator allocator = new RootAllocator();
+             ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(body), allocator)) {
+            assertEmployeeRow(reader, former);
+        }
+        assertEquals(0, meterRegistry.get("employee.arrow.memory").gauge().value());
+
+        employeeService.deleteEmployee(former.getId());
+    }
+
+    @Test
+    void exportEndpoint_ShouldWriteACompleteArrowFile() throws Exception {
+        // Arrange
+        int employees = employeeService.getAllEmployees().size();
+
+        // Act
+        String file = mockMvc.perform(post("/actuator/arrowexport"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(employees))
+                .andExpect(jsonPath("$.batches").value((employees + 2) / 3))
+                .andReturn().getResponse().getContentAsString()
+                .replaceAll(".*\"file\":\"([^\"]+)\".*", "$1");
+
+        // Assert
+        Path path = Path.of(file);
+        assertTrue(path.getFileName().toString().endsWith(".arrow"));
+        try (BufferAllocator allocator = new RootAllocator();
+             ArrowFileReader reader = new ArrowFileReader(FileChannel.open(path), allocator)) {
+            assertEquals((employees + 2) / 3, reader.getRecordBlocks().size());
+            Map<Long, Integer> rowsById = new HashMap<>();
+            readAll(reader, rowsById);
+            assertEquals(employees, rowsById.size());
+        }
+        try (var files = Files.list(path.getParent())) {
+            assertTrue(files.noneMatch(candidate -> candidate.toString().endsWith(".partial")));
+        }
+    }
+
+    // Counts rows per id over every batch and returns the number of batches
+    private static int readAll(ArrowReader reader, Map<Long, Integer> rowsById) throws Exception {
+        int batches = 0;
+        while (reader.loadNextBatch()) {
+            BigIntVector ids = (BigIntVector) reader.getVectorSchemaRoot().getVector("id");
+            for (int i = 0; i < ids.getValueCount(); i++) {
+                rowsById.merge(ids.get(i), 1, Integer::sum);
+            }
+            batches++;
+        }
+        rowsById.values().forEach(count -> assertEquals(1, count));
+        return batches;
+    }
+
+    private static void assertEmployeeRow(ArrowReader reader, Employee expected) throws Exception {
+        while (reader.loadNextBatch()) {
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            BigIntVector ids = (BigIntVector) root.getVector("id");
+            for (int i = 0; i < root.getRowCount(); i++) {
+                if (ids.get(i) == expected.getId()) {
+                    assertEquals(expected.getLastName(), ((VarCharVector) root.getVector("lastName")).getObject(i).toString());
+                    assertEquals(expected.getEmail(), ((VarCharVector) root.getVector("email")).getObject(i).toString());
+                    assertEquals(expected.getSalary(), ((Float8Vector) root.getVector("salary")).get(i));
+                    assertEquals(expected.getHireDate().toEpochDay(), ((DateDayVector) root.getVector("hireDate")).get(i));
+                    assertEquals(expected.getTerminationDate().toEpochDay(),
+                            ((DateDayVector) root.getVector("terminationDate")).get(i));
+                    return;
+                }
+            }
+        }
+        fail("Employee " + expected.getId() + " missing from the stream");
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.spring_claude_demo.benchmark;
+
+import com.example.spring_claude_demo.SpringClaudeDemoApplication;
+import com.example.spring_claude_demo.archive.ArchiveReport;
+import com.example.spring_claude_demo.archive.EmployeeArchiver;
+import com.example.spring_claude_demo.service.EmployeeService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// Hot-path reads before and after moving former employees to archived_employees: row counts
+// of both tables and service-level latency of the list finders, with the second-level, query
+// and response caches off so every call reaches the database.
+//
+//   mvn -Pbenchmark test-compile exec:exec \
+//       -Dbenchmark.main=com.example.spring_claude_demo.benchmark.ArchiveBenchmark \
+//       -Dbenchmark.args="200000 0.8 10"
+//
+// Arguments: employees (default 200,000), share terminated over a year ago (default 0.8),
+// measured seconds per query (default 10)
+public class ArchiveBenchmark {
+
+    private static final String[] POSITIONS = {"Software Engineer", "Product Manager", "QA Engineer",
+            "UX Designer", "DevOps Engineer", "Data Analyst"};
+    private static final String[] LAST_NAMES = {"Doe", "Smith", "Johnson", "Davis", "Brown", "Garcia", "Miller"};
+
+    // Well clear of the ids the application generates for its sample data
+    private static final long FIRST_ID = 1L << 40;
+    private static final int INSERT_BATCH = 5_000;
+
+    public static void main(String[] args) throws Exception {
+        int employees = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        double terminatedShare = args.length > 1 ? Double.parseDouble(args[1]) : 0.8;
+        long measuredSeconds = args.length > 2 ? Long.parseLong(args[2]) : 10;
+
+        // Devtools would otherwise relaunch main() in a restart class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringClaudeDemoApplication.class).run(
+                "--server.port=0",
+                "--app.grpc.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark_archive",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                "--app.response-cache.enabled=false",
+                "--app.archive.enabled=false",
+                "--app.archive.batch-size=1000",
+                "--logging.level.root=WARN");
+        try {
+            seed(context.getBean(JdbcTemplate.class), employees, terminatedShare);
+            EmployeeService service = context.getBean(EmployeeService.class);
+            EmployeeArchiver archiver = context.getBean(EmployeeArchiver.class);
+
+            Map<String, Supplier<List<?>>> queries = new LinkedHashMap<>();
+            queries.put("position", () -> service.getEmployeesByPosition("QA Engineer"));
+            queries.put("lastName", () -> service.getEmployeesByLastName("Davis"));
+            queries.put("minSalary", () -> service.getEmployeesByMinimumSalary(155_000.0));
+            queries.put("emailContains", () -> service.getEmployeesByEmailContaining("first4242"));
+
+            ArchiveReport before = archiver.stats();
+            Map<String, double[]> beforeLatency = measure(queries, measuredSeconds);
+            ArchiveReport run = archiver.archive();
+            Map<String, double[]> afterLatency = measure(queries, measuredSeconds);
+
+            System.out.printf(Locale.ROOT, "%nArchived %d employees in %d batches, %.0f ms%n",
+                    run.archived(), run.batches(), run.durationMillis());
+            System.out.printf(Locale.ROOT, "%-8s %12s %12s%n", "", "employees", "archived");
+            System.out.printf(Locale.ROOT, "%-8s %12d %12d%n", "before", before.activeEmployees(), before.archivedEmployees());
+            System.out.printf(Locale.ROOT, "%-8s %12d %12d%n%n", "after", run.activeEmployees(), run.archivedEmployees());
+            System.out.printf(Locale.ROOT, "%-14s %10s %10s %10s %10s %10s %10s%n", "query",
+                    "rows", "p50 ms", "p99 ms", "rows", "p50 ms", "p99 ms");
+            for (String query : queries.keySet()) {
+                double[] b = beforeLatency.get(query);
+                double[] a = afterLatency.get(query);
+                System.out.printf(Locale.ROOT, "%-14s %10.0f %10.2f %10.2f %10.0f %10.2f %10.2f%n",
+                        query, b[0], b[1], b[2], a[0], a[1], a[2]);
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    // Plain batched INSERTs straight into the hot table; the archiver reads them back through JPA
+    private static void seed(JdbcTemplate jdbcTemplate, int employees, double terminatedShare) {
+        LocalDate today = LocalDate.now();
+        List<Object[]> rows = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < employees; i++) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long id = FIRST_ID + i;
+            String lastName = LAST_NAMES[i % LAST_NAMES.length];
+            LocalDate hireDate = LocalDate.of(2000, 1, 1).plusDays(random.nextInt(8000));
+            LocalDate terminationDate = random.nextDouble() < terminatedShare
+                    ? today.minusYears(1).minusDays(1 + random.nextInt(3000))
+                    : null;
+            rows.add(new Object[]{id, "First" + i, lastName,
+                    "first" + i + "." + lastName.toLowerCase(Locale.ROOT) + "@example.com", "555-0100",
+                    POSITIONS[i % POSITIONS.length], 40_000.0 + random.nextInt(120) * 1_000,
+                    Date.valueOf(hireDate), terminationDate != null ? Date.valueOf(terminationDate) : null, id});
+            if (rows.size() == INSERT_BATCH || i == employees - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO employees (id, first_name, last_name, email, phone_number, "
+                        + "position, salary, hire_date, termination_date, change_seq) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+    }
+
+    // Per query: rows returned, p50 and p99 in milliseconds
+    private static Map<String, double[]> measure(Map<String, Supplier<List<?>>> queries, long seconds) {
+        Map<String, double[]> results = new LinkedHashMap<>();
+        queries.forEach((name, query) -> {
+            // Warm-up
+            for (int i = 0; i < 5; i++) {
+                query.get();
+            }
+            long[] latencies = new long[100_000];
+            int count = 0;
+            int rows = 0;
+            long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+            while (System.nanoTime() < deadline && count < latencies.length) {
+                long start = System.nanoTime();
+                rows = query.get().size();
+                latencies[count++] = System.nanoTime() - start;
+            }
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            results.put(name, new double[]{rows, sorted[count / 2] / 1e6,
+                    sorted[Math.min(count - 1, (int) (count * 0.99))] / 1e6});
+        });
+        return results;
+    }
+}
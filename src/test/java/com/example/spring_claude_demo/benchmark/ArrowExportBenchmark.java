@@ -0,0 +1,221 @@
+package com.example.spring_claude_demo.benchmark;
+
+import com.example.spring_claude_demo.SpringClaudeDemoApplication;
+import com.example.spring_claude_demo.arrow.ArrowExportReport;
+import com.example.spring_claude_demo.arrow.EmployeeArrowExporter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+// The whole roster over HTTP as the JSON list (GET /api/employees) and as an Arrow IPC stream
+// (GET /api/employees/arrow), plus the Arrow file export. Per format: time to first byte and to
+// the last one, response size, heap still live part-way through the response (a full collection
+// while the server is mid-response, above the heap used before the request), and the
+// time a client needs to decode the body into columns it can sum over. Caches are off so both
+// endpoints read every row from the database. The JSON list of a million rows does not fit the
+// profile's default 2 GB heap, so pass a bigger one:
+//
+//   mvn -Pbenchmark test-compile exec:exec \
+//       -Dbenchmark.jvmArgs="-Xmx4g --add-opens=java.base/java.nio=ALL-UNNAMED" \
+//       -Dbenchmark.main=com.example.spring_claude_demo.benchmark.ArrowExportBenchmark \
+//       -Dbenchmark.args="1000000 8192"
+//
+// Arguments: employees (default 1,000,000), Arrow batch size (default 8192), runs per format (default 3)
+public class ArrowExportBenchmark {
+
+    private static final String[] POSITIONS = {"Software Engineer", "Product Manager", "QA Engineer",
+            "UX Designer", "DevOps Engineer", "Data Analyst"};
+    private static final String[] LAST_NAMES = {"Doe", "Smith", "Johnson", "Davis", "Brown", "Garcia", "Miller"};
+
+    // Well clear of the ids the application generates for its sample data
+    private static final long FIRST_ID = 1L << 40;
+    private static final int INSERT_BATCH = 5_000;
+    private static final long LIVE_HEAP_PROBE_BYTES = 16L << 20;
+
+    public static void main(String[] args) throws Exception {
+        int employees = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : 8192;
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        Path exportDirectory = Files.createTempDirectory("arrow-benchmark");
+
+        // Devtools would otherwise relaunch main() in a restart class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringClaudeDemoApplication.class).run(
+                "--server.port=0",
+                "--app.grpc.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark_arrow",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                "--app.response-cache.enabled=false",
+                "--app.archive.enabled=false",
+                "--app.limits.enabled=false",
+                "--app.arrow.batch-size=" + batchSize,
+                "--app.arrow.export-directory=" + exportDirectory,
+                "--logging.level.root=WARN");
+        try {
+            seed(context.getBean(JdbcTemplate.class), employees);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newHttpClient();
+            URI json = URI.create("http://localhost:" + port + "/api/employees");
+            URI arrow = URI.create("http://localhost:" + port + "/api/employees/arrow");
+
+            System.out.printf(Locale.ROOT, "%n%d employees, Arrow batches of %d rows, best of %d runs%n",
+                    employees, batchSize, runs);
+            System.out.printf(Locale.ROOT, "%-8s %10s %10s %10s %14s %12s %10s%n", "format", "TTFB ms", "total ms",
+                    "MB", "live heap MB", "decode ms", "rows");
+            report("json", client, json, "application/json", runs, ArrowExportBenchmark::decodeJson);
+            report("arrow", client, arrow, EmployeeArrowExporter.STREAM_VALUE, runs, ArrowExportBenchmark::decodeArrow);
+
+            EmployeeArrowExporter exporter = context.getBean(EmployeeArrowExporter.class);
+            ArrowExportReport best = null;
+            for (int run = 0; run < runs; run++) {
+                ArrowExportReport report = exporter.exportFile();
+                Files.delete(Path.of(report.file()));
+                best = best == null || report.durationMillis() < best.durationMillis() ? report : best;
+            }
+            System.out.printf(Locale.ROOT, "%nArrow file export: %d rows in %d batches, %.1f MB, %.0f ms%n",
+                    best.rows(), best.batches(), best.bytes() / 1e6, best.durationMillis());
+        } finally {
+            context.close();
+            Files.deleteIfExists(exportDirectory);
+        }
+    }
+
+    private interface Decoder {
+        // Returns the number of rows after summing the salary column
+        long decode(byte[] body) throws Exception;
+    }
+
+    private static void report(String format, HttpClient client, URI uri, String accept, int runs, Decoder decoder)
+            throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).header("Accept", accept).build();
+        double bestFirstByte = Double.MAX_VALUE;
+        double bestTotal = Double.MAX_VALUE;
+        long bytes = 0;
+        for (int run = 0; run < runs; run++) {
+            long start = System.nanoTime();
+            HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            long firstByte = 0;
+            bytes = 0;
+            byte[] buffer = new byte[64 * 1024];
+            try (InputStream body = response.body()) {
+                for (int read; (read = body.read(buffer)) >= 0; ) {
+                    if (firstByte == 0 && read > 0) {
+                        firstByte = System.nanoTime();
+                    }
+                    bytes += read;
+                }
+            }
+            long end = System.nanoTime();
+            bestFirstByte = Math.min(bestFirstByte, (firstByte - start) / 1e6);
+            bestTotal = Math.min(bestTotal, (end - start) / 1e6);
+        }
+
+        // One more, untimed, pausing part-way to see what serving it keeps alive
+        long heapBefore = liveHeap();
+        double liveHeap = 0;
+        try (InputStream body = client.send(request, HttpResponse.BodyHandlers.ofInputStream()).body()) {
+            body.readNBytes(Math.toIntExact(Math.min(LIVE_HEAP_PROBE_BYTES, bytes / 2)));
+            // Clamped: with nothing held the difference is collection noise around zero
+            liveHeap = Math.max(0, (liveHeap() - heapBefore) / 1e6);
+            body.transferTo(OutputStream.nullOutputStream());
+        }
+
+        byte[] body = client.send(request, HttpResponse.BodyHandlers.ofByteArray()).body();
+        double bestDecode = Double.MAX_VALUE;
+        long rows = 0;
+        for (int run = 0; run < runs; run++) {
+            long start = System.nanoTime();
+            rows = decoder.decode(body);
+            bestDecode = Math.min(bestDecode, (System.nanoTime() - start) / 1e6);
+        }
+        System.out.printf(Locale.ROOT, "%-8s %10.0f %10.0f %10.1f %14.0f %12.0f %10d%n", format, bestFirstByte,
+                bestTotal, bytes / 1e6, liveHeap, bestDecode, rows);
+    }
+
+    private static long decodeJson(byte[] body) throws Exception {
+        JsonNode employees = new ObjectMapper().readTree(body);
+        double salaries = 0;
+        for (JsonNode employee : employees) {
+            salaries += employee.path("salary").asDouble();
+        }
+        return salaries > 0 ? employees.size() : 0;
+    }
+
+    private static long decodeArrow(byte[] body) throws Exception {
+        long rows = 0;
+        double salaries = 0;
+        try (BufferAllocator allocator = new RootAllocator();
+             ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(body), allocator)) {
+            Float8Vector salary = (Float8Vector) reader.getVectorSchemaRoot().getVector("salary");
+            while (reader.loadNextBatch()) {
+                for (int i = 0; i < salary.getValueCount(); i++) {
+                    salaries += salary.get(i);
+                }
+                rows += salary.getValueCount();
+            }
+        }
+        return salaries > 0 ? rows : 0;
+    }
+
+    // Heap in use after a full collection
+    private static long liveHeap() {
+        System.gc();
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                used += pool.getUsage().getUsed();
+            }
+        }
+        return used;
+    }
+
+    // Plain batched INSERTs; a fifth of the employees have left
+    private static void seed(JdbcTemplate jdbcTemplate, int employees) {
+        List<Object[]> rows = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < employees; i++) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long id = FIRST_ID + i;
+            String lastName = LAST_NAMES[i % LAST_NAMES.length];
+            LocalDate hireDate = LocalDate.of(2000, 1, 1).plusDays(random.nextInt(8000));
+            LocalDate terminationDate = random.nextInt(5) == 0 ? hireDate.plusDays(1 + random.nextInt(3000)) : null;
+            rows.add(new Object[]{id, "First" + i, lastName,
+                    "first" + i + "." + lastName.toLowerCase(Locale.ROOT) + "@example.com", "555-0100",
+                    POSITIONS[i % POSITIONS.length], 40_000.0 + random.nextInt(120) * 1_000,
+                    Date.valueOf(hireDate), terminationDate != null ? Date.valueOf(terminationDate) : null, id});
+            if (rows.size() == INSERT_BATCH || i == employees - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO employees (id, first_name, last_name, email, phone_number, "
+                        + "position, salary, hire_date, termination_date, change_seq) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.spring_claude_demo.benchmark;
+
+import com.example.spring_claude_demo.SpringClaudeDemoApplication;
+import com.example.spring_claude_demo.coherence.InvalidationMessage;
+import com.example.spring_claude_demo.coherence.UdpInvalidationBus;
+import com.example.spring_claude_demo.model.Employee;
+import com.example.spring_claude_demo.service.EmployeeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.InetSocketAddress;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Several application instances in one JVM, sharing one H2 database as replicas behind a load
+// balancer would, each with its own caches and an invalidation bus to the others.
+//   1. Staleness: one instance updates an employee that every instance has cached; the others
+//      poll until they read the new salary. Instances without a bus never catch up (capped).
+//   2. Write burst: updates on one instance as fast as it can, showing how many invalidations
+//      and messages the coalescing turns them into.
+//   3. Bus throughput: UdpInvalidationBus alone, full batches over localhost to one peer.
+//
+//   mvn -Pbenchmark test-compile exec:exec \
+//       -Dbenchmark.main=com.example.spring_claude_demo.benchmark.CoherenceBenchmark \
+//       -Dbenchmark.args="3 500 udp"
+//
+// Arguments: instances (default 3), staleness samples (default 500), transport: udp, loopback
+// or none (default udp)
+public class CoherenceBenchmark {
+
+    private static final int FIRST_UDP_PORT = 19_400;
+    private static final long STALE_CAP_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int EMPLOYEES = 200;
+    private static final int BURST_WRITES = 20_000;
+
+    public static void main(String[] args) throws Exception {
+        int instances = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        int samples = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        String transport = args.length > 2 ? args[2] : "udp";
+
+        // Devtools would otherwise relaunch main() in a restart class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+        try {
+            for (int i = 0; i < instances; i++) {
+                contexts.add(start(i, instances, transport));
+            }
+            List<EmployeeService> services = contexts.stream().map(c -> c.getBean(EmployeeService.class)).toList();
+
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < EMPLOYEES; i++) {
+                ids.add(services.get(0).saveEmployee(new Employee("Replica" + i, "Coherence",
+                        "replica" + i + "@example.com", "555-0149", "Software Engineer", 50_000.0,
+                        LocalDate.of(2020, 1, 1))).getId());
+            }
+            staleness(services, ids, samples, transport);
+            burst(contexts.get(0), services.get(0), ids);
+        } finally {
+            contexts.forEach(ConfigurableApplicationContext::close);
+        }
+        busThroughput();
+    }
+
+    private static ConfigurableApplicationContext start(int instance, int instances, String transport) {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--app.grpc.port=0",
+                // Shared by every instance in this JVM
+                "--spring.datasource.url=jdbc:h2:mem:benchmark_coherence;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--app.archive.enabled=false",
+                "--app.coherence.transport=" + transport,
+                "--app.coherence.loopback-group=benchmark",
+                "--app.coherence.udp-port=" + (FIRST_UDP_PORT + instance),
+                "--logging.level.root=WARN"));
+        StringBuilder peers = new StringBuilder();
+        for (int other = 0; other < instances; other++) {
+            if (other != instance) {
+                peers.append(peers.isEmpty() ? "" : ",").append("127.0.0.1:").append(FIRST_UDP_PORT + other);
+            }
+        }
+        arguments.add("--app.coherence.peers=" + peers);
+        return new SpringApplicationBuilder(SpringClaudeDemoApplication.class).run(arguments.toArray(String[]::new));
+    }
+
+    private static void staleness(List<EmployeeService> services, List<Long> ids, int samples, String transport) {
+        long[] windows = new long[samples * (services.size() - 1)];
+        int measured = 0;
+        int capped = 0;
+        for (int sample = 0; sample < samples; sample++) {
+            int writer = sample % services.size();
+            Long id = ids.get(sample % ids.size());
+            // Every instance has the current row cached
+            services.forEach(service -> service.getEmployeeById(id));
+            // Without a bus only the creating instance is sure to know the id at all
+            Employee changes = services.get(0).getEmployeeById(id).orElseThrow().copy();
+            double salary = 60_000.0 + sample;
+            changes.setSalary(salary);
+
+            services.get(writer).updateEmployee(id, changes);
+            long committed = System.nanoTime();
+            for (int reader = 0; reader < services.size(); reader++) {
+                if (reader == writer) {
+                    continue;
+                }
+                long waited;
+                while (true) {
+                    waited = System.nanoTime() - committed;
+                    Double seen = services.get(reader).getEmployeeById(id).map(Employee::getSalary).orElse(null);
+                    if (seen != null && seen == salary) {
+                        break;
+                    }
+                    if (waited > STALE_CAP_NANOS) {
+                        capped++;
+                        break;
+                    }
+                    LockSupport.parkNanos(20_000);
+                }
+                windows[measured++] = waited;
+            }
+        }
+        Arrays.sort(windows, 0, measured);
+        System.out.printf(Locale.ROOT, "%nStaleness after a write on another instance (%s, %d instances)%n",
+                transport, services.size());
+        System.out.printf(Locale.ROOT, "%-8s %10s %10s %10s %10s %14s%n", "reads", "p50 ms", "p90 ms", "p99 ms",
+                "max ms", "stale > 1 s");
+        System.out.printf(Locale.ROOT, "%-8d %10.2f %10.2f %10.2f %10.2f %14d%n", measured,
+                windows[measured / 2] / 1e6, windows[(int) (measured * 0.9)] / 1e6,
+                windows[(int) (measured * 0.99)] / 1e6, windows[measured - 1] / 1e6, capped);
+    }
+
+    private static void burst(ConfigurableApplicationContext context, EmployeeService service, List<Long> ids) {
+        MeterRegistry meters = context.getBean(MeterRegistry.class);
+        double sentBefore = meters.get("employee.coherence.invalidations").tag("direction", "sent").counter().count();
+        double messagesBefore = meters.get("employee.coherence.messages").counter().count();
+        List<Employee> rows = ids.stream().map(id -> service.getEmployeeById(id).orElseThrow().copy()).toList();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < BURST_WRITES; i++) {
+            Employee changes = rows.get(i % rows.size());
+            changes.setSalary(70_000.0 + i);
+            service.updateEmployee(changes.getId(), changes);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(200));
+
+        System.out.printf(Locale.ROOT, "%nWrite burst on one instance over %d employees%n", ids.size());
+        System.out.printf(Locale.ROOT, "%-10s %10s %14s %10s%n", "writes", "writes/s", "invalidations", "messages");
+        System.out.printf(Locale.ROOT, "%-10d %10.0f %14.0f %10.0f%n", BURST_WRITES, BURST_WRITES / seconds,
+                meters.get("employee.coherence.invalidations").tag("direction", "sent").counter().count() - sentBefore,
+                meters.get("employee.coherence.messages").counter().count() - messagesBefore);
+    }
+
+    private static void busThroughput() throws Exception {
+        int messages = 20_000;
+        int batch = 512;
+        InetSocketAddress anyPort = new InetSocketAddress("127.0.0.1", 0);
+        AtomicLong received = new AtomicLong();
+        AtomicLong lastReceivedAt = new AtomicLong();
+        try (UdpInvalidationBus receiver = new UdpInvalidationBus(anyPort, List.of(), 16 << 20);
+             UdpInvalidationBus sender = new UdpInvalidationBus(anyPort, List.of(receiver.localAddress()), 1 << 20)) {
+            receiver.subscribe(message -> {
+                received.incrementAndGet();
+                lastReceivedAt.set(System.nanoTime());
+            });
+            List<InvalidationMessage.Entry> entries = new ArrayList<>();
+            for (long id = 0; id < batch; id++) {
+                entries.add(new InvalidationMessage.Entry(id, id, 0));
+            }
+            long start = System.nanoTime();
+            for (int sequence = 1; sequence <= messages; sequence++) {
+                sender.publish(new InvalidationMessage("benchmark", sequence, 0, 0, entries));
+            }
+            // Done once everything arrived or nothing has for a second (the rest was dropped)
+            while (received.get() < messages && System.nanoTime() - lastReceivedAt.get() < TimeUnit.SECONDS.toNanos(1)) {
+                LockSupport.parkNanos(100_000);
+            }
+            double seconds = (lastReceivedAt.get() - start) / 1e9;
+            System.out.printf(Locale.ROOT, "%nUDP bus, %d-entry messages to one peer%n", batch);
+            System.out.printf(Locale.ROOT, "%-10s %10s %12s %16s %8s%n", "messages", "received", "messages/s",
+                    "invalidations/s", "lost");
+            System.out.printf(Locale.ROOT, "%-10d %10d %12.0f %16.0f %7.2f%%%n", messages, received.get(),
+                    received.get() / seconds, received.get() * batch / seconds,
+                    100.0 * (messages - received.get()) / messages);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.spring_claude_demo.benchmark;
+
+import com.example.spring_claude_demo.json.EmployeeJsonSerializer;
+import com.example.spring_claude_demo.model.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Employee serialization cost per strategy, writing straight to an OutputStream the way the
+// message converter writes to the servlet response. Run with the gc profiler for allocation rates:
+//
+//   mvn -Pbenchmark test-compile exec:exec \
+//       -Dbenchmark.main=com.example.spring_claude_demo.benchmark.EmployeeSerializationBenchmark \
+//       -Dbenchmark.args="-prof gc"
+//
+// Arguments are JMH options; without a benchmark pattern only this class runs.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeSerializationBenchmark {
+
+    @Param({"reflective", "blackbird", "hand-written"})
+    public String serializer;
+
+    private ObjectWriter employeeWriter;
+    private ObjectWriter listWriter;
+    private Employee employee;
+    private List<Employee> employees;
+    private final OutputStream sink = new DiscardingOutputStream();
+
+    @Setup
+    public void setUp() {
+        JsonMapper.Builder builder = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        switch (serializer) {
+            case "blackbird" -> builder.addModule(new BlackbirdModule());
+            case "hand-written" -> builder.addModule(
+                    new SimpleModule().addSerializer(Employee.class, new EmployeeJsonSerializer()));
+            default -> {
+            }
+        }
+        ObjectMapper mapper = builder.build();
+        employeeWriter = mapper.writerFor(Employee.class);
+        listWriter = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, Employee.class));
+
+        employee = employee(1);
+        employees = new ArrayList<>(10_000);
+        for (int i = 1; i <= 10_000; i++) {
+            employees.add(employee(i));
+        }
+    }
+
+    @Benchmark
+    public void singleEmployee() throws IOException {
+        employeeWriter.writeValue(sink, employee);
+    }
+
+    @Benchmark
+    public void tenThousandEmployees() throws IOException {
+        listWriter.writeValue(sink, employees);
+    }
+
+    private static Employee employee(int index) {
+        Employee employee = new Employee("First" + index, "Last" + index, "employee" + index + "@example.com",
+                "555-" + (1000 + index % 9000), "Software Engineer", 50_000.0 + index,
+                LocalDate.of(2000, 1, 1).plusDays(index));
+        employee.setId((long) index);
+        return employee;
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions options = new CommandLineOptions(args);
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(options);
+        if (options.getIncludes().isEmpty()) {
+            builder.include(EmployeeSerializationBenchmark.class.getSimpleName());
+        }
+        new Runner(builder.build()).run();
+    }
+
+    private static final class DiscardingOutputStream extends OutputStream {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.spring_claude_demo.benchmark;
+
+import com.example.spring_claude_demo.grpc.GrpcServer;
+import com.example.spring_claude_demo.grpc.proto.EmployeeServiceGrpc;
+import com.example.spring_claude_demo.grpc.proto.GetEmployeeRequest;
+import com.example.spring_claude_demo.grpc.proto.ListEmployeesRequest;
+import io.grpc.Grpc;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.ManagedChannel;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// The same lookups over REST (JSON on HTTP/1.1 keep-alive) and gRPC (protobuf on one shared
+// HTTP/2 channel, blocking stubs on virtual threads): a point read by id and a list by position.
+//
+//   mvn -Pbenchmark test-compile exec:exec \
+//       -Dbenchmark.main=com.example.spring_claude_demo.benchmark.GrpcVsRestBenchmark \
+//       -Dbenchmark.args="64 30"
+//
+// Arguments: connections (default 64), measured seconds (default 30), warm-up seconds (default 5)
+public class GrpcVsRestBenchmark {
+
+    private static final String[] POSITIONS = {"Software Engineer", "Product Manager"};
+
+    public static void main(String[] args) throws Exception {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        Duration measured = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 30);
+        Duration warmup = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 5);
+
+        List<HttpLoadDriver.Result> results = new ArrayList<>();
+        results.add(HttpLoadDriver.run("rest get", connections, warmup, measured,
+                ids -> "/api/employees/" + randomId(ids)));
+        results.add(HttpLoadDriver.run("grpc get", connections, warmup, measured, grpc((stub, ids) -> () -> {
+            stub.getEmployee(GetEmployeeRequest.newBuilder().setId(randomId(ids)).build());
+            return true;
+        })));
+        results.add(HttpLoadDriver.run("rest list", connections, warmup, measured,
+                ids -> "/api/employees/position/" + randomPosition().replace(" ", "%20")));
+        results.add(HttpLoadDriver.run("grpc list", connections, warmup, measured, grpc((stub, ids) -> () -> {
+            stub.listEmployees(ListEmployeesRequest.newBuilder().setPosition(randomPosition()).build())
+                    .forEachRemaining(employee -> {
+                    });
+            return true;
+        })));
+        HttpLoadDriver.print(results);
+    }
+
+    private interface Call {
+        HttpLoadDriver.Connection open(EmployeeServiceGrpc.EmployeeServiceBlockingStub stub, long[] ids);
+    }
+
+    // Every client shares one channel, as a real gRPC client would; HTTP/2 multiplexes the calls
+    private static HttpLoadDriver.ClientSetup grpc(Call call) {
+        return (context, ids) -> {
+            int port = context.getBean(GrpcServer.class).getPort();
+            ManagedChannel channel = Grpc.newChannelBuilderForAddress("localhost", port,
+                    InsecureChannelCredentials.create()).build();
+            EmployeeServiceGrpc.EmployeeServiceBlockingStub stub = EmployeeServiceGrpc.newBlockingStub(channel);
+            return new HttpLoadDriver.Clients() {
+                @Override
+                public HttpLoadDriver.Connection open() {
+                    return call.open(stub, ids);
+                }
+
+                @Override
+                public void close() {
+                    channel.shutdownNow();
+                    try {
+                        channel.awaitTermination(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            };
+        };
+    }
+
+    private static long randomId(long[] ids) {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    private static String randomPosition() {
+        return POSITIONS[ThreadLocalRandom.current().nextInt(POSITIONS.length)];
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.spring_claude_demo.benchmark;
+
+import com.example.spring_claude_demo.SpringClaudeDemoApplication;
+import com.example.spring_claude_demo.model.Employee;
+import com.example.spring_claude_demo.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Shared load driver for the server-side benchmarks.
+// Boots the application on a random port with the given arguments, opens N client connections
+// (keep-alive HTTP/1.1 by default, or any other protocol through Clients) that each issue
+// requests back to back on a virtual thread, and reports throughput, latency, peak live
+// platform threads and resident memory.
+final class HttpLoadDriver {
+
+    private HttpLoadDriver() {
+    }
+
+    record Result(String mode, int connections, long errors, double throughput, double p50Millis,
+                  double p99Millis, int peakThreads, long rssMegabytes, long heapMegabytes) {
+    }
+
+    // Picks the request path for the next request, given the ids of the sample employees
+    interface PathChooser {
+        String next(long[] ids);
+    }
+
+    // One client connection; request() returns whether the call succeeded
+    interface Connection extends AutoCloseable {
+        boolean request() throws IOException;
+
+        @Override
+        default void close() throws IOException {
+        }
+    }
+
+    // Opens connections against the started application; closed once the run is over
+    interface Clients extends AutoCloseable {
+        Connection open() throws IOException;
+
+        @Override
+        default void close() {
+        }
+    }
+
+    interface ClientSetup {
+        Clients prepare(ConfigurableApplicationContext context, long[] ids);
+    }
+
+    static Result run(String mode, int connections, Duration warmup, Duration measured, PathChooser paths,
+                      String... applicationArgs) throws InterruptedException {
+        return run(mode, connections, warmup, measured, (context, ids) -> {
+            int port = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+            return () -> new HttpConnection(port, () -> paths.next(ids));
+        }, applicationArgs);
+    }
+
+    static Result run(String mode, int connections, Duration warmup, Duration measured, ClientSetup setup,
+                      String... applicationArgs) throws InterruptedException {
+        // Devtools would otherwise relaunch main() in a restart class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--app.grpc.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark_" + mode.replaceAll("\\W", "_"),
+                "--spring.jpa.show-sql=false",
+                "--server.tomcat.max-connections=" + (connections + 1000),
+                "--server.tomcat.accept-count=" + connections,
+                "--logging.level.root=WARN"));
+        args.addAll(List.of(applicationArgs));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringClaudeDemoApplication.class)
+                .run(args.toArray(String[]::new));
+        long[] ids = context.getBean(EmployeeRepository.class).findAll().stream()
+                .mapToLong(Employee::getId).toArray();
+        try (Clients clients = setup.prepare(context, ids)) {
+
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            threads.resetPeakThreadCount();
+
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            Timer latency = Timer.builder("request").publishPercentiles(0.5, 0.99).register(registry);
+            LongAdder errors = new LongAdder();
+            AtomicBoolean recording = new AtomicBoolean();
+            AtomicBoolean running = new AtomicBoolean(true);
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < connections; i++) {
+                    executor.execute(() -> drive(clients, running, recording, latency, errors));
+                }
+                Thread.sleep(warmup.toMillis());
+                recording.set(true);
+                Thread.sleep(measured.toMillis());
+                recording.set(false);
+
+                long rss = residentSetMegabytes();
+                long heap = (Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory()) >> 20;
+                int peakThreads = threads.getPeakThreadCount();
+                running.set(false);
+
+                double p50 = 0;
+                double p99 = 0;
+                for (ValueAtPercentile percentile : latency.takeSnapshot().percentileValues()) {
+                    if (percentile.percentile() == 0.5) {
+                        p50 = percentile.value(TimeUnit.MILLISECONDS);
+                    } else {
+                        p99 = percentile.value(TimeUnit.MILLISECONDS);
+                    }
+                }
+                return new Result(mode, connections, errors.sum(),
+                        latency.count() / (double) measured.toSeconds(), p50, p99, peakThreads, rss, heap);
+            }
+        } finally {
+            context.close();
+            System.gc();
+            Thread.sleep(1000);
+        }
+    }
+
+    static void print(List<Result> results) {
+        System.out.printf(Locale.ROOT, "%n%-16s %11s %8s %9s %9s %9s %13s %10s %10s%n",
+                "mode", "connections", "errors", "req/s", "p50 ms", "p99 ms", "peak threads", "rss MB", "heap MB");
+        for (Result result : results) {
+            System.out.printf(Locale.ROOT, "%-16s %11d %8d %9.0f %9.2f %9.2f %13d %10d %10d%n",
+                    result.mode(), result.connections(), result.errors(), result.throughput(), result.p50Millis(),
+                    result.p99Millis(), result.peakThreads(), result.rssMegabytes(), result.heapMegabytes());
+        }
+    }
+
+    // One connection issuing requests back to back; reconnects after an error
+    private static void drive(Clients clients, AtomicBoolean running, AtomicBoolean recording, Timer latency,
+                              LongAdder errors) {
+        while (running.get()) {
+            try (Connection connection = clients.open()) {
+                while (running.get()) {
+                    long start = System.nanoTime();
+                    boolean ok = connection.request();
+                    if (recording.get()) {
+                        if (ok) {
+                            latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        } else {
+                            errors.increment();
+                        }
+                    }
+                }
+            } catch (IOException | RuntimeException ex) {
+                if (recording.get()) {
+                    errors.increment();
+                }
+            }
+        }
+    }
+
+    // Keep-alive HTTP/1.1 GETs over a raw socket, so client overhead stays negligible
+    private static final class HttpConnection implements Connection {
+
+        private final Socket socket;
+        private final OutputStream out;
+        private final InputStream in;
+        private final Supplier<String> nextPath;
+
+        HttpConnection(int port, Supplier<String> nextPath) throws IOException {
+            this.socket = new Socket("localhost", port);
+            this.nextPath = nextPath;
+            socket.setSoTimeout(60_000);
+            socket.setTcpNoDelay(true);
+            this.out = socket.getOutputStream();
+            this.in = new BufferedInputStream(socket.getInputStream());
+        }
+
+        @Override
+        public boolean request() throws IOException {
+            out.write(("GET " + nextPath.get() + " HTTP/1.1\r\nHost: localhost\r\nAccept: application/json\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            return readResponse(in) == 200;
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    // Minimal HTTP/1.1 response reader: status line, headers, then a Content-Length or chunked body
+    private static int readResponse(InputStream in) throws IOException {
+        String statusLine = readLine(in);
+        int status = Integer.parseInt(statusLine.substring(9, 12));
+        long contentLength = -1;
+        boolean chunked = false;
+        String header;
+        while (!(header = readLine(in)).isEmpty()) {
+            String lower = header.toLowerCase(Locale.ROOT);
+            if (lower.startsWith("content-length:")) {
+                contentLength = Long.parseLong(lower.substring(15).trim());
+            } else if (lower.startsWith("transfer-encoding:") && lower.contains("chunked")) {
+                chunked = true;
+            }
+        }
+        if (chunked) {
+            long chunkSize;
+            while ((chunkSize = Long.parseLong(readLine(in).trim(), 16)) > 0) {
+                skip(in, chunkSize + 2);
+            }
+            readLine(in);
+        } else if (contentLength > 0) {
+            skip(in, contentLength);
+        }
+        return status;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b < 0) {
+                throw new IOException("Connection closed");
+            }
+            if (b != '\r') {
+                line.append((char) b);
+            }
+        }
+        return line.toString();
+    }
+
+    private static void skip(InputStream in, long bytes) throws IOException {
+        long remaining = bytes;
+        while (remaining > 0) {
+            long skipped = in.skip(remaining);
+            if (skipped <= 0) {
+                if (in.read() < 0) {
+                    throw new IOException("Connection closed");
+                }
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+    }
+
+    private static long residentSetMegabytes() {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/self/status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) >> 10;
+                }
+            }
+        } catch (IOException | NumberFormatException ex) {
+            // Not on Linux
+        }
+        return -1;
+    }
+}
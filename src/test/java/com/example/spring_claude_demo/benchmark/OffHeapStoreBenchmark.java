@@ -0,0 +1,234 @@
+package com.example.spring_claude_demo.benchmark;
+
+import com.example.spring_claude_demo.cache.OffHeapEmployeeStore;
+import com.example.spring_claude_demo.model.Employee;
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+// Millions of cached employees in an on-heap ConcurrentHashMap versus OffHeapEmployeeStore:
+// retained heap after a full GC, GC pauses while random lookups run next to a steady stream of
+// request-like garbage, and lookup latency. Each mode should run in its own JVM for clean GC
+// numbers, hence the mode argument.
+//
+//   mvn -Pbenchmark test-compile exec:exec \
+//       -Dbenchmark.main=com.example.spring_claude_demo.benchmark.OffHeapStoreBenchmark \
+//       -Dbenchmark.args="offheap 2000000 30"
+//
+// Arguments: heap | offheap (default offheap), entries (default 2,000,000), measured seconds
+// (default 30), lookup threads (default 8)
+public class OffHeapStoreBenchmark {
+
+    private static final String[] POSITIONS = {"Software Engineer", "Product Manager", "QA Engineer",
+            "UX Designer", "DevOps Engineer", "Data Analyst"};
+    private static final String[] LAST_NAMES = {"Doe", "Smith", "Johnson", "Davis", "Brown", "García", "Müller"};
+
+    private static final int SLAB_BYTES = 64 * 1024 * 1024;
+    private static final int LATENCY_SAMPLES_PER_THREAD = 200_000;
+    private static final int SAMPLE_EVERY = 16;
+
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "offheap";
+        int entries = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+        long measuredSeconds = args.length > 2 ? Long.parseLong(args[2]) : 30;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : 8;
+
+        long heapBefore = usedHeapAfterGc();
+        LongFunction<Employee> lookup;
+        OffHeapEmployeeStore store = null;
+        if (mode.equals("heap")) {
+            Map<Long, Employee> map = new ConcurrentHashMap<>(entries * 2);
+            for (long id = 1; id <= entries; id++) {
+                map.put(id, employee(id));
+            }
+            lookup = map::get;
+        } else {
+            // Generous upper bound on the encoded size, so nothing is evicted
+            int slabs = (int) ((long) entries * 160 / SLAB_BYTES) + 2;
+            OffHeapEmployeeStore offHeap = new OffHeapEmployeeStore(SLAB_BYTES, slabs, 0.5, entries, null);
+            for (long id = 1; id <= entries; id++) {
+                offHeap.put(employee(id));
+            }
+            lookup = offHeap::get;
+            store = offHeap;
+        }
+        long retainedHeap = usedHeapAfterGc() - heapBefore;
+
+        GcPauses pauses = GcPauses.listen();
+        Churn churn = new Churn();
+        churn.start();
+        long[][] samples = new long[threads][];
+        long[] lookups = new long[threads];
+        List<Thread> workers = new ArrayList<>();
+        long deadline = System.nanoTime() + measuredSeconds * 1_000_000_000L;
+        for (int t = 0; t < threads; t++) {
+            int worker = t;
+            Thread thread = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long[] latencies = new long[LATENCY_SAMPLES_PER_THREAD];
+                int sampled = 0;
+                long count = 0;
+                long checksum = 0;
+                while (System.nanoTime() < deadline) {
+                    long id = 1 + random.nextLong(entries);
+                    if (count++ % SAMPLE_EVERY == 0 && sampled < latencies.length) {
+                        long start = System.nanoTime();
+                        checksum += lookup.apply(id).getEmail().length();
+                        latencies[sampled++] = System.nanoTime() - start;
+                    } else {
+                        checksum += lookup.apply(id).getEmail().length();
+                    }
+                }
+                samples[worker] = Arrays.copyOf(latencies, sampled);
+                lookups[worker] = count + (checksum == 42 ? 1 : 0);
+            }, "lookup-" + t);
+            workers.add(thread);
+            thread.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        churn.stop();
+        pauses.stop();
+
+        long[] latencies = Arrays.stream(samples).flatMapToLong(Arrays::stream).sorted().toArray();
+        long totalLookups = Arrays.stream(lookups).sum();
+        OffHeapEmployeeStore.Stats stats = store != null ? store.stats() : null;
+
+        System.out.printf(Locale.ROOT, "%n%-8s %10s %10s %10s %12s %9s %9s %9s %6s %10s %10s%n",
+                "mode", "entries", "heap MB", "direct MB", "lookups/s", "p50 us", "p99 us", "p99.9 us",
+                "gcs", "pause ms", "max ms");
+        System.out.printf(Locale.ROOT, "%-8s %10d %10.1f %10.1f %12.0f %9.2f %9.2f %9.2f %6d %10.1f %10.1f%n",
+                mode, entries, retainedHeap / 1048576.0, directBytes() / 1048576.0,
+                totalLookups / (double) measuredSeconds,
+                percentile(latencies, 0.50) / 1000.0, percentile(latencies, 0.99) / 1000.0,
+                percentile(latencies, 0.999) / 1000.0,
+                pauses.count.get(), pauses.totalMillis.get() / 1.0, pauses.maxMillis.get() / 1.0);
+        if (stats != null) {
+            System.out.printf(Locale.ROOT, "off-heap: %d entries, %.1f MB live in %.1f MB of slabs, index %.1f MB%n",
+                    stats.entries(), stats.liveBytes() / 1048576.0, stats.allocatedBytes() / 1048576.0,
+                    stats.indexBytes() / 1048576.0);
+        }
+    }
+
+    // Same shape as the generated rows in WireFormatBenchmark, but derived from the id so no list is kept
+    private static Employee employee(long id) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String lastName = LAST_NAMES[(int) (id % LAST_NAMES.length)];
+        Employee employee = new Employee("First" + id, lastName,
+                "first" + id + "." + lastName.toLowerCase(Locale.ROOT) + "@example.com",
+                String.format(Locale.ROOT, "%03d-%03d-%04d", random.nextInt(1000), random.nextInt(1000), random.nextInt(10000)),
+                POSITIONS[(int) (id % POSITIONS.length)], 40_000.0 + random.nextInt(120) * 1_000,
+                LocalDate.of(2004, 1, 1).plusDays(random.nextInt(7300)));
+        employee.setId(id);
+        employee.setChangeSeq(id);
+        return employee;
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(200);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long directBytes() {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> pool.getName().equals("direct"))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        return sorted.length == 0 ? 0 : sorted[Math.min(sorted.length - 1, (int) (sorted.length * quantile))];
+    }
+
+    // Stop-the-world pauses only; concurrent cycles are reported by their own collector bean
+    private static final class GcPauses {
+
+        final AtomicLong count = new AtomicLong();
+        final AtomicLong totalMillis = new AtomicLong();
+        final AtomicLong maxMillis = new AtomicLong();
+        private final List<Runnable> unsubscribe = new ArrayList<>();
+
+        static GcPauses listen() {
+            GcPauses pauses = new GcPauses();
+            for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+                if (bean.getName().contains("Concurrent") || !(bean instanceof NotificationEmitter emitter)) {
+                    continue;
+                }
+                NotificationListener listener = (notification, handback) -> {
+                    if (!notification.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) {
+                        return;
+                    }
+                    GarbageCollectionNotificationInfo info =
+                            GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                    long duration = info.getGcInfo().getDuration();
+                    pauses.count.incrementAndGet();
+                    pauses.totalMillis.addAndGet(duration);
+                    pauses.maxMillis.accumulateAndGet(duration, Math::max);
+                };
+                emitter.addNotificationListener(listener, null, null);
+                pauses.unsubscribe.add(() -> {
+                    try {
+                        emitter.removeNotificationListener(listener);
+                    } catch (ListenerNotFoundException ignored) {
+                        // Already gone
+                    }
+                });
+            }
+            return pauses;
+        }
+
+        void stop() {
+            unsubscribe.forEach(Runnable::run);
+        }
+    }
+
+    // Request-like garbage: short-lived buffers plus a rolling window of mid-lived ones that
+    // survive a few young collections, so the old generation keeps filling and gets collected
+    private static final class Churn {
+
+        private final Object[] window = new Object[20_000];
+        private volatile boolean running = true;
+        private final Thread thread = new Thread(this::run, "churn");
+
+        void start() {
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        void stop() throws InterruptedException {
+            running = false;
+            thread.join();
+        }
+
+        private void run() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long sink = 0;
+            while (running) {
+                byte[] shortLived = new byte[256 + random.nextInt(1024)];
+                sink += shortLived.length;
+                window[random.nextInt(window.length)] = new byte[512 + random.nextInt(2048)];
+            }
+            window[0] = sink;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.spring_claude_demo.benchmark;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Side-by-side comparison of the blocking servlet stack (platform and virtual threads) with the
+// WebFlux + R2DBC stack under many concurrent connections. Each connection mixes point lookups
+// with the position and full list endpoints (8:1:1).
+//
+//   mvn -Pbenchmark test-compile exec:exec \
+//       -Dbenchmark.main=com.example.spring_claude_demo.benchmark.ReactiveStackBenchmark \
+//       -Dbenchmark.args="10000 30"
+//
+// Arguments: connections (default 10000), measured seconds (default 30), warm-up seconds (default 5)
+public class ReactiveStackBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        Duration measured = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 30);
+        Duration warmup = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 5);
+
+        HttpLoadDriver.PathChooser mixed = ids -> {
+            int roll = ThreadLocalRandom.current().nextInt(10);
+            if (roll == 0) {
+                return "/api/employees";
+            }
+            if (roll == 1) {
+                return "/api/employees/position/Software%20Engineer";
+            }
+            return "/api/employees/" + ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        };
+
+        // Same connection pool size for JDBC and R2DBC so only the execution model differs
+        List<HttpLoadDriver.Result> results = new ArrayList<>();
+        results.add(HttpLoadDriver.run("servlet", connections, warmup, measured, mixed,
+                "--spring.datasource.hikari.maximum-pool-size=50"));
+        results.add(HttpLoadDriver.run("servlet-virtual", connections, warmup, measured, mixed,
+                "--spring.threads.virtual.enabled=true", "--spring.datasource.hikari.maximum-pool-size=50"));
+        results.add(HttpLoadDriver.run("reactive", connections, warmup, measured, mixed,
+                "--spring.profiles.active=reactive",
+                "--spring.r2dbc.url=r2dbc:h2:mem:///benchmark_reactive",
+                "--spring.r2dbc.pool.max-size=50"));
+        HttpLoadDriver.print(results);
+    }
+}
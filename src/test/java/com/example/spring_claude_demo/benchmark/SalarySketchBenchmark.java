@@ -0,0 +1,46 @@
+package com.example.spring_claude_demo.benchmark;
+
+import com.example.spring_claude_demo.stats.SalarySketch;
+
+import java.util.Locale;
+import java.util.Random;
+
+// SalarySketch update throughput as SalaryPercentiles drives it: three adds for every removal,
+// which is the mix a stream of creates and salary changes produces, then one p99 query.
+//
+//   mvn -Pbenchmark test-compile exec:exec \
+//       -Dbenchmark.main=com.example.spring_claude_demo.benchmark.SalarySketchBenchmark \
+//       -Dbenchmark.args="2000000 5"
+//
+// Arguments: updates per round (default 2,000,000), rounds (default 5, the first is warm-up)
+public class SalarySketchBenchmark {
+
+    public static void main(String[] args) {
+        int updates = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        Random random = new Random(50);
+        double[] salaries = new double[updates];
+        for (int i = 0; i < salaries.length; i++) {
+            salaries[i] = 30_000 + random.nextDouble() * 170_000;
+        }
+
+        System.out.printf(Locale.ROOT, "%n%-8s %12s %10s %14s %12s%n", "round", "updates", "seconds", "updates/s",
+                "p99");
+        for (int round = 0; round < rounds; round++) {
+            SalarySketch sketch = new SalarySketch(100);
+            long start = System.nanoTime();
+            for (int i = 0; i < salaries.length; i++) {
+                if (i % 4 == 3) {
+                    sketch.remove(salaries[i - 1]);
+                } else {
+                    sketch.add(salaries[i]);
+                }
+            }
+            double p99 = sketch.quantile(0.99);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf(Locale.ROOT, "%-8s %12d %10.3f %14.0f %12.0f%n", round == 0 ? "warm-up" : round,
+                    salaries.length, seconds, salaries.length / seconds, p99);
+        }
+    }
+}
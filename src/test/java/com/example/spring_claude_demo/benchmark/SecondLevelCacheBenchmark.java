@@ -0,0 +1,42 @@
+package com.example.spring_claude_demo.benchmark;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Position and last-name lookups with the Hibernate second-level and query cache on and off.
+// Hit ratios for the cached run are under /actuator/metrics/employee.cache.hit.ratio. The HTTP response
+// cache is off in both runs, otherwise it answers these GETs before they reach Hibernate.
+//
+//   mvn -Pbenchmark test-compile exec:exec \
+//       -Dbenchmark.main=com.example.spring_claude_demo.benchmark.SecondLevelCacheBenchmark \
+//       -Dbenchmark.args="64 30"
+//
+// Arguments: connections (default 64), measured seconds (default 30), warm-up seconds (default 5)
+public class SecondLevelCacheBenchmark {
+
+    private static final String[] PATHS = {
+            "/api/employees/position/Software%20Engineer",
+            "/api/employees/position/Product%20Manager",
+            "/api/employees/lastName/Doe",
+            "/api/employees/lastName/Smith"
+    };
+
+    public static void main(String[] args) throws Exception {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        Duration measured = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 30);
+        Duration warmup = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 5);
+
+        String noResponseCache = "--app.response-cache.enabled=false";
+        HttpLoadDriver.PathChooser lookups = ids -> PATHS[ThreadLocalRandom.current().nextInt(PATHS.length)];
+
+        List<HttpLoadDriver.Result> results = new ArrayList<>();
+        results.add(HttpLoadDriver.run("uncached", connections, warmup, measured, lookups, noResponseCache,
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=false"));
+        results.add(HttpLoadDriver.run("l2+query cache", connections, warmup, measured, lookups,
+                noResponseCache));
+        HttpLoadDriver.print(results);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.spring_claude_demo.benchmark;
+
+import com.example.spring_claude_demo.suggest.NameTrie;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+// NameTrie as used by /api/employees/suggest: retained heap per million names, lookup latency
+// for the 1-4 character prefixes a people picker sends while typing, and incremental update
+// throughput. Names follow a Zipf distribution over generated surnames, as real ones roughly do.
+//
+//   mvn -Pbenchmark test-compile exec:exec \
+//       -Dbenchmark.main=com.example.spring_claude_demo.benchmark.SuggestBenchmark \
+//       -Dbenchmark.args="1000000 100000"
+//
+// Arguments: names (default 1,000,000), distinct names (default 100,000), top-k (default 10)
+public class SuggestBenchmark {
+
+    private static final String[] SYLLABLES = {"an", "ber", "car", "de", "el", "son", "ma", "ri", "to", "ez",
+            "gar", "li", "mo", "ne", "ro", "sch", "ul", "va", "wi", "ya", "ko", "ste", "tt", "in"};
+    private static final int LOOKUPS = 1_000_000;
+
+    public static void main(String[] args) {
+        int total = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int distinct = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        int topK = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long heapBefore = usedHeapAfterGc(memory);
+        String[] vocabulary = vocabulary(distinct);
+        Random random = new Random(49);
+        ZipfSampler zipf = new ZipfSampler(distinct, 1.0);
+        String[] names = new String[total];
+        for (int i = 0; i < total; i++) {
+            names[i] = vocabulary[zipf.sample(random)];
+        }
+
+        long start = System.nanoTime();
+        NameTrie trie = new NameTrie(topK);
+        for (String name : names) {
+            trie.add(name);
+        }
+        double buildSeconds = (System.nanoTime() - start) / 1e9;
+        // The name strings count (the trie is what keeps them alive in the application); the
+        // benchmark's own arrays of references and sampling weights do not
+        long retained = usedHeapAfterGc(memory) - heapBefore - 4L * total - 4L * distinct - 8L * distinct;
+
+        System.out.printf(Locale.ROOT, "%n%-10s %10s %10s %14s %14s %16s%n", "names", "distinct", "build s",
+                "estimate MB", "retained MB", "MB per 1M names");
+        System.out.printf(Locale.ROOT, "%-10d %10d %10.2f %14.1f %14.1f %16.1f%n", total, trie.size(), buildSeconds,
+                trie.estimatedBytes() / 1e6, retained / 1e6, retained / 1e6 / (total / 1e6));
+
+        System.out.printf(Locale.ROOT, "%n%-8s %10s %10s %10s %12s%n", "prefix", "p50 ns", "p99 ns", "max ns",
+                "avg results");
+        for (int length = 1; length <= 4; length++) {
+            lookups(trie, names, length, topK, random);
+        }
+
+        // An update retracts one name and adds another, as a rename does
+        start = System.nanoTime();
+        int updates = 1_000_000;
+        for (int i = 0; i < updates; i++) {
+            trie.remove(names[i % total]);
+            names[i % total] = vocabulary[zipf.sample(random)];
+            trie.add(names[i % total]);
+        }
+        double updateSeconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf(Locale.ROOT, "%nupdates: %d in %.2f s, %.0f/s%n", updates, updateSeconds,
+                updates / updateSeconds);
+    }
+
+    private static void lookups(NameTrie trie, String[] names, int length, int topK, Random random) {
+        long[] nanos = new long[LOOKUPS];
+        long results = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            String name = names[random.nextInt(names.length)];
+            String prefix = name.substring(0, Math.min(length, name.length()));
+            long start = System.nanoTime();
+            results += trie.suggest(prefix, topK).size();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        System.out.printf(Locale.ROOT, "%-8d %10d %10d %10d %12.1f%n", length, nanos[LOOKUPS / 2],
+                nanos[(int) (LOOKUPS * 0.99)], nanos[LOOKUPS - 1], results / (double) LOOKUPS);
+    }
+
+    // Distinct pronounceable names of two to four syllables
+    private static String[] vocabulary(int distinct) {
+        Random random = new Random(7);
+        Set<String> names = new LinkedHashSet<>();
+        while (names.size() < distinct) {
+            StringBuilder name = new StringBuilder();
+            int syllables = 2 + random.nextInt(3);
+            for (int s = 0; s < syllables; s++) {
+                name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+            names.add(name.toString());
+        }
+        return names.toArray(String[]::new);
+    }
+
+    private static long usedHeapAfterGc(MemoryMXBean memory) {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    // Inverse-CDF sampling over ranks 0..n-1 with P(rank) proportional to 1 / (rank + 1)^exponent
+    private static final class ZipfSampler {
+
+        private final double[] cumulative;
+
+        ZipfSampler(int n, double exponent) {
+            cumulative = new double[n];
+            double sum = 0;
+            for (int i = 0; i < n; i++) {
+                sum += 1 / Math.pow(i + 1, exponent);
+                cumulative[i] = sum;
+            }
+            for (int i = 0; i < n; i++) {
+                cumulative[i] /= sum;
+            }
+        }
+
+        int sample(Random random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(cumulative.length - 1, index >= 0 ? index : -index - 1);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.spring_claude_demo.benchmark;
+
+import com.example.spring_claude_demo.SpringClaudeDemoApplication;
+import com.example.spring_claude_demo.model.Employee;
+import com.example.spring_claude_demo.upsert.EmployeeUpsertService;
+import com.example.spring_claude_demo.upsert.UpsertResult;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Nightly roster sync through EmployeeUpsertService: the first pass inserts every employee,
+// the second re-sends the identical roster, the third changes the salary of a share of them.
+//
+//   mvn -Pbenchmark test-compile exec:exec \
+//       -Dbenchmark.main=com.example.spring_claude_demo.benchmark.UpsertBenchmark \
+//       -Dbenchmark.args="1000000 0.05"
+//
+// Arguments: employees (default 1,000,000), share changed in the third pass (default 0.05),
+// chunk size (default 1000)
+public class UpsertBenchmark {
+
+    private static final String[] POSITIONS = {"Software Engineer", "Product Manager", "QA Engineer",
+            "UX Designer", "DevOps Engineer", "Data Analyst"};
+    private static final String[] LAST_NAMES = {"Doe", "Smith", "Johnson", "Davis", "Brown", "Garcia", "Miller"};
+
+    public static void main(String[] args) {
+        int employees = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        double changedShare = args.length > 1 ? Double.parseDouble(args[1]) : 0.05;
+        int chunkSize = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+
+        // Devtools would otherwise relaunch main() in a restart class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringClaudeDemoApplication.class).run(
+                "--server.port=0",
+                "--app.grpc.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark_upsert",
+                "--spring.jpa.show-sql=false",
+                "--app.upsert.chunk-size=" + chunkSize,
+                "--logging.level.root=WARN");
+        try {
+            EmployeeUpsertService upsertService = context.getBean(EmployeeUpsertService.class);
+            int changeEvery = Math.max(1, (int) Math.round(1 / changedShare));
+
+            System.out.printf(Locale.ROOT, "%n%-10s %10s %10s %10s %10s %12s%n",
+                    "pass", "inserted", "updated", "unchanged", "seconds", "rows/s");
+            run("initial", upsertService, roster(employees, changeEvery, false));
+            run("identical", upsertService, roster(employees, changeEvery, false));
+            run("changed", upsertService, roster(employees, changeEvery, true));
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void run(String pass, EmployeeUpsertService upsertService, List<Employee> roster) {
+        long start = System.nanoTime();
+        UpsertResult result = upsertService.upsert(roster);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf(Locale.ROOT, "%-10s %10d %10d %10d %10.1f %12.0f%n", pass, result.inserted(),
+                result.updated(), result.unchanged(), seconds, roster.size() / seconds);
+    }
+
+    // Deterministic per index, so every pass describes the same people
+    private static List<Employee> roster(int employees, int changeEvery, boolean changed) {
+        List<Employee> roster = new ArrayList<>(employees);
+        for (int i = 0; i < employees; i++) {
+            String lastName = LAST_NAMES[i % LAST_NAMES.length];
+            double salary = 40_000.0 + (i % 120) * 1_000 + (changed && i % changeEvery == 0 ? 2_500 : 0);
+            roster.add(new Employee("First" + i, lastName,
+                    "roster" + i + "." + lastName.toLowerCase(Locale.ROOT) + "@example.com", "555-0100",
+                    POSITIONS[i % POSITIONS.length], salary, LocalDate.of(2000, 1, 1).plusDays(i % 8000)));
+        }
+        return roster;
+    }
+}
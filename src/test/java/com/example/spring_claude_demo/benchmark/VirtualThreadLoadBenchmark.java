@@ -0,0 +1,27 @@
+package com.example.spring_claude_demo.benchmark;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Compares Tomcat's platform-thread pool with virtual-thread request execution on
+// GET /api/employees/{id}. The client always runs on virtual threads so only the server differs.
+//
+//   mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="10000 30"
+//
+// Arguments: connections (default 10000), measured seconds (default 30), warm-up seconds (default 5)
+public class VirtualThreadLoadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        Duration measured = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 30);
+        Duration warmup = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 5);
+
+        HttpLoadDriver.PathChooser byId = ids -> "/api/employees/" + ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        HttpLoadDriver.print(List.of(
+                HttpLoadDriver.run("platform", connections, warmup, measured, byId,
+                        "--spring.threads.virtual.enabled=false", "--spring.datasource.hikari.maximum-pool-size=50"),
+                HttpLoadDriver.run("virtual", connections, warmup, measured, byId,
+                        "--spring.threads.virtual.enabled=true", "--spring.datasource.hikari.maximum-pool-size=50")));
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.spring_claude_demo.benchmark;
+
+import com.example.spring_claude_demo.json.EmployeeJsonSerializer;
+import com.example.spring_claude_demo.model.Employee;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Encode/decode time of employee lists in JSON, CBOR and Smile, with the same mapper settings as
+// the message converters. Before the JMH run, prints the encoded size of each list, raw and gzipped.
+//
+//   mvn -Pbenchmark test-compile exec:exec \
+//       -Dbenchmark.main=com.example.spring_claude_demo.benchmark.WireFormatBenchmark
+//
+// Arguments are JMH options (e.g. "-p size=10000 -prof gc").
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final String[] POSITIONS = {"Software Engineer", "Product Manager", "QA Engineer",
+            "UX Designer", "DevOps Engineer", "Data Analyst"};
+    private static final String[] LAST_NAMES = {"Doe", "Smith", "Johnson", "Davis", "Brown", "García", "Müller"};
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private List<Employee> employees;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper mapper = mapper(format);
+        writer = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, Employee.class));
+        reader = mapper.readerFor(mapper.getTypeFactory().constructCollectionType(List.class, Employee.class));
+        employees = employees(size);
+        encoded = writer.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return writer.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public List<Employee> decode() throws IOException {
+        return reader.readValue(encoded);
+    }
+
+    static ObjectMapper mapper(String format) {
+        JsonFactory factory = switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        return new ObjectMapper(factory)
+                .registerModule(new JavaTimeModule())
+                .registerModule(new SimpleModule().addSerializer(Employee.class, new EmployeeJsonSerializer()))
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    // Realistic rows: distinct names and emails, a handful of positions, dates over two decades
+    static List<Employee> employees(int count) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            Employee employee = new Employee("First" + i, lastName,
+                    "first" + i + "." + lastName.toLowerCase(Locale.ROOT) + "@example.com",
+                    String.format(Locale.ROOT, "%03d-%03d-%04d", random.nextInt(1000), random.nextInt(1000), random.nextInt(10000)),
+                    POSITIONS[random.nextInt(POSITIONS.length)], 40_000.0 + random.nextInt(120) * 1_000,
+                    LocalDate.of(2004, 1, 1).plusDays(random.nextInt(7300)));
+            employee.setId((long) i);
+            employees.add(employee);
+        }
+        return employees;
+    }
+
+    private static void printSizes() throws IOException {
+        System.out.printf(Locale.ROOT, "%n%-8s %8s %12s %12s %9s%n", "format", "rows", "bytes", "gzip bytes", "vs json");
+        for (int count : new int[]{100, 10_000}) {
+            List<Employee> employees = employees(count);
+            long json = 0;
+            for (String format : new String[]{"json", "cbor", "smile"}) {
+                byte[] bytes = mapper(format).writeValueAsBytes(employees);
+                if (format.equals("json")) {
+                    json = bytes.length;
+                }
+                System.out.printf(Locale.ROOT, "%-8s %8d %12d %12d %8.0f%%%n",
+                        format, count, bytes.length, gzip(bytes), 100.0 * bytes.length / json);
+            }
+        }
+        System.out.println();
+    }
+
+    private static int gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(bytes);
+        }
+        return buffer.size();
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions options = new CommandLineOptions(args);
+        printSizes();
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(options);
+        if (options.getIncludes().isEmpty()) {
+            builder.include(WireFormatBenchmark.class.getSimpleName());
+        }
+        new Runner(builder.build()).run();
+    }
+}
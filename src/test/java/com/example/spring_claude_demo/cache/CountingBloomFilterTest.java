@@ -0,0 +1,96 @@
+package com.example.spring_claude_demo.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CountingBloomFilterTest {
+
+    @Test
+    void mightContain_ShouldNeverMissAnAddedKey() {
+        // Arrange
+        CountingBloomFilter filter = new CountingBloomFilter(10_000, 0.01);
+
+        // Act
+        for (long id = 1; id <= 10_000; id++) {
+            filter.add(id);
+        }
+
+        // Assert
+        for (long id = 1; id <= 10_000; id++) {
+            assertTrue(filter.mightContain(id), "id " + id);
+        }
+    }
+
+    @Test
+    void mightContain_ShouldStayNearTheConfiguredFalsePositiveRate() {
+        // Arrange
+        CountingBloomFilter filter = new CountingBloomFilter(10_000, 0.01);
+        for (long id = 1; id <= 10_000; id++) {
+            filter.add(id);
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (long id = 1_000_000; id < 1_100_000; id++) {
+            if (filter.mightContain(id)) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void remove_ShouldForgetTheKeyButKeepTheOthers() {
+        // Arrange
+        CountingBloomFilter filter = new CountingBloomFilter(1_000, 0.0001);
+        for (long id = 1; id <= 1_000; id++) {
+            filter.add(id);
+        }
+
+        // Act
+        for (long id = 1; id <= 1_000; id += 2) {
+            filter.remove(id);
+        }
+
+        // Assert
+        int stillPresent = 0;
+        for (long id = 1; id <= 1_000; id++) {
+            if (id % 2 == 0) {
+                assertTrue(filter.mightContain(id), "id " + id);
+            } else if (filter.mightContain(id)) {
+                stillPresent++;
+            }
+        }
+        assertTrue(stillPresent < 5, "removed ids still reported: " + stillPresent);
+    }
+
+    @Test
+    void remove_OfAKeyAddedTwice_ShouldKeepItUntilTheSecondRemove() {
+        // Arrange
+        CountingBloomFilter filter = new CountingBloomFilter(100, 0.01);
+        filter.add(42L);
+        filter.add(42L);
+
+        // Act & Assert
+        filter.remove(42L);
+        assertTrue(filter.mightContain(42L));
+        filter.remove(42L);
+        assertFalse(filter.mightContain(42L));
+    }
+
+    @Test
+    void remove_OfAnAbsentKey_ShouldNotUnderflow() {
+        // Arrange
+        CountingBloomFilter filter = new CountingBloomFilter(100, 0.01);
+
+        // Act
+        filter.remove(7L);
+        filter.add(7L);
+
+        // Assert
+        assertTrue(filter.mightContain(7L));
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.spring_claude_demo.cache;
+
+import com.example.spring_claude_demo.model.Employee;
+import com.example.spring_claude_demo.service.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The application default: the filter is off, as it would be with several instances writing
+@SpringBootTest(properties = "app.id-filter.enabled=false")
+public class EmployeeIdFilterTest {
+
+    // Well clear of the ids the application generates
+    private static final long OTHER_WRITER_ID = 1L << 41;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeIdFilter idFilter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void getEmployeeById_WhenFilterIsOff_ShouldFindRowsWrittenByAnotherInstance() {
+        // Arrange: a row this instance never saw being written
+        jdbcTemplate.update("INSERT INTO employees (id, first_name, last_name, email, phone_number, position, salary, "
+                        + "hire_date, change_seq) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                OTHER_WRITER_ID, "Other", "Writer", "other.writer@example.com", "555-0143", "Replica Tester",
+                57000.0, Date.valueOf(LocalDate.of(2022, 2, 2)), 0L);
+
+        try {
+            // Act
+            Optional<Employee> found = employeeService.getEmployeeById(OTHER_WRITER_ID);
+            boolean exists = employeeService.employeeExists(OTHER_WRITER_ID);
+
+            // Assert
+            assertTrue(found.isPresent());
+            assertTrue(exists);
+            assertTrue(idFilter.mightContain(OTHER_WRITER_ID + 1));
+        } finally {
+            jdbcTemplate.update("DELETE FROM employees WHERE id = ?", OTHER_WRITER_ID);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.spring_claude_demo.cache;
+
+import com.example.spring_claude_demo.model.Employee;
+import com.example.spring_claude_demo.service.EmployeeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"app.offheap-cache.enabled=true", "app.offheap-cache.slab-size=1MB",
+        "app.offheap-cache.max-slabs=2"})
+public class EmployeeRecordCacheTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void getEmployeeById_ShouldBeServedOffHeapUntilTheEmployeeChanges() {
+        // Arrange
+        Employee employee = employeeService.saveEmployee(new Employee("Off", "Heap", "off.heap@example.com",
+                "555-0044", "Cache Tester", 61000.0, LocalDate.of(2024, 6, 3)));
+        employeeService.getEmployeeById(employee.getId());
+        double hitsBefore = hits();
+
+        // Act
+        Employee cached = employeeService.getEmployeeById(employee.getId()).orElseThrow();
+        Employee changes = new Employee("Off", "Heap", "off.heap@example.com",
+                "555-0044", "Cache Lead", 68000.0, LocalDate.of(2024, 6, 3));
+        employeeService.updateEmployee(employee.getId(), changes);
+        Employee afterUpdate = employeeService.getEmployeeById(employee.getId()).orElseThrow();
+        employeeService.deleteEmployee(employee.getId());
+
+        // Assert
+        assertEquals(hitsBefore + 1, hits());
+        assertEquals("Cache Tester", cached.getPosition());
+        assertEquals("Cache Lead", afterUpdate.getPosition());
+        assertEquals(68000.0, afterUpdate.getSalary());
+        assertTrue(employeeService.getEmployeeById(employee.getId()).isEmpty());
+    }
+
+    private double hits() {
+        return meterRegistry.get("employee.offheap.lookups").tag("result", "hit").counter().count();
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.spring_claude_demo.cache;
+
+import com.example.spring_claude_demo.model.Employee;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapEmployeeStoreTest {
+
+    private static final int SLAB_BYTES = 4096;
+
+    @Test
+    void get_ShouldReturnAnEqualCopyOfThePutEmployee() {
+        // Arrange
+        OffHeapEmployeeStore store = new OffHeapEmployeeStore(SLAB_BYTES, 4, 0.5, 16, null);
+        Employee employee = employee(42L, "Zoë");
+        employee.setChangeSeq(7L);
+        employee.setTerminationDate(LocalDate.of(2024, 12, 31));
+
+        // Act
+        store.put(employee);
+        Employee copy = store.get(42L);
+
+        // Assert
+        assertNotSame(employee, copy);
+        assertEquals(42L, copy.getId());
+        assertEquals("Zoë", copy.getFirstName());
+        assertEquals("Müller", copy.getLastName());
+        assertEquals("zoë.42@example.com", copy.getEmail());
+        assertEquals("555-0142", copy.getPhoneNumber());
+        assertEquals("Engineer", copy.getPosition());
+        assertEquals(72000.5, copy.getSalary());
+        assertEquals(LocalDate.of(2021, 4, 1), copy.getHireDate());
+        assertEquals(LocalDate.of(2024, 12, 31), copy.getTerminationDate());
+        assertEquals(7L, copy.getChangeSeq());
+        assertNull(store.get(43L));
+    }
+
+    @Test
+    void get_ShouldKeepNullFieldsNull() {
+        // Arrange
+        OffHeapEmployeeStore store = new OffHeapEmployeeStore(SLAB_BYTES, 4, 0.5, 16, null);
+        Employee employee = new Employee();
+        employee.setId(1L);
+
+        // Act
+        store.put(employee);
+        Employee copy = store.get(1L);
+
+        // Assert
+        assertNull(copy.getFirstName());
+        assertNull(copy.getPhoneNumber());
+        assertNull(copy.getSalary());
+        assertNull(copy.getHireDate());
+        assertNull(copy.getTerminationDate());
+        assertNull(copy.getChangeSeq());
+    }
+
+    @Test
+    void put_OfAnExistingId_ShouldReplaceItAndRemoveShouldForgetIt() {
+        // Arrange
+        OffHeapEmployeeStore store = new OffHeapEmployeeStore(SLAB_BYTES, 4, 0.5, 16, null);
+        store.put(employee(1L, "Before"));
+
+        // Act
+        store.put(employee(1L, "After"));
+
+        // Assert
+        assertEquals("After", store.get(1L).getFirstName());
+        assertEquals(1, store.stats().entries());
+        assertTrue(store.remove(1L));
+        assertNull(store.get(1L));
+        assertFalse(store.remove(1L));
+    }
+
+    @Test
+    void put_WhenFullOfDeadRecords_ShouldCompactInsteadOfEvicting() {
+        // Arrange: two slabs and a small working set rewritten over and over. Now and then a
+        // long-lived record lands in between, so no slab ever becomes entirely dead.
+        OffHeapEmployeeStore store = new OffHeapEmployeeStore(SLAB_BYTES, 2, 0.5, 16, null);
+
+        // Act
+        for (int round = 0; round < 200; round++) {
+            for (long id = 1; id <= 10; id++) {
+                assertTrue(store.put(employee(id, "Round" + round)));
+            }
+            if (round % 20 == 0) {
+                store.put(employee(1_000L + round, "Pinned"));
+            }
+        }
+
+        // Assert
+        OffHeapEmployeeStore.Stats stats = store.stats();
+        assertEquals(20, stats.entries());
+        assertTrue(stats.compactions() > 0);
+        assertEquals(0, stats.evictions());
+        assertEquals(2L * SLAB_BYTES, stats.allocatedBytes());
+        for (long id = 1; id <= 10; id++) {
+            assertEquals("Round199", store.get(id).getFirstName());
+        }
+        assertEquals("Pinned", store.get(1_000L).getFirstName());
+    }
+
+    @Test
+    void put_WhenFullOfLiveRecords_ShouldEvictTheOldestSlab() {
+        // Arrange
+        OffHeapEmployeeStore store = new OffHeapEmployeeStore(SLAB_BYTES, 2, 0.5, 16, null);
+
+        // Act
+        long id = 0;
+        while (store.stats().evictions() == 0) {
+            store.put(employee(++id, "First" + id));
+        }
+
+        // Assert: the first slab's records are gone, the newest are still there
+        assertNull(store.get(1L));
+        assertEquals("First" + id, store.get(id).getFirstName());
+        assertEquals(id - store.stats().evictions(), store.stats().entries());
+    }
+
+    @Test
+    void put_WithMappedSlabs_ShouldRoundTrip(@TempDir Path directory) {
+        // Arrange
+        try (OffHeapEmployeeStore store = new OffHeapEmployeeStore(SLAB_BYTES, 2, 0.5, 16, directory)) {
+
+            // Act
+            for (long id = 1; id <= 50; id++) {
+                store.put(employee(id, "Mapped" + id));
+            }
+
+            // Assert
+            assertEquals("Mapped50", store.get(50L).getFirstName());
+            assertTrue(store.stats().allocatedBytes() >= SLAB_BYTES);
+        }
+    }
+
+    @Test
+    void put_ShouldRejectRecordsItCannotHold() {
+        // Arrange
+        OffHeapEmployeeStore store = new OffHeapEmployeeStore(SLAB_BYTES, 2, 0.5, 16, null);
+
+        // Act & Assert
+        assertFalse(store.put(employee(null, "NoId")));
+        assertFalse(store.put(employee(1L, "x".repeat(SLAB_BYTES))));
+        assertEquals(0, store.stats().entries());
+    }
+
+    private static Employee employee(Long id, String firstName) {
+        Employee employee = new Employee(firstName, "Müller", firstName.toLowerCase() + "." + id + "@example.com",
+                "555-0142", "Engineer", 72000.5, LocalDate.of(2021, 4, 1));
+        employee.setId(id);
+        return employee;
+    }
+}
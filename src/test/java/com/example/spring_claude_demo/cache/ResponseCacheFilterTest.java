@@ -0,0 +1,112 @@
+package com.example.spring_claude_demo.cache;
+
+import com.example.spring_claude_demo.model.Employee;
+import com.example.spring_claude_demo.service.EmployeeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ResponseCacheFilterTest {
+
+    private static final String PATH = "/api/employees/position/Response Cache Tester";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private ResponseByteCache responseCache;
+
+    private final List<Employee> employees = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 20; i++) {
+            employees.add(employeeService.saveEmployee(new Employee("Cached" + i, "Response", "cached" + i + "@example.com",
+                    "555-0100", "Response Cache Tester", 60000.0 + i, LocalDate.of(2023, 1, 1 + i))));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        employees.forEach(employee -> employeeService.deleteEmployee(employee.getId()));
+    }
+
+    @Test
+    void get_WhenRepeatedWithEtag_ShouldAnswerNotModified() throws Exception {
+        // Arrange
+        String etag = mockMvc.perform(get(PATH).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        int cachedEntries = responseCache.size();
+
+        // Act & Assert
+        assertNotNull(etag);
+        assertTrue(cachedEntries > 0);
+        mockMvc.perform(get(PATH).accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    void get_AfterUpdateThroughService_ShouldNotServeCachedBody() throws Exception {
+        // Arrange
+        String etag = mockMvc.perform(get(PATH).accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Employee first = employees.get(0);
+        first.setFirstName("Renamed");
+
+        // Act
+        employeeService.updateEmployee(first.getId(), first);
+
+        // Assert
+        mockMvc.perform(get(PATH).accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"firstName\":\"Renamed\"")))
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    void get_WithGzipAccepted_ShouldServePreCompressedBody() throws Exception {
+        // Arrange
+        String plain = mockMvc.perform(get(PATH).accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+
+        // Act
+        MvcResult result = mockMvc.perform(get(PATH).accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+
+        // Assert
+        byte[] gzipped = result.getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            assertEquals(plain, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+}
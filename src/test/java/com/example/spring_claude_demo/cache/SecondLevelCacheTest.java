@@ -0,0 +1,88 @@
+package com.example.spring_claude_demo.cache;
+
+import com.example.spring_claude_demo.model.Employee;
+import com.example.spring_claude_demo.service.EmployeeService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        employee = employeeService.saveEmployee(new Employee("Cache", "Probe", "cache.probe@example.com",
+                "555-0002", "Cache Tester", 64000.0, LocalDate.of(2024, 2, 1)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeService.deleteEmployee(employee.getId());
+    }
+
+    @Test
+    void getEmployeesByPosition_WhenRepeated_ShouldBeServedFromQueryCache() {
+        // Arrange
+        employeeService.getEmployeesByPosition("Cache Tester");
+        long hitsBefore = queryRegion().getHitCount();
+
+        // Act
+        List<Employee> employees = employeeService.getEmployeesByPosition("Cache Tester");
+
+        // Assert
+        assertEquals(1, employees.size());
+        assertEquals(hitsBefore + 1, queryRegion().getHitCount());
+    }
+
+    @Test
+    void getEmployeesByPosition_AfterUpdate_ShouldNotReturnStaleResults() {
+        // Arrange
+        employeeService.getEmployeesByPosition("Cache Tester");
+        Employee changes = new Employee("Cache", "Probe", "cache.probe@example.com",
+                "555-0002", "Cache Architect", 64000.0, LocalDate.of(2024, 2, 1));
+
+        // Act
+        employeeService.updateEmployee(employee.getId(), changes);
+
+        // Assert
+        assertTrue(employeeService.getEmployeesByPosition("Cache Tester").isEmpty());
+        assertEquals("Cache Architect", employeeService.getEmployeesByPosition("Cache Architect").get(0).getPosition());
+    }
+
+    @Test
+    void getEmployeeById_WhenRepeated_ShouldHitEntityCache() {
+        // Arrange
+        long hitsBefore = statistics.getDomainDataRegionStatistics(CacheRegions.EMPLOYEES).getHitCount();
+
+        // Act
+        employeeService.getEmployeeById(employee.getId());
+
+        // Assert
+        assertTrue(statistics.getDomainDataRegionStatistics(CacheRegions.EMPLOYEES).getHitCount() > hitsBefore);
+    }
+
+    private CacheRegionStatistics queryRegion() {
+        return statistics.getQueryRegionStatistics(CacheRegions.EMPLOYEE_QUERIES);
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.spring_claude_demo.coherence;
+
+import com.example.spring_claude_demo.model.Employee;
+import com.example.spring_claude_demo.service.EmployeeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Flushed and heartbeats sent by hand so each test controls what goes out
+@SpringBootTest(properties = {"app.coherence.transport=loopback", "app.coherence.loopback-group=coherence-test",
+        "app.coherence.flush-interval=1h", "app.coherence.heartbeat-interval=0s"})
+@RecordApplicationEvents
+public class EmployeeCacheCoherenceTest {
+
+    @Autowired
+    private EmployeeCacheCoherence coherence;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    // Stands in for another instance of the service
+    private LoopbackInvalidationBus peer;
+    private final List<InvalidationMessage> received = new CopyOnWriteArrayList<>();
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        peer = new LoopbackInvalidationBus("coherence-test");
+        peer.subscribe(received::add);
+        employee = employeeService.saveEmployee(new Employee("Coherent", "Cache", "coherent.cache@example.com",
+                "555-0148", "Cache Tester", 61000.0, LocalDate.of(2024, 3, 1)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeService.deleteEmployee(employee.getId());
+        peer.close();
+    }
+
+    @Test
+    void onEmployeeChange_ShouldSendCoalescedWritesWithTheirVersion() {
+        // Arrange
+        coherence.flush();
+        received.clear();
+        Employee changes = employee.copy();
+
+        // Act
+        changes.setSalary(62000.0);
+        employeeService.updateEmployee(employee.getId(), changes);
+        changes.setSalary(63000.0);
+        Employee latest = employeeService.updateEmployee(employee.getId(), changes);
+        coherence.flush();
+
+        // Assert
+        assertEquals(1, received.size());
+        InvalidationMessage message = received.get(0);
+        assertEquals(coherence.getOrigin(), message.origin());
+        assertEquals(List.of(new InvalidationMessage.Entry(employee.getId(), latest.getChangeSeq(), 0)),
+                message.entries());
+        assertTrue(message.oldestWriteMicros() <= message.sentMicros());
+    }
+
+    @Test
+    void apply_ShouldEvictWhatAnotherInstanceChanged() {
+        // Arrange: the other instance's write never goes through this instance's Hibernate
+        employeeService.getEmployeeById(employee.getId());
+        jdbcTemplate.update("UPDATE employees SET salary = 99000 WHERE id = ?", employee.getId());
+        assertEquals(61000.0, employeeService.getEmployeeById(employee.getId()).orElseThrow().getSalary());
+
+        // Act
+        peer.publish(new InvalidationMessage("other-instance", 1, 0, 0,
+                List.of(new InvalidationMessage.Entry(employee.getId(), 1_000_000, 0))));
+
+        // Assert
+        assertEquals(99000.0, employeeService.getEmployeeById(employee.getId()).orElseThrow().getSalary());
+        assertEquals(List.of(new RemoteEmployeeChangeEvent("other-instance", 1, true)),
+                events.stream(RemoteEmployeeChangeEvent.class).toList());
+    }
+
+    @Test
+    void apply_WhenMessagesWereLost_ShouldDropEverything() {
+        // Arrange
+        double gapsBefore = meterRegistry.get("employee.coherence.gaps").counter().count();
+        peer.publish(new InvalidationMessage("lossy-instance", 1, 0, 0,
+                List.of(new InvalidationMessage.Entry(-1, 1, 0))));
+        employeeService.getEmployeeById(employee.getId());
+        jdbcTemplate.update("UPDATE employees SET salary = 98000 WHERE id = ?", employee.getId());
+
+        // Act: messages 2 and 3 never arrived, and 4 names someone else
+        peer.publish(new InvalidationMessage("lossy-instance", 4, 0, 0,
+                List.of(new InvalidationMessage.Entry(-1, 1, 0))));
+
+        // Assert
+        assertEquals(gapsBefore + 1, meterRegistry.get("employee.coherence.gaps").counter().count());
+        assertEquals(98000.0, employeeService.getEmployeeById(employee.getId()).orElseThrow().getSalary());
+    }
+
+    @Test
+    void apply_WhenTheFirstMessageFromAnInstanceWasLost_ShouldDropEverything() {
+        // Arrange
+        double gapsBefore = meterRegistry.get("employee.coherence.gaps").counter().count();
+        employeeService.getEmployeeById(employee.getId());
+        jdbcTemplate.update("UPDATE employees SET salary = 96000 WHERE id = ?", employee.getId());
+
+        // Act: message 1 never arrived, and 2 names someone else
+        peer.publish(new InvalidationMessage("new-instance", 2, 0, 0,
+                List.of(new InvalidationMessage.Entry(-1, 1, 0))));
+
+        // Assert
+        assertEquals(gapsBefore + 1, meterRegistry.get("employee.coherence.gaps").counter().count());
+        assertEquals(96000.0, employeeService.getEmployeeById(employee.getId()).orElseThrow().getSalary());
+        assertEquals(List.of(new RemoteEmployeeChangeEvent("new-instance", 1, false)),
+                events.stream(RemoteEmployeeChangeEvent.class).toList());
+    }
+
+    @Test
+    void apply_WhenTheFirstThingHeardFromAnInstanceIsAHeartbeat_ShouldDropEverything() {
+        // Arrange
+        double gapsBefore = meterRegistry.get("employee.coherence.gaps").counter().count();
+
+        // Act: its only message, 1, never arrived
+        peer.publish(InvalidationMessage.heartbeat("silent-instance", 1, 0));
+
+        // Assert
+        assertEquals(gapsBefore + 1, meterRegistry.get("employee.coherence.gaps").counter().count());
+    }
+
+    @Test
+    void constructor_WhenABatchCannotFitADatagram_ShouldFailAtStartup() {
+        // Arrange
+        CoherenceProperties properties = new CoherenceProperties();
+        properties.setTransport(CoherenceProperties.Transport.UDP);
+        properties.setMaxBatchSize(4000);
+
+        // Act & Assert
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> new EmployeeCacheCoherence(
+                properties, null, null, null, null, new SimpleMeterRegistry()));
+        assertTrue(ex.getMessage().contains("max-batch-size=4000"));
+    }
+
+    @Test
+    void heartbeat_ShouldRepeatTheLastSequenceSent() {
+        // Arrange
+        Employee changes = employee.copy();
+        changes.setSalary(64000.0);
+        employeeService.updateEmployee(employee.getId(), changes);
+        coherence.flush();
+        long lastSequence = received.get(received.size() - 1).sequence();
+        received.clear();
+
+        // Act
+        coherence.heartbeat();
+
+        // Assert
+        assertEquals(1, received.size());
+        assertTrue(received.get(0).isHeartbeat());
+        assertEquals(lastSequence, received.get(0).sequence());
+    }
+
+    @Test
+    void apply_WhenAHeartbeatIsAheadOfTheLastMessage_ShouldDropEverything() {
+        // Arrange
+        double gapsBefore = meterRegistry.get("employee.coherence.gaps").counter().count();
+        peer.publish(new InvalidationMessage("quiet-instance", 1, 0, 0,
+                List.of(new InvalidationMessage.Entry(-1, 1, 0))));
+        employeeService.getEmployeeById(employee.getId());
+        jdbcTemplate.update("UPDATE employees SET salary = 97000 WHERE id = ?", employee.getId());
+        peer.publish(InvalidationMessage.heartbeat("quiet-instance", 1, 0));
+        double cachedAfterInSync = employeeService.getEmployeeById(employee.getId()).orElseThrow().getSalary();
+
+        // Act: message 2 was the last of its burst and never arrived
+        peer.publish(InvalidationMessage.heartbeat("quiet-instance", 2, 0));
+
+        // Assert
+        assertEquals(61000.0, cachedAfterInSync);
+        assertEquals(gapsBefore + 1, meterRegistry.get("employee.coherence.gaps").counter().count());
+        assertEquals(97000.0, employeeService.getEmployeeById(employee.getId()).orElseThrow().getSalary());
+    }
+}
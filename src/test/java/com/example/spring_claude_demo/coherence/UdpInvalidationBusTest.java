@@ -0,0 +1,63 @@
+package com.example.spring_claude_demo.coherence;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UdpInvalidationBusTest {
+
+    @Test
+    void decode_ShouldRoundTripAndRejectTruncatedMessages() {
+        // Arrange
+        InvalidationMessage message = new InvalidationMessage("instance-1", 7, 1_000, 1_250, List.of(
+                new InvalidationMessage.Entry(42, 9, InvalidationMessage.CREATED),
+                new InvalidationMessage.Entry(43, 11, InvalidationMessage.CREATED | InvalidationMessage.DELETED)));
+        ByteBuffer buffer = ByteBuffer.allocate(InvalidationCodec.encodedSize(message));
+
+        // Act
+        InvalidationCodec.encode(message, buffer);
+        buffer.flip();
+        InvalidationMessage decoded = InvalidationCodec.decode(buffer.duplicate());
+
+        // Assert
+        assertEquals(buffer.capacity(), buffer.limit());
+        assertEquals(message, decoded);
+        assertNull(InvalidationCodec.decode(buffer.duplicate().limit(buffer.limit() - 1)));
+        assertNull(InvalidationCodec.decode(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5})));
+    }
+
+    @Test
+    void publish_ShouldReachEveryPeerOverLocalhost() throws Exception {
+        // Arrange
+        InetSocketAddress anyPort = new InetSocketAddress("127.0.0.1", 0);
+        BlockingQueue<InvalidationMessage> first = new LinkedBlockingQueue<>();
+        BlockingQueue<InvalidationMessage> second = new LinkedBlockingQueue<>();
+        try (UdpInvalidationBus firstPeer = new UdpInvalidationBus(anyPort, List.of(), 1 << 20);
+             UdpInvalidationBus secondPeer = new UdpInvalidationBus(anyPort, List.of(), 1 << 20);
+             UdpInvalidationBus sender = new UdpInvalidationBus(anyPort,
+                     List.of(firstPeer.localAddress(), secondPeer.localAddress()), 1 << 20)) {
+            firstPeer.subscribe(first::add);
+            secondPeer.subscribe(second::add);
+            List<InvalidationMessage.Entry> entries = new ArrayList<>();
+            for (long id = 1; id <= 512; id++) {
+                entries.add(new InvalidationMessage.Entry(id, id * 10, 0));
+            }
+            InvalidationMessage message = new InvalidationMessage("sender", 1, 5, 6, entries);
+
+            // Act
+            sender.publish(message);
+
+            // Assert
+            assertEquals(message, first.poll(5, TimeUnit.SECONDS));
+            assertEquals(message, second.poll(5, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.spring_claude_demo.controller;
+
+import com.example.spring_claude_demo.model.Employee;
+import com.example.spring_claude_demo.repository.EmployeeRepository;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class BinaryFormatIntegrationTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    private static final MediaType CBOR_SEQ = MediaType.parseMediaType("application/cbor-seq");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private final ObjectMapper cbor = CBORMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final ObjectMapper smile = SmileMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final ObjectMapper json = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @BeforeEach
+    void setup() {
+        employeeRepository.deleteAll();
+    }
+
+    @AfterEach
+    void cleanup() {
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    void createEmployee_WithCborBody_ShouldAnswerInCbor() throws Exception {
+        // Arrange
+        Employee employee = employee("Ada", "Lovelace");
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/employees")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cbor.writeValueAsBytes(employee)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        // Assert
+        Employee created = cbor.readValue(result.getResponse().getContentAsByteArray(), Employee.class);
+        assertNotNull(created.getId());
+        assertEquals("Lovelace", created.getLastName());
+        assertEquals(LocalDate.of(2021, 4, 1), created.getHireDate());
+    }
+
+    @Test
+    void batchCreateAndUpdate_WithSmile_ShouldRoundTrip() throws Exception {
+        // Arrange
+        List<Employee> employees = List.of(employee("Alan", "Turing"), employee("Grace", "Hopper"));
+
+        // Act
+        MvcResult created = mockMvc.perform(post("/api/employees/batch")
+                        .contentType(SMILE)
+                        .accept(SMILE)
+                        .content(smile.writeValueAsBytes(employees)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Employee[] saved = smile.readValue(created.getResponse().getContentAsByteArray(), Employee[].class);
+        saved[0].setPosition("Cryptanalyst");
+        MvcResult updated = mockMvc.perform(put("/api/employees/{id}", saved[0].getId())
+                        .contentType(SMILE)
+                        .accept(SMILE)
+                        .content(smile.writeValueAsBytes(saved[0])))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Assert
+        assertEquals(2, saved.length);
+        assertEquals("Cryptanalyst",
+                smile.readValue(updated.getResponse().getContentAsByteArray(), Employee.class).getPosition());
+    }
+
+    @Test
+    void getEmployeesByLastName_AsCbor_ShouldMatchJsonAndBeSmaller() throws Exception {
+        // Arrange
+        employeeRepository.saveAll(List.of(employee("John", "Doe"), employee("Jane", "Doe")));
+
+        // Act
+        byte[] cborBody = mockMvc.perform(get("/api/employees/lastName/Doe").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] jsonBody = mockMvc.perform(get("/api/employees/lastName/Doe").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        assertEquals(json.readTree(jsonBody), cbor.readTree(cborBody));
+        assertTrue(cborBody.length < jsonBody.length);
+    }
+
+    @Test
+    void streamEmployees_ShouldWriteOneValuePerEmployeeInTheNegotiatedFormat() throws Exception {
+        // Arrange
+        employeeRepository.saveAll(List.of(employee("John", "Doe"), employee("Jane", "Doe"), employee("Bob", "Smith")));
+
+        // Act
+        MvcResult cborResult = mockMvc.perform(get("/api/employees/stream").accept(CBOR_SEQ))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult ndjsonResult = mockMvc.perform(get("/api/employees/stream").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] cborBody = mockMvc.perform(asyncDispatch(cborResult))
+                .andExpect(content().contentTypeCompatibleWith(CBOR_SEQ))
+                .andReturn().getResponse().getContentAsByteArray();
+        String ndjsonBody = mockMvc.perform(asyncDispatch(ndjsonResult))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        try (MappingIterator<Employee> values = cbor.readerFor(Employee.class).readValues(cborBody)) {
+            assertEquals(3, values.readAll().size());
+        }
+        String[] lines = ndjsonBody.split("\n");
+        assertEquals(3, lines.length);
+        for (String line : lines) {
+            assertNotNull(json.readValue(line, Employee.class).getId());
+        }
+    }
+
+    private static Employee employee(String firstName, String lastName) {
+        return new Employee(firstName, lastName, firstName.toLowerCase() + "@example.com", "555-0199",
+                "Engineer", 70000.0, LocalDate.of(2021, 4, 1));
+    }
+}
@@ -2,8 +2,13 @@ package com.example.spring_claude_demo.controller;
 
 import com.example.spring_claude_demo.model.Employee;
 import com.example.spring_claude_demo.repository.EmployeeRepository;
+import com.example.spring_claude_demo.search.EmployeeSearchIndex;
+import com.example.spring_claude_demo.service.EmployeeService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,15 +16,22 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.orm.jpa.EntityManagerHolder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
+import static com.example.spring_claude_demo.datasource.SqlStatementAssertions.assertSelectBudget;
+import static com.example.spring_claude_demo.datasource.SqlStatementAssertions.assertStatementBudget;
+import static com.example.spring_claude_demo.datasource.SqlStatementAssertions.resetStatementCount;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -33,6 +45,15 @@ public class EmployeeControllerIntegrationTest {
     
     @Autowired
     private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeSearchIndex searchIndex;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
     
     private ObjectMapper objectMapper;
     
@@ -103,11 +124,13 @@ public class EmployeeControllerIntegrationTest {
         );
         
         // Act
+        resetStatementCount();
         ResultActions response = mockMvc.perform(post("/api/employees")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(newEmployee)));
         
         // Assert
+        assertStatementBudget(0, 1, 0, 0);
         response.andDo(print())
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.firstName", is(newEmployee.getFirstName())))
@@ -117,12 +140,107 @@ public class EmployeeControllerIntegrationTest {
                 .andExpect(jsonPath("$.salary", is(newEmployee.getSalary())));
     }
 
+    @Test
+    void createEmployees_ShouldInsertTheWholeListAsOneBatch() throws Exception {
+        // Arrange
+        List<Employee> newEmployees = List.of(
+                new Employee("Batch", "One", "batch.one@example.com", "555-0001", "Analyst", 61000.0, LocalDate.of(2023, 1, 9)),
+                new Employee("Batch", "Two", "batch.two@example.com", "555-0002", "Analyst", 62000.0, LocalDate.of(2023, 1, 9)),
+                new Employee("Batch", "Three", "batch.three@example.com", "555-0003", "Analyst", 63000.0, LocalDate.of(2023, 1, 9))
+        );
+
+        // Act
+        resetStatementCount();
+        ResultActions response = mockMvc.perform(post("/api/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(newEmployees)));
+
+        // Assert
+        assertStatementBudget(0, 1, 0, 0);
+        response.andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(newEmployees.size())))
+                .andExpect(jsonPath("$[2].lastName", is("Three")));
+    }
+
+    @Test
+    void writesWithADuplicateEmail_ShouldReturnConflictAndCreateNothing() throws Exception {
+        // Arrange
+        Employee duplicate = new Employee("Johnny", "Doe", "john.doe@example.com", "555-4321", "Developer",
+                76000.0, LocalDate.of(2022, 2, 1));
+        Employee fresh = new Employee("Fresh", "Start", "fresh.start@example.com", "555-4322", "Developer",
+                76000.0, LocalDate.of(2022, 2, 1));
+        Employee bob = employeeList.get(2);
+        bob.setEmail("jane.doe@example.com");
+
+        // Act
+        ResultActions created = mockMvc.perform(post("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(duplicate)));
+        ResultActions batch = mockMvc.perform(post("/api/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(fresh, duplicate))));
+        ResultActions updated = mockMvc.perform(put("/api/employees/{id}", bob.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bob)));
+
+        // Assert
+        for (ResultActions response : List.of(created, batch, updated)) {
+            response.andExpect(status().isConflict())
+                    .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                    .andExpect(jsonPath("$.detail", is("An employee with this email already exists")));
+        }
+        assertEquals(employeeList.size(), employeeRepository.count());
+        assertEquals("bob.smith@example.com", employeeRepository.findById(bob.getId()).orElseThrow().getEmail());
+    }
+
+    @Test
+    void streamAllEmployees_ShouldReadEveryEmployeeInIdOrderAcrossPages() {
+        // Act
+        List<Long> streamed = new ArrayList<>();
+        employeeService.streamAllEmployees(2).forEach(employee -> streamed.add(employee.getId()));
+
+        // Assert
+        assertEquals(employeeList.stream().map(Employee::getId).sorted().toList(), streamed);
+    }
+
+    @Test
+    void streamAllEmployees_UnderOpenInView_ShouldNotKeepStreamedRowsInThePersistenceContext() {
+        // Arrange: bind a request-scoped EntityManager the way OpenEntityManagerInViewInterceptor does
+        for (int i = 0; i < 6; i++) {
+            employeeRepository.save(new Employee("Paged", "Streamer" + i, "paged.streamer" + i + "@example.com",
+                    "555-0300", "Developer", 60000.0, LocalDate.of(2022, 1, 3)));
+        }
+        EntityManager requestEntityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(requestEntityManager));
+
+        // Act
+        int streamed = 0;
+        int maxManaged = 0;
+        try {
+            for (Employee ignored : employeeService.streamAllEmployees(2)) {
+                streamed++;
+                maxManaged = Math.max(maxManaged,
+                        requestEntityManager.unwrap(Session.class).getStatistics().getEntityCount());
+            }
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            requestEntityManager.close();
+        }
+
+        // Assert
+        assertEquals(employeeList.size() + 6, streamed);
+        assertTrue(maxManaged <= 2, "persistence context held " + maxManaged + " employees");
+    }
+
     @Test
     void getAllEmployees_ShouldReturnAllEmployees() throws Exception {
         // Act
+        resetStatementCount();
         ResultActions response = mockMvc.perform(get("/api/employees"));
         
         // Assert
+        assertSelectBudget(1);
         response.andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(employeeList.size())))
@@ -137,9 +255,11 @@ public class EmployeeControllerIntegrationTest {
         Long employeeId = employeeList.get(0).getId();
         
         // Act
+        resetStatementCount();
         ResultActions response = mockMvc.perform(get("/api/employees/{id}", employeeId));
         
         // Assert
+        assertSelectBudget(1);
         response.andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id", is(employeeId.intValue())))
@@ -153,9 +273,11 @@ public class EmployeeControllerIntegrationTest {
         Long nonExistentId = 999L;
         
         // Act
+        resetStatementCount();
         ResultActions response = mockMvc.perform(get("/api/employees/{id}", nonExistentId));
         
         // Assert
+        assertSelectBudget(1);
         response.andDo(print())
                 .andExpect(status().isNotFound());
     }
@@ -166,9 +288,11 @@ public class EmployeeControllerIntegrationTest {
         String lastName = "Doe";
         
         // Act
+        resetStatementCount();
         ResultActions response = mockMvc.perform(get("/api/employees/lastName/{lastName}", lastName));
         
         // Assert
+        assertSelectBudget(1);
         response.andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(2)))
@@ -182,9 +306,11 @@ public class EmployeeControllerIntegrationTest {
         String nonExistentLastName = "NonExistent";
         
         // Act
+        resetStatementCount();
         ResultActions response = mockMvc.perform(get("/api/employees/lastName/{lastName}", nonExistentLastName));
         
         // Assert
+        assertSelectBudget(1);
         response.andDo(print())
                 .andExpect(status().isNoContent());
     }
@@ -195,9 +321,11 @@ public class EmployeeControllerIntegrationTest {
         String position = "Developer";
         
         // Act
+        resetStatementCount();
         ResultActions response = mockMvc.perform(get("/api/employees/position/{position}", position));
         
         // Assert
+        assertSelectBudget(1);
         response.andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(2)))
@@ -211,9 +339,11 @@ public class EmployeeControllerIntegrationTest {
         String nonExistentPosition = "NonExistent";
         
         // Act
+        resetStatementCount();
         ResultActions response = mockMvc.perform(get("/api/employees/position/{position}", nonExistentPosition));
         
         // Assert
+        assertSelectBudget(1);
         response.andDo(print())
                 .andExpect(status().isNoContent());
     }
@@ -224,10 +354,12 @@ public class EmployeeControllerIntegrationTest {
         String emailPart = "example.com";
         
         // Act
+        resetStatementCount();
         ResultActions response = mockMvc.perform(get("/api/employees/email")
                 .param("contains", emailPart));
         
         // Assert
+        assertSelectBudget(1);
         response.andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(3)))
@@ -242,10 +374,12 @@ public class EmployeeControllerIntegrationTest {
         String nonExistentEmailPart = "nonexistent";
         
         // Act
+        resetStatementCount();
         ResultActions response = mockMvc.perform(get("/api/employees/email")
                 .param("contains", nonExistentEmailPart));
         
         // Assert
+        assertSelectBudget(1);
         response.andDo(print())
                 .andExpect(status().isNoContent());
     }
@@ -256,10 +390,12 @@ public class EmployeeControllerIntegrationTest {
         Double minSalary = 80000.0;
         
         // Act
+        resetStatementCount();
         ResultActions response = mockMvc.perform(get("/api/employees/salary")
                 .param("minSalary", minSalary.toString()));
         
         // Assert
+        assertSelectBudget(1);
         response.andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)))
@@ -272,10 +408,12 @@ public class EmployeeControllerIntegrationTest {
         Double highMinSalary = 100000.0;
         
         // Act
+        resetStatementCount();
         ResultActions response = mockMvc.perform(get("/api/employees/salary")
                 .param("minSalary", highMinSalary.toString()));
         
         // Assert
+        assertSelectBudget(1);
         response.andDo(print())
                 .andExpect(status().isNoContent());
     }
@@ -295,11 +433,14 @@ public class EmployeeControllerIntegrationTest {
         );
         
         // Act
+        resetStatementCount();
         ResultActions response = mockMvc.perform(put("/api/employees/{id}", employeeId)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(updatedEmployee)));
         
         // Assert
+        // The load before the update may be a second-level cache hit
+        assertStatementBudget(1, 0, 1, 0);
         response.andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id", is(employeeId.intValue())))
@@ -325,11 +466,13 @@ public class EmployeeControllerIntegrationTest {
         );
         
         // Act
+        resetStatementCount();
         ResultActions response = mockMvc.perform(put("/api/employees/{id}", nonExistentId)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(updatedEmployee)));
         
         // Assert
+        assertSelectBudget(1);
         response.andDo(print())
                 .andExpect(status().isNotFound());
     }
@@ -340,16 +483,24 @@ public class EmployeeControllerIntegrationTest {
         Long employeeId = employeeList.get(0).getId();
         
         // Act
+        resetStatementCount();
         ResultActions response = mockMvc.perform(delete("/api/employees/{id}", employeeId));
         
         // Assert
+        // Load (or cache hit), tombstone for delta sync, delete
+        assertStatementBudget(1, 1, 0, 1);
         response.andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.deleted", is(true)));
         
-        // Verify employee is deleted
+        // Verify employee is deleted; the id filter answers without going to the database
+        resetStatementCount();
         mockMvc.perform(get("/api/employees/{id}", employeeId))
-                .andExpect(status().isNotFound());
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.status", is(404)))
+                .andExpect(jsonPath("$.title", is("Not Found")));
+        assertStatementBudget(0, 0, 0, 0);
     }
 
     @Test
@@ -358,10 +509,133 @@ public class EmployeeControllerIntegrationTest {
         Long nonExistentId = 999L;
         
         // Act
+        resetStatementCount();
         ResultActions response = mockMvc.perform(delete("/api/employees/{id}", nonExistentId));
         
         // Assert
+        assertSelectBudget(1);
         response.andDo(print())
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    void sync_WithoutToken_ShouldReturnFullSnapshot() throws Exception {
+        // Act
+        resetStatementCount();
+        ResultActions response = mockMvc.perform(get("/api/employees/sync"));
+
+        // Assert
+        assertSelectBudget(1);
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reset", is(true)))
+                .andExpect(jsonPath("$.upserts", hasSize(employeeList.size())))
+                .andExpect(jsonPath("$.deletes", hasSize(0)));
+    }
+
+    @Test
+    void sync_WithToken_ShouldReturnOnlyChangesSinceToken() throws Exception {
+        // Arrange
+        String token = objectMapper.readTree(mockMvc.perform(get("/api/employees/sync"))
+                .andReturn().getResponse().getContentAsString()).get("nextToken").asText();
+        Long deletedId = employeeList.get(0).getId();
+        mockMvc.perform(delete("/api/employees/{id}", deletedId))
+                .andExpect(status().isOk());
+
+        // Act
+        resetStatementCount();
+        ResultActions response = mockMvc.perform(get("/api/employees/sync").param("since", token));
+
+        // Assert
+        assertSelectBudget(2);
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reset", is(false)))
+                .andExpect(jsonPath("$.upserts", hasSize(0)))
+                .andExpect(jsonPath("$.deletes", hasSize(1)))
+                .andExpect(jsonPath("$.deletes[0]", is(deletedId.intValue())));
+    }
+
+    @Test
+    void queryEmployees_WithCombinedFilters_ShouldReturnMatchesInRequestedOrder() throws Exception {
+        // Act
+        resetStatementCount();
+        ResultActions response = mockMvc.perform(get("/api/employees/query")
+                .param("position", "Developer")
+                .param("minSalary", "60000")
+                .param("maxSalary", "80000")
+                .param("sort", "salary,desc"));
+
+        // Assert
+        assertSelectBudget(1);
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].firstName", is("John")))
+                .andExpect(jsonPath("$[1].firstName", is("Bob")));
+    }
+
+    @Test
+    void queryEmployees_WithNamePrefixAndLimit_ShouldReturnFirstMatch() throws Exception {
+        // Act
+        ResultActions response = mockMvc.perform(get("/api/employees/query")
+                .param("namePrefix", "D")
+                .param("hiredFrom", "2019-01-01")
+                .param("sort", "hireDate")
+                .param("limit", "1"));
+
+        // Assert
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].firstName", is("Jane")));
+    }
+
+    @Test
+    void queryEmployees_WithInvalidCriteria_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/employees/query").param("minSalary", "90000").param("maxSalary", "10000"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/employees/query").param("sort", "changeSeq"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/employees/query").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void search_ShouldFindEmployeesWrittenThroughTheApi() throws Exception {
+        // Arrange
+        Employee newEmployee = new Employee(
+                "Zed",
+                "Quinlan",
+                "zed.quinlan@example.com",
+                "555-0000",
+                "Staff Engineer",
+                120000.0,
+                LocalDate.of(2022, 7, 1)
+        );
+        String created = mockMvc.perform(post("/api/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newEmployee)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long createdId = objectMapper.readTree(created).get("id").asLong();
+        searchIndex.refresh();
+
+        // Act
+        ResultActions response = mockMvc.perform(get("/api/employees/search").param("q", "staff eng quinlen"));
+
+        // Assert
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(1)))
+                .andExpect(jsonPath("$.hits[0].employee.id", is(createdId.intValue())));
+
+        mockMvc.perform(delete("/api/employees/{id}", createdId))
+                .andExpect(status().isOk());
+        searchIndex.refresh();
+        mockMvc.perform(get("/api/employees/search").param("q", "quinlan"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(0)));
+    }
 }
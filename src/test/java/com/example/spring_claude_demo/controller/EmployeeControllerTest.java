@@ -89,73 +89,73 @@ public class EmployeeControllerTest {
     @Test
     void getAllEmployees_ShouldReturnAllEmployees() {
         // Arrange
-        when(employeeService.getAllEmployees()).thenReturn(employeeList);
+        when(employeeService.getAllEmployees(false)).thenReturn(employeeList);
 
         // Act
-        ResponseEntity<List<Employee>> response = employeeController.getAllEmployees();
+        ResponseEntity<List<Employee>> response = employeeController.getAllEmployees(false);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(2, response.getBody().size());
         assertEquals(employeeList, response.getBody());
-        verify(employeeService, times(1)).getAllEmployees();
+        verify(employeeService, times(1)).getAllEmployees(false);
     }
 
     @Test
     void getEmployeeById_WhenEmployeeExists_ShouldReturnEmployee() {
         // Arrange
-        when(employeeService.getEmployeeById(1L)).thenReturn(Optional.of(employee1));
+        when(employeeService.getEmployeeById(1L, false)).thenReturn(Optional.of(employee1));
 
         // Act
-        ResponseEntity<Employee> response = employeeController.getEmployeeById(1L);
+        ResponseEntity<Employee> response = employeeController.getEmployeeById(1L, false);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(employee1, response.getBody());
-        verify(employeeService, times(1)).getEmployeeById(1L);
+        verify(employeeService, times(1)).getEmployeeById(1L, false);
     }
 
     @Test
     void getEmployeeById_WhenEmployeeDoesNotExist_ShouldThrowException() {
         // Arrange
         Long nonExistentId = 999L;
-        when(employeeService.getEmployeeById(nonExistentId)).thenReturn(Optional.empty());
+        when(employeeService.getEmployeeById(nonExistentId, false)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> {
-            employeeController.getEmployeeById(nonExistentId);
+            employeeController.getEmployeeById(nonExistentId, false);
         });
-        verify(employeeService, times(1)).getEmployeeById(nonExistentId);
+        verify(employeeService, times(1)).getEmployeeById(nonExistentId, false);
     }
 
     @Test
     void getEmployeesByLastName_WhenEmployeesExist_ShouldReturnEmployees() {
         // Arrange
         String lastName = "Doe";
-        when(employeeService.getEmployeesByLastName(lastName)).thenReturn(employeeList);
+        when(employeeService.getEmployeesByLastName(lastName, false)).thenReturn(employeeList);
 
         // Act
-        ResponseEntity<List<Employee>> response = employeeController.getEmployeesByLastName(lastName);
+        ResponseEntity<List<Employee>> response = employeeController.getEmployeesByLastName(lastName, false);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(employeeList, response.getBody());
-        verify(employeeService, times(1)).getEmployeesByLastName(lastName);
+        verify(employeeService, times(1)).getEmployeesByLastName(lastName, false);
     }
 
     @Test
     void getEmployeesByLastName_WhenNoEmployeesExist_ShouldReturnNoContent() {
         // Arrange
         String lastName = "NonExistent";
-        when(employeeService.getEmployeesByLastName(lastName)).thenReturn(Collections.emptyList());
+        when(employeeService.getEmployeesByLastName(lastName, false)).thenReturn(Collections.emptyList());
 
         // Act
-        ResponseEntity<List<Employee>> response = employeeController.getEmployeesByLastName(lastName);
+        ResponseEntity<List<Employee>> response = employeeController.getEmployeesByLastName(lastName, false);
 
         // Assert
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
         assertNull(response.getBody());
-        verify(employeeService, times(1)).getEmployeesByLastName(lastName);
+        verify(employeeService, times(1)).getEmployeesByLastName(lastName, false);
     }
 
     @Test
@@ -163,60 +163,60 @@ public class EmployeeControllerTest {
         // Arrange
         String position = "Developer";
         List<Employee> developers = Collections.singletonList(employee1);
-        when(employeeService.getEmployeesByPosition(position)).thenReturn(developers);
+        when(employeeService.getEmployeesByPosition(position, false)).thenReturn(developers);
 
         // Act
-        ResponseEntity<List<Employee>> response = employeeController.getEmployeesByPosition(position);
+        ResponseEntity<List<Employee>> response = employeeController.getEmployeesByPosition(position, false);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(developers, response.getBody());
-        verify(employeeService, times(1)).getEmployeesByPosition(position);
+        verify(employeeService, times(1)).getEmployeesByPosition(position, false);
     }
 
     @Test
     void getEmployeesByPosition_WhenNoEmployeesExist_ShouldReturnNoContent() {
         // Arrange
         String position = "NonExistent";
-        when(employeeService.getEmployeesByPosition(position)).thenReturn(Collections.emptyList());
+        when(employeeService.getEmployeesByPosition(position, false)).thenReturn(Collections.emptyList());
 
         // Act
-        ResponseEntity<List<Employee>> response = employeeController.getEmployeesByPosition(position);
+        ResponseEntity<List<Employee>> response = employeeController.getEmployeesByPosition(position, false);
 
         // Assert
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
         assertNull(response.getBody());
-        verify(employeeService, times(1)).getEmployeesByPosition(position);
+        verify(employeeService, times(1)).getEmployeesByPosition(position, false);
     }
 
     @Test
     void getEmployeesByEmailContaining_WhenEmployeesExist_ShouldReturnEmployees() {
         // Arrange
         String emailPart = "example.com";
-        when(employeeService.getEmployeesByEmailContaining(emailPart)).thenReturn(employeeList);
+        when(employeeService.getEmployeesByEmailContaining(emailPart, false)).thenReturn(employeeList);
 
         // Act
-        ResponseEntity<List<Employee>> response = employeeController.getEmployeesByEmailContaining(emailPart);
+        ResponseEntity<List<Employee>> response = employeeController.getEmployeesByEmailContaining(emailPart, false);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(employeeList, response.getBody());
-        verify(employeeService, times(1)).getEmployeesByEmailContaining(emailPart);
+        verify(employeeService, times(1)).getEmployeesByEmailContaining(emailPart, false);
     }
 
     @Test
     void getEmployeesByEmailContaining_WhenNoEmployeesExist_ShouldReturnNoContent() {
         // Arrange
         String emailPart = "nonexistent";
-        when(employeeService.getEmployeesByEmailContaining(emailPart)).thenReturn(Collections.emptyList());
+        when(employeeService.getEmployeesByEmailContaining(emailPart, false)).thenReturn(Collections.emptyList());
 
         // Act
-        ResponseEntity<List<Employee>> response = employeeController.getEmployeesByEmailContaining(emailPart);
+        ResponseEntity<List<Employee>> response = employeeController.getEmployeesByEmailContaining(emailPart, false);
 
         // Assert
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
         assertNull(response.getBody());
-        verify(employeeService, times(1)).getEmployeesByEmailContaining(emailPart);
+        verify(employeeService, times(1)).getEmployeesByEmailContaining(emailPart, false);
     }
 
     @Test
@@ -224,30 +224,30 @@ public class EmployeeControllerTest {
         // Arrange
         Double minSalary = 80000.0;
         List<Employee> highPaidEmployees = Collections.singletonList(employee2);
-        when(employeeService.getEmployeesByMinimumSalary(minSalary)).thenReturn(highPaidEmployees);
+        when(employeeService.getEmployeesByMinimumSalary(minSalary, false)).thenReturn(highPaidEmployees);
 
         // Act
-        ResponseEntity<List<Employee>> response = employeeController.getEmployeesByMinimumSalary(minSalary);
+        ResponseEntity<List<Employee>> response = employeeController.getEmployeesByMinimumSalary(minSalary, false);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(highPaidEmployees, response.getBody());
-        verify(employeeService, times(1)).getEmployeesByMinimumSalary(minSalary);
+        verify(employeeService, times(1)).getEmployeesByMinimumSalary(minSalary, false);
     }
 
     @Test
     void getEmployeesByMinimumSalary_WhenNoEmployeesExist_ShouldReturnNoContent() {
         // Arrange
         Double minSalary = 100000.0;
-        when(employeeService.getEmployeesByMinimumSalary(minSalary)).thenReturn(Collections.emptyList());
+        when(employeeService.getEmployeesByMinimumSalary(minSalary, false)).thenReturn(Collections.emptyList());
 
         // Act
-        ResponseEntity<List<Employee>> response = employeeController.getEmployeesByMinimumSalary(minSalary);
+        ResponseEntity<List<Employee>> response = employeeController.getEmployeesByMinimumSalary(minSalary, false);
 
         // Assert
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
         assertNull(response.getBody());
-        verify(employeeService, times(1)).getEmployeesByMinimumSalary(minSalary);
+        verify(employeeService, times(1)).getEmployeesByMinimumSalary(minSalary, false);
     }
 
     @Test
@@ -0,0 +1,98 @@
+package com.example.spring_claude_demo.controller;
+
+import com.example.spring_claude_demo.model.Employee;
+import com.example.spring_claude_demo.search.EmployeeSearchIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactivedb",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactivedb"
+})
+@AutoConfigureWebTestClient
+@ActiveProfiles("reactive")
+public class ReactiveEmployeeControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private EmployeeSearchIndex searchIndex;
+
+    @Test
+    void createThenGet_ShouldRoundTripThroughR2dbc() {
+        // Arrange
+        Employee newEmployee = new Employee("Reactive", "Tester", "reactive.tester@example.com", "555-0001",
+                "Stream Engineer", 88000.0, LocalDate.of(2023, 4, 1));
+
+        // Act
+        Employee created = webTestClient.post().uri("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(newEmployee)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Employee.class)
+                .returnResult().getResponseBody();
+
+        // Assert
+        assertNotNull(created);
+        assertNotNull(created.getId());
+        webTestClient.get().uri("/api/employees/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.lastName").isEqualTo("Tester")
+                .jsonPath("$.hireDate").isEqualTo("2023-04-01");
+
+        // Reactive writes reach the after-commit listeners too
+        searchIndex.refresh();
+        webTestClient.get().uri(uri -> uri.path("/api/employees/search").queryParam("q", "stream tester").build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.hits[0].employee.id").isEqualTo(created.getId().intValue());
+    }
+
+    @Test
+    void streamAllEmployees_ShouldEmitNewlineDelimitedJson() {
+        // Act & Assert
+        webTestClient.get().uri("/api/employees")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(Employee.class)
+                .value(employees -> {
+                    assertFalse(employees.isEmpty());
+                    employees.forEach(employee -> assertNotNull(employee.getId()));
+                });
+    }
+
+    @Test
+    void getEmployeesByLastName_WhenNoEmployeesExist_ShouldReturnNoContent() {
+        // Act & Assert
+        webTestClient.get().uri("/api/employees/lastName/{lastName}", "NonExistent")
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+
+    @Test
+    void deleteEmployee_WhenEmployeeDoesNotExist_ShouldReturnNotFound() {
+        // Act & Assert
+        webTestClient.delete().uri("/api/employees/{id}", 999_999L)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.detail").isEqualTo("Employee not found");
+    }
+}
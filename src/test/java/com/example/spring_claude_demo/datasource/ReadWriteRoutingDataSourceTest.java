@@ -0,0 +1,158 @@
+package com.example.spring_claude_demo.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Routing decisions only: the pools are never asked for a connection, so nothing is opened
+public class ReadWriteRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void clearReadOnly() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void lagNanos_ShouldBeZeroWhenSyncedAfterTheLastWriteAndTheSnapshotAgeOtherwise() {
+        // Arrange
+        ReplicaNode replica = replica("replica-1");
+        long write = 1_000;
+
+        // Act
+        long neverSynced = replica.lagNanos(write, 5_000);
+        replica.markSynced(2_000);
+        long syncedAfterWrite = replica.lagNanos(write, 5_000);
+        replica.markSynced(500);
+        long syncedBeforeWrite = replica.lagNanos(write, 5_000);
+        replica.markFailed();
+        long failed = replica.lagNanos(write, 5_000);
+
+        // Assert
+        assertEquals(-1, neverSynced);
+        assertEquals(0, syncedAfterWrite);
+        assertEquals(4_500, syncedBeforeWrite);
+        assertEquals(-1, failed);
+    }
+
+    @Test
+    void readOnly_ShouldRoundRobinOverFreshReplicasAndSendWritesToThePrimary() {
+        // Arrange
+        ReplicaNode first = synced(replica("replica-1"));
+        ReplicaNode second = synced(replica("replica-2"));
+        ReadWriteRoutingDataSource router = router(Duration.ofSeconds(5), first, second);
+
+        // Act
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Object read1 = router.determineCurrentLookupKey();
+        Object read2 = router.determineCurrentLookupKey();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        Object write = router.determineCurrentLookupKey();
+
+        // Assert
+        assertEquals(List.of("replica-1", "replica-2"), List.of(read1, read2).stream().sorted().toList());
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, write);
+    }
+
+    @Test
+    void readOnly_ShouldSkipALaggingReplica() {
+        // Arrange
+        ReplicaNode lagging = replica("replica-1");
+        ReplicaNode fresh = replica("replica-2");
+        ReadWriteRoutingDataSource router = router(Duration.ofMillis(1), lagging, fresh);
+        lagging.markSynced(System.nanoTime());
+        router.determineCurrentLookupKey();
+        fresh.markSynced(System.nanoTime());
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+
+        // Act
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Object read1 = router.determineCurrentLookupKey();
+        Object read2 = router.determineCurrentLookupKey();
+
+        // Assert
+        assertEquals("replica-2", read1);
+        assertEquals("replica-2", read2);
+    }
+
+    @Test
+    void readOnly_WhenEveryReplicaIsDownOrUnsynced_ShouldFallBackToThePrimary() {
+        // Arrange
+        ReplicaNode down = synced(replica("replica-1"));
+        down.markFailed();
+        ReplicaNode neverSynced = replica("replica-2");
+        ReadWriteRoutingDataSource router = router(Duration.ofSeconds(5), down, neverSynced);
+
+        // Act
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Object read = router.determineCurrentLookupKey();
+
+        // Assert
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, read);
+        assertEquals(1, meterRegistry.get("employee.datasource.route")
+                .tag("route", ReadWriteRoutingDataSource.PRIMARY).tag("kind", "fallback-read").counter().count());
+    }
+
+    @Test
+    void readOnly_AfterAWrite_ShouldSkipTheReplicaOnceItIsBehindByMoreThanMaxLag() {
+        // Arrange
+        ReplicaNode replica = synced(replica("replica-1"));
+        ReadWriteRoutingDataSource router = router(Duration.ofMillis(1), replica);
+
+        // Act
+        router.determineCurrentLookupKey();
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Object beforeSync = router.determineCurrentLookupKey();
+        replica.markSynced(System.nanoTime());
+        Object afterSync = router.determineCurrentLookupKey();
+
+        // Assert
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, beforeSync);
+        assertEquals("replica-1", afterSync);
+    }
+
+    @Test
+    void readOnly_WhenAReplicaStopsSyncingUnderContinuousWrites_ShouldSkipItOnceItsSnapshotIsTooOld() {
+        // Arrange
+        ReplicaNode stalled = synced(replica("replica-1"));
+        ReadWriteRoutingDataSource router = router(Duration.ofMillis(20), stalled);
+        long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(40);
+        while (System.nanoTime() - until < 0) {
+            router.determineCurrentLookupKey();
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+
+        // Act
+        router.determineCurrentLookupKey();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Object read = router.determineCurrentLookupKey();
+
+        // Assert
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, read);
+        assertTrue(stalled.lagNanos(System.nanoTime(), System.nanoTime()) >= TimeUnit.MILLISECONDS.toNanos(40));
+    }
+
+    private ReadWriteRoutingDataSource router(Duration maxLag, ReplicaNode... replicas) {
+        return new ReadWriteRoutingDataSource(new HikariDataSource(), List.of(replicas), maxLag, meterRegistry);
+    }
+
+    private static ReplicaNode replica(String name) {
+        return new ReplicaNode(name, "jdbc:h2:mem:" + name, new HikariDataSource());
+    }
+
+    private static ReplicaNode synced(ReplicaNode replica) {
+        replica.markSynced(System.nanoTime());
+        return replica;
+    }
+}
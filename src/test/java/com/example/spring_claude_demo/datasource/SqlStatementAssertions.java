@@ -0,0 +1,30 @@
+package com.example.spring_claude_demo.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Statement budgets for tests: reset before the call under test, then assert the maximum
+// number of round trips of each kind it may issue on the test thread.
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    public static void resetStatementCount() {
+        SqlStatementCounter.reset();
+    }
+
+    public static void assertStatementBudget(int selects, int inserts, int updates, int deletes) {
+        SqlStatementCounter.Counts counts = SqlStatementCounter.current();
+        String message = "SQL statements over budget (select<=" + selects + ", insert<=" + inserts
+                + ", update<=" + updates + ", delete<=" + deletes + "): " + counts;
+        assertTrue(counts.getSelects() <= selects
+                && counts.getInserts() <= inserts
+                && counts.getUpdates() <= updates
+                && counts.getDeletes() <= deletes
+                && counts.getOthers() == 0, message);
+    }
+
+    public static void assertSelectBudget(int selects) {
+        assertStatementBudget(selects, 0, 0, 0);
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.spring_claude_demo.event;
+
+import com.example.spring_claude_demo.event.EmployeeChangeBus.ChangeRecord;
+import com.example.spring_claude_demo.model.Employee;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmployeeChangeBusTest {
+
+    private EmployeeChangeBus changeBus;
+
+    @BeforeEach
+    void setUp() {
+        ChangeStreamProperties properties = new ChangeStreamProperties();
+        properties.setBufferSize(4);
+        properties.setSubscriberQueueSize(2);
+        changeBus = new EmployeeChangeBus(properties, new SimpleMeterRegistry(), false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        changeBus.destroy();
+    }
+
+    @Test
+    void subscribe_WithLastEventId_ShouldReplayBufferedChanges() throws Exception {
+        // Arrange
+        for (long id = 1; id <= 3; id++) {
+            changeBus.publish(createdEvent(id));
+        }
+        RecordingSink sink = new RecordingSink(2);
+
+        // Act
+        changeBus.subscribe(1L, sink);
+
+        // Assert
+        assertTrue(sink.received.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(2L, 3L), sink.records.stream().map(ChangeRecord::sequence).toList());
+    }
+
+    @Test
+    void subscribe_WithEvictedLastEventId_ShouldSendReset() throws Exception {
+        // Arrange
+        for (long id = 1; id <= 10; id++) {
+            changeBus.publish(createdEvent(id));
+        }
+        RecordingSink sink = new RecordingSink(1);
+
+        // Act
+        changeBus.subscribe(2L, sink);
+
+        // Assert
+        assertTrue(sink.received.await(5, TimeUnit.SECONDS));
+        assertEquals(ChangeRecord.Kind.RESET, sink.records.get(0).kind());
+        assertEquals(10L, sink.records.get(0).sequence());
+    }
+
+    @Test
+    void publish_WhenSubscriberCannotKeepUp_ShouldDropSubscriberWithoutBlocking() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch closed = new CountDownLatch(1);
+        changeBus.subscribe(null, new EmployeeChangeBus.ChangeSink() {
+            @Override
+            public void send(ChangeRecord record) throws Exception {
+                release.await();
+            }
+
+            @Override
+            public void close() {
+                closed.countDown();
+            }
+        });
+
+        // Act
+        for (long id = 1; id <= 10; id++) {
+            changeBus.publish(createdEvent(id));
+        }
+
+        // Assert
+        assertTrue(closed.await(5, TimeUnit.SECONDS));
+        assertEquals(0, changeBus.subscriberCount());
+        release.countDown();
+    }
+
+    @Test
+    void serialize_UpdatedEvent_ShouldLeaveThePreviousStateOutOfTheStreamedPayload() throws Exception {
+        // Arrange
+        Employee previous = createdEvent(1).getEmployee();
+        Employee current = createdEvent(1).getEmployee();
+        current.setSalary(90000.0);
+        EmployeeChangeEvent event = new EmployeeChangeEvent(EmployeeChangeType.UPDATED, current, previous);
+
+        // Act
+        JsonNode json = new ObjectMapper().findAndRegisterModules().valueToTree(event);
+
+        // Assert
+        assertFalse(json.has("previous"), json.toString());
+        assertEquals(90000.0, json.get("employee").get("salary").asDouble());
+        assertFalse(json.toString().contains("75000"), json.toString());
+    }
+
+    private static EmployeeChangeEvent createdEvent(long id) {
+        Employee employee = new Employee("John", "Doe", "john" + id + "@example.com", "555-1234",
+                "Developer", 75000.0, LocalDate.of(2020, 1, 15));
+        employee.setId(id);
+        return new EmployeeChangeEvent(EmployeeChangeType.CREATED, employee);
+    }
+
+    private static final class RecordingSink implements EmployeeChangeBus.ChangeSink {
+
+        private final List<ChangeRecord> records = new CopyOnWriteArrayList<>();
+        private final CountDownLatch received;
+
+        RecordingSink(int expected) {
+            this.received = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void send(ChangeRecord record) {
+            records.add(record);
+            received.countDown();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.spring_claude_demo.grpc;
+
+import com.example.spring_claude_demo.grpc.proto.BulkCreateAck;
+import com.example.spring_claude_demo.grpc.proto.Employee;
+import com.example.spring_claude_demo.grpc.proto.EmployeeServiceGrpc;
+import com.example.spring_claude_demo.grpc.proto.ExportChunk;
+import com.example.spring_claude_demo.grpc.proto.ExportEmployeesRequest;
+import com.example.spring_claude_demo.grpc.proto.GetEmployeeRequest;
+import com.example.spring_claude_demo.grpc.proto.ListEmployeesRequest;
+import com.example.spring_claude_demo.repository.EmployeeRepository;
+import io.grpc.Grpc;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.ManagedChannel;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Small batches and pages so a handful of rows spans several of each
+@SpringBootTest(properties = {"app.grpc.bulk-batch-size=3", "app.grpc.list-page-size=3"})
+public class EmployeeGrpcServiceTest {
+
+    @Autowired
+    private GrpcServer grpcServer;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private ManagedChannel channel;
+    private EmployeeServiceGrpc.EmployeeServiceBlockingStub blockingStub;
+    private EmployeeServiceGrpc.EmployeeServiceStub asyncStub;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        channel = Grpc.newChannelBuilderForAddress("localhost", grpcServer.getPort(), InsecureChannelCredentials.create())
+                .build();
+        blockingStub = EmployeeServiceGrpc.newBlockingStub(channel).withDeadlineAfter(10, TimeUnit.SECONDS);
+        asyncStub = EmployeeServiceGrpc.newStub(channel);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    void createThenGet_ShouldRoundTripEveryField() {
+        // Arrange
+        Employee request = employee("Ada", "Lovelace", "Analyst");
+
+        // Act
+        Employee created = blockingStub.createEmployee(request);
+        Employee found = blockingStub.getEmployee(GetEmployeeRequest.newBuilder().setId(created.getId()).build());
+
+        // Assert
+        assertTrue(created.hasId());
+        assertEquals(created, found);
+        assertEquals("2021-04-01", found.getHireDate());
+        assertFalse(found.hasPhoneNumber());
+    }
+
+    @Test
+    void getEmployee_WhenEmployeeDoesNotExist_ShouldFailWithNotFound() {
+        // Act
+        StatusRuntimeException ex = assertThrows(StatusRuntimeException.class,
+                () -> blockingStub.getEmployee(GetEmployeeRequest.newBuilder().setId(999_999L).build()));
+
+        // Assert
+        assertEquals(Status.Code.NOT_FOUND, ex.getStatus().getCode());
+    }
+
+    @Test
+    void bulkCreateThenList_ShouldAcknowledgeEachBatchAndStreamRows() throws Exception {
+        // Arrange
+        CompletableFuture<List<BulkCreateAck>> done = new CompletableFuture<>();
+        List<BulkCreateAck> acks = new ArrayList<>();
+        StreamObserver<Employee> requests = asyncStub.bulkCreateEmployees(new StreamObserver<>() {
+            @Override
+            public void onNext(BulkCreateAck ack) {
+                acks.add(ack);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                done.completeExceptionally(error);
+            }
+
+            @Override
+            public void onCompleted() {
+                done.complete(acks);
+            }
+        });
+
+        // Act
+        for (int i = 0; i < 7; i++) {
+            requests.onNext(employee("Bulk" + i, "Loader", i % 2 == 0 ? "Engineer" : "Manager"));
+        }
+        requests.onCompleted();
+        List<BulkCreateAck> received = done.get(10, TimeUnit.SECONDS);
+        Iterator<Employee> engineers = blockingStub.listEmployees(
+                ListEmployeesRequest.newBuilder().setPosition("Engineer").build());
+
+        // Assert
+        assertEquals(List.of(3, 3, 1), received.stream().map(BulkCreateAck::getIdsCount).toList());
+        assertEquals(7, received.get(2).getTotal());
+        int count = 0;
+        while (engineers.hasNext()) {
+            assertEquals("Engineer", engineers.next().getPosition());
+            count++;
+        }
+        assertEquals(4, count);
+    }
+
+    @Test
+    void createEmployee_WithDuplicateEmail_ShouldFailWithAlreadyExists() {
+        // Arrange
+        blockingStub.createEmployee(employee("Twin", "Original", "Engineer"));
+
+        // Act
+        StatusRuntimeException ex = assertThrows(StatusRuntimeException.class,
+                () -> blockingStub.createEmployee(employee("Twin", "Copy", "Engineer")));
+
+        // Assert
+        assertEquals(Status.Code.ALREADY_EXISTS, ex.getStatus().getCode());
+        assertEquals("An employee with this email already exists", ex.getStatus().getDescription());
+    }
+
+    @Test
+    void listEmployees_ShouldStreamEveryMatchInIdOrderAcrossPages() {
+        // Arrange
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            ids.add(blockingStub.createEmployee(employee("Paged" + i, i < 5 ? "Lister" : "Other", "Engineer")).getId());
+        }
+
+        // Act
+        List<Long> all = new ArrayList<>();
+        blockingStub.listEmployees(ListEmployeesRequest.getDefaultInstance()).forEachRemaining(e -> all.add(e.getId()));
+        List<Long> listers = new ArrayList<>();
+        blockingStub.listEmployees(ListEmployeesRequest.newBuilder().setLastName("Lister").build())
+                .forEachRemaining(e -> listers.add(e.getId()));
+
+        // Assert
+        assertEquals(ids.stream().sorted().toList(), all);
+        assertEquals(ids.subList(0, 5).stream().sorted().toList(), listers);
+    }
+
+    @Test
+    void exportEmployees_ShouldStreamSnapshotInPages() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            blockingStub.createEmployee(employee("Export" + i, "Snapshot", "Engineer"));
+        }
+
+        // Act
+        Iterator<ExportChunk> chunks = blockingStub.exportEmployees(
+                ExportEmployeesRequest.newBuilder().setPageSize(2).build());
+        List<ExportChunk> received = new ArrayList<>();
+        chunks.forEachRemaining(received::add);
+
+        // Assert
+        assertEquals(3, received.size());
+        assertTrue(received.get(0).getReset());
+        assertEquals(5, received.stream().mapToInt(ExportChunk::getUpsertsCount).sum());
+        assertFalse(received.get(2).getNextToken().isEmpty());
+    }
+
+    private static Employee employee(String firstName, String lastName, String position) {
+        return Employee.newBuilder()
+                .setFirstName(firstName)
+                .setLastName(lastName)
+                .setEmail(firstName.toLowerCase() + "@example.com")
+                .setPosition(position)
+                .setSalary(70000.0)
+                .setHireDate("2021-04-01")
+                .build();
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.spring_claude_demo.jfr;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Default configuration: recordings can't be started or dumped over HTTP
+@SpringBootTest
+@AutoConfigureMockMvc
+public class JfrEndpointExposureTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void jfrEndpoint_ShouldNotBeExposedByDefault() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/actuator/jfr/start")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/actuator/jfr/dump")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.spring_claude_demo.jfr;
+
+import com.example.spring_claude_demo.model.Employee;
+import com.example.spring_claude_demo.service.EmployeeService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=health,metrics,jfr")
+@AutoConfigureMockMvc
+public class JfrEventsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Test
+    void request_WhenRecording_ShouldEmitRequestServiceAndSqlEvents() throws Exception {
+        // Arrange
+        Employee employee = employeeService.saveEmployee(new Employee("Flight", "Recorder", "flight.recorder@example.com",
+                "555-0199", "Tester", 50000.0, LocalDate.of(2023, 3, 1)));
+        Path file = Files.createTempFile("jfr-events-test", ".jfr");
+
+        // Act
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(RequestEvent.class).withoutThreshold();
+            recording.enable(ServiceCallEvent.class).withoutThreshold();
+            recording.enable(SqlStatementEvent.class).withoutThreshold();
+            recording.start();
+            mockMvc.perform(get("/api/employees/" + employee.getId())).andExpect(status().isOk());
+            mockMvc.perform(get("/api/employees/999999999")).andExpect(status().isNotFound());
+            // The lookups above are served from the second-level cache and the id filter
+            mockMvc.perform(get("/api/employees/query").param("position", "Tester")).andExpect(status().isOk());
+            recording.stop();
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+            employeeService.deleteEmployee(employee.getId());
+        }
+
+        // Assert
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("employee.Request")
+                && "/api/employees/{id}".equals(event.getString("endpoint"))
+                && event.getInt("status") == 200));
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("employee.Request")
+                && event.getInt("status") == 404));
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("employee.ServiceCall")
+                && "getEmployeeById".equals(event.getString("method"))));
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("employee.SqlStatement")
+                && event.getString("sql").toLowerCase().contains("from employees")
+                && event.getBoolean("success")));
+    }
+
+    @Test
+    void endpoint_StartDumpStop_ShouldReturnRecording() throws Exception {
+        // Act
+        mockMvc.perform(post("/actuator/jfr/start"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("RUNNING"));
+        mockMvc.perform(get("/api/employees")).andExpect(status().isOk());
+        MvcResult dump = mockMvc.perform(get("/actuator/jfr/dump")).andExpect(status().isOk()).andReturn();
+        mockMvc.perform(post("/actuator/jfr/stop"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("STOPPED"));
+
+        // Assert
+        byte[] magic = Arrays.copyOf(dump.getResponse().getContentAsByteArray(), 4);
+        assertArrayEquals(new byte[]{'F', 'L', 'R', 0}, magic);
+        mockMvc.perform(post("/actuator/jfr/rewind")).andExpect(status().isNotFound());
+    }
+}
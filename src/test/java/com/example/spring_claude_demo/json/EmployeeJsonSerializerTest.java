@@ -0,0 +1,79 @@
+package com.example.spring_claude_demo.json;
+
+import com.example.spring_claude_demo.model.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class EmployeeJsonSerializerTest {
+
+    // Same settings Spring Boot applies to its ObjectMapper, minus the custom serializer
+    private final ObjectMapper reflective = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final ObjectMapper handWritten = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .addModule(new SimpleModule().addSerializer(Employee.class, new EmployeeJsonSerializer()))
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    void serialize_ShouldMatchReflectiveOutput() throws Exception {
+        // Arrange
+        Employee employee = employee(42L, "Zoë \"Z\" O'Brien", LocalDate.of(2020, 3, 5));
+        employee.setChangeSeq(7L);
+
+        // Act
+        String json = handWritten.writeValueAsString(employee);
+
+        // Assert
+        assertEquals(reflective.writeValueAsString(employee), json);
+        assertEquals("{\"id\":42,\"firstName\":\"Zoë \\\"Z\\\" O'Brien\",\"lastName\":\"Doe\","
+                + "\"email\":\"john.doe@example.com\",\"phoneNumber\":\"123-456-7890\","
+                + "\"position\":\"Software Engineer\",\"salary\":85000.0,\"hireDate\":\"2020-03-05\","
+                + "\"terminationDate\":null}", json);
+    }
+
+    @Test
+    void serialize_WithNullFields_ShouldWriteNulls() throws Exception {
+        // Arrange
+        Employee employee = new Employee();
+
+        // Act & Assert
+        assertEquals(reflective.writeValueAsString(employee), handWritten.writeValueAsString(employee));
+    }
+
+    @Test
+    void serialize_List_ShouldMatchReflectiveOutputForEveryDate() throws Exception {
+        // Arrange
+        List<Employee> employees = List.of(
+                employee(1L, "John", LocalDate.of(1, 1, 1)),
+                employee(2L, "Jane", LocalDate.of(1999, 12, 31)),
+                employee(3L, "Robert", LocalDate.of(9999, 10, 9)),
+                employee(4L, "Emily", LocalDate.of(10000, 1, 1)),
+                employee(5L, "Michael", LocalDate.of(-5, 6, 7)));
+
+        // Act & Assert
+        assertEquals(reflective.writeValueAsString(employees), handWritten.writeValueAsString(employees));
+        assertEquals(reflective.writeValueAsString(employees),
+                new String(handWritten.writeValueAsBytes(employees), StandardCharsets.UTF_8));
+    }
+
+    private static Employee employee(Long id, String firstName, LocalDate hireDate) {
+        Employee employee = new Employee(firstName, "Doe", "john.doe@example.com", "123-456-7890",
+                "Software Engineer", 85000.0, hireDate);
+        employee.setId(id);
+        return employee;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.spring_claude_demo.limit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "app.limits.endpoints.streamEmployees.initial-limit=2",
+        "app.limits.endpoints.streamEmployees.max-limit=2"
+})
+@AutoConfigureMockMvc
+public class ConcurrencyLimitInterceptorTest {
+
+    private static final String STREAM_ENDPOINT = "EmployeeController.streamEmployees";
+
+    private static final String ARROW_ENDPOINT = "EmployeeArrowController.streamEmployees";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ConcurrencyLimitInterceptor interceptor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void streamEmployees_ShouldReleaseItsPermitOnceTheAsyncDispatchCompletes() throws Exception {
+        // Arrange
+        int calls = 3 * interceptor.limiterFor(STREAM_ENDPOINT).getLimit();
+
+        // Act
+        for (int i = 0; i < calls; i++) {
+            MvcResult result = mockMvc.perform(get("/api/employees/stream").accept(MediaType.APPLICATION_NDJSON))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        }
+
+        // Assert
+        assertEquals(0, interceptor.limiterFor(STREAM_ENDPOINT).getInFlight());
+        assertEquals(0, meterRegistry.get("employee.limiter.rejected").tag("endpoint", STREAM_ENDPOINT)
+                .counter().count());
+    }
+
+    @Test
+    void arrowStreamEmployees_ShouldUseItsOwnLimiterAndReleaseItsPermitOnEveryCall() throws Exception {
+        // Arrange
+        int calls = 3 * interceptor.limiterFor(ARROW_ENDPOINT).getLimit();
+
+        // Act
+        for (int i = 0; i < calls; i++) {
+            MvcResult result = mockMvc.perform(get("/api/employees/arrow"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        }
+
+        // Assert
+        assertNotSame(interceptor.limiterFor(STREAM_ENDPOINT), interceptor.limiterFor(ARROW_ENDPOINT));
+        assertEquals(2, interceptor.limiterFor(ARROW_ENDPOINT).getLimit());
+        assertEquals(0, interceptor.limiterFor(ARROW_ENDPOINT).getInFlight());
+        assertEquals(0, interceptor.limiterFor(STREAM_ENDPOINT).getInFlight());
+        assertEquals(0, meterRegistry.get("employee.limiter.rejected").tag("endpoint", ARROW_ENDPOINT)
+                .counter().count());
+    }
+
+    @Test
+    void limiterFor_ShouldKeyByControllerAndFallBackToMethodNameSettings() {
+        // Arrange
+        LimitProperties properties = new LimitProperties();
+        LimitProperties.Endpoint byMethod = new LimitProperties.Endpoint();
+        byMethod.setMaxLimit(5);
+        LimitProperties.Endpoint byController = new LimitProperties.Endpoint();
+        byController.setMaxLimit(3);
+        properties.getEndpoints().put("streamEmployees", byMethod);
+        properties.getEndpoints().put("EmployeeController.streamEmployees", byController);
+
+        // Act
+        int controllerLimit = properties.resolve("EmployeeController.streamEmployees").getMaxLimit();
+        int otherControllerLimit = properties.resolve("EmployeeArrowController.streamEmployees").getMaxLimit();
+
+        // Assert
+        assertEquals(3, controllerLimit);
+        assertEquals(5, otherControllerLimit);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.spring_claude_demo.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EndpointLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+
+    @Test
+    void tryAcquire_WhenAtLimit_ShouldRejectUntilReleased() {
+        // Arrange
+        EndpointLimiter limiter = new EndpointLimiter("test", new AimdLimit(2, 1, 2, SLOW));
+
+        // Act
+        int first = limiter.tryAcquire();
+        int second = limiter.tryAcquire();
+        int third = limiter.tryAcquire();
+        limiter.release(FAST, first, false);
+        int fourth = limiter.tryAcquire();
+
+        // Assert
+        assertEquals(1, first);
+        assertEquals(2, second);
+        assertEquals(-1, third);
+        assertEquals(2, fourth);
+    }
+
+    @Test
+    void aimd_ShouldGrowWhileFastAndBackOffWhenSlow() {
+        // Arrange
+        AimdLimit limit = new AimdLimit(10, 1, 100, SLOW / 2);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            limit.onSample(FAST, 10, false);
+        }
+        int grown = limit.getLimit();
+        limit.onSample(SLOW, 10, false);
+
+        // Assert
+        assertEquals(15, grown);
+        assertEquals(13, limit.getLimit());
+    }
+
+    @Test
+    void gradient_ShouldShrinkWhenLatencyRises() {
+        // Arrange
+        GradientLimit limit = new GradientLimit(20, 1, 200);
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(FAST, 20, false);
+        }
+        int steady = limit.getLimit();
+
+        // Act
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(SLOW, steady, false);
+        }
+
+        // Assert
+        assertTrue(steady > 20, "limit should grow while latency is flat");
+        assertTrue(limit.getLimit() < steady, "limit should shrink once requests queue");
+    }
+
+    @Test
+    void gradient_ShouldNotGrowWhenMostlyIdle() {
+        // Arrange
+        GradientLimit limit = new GradientLimit(20, 1, 200);
+
+        // Act
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(FAST, 1, false);
+        }
+
+        // Assert
+        assertEquals(20, limit.getLimit());
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.spring_claude_demo.search;
+
+import com.example.spring_claude_demo.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InvertedIndexTest {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        index.put(employee(1L, "John", "Smith", "john.smith@example.com", "Senior Engineer"));
+        index.put(employee(2L, "Jane", "Smithers", "jane.smithers@example.com", "Engineer"));
+        index.put(employee(3L, "Bob", "Johnson", "bob.johnson@example.com", "Senior Manager"));
+    }
+
+    @Test
+    void tokenize_ShouldLowerCaseAndSplitOnPunctuation() {
+        // Act
+        List<String> tokens = InvertedIndex.tokenize("John.Doe@Example.com  Sr-Dev");
+
+        // Assert
+        assertEquals(List.of("john", "doe", "example", "com", "sr", "dev"), tokens);
+    }
+
+    @Test
+    void search_WithPrefixesOfEveryWord_ShouldMatchOnlyEmployeesMatchingAllWords() {
+        // Act
+        List<InvertedIndex.Hit> hits = index.search("senior eng smith");
+
+        // Assert
+        assertEquals(List.of(1L), ids(hits));
+    }
+
+    @Test
+    void search_ShouldRankExactMatchesAbovePrefixMatches() {
+        // Act
+        List<InvertedIndex.Hit> hits = index.search("smith");
+
+        // Assert
+        assertEquals(List.of(1L, 2L), ids(hits));
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+    }
+
+    @Test
+    void search_WithTypo_ShouldMatchFuzzily() {
+        // Act
+        List<InvertedIndex.Hit> hits = index.search("jonson");
+
+        // Assert
+        assertEquals(List.of(3L), ids(hits));
+    }
+
+    @Test
+    void remove_ShouldDropEmployeeAndUnusedTerms() {
+        // Arrange
+        int termsBefore = index.termCount();
+
+        // Act
+        index.remove(3L);
+
+        // Assert
+        assertTrue(index.search("johnson").isEmpty());
+        assertTrue(index.termCount() < termsBefore);
+        assertEquals(2, index.documentCount());
+    }
+
+    @Test
+    void put_WithExistingId_ShouldReplaceIndexedFields() {
+        // Act
+        index.put(employee(1L, "John", "Smith", "john.smith@example.com", "Architect"));
+
+        // Assert
+        assertTrue(index.search("senior smith").isEmpty());
+        assertEquals(List.of(1L), ids(index.search("architect")));
+    }
+
+    @Test
+    void withinEditDistance_ShouldStopAtMaxEdits() {
+        // Assert
+        assertTrue(InvertedIndex.withinEditDistance("engineer", "enginer", 1));
+        assertFalse(InvertedIndex.withinEditDistance("manager", "mangr", 1));
+        assertTrue(InvertedIndex.withinEditDistance("manager", "mangr", 2));
+    }
+
+    private static List<Long> ids(List<InvertedIndex.Hit> hits) {
+        return hits.stream().map(hit -> hit.employee().getId()).toList();
+    }
+
+    private static Employee employee(Long id, String firstName, String lastName, String email, String position) {
+        Employee employee = new Employee(firstName, lastName, email, "555-0100", position, 50000.0,
+                LocalDate.of(2020, 1, 1));
+        employee.setId(id);
+        return employee;
+    }
+}
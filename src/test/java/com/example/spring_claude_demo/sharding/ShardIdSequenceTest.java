@@ -0,0 +1,68 @@
+package com.example.spring_claude_demo.sharding;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class ShardIdSequenceTest {
+
+    // Past every id the other tests generate, below the fixed ids some of them insert
+    private static final long ARCHIVED_ID = (1L << 38) + 1;
+    private static final long DELETED_ID = (1L << 38) + 2;
+    private static final long TOMBSTONE_ID = (1L << 38) + 3;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ShardProperties shardProperties;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // The context is shared, so reseed the sequence from what is left or later tests get ids past 2^38
+    @AfterEach
+    void tearDown() throws Exception {
+        jdbcTemplate.update("DELETE FROM archived_employees WHERE id = ?", ARCHIVED_ID);
+        jdbcTemplate.update("DELETE FROM employee_tombstones WHERE id = ?", TOMBSTONE_ID);
+        jdbcTemplate.execute("DROP SEQUENCE IF EXISTS " + ShardIds.SEQUENCE);
+        new ShardRouter(shardProperties, dataSource, transactionManager, false).afterPropertiesSet();
+    }
+
+    @Test
+    void nextIds_AfterARestartWithoutTheSequence_ShouldNotReuseArchivedOrDeletedIds() throws Exception {
+        // Arrange: a database from before the sequence, whose highest ids are only archived or deleted
+        jdbcTemplate.update("INSERT INTO archived_employees (id, first_name, last_name, email, position, salary, "
+                        + "hire_date, archived_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                ARCHIVED_ID, "Archived", "Sequence", "archived.sequence@example.com", "Id Tester", 50000.0,
+                Date.valueOf(LocalDate.of(2010, 1, 4)), Timestamp.from(Instant.now()));
+        jdbcTemplate.update("INSERT INTO employee_tombstones (id, employee_id, change_seq, deleted_at) VALUES (?, ?, ?, ?)",
+                TOMBSTONE_ID, DELETED_ID, 0L, Timestamp.from(Instant.now()));
+        jdbcTemplate.execute("DROP SEQUENCE " + ShardIds.SEQUENCE);
+
+        // Act
+        ShardRouter restarted = new ShardRouter(shardProperties, dataSource, transactionManager, false);
+        restarted.afterPropertiesSet();
+        List<Long> ids = restarted.nextIds(3);
+
+        // Assert
+        assertEquals(3, ids.stream().distinct().count());
+        assertTrue(ids.stream().allMatch(id -> id > TOMBSTONE_ID), "reused ids " + ids);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.spring_claude_demo.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ShardRouterTest {
+
+    @Test
+    void mergeSorted_ShouldInterleaveRunsInOrder() {
+        // Arrange
+        List<List<Integer>> runs = List.of(
+                List.of(1, 4, 7, 10),
+                List.of(2, 5, 8),
+                List.of(),
+                List.of(3, 6, 9)
+        );
+
+        // Act
+        List<Integer> merged = ShardRouter.mergeSorted(runs, Comparator.naturalOrder(), 0, 100);
+
+        // Assert
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), merged);
+    }
+
+    @Test
+    void mergeSorted_ShouldApplyOffsetAndLimitAcrossRuns() {
+        // Arrange
+        List<List<Integer>> runs = List.of(
+                List.of(1, 4, 7, 10),
+                List.of(2, 5, 8),
+                List.of(3, 6, 9)
+        );
+
+        // Act
+        List<Integer> secondPage = ShardRouter.mergeSorted(runs, Comparator.naturalOrder(), 3, 3);
+
+        // Assert
+        assertEquals(List.of(4, 5, 6), secondPage);
+    }
+
+    @Test
+    void shardOf_ShouldRecoverShardFromGeneratedId() {
+        // Arrange
+        ShardIds.configure(4);
+
+        try {
+            // Act & Assert
+            for (int shard = 0; shard < 4; shard++) {
+                long id = ShardIds.idOf(17, shard);
+                assertEquals(shard, ShardIds.shardOf(id));
+                assertEquals(17, ShardIds.sequenceValueOf(id));
+            }
+        } finally {
+            ShardIds.configure(1);
+        }
+    }
+}
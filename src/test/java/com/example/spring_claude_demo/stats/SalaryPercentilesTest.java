@@ -0,0 +1,184 @@
+package com.example.spring_claude_demo.stats;
+
+import com.example.spring_claude_demo.coherence.RemoteEmployeeChangeEvent;
+import com.example.spring_claude_demo.model.Employee;
+import com.example.spring_claude_demo.service.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Writes announced by other instances are rebuilt for on the next refresh
+@SpringBootTest(properties = "app.percentiles.remote-rebuild-interval=0s")
+@AutoConfigureMockMvc
+public class SalaryPercentilesTest {
+
+    // Well clear of the ids the application generates
+    private static final long OTHER_INSTANCE_ID = 1L << 43;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SalaryPercentiles salaryPercentiles;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void current_ShouldFollowCreatesUpdatesAndDeletes() {
+        // Arrange
+        List<Employee> created = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            created.add(employeeService.saveEmployee(new Employee("Pct" + i, "Sketch", "pct" + i + "@example.com",
+                    "555-0147", "Percentile Analyst", 1_000.0 * i, LocalDate.of(2023, 1, 1))));
+        }
+
+        // Act
+        salaryPercentiles.refresh();
+        SalaryPercentilesResponse.Percentiles initial = salaryPercentiles.current().byPosition().get("Percentile Analyst");
+        // Raise the bottom ten to the top and drop the next ten
+        for (int i = 0; i < 10; i++) {
+            Employee employee = created.get(i);
+            employee.setSalary(200_000.0 + i);
+            employeeService.updateEmployee(employee.getId(), employee);
+            employeeService.deleteEmployee(created.get(10 + i).getId());
+        }
+        salaryPercentiles.refresh();
+        SalaryPercentilesResponse.Percentiles changed = salaryPercentiles.current().byPosition().get("Percentile Analyst");
+
+        // Assert
+        assertEquals(100, initial.count());
+        assertEquals(50_500, initial.p50(), 1_500);
+        assertEquals(90, changed.count());
+        // Left: 21k..100k plus ten at 200k, so the median is near 65.5k and p90 at the edge of the raised ones
+        assertEquals(65_500, changed.p50(), 2_000);
+        assertTrue(changed.p90() > 95_000, "p90: " + changed.p90());
+        assertTrue(changed.p99() >= 199_000, "p99: " + changed.p99());
+
+        created.subList(0, 10).forEach(employee -> employeeService.deleteEmployee(employee.getId()));
+        created.subList(20, 100).forEach(employee -> employeeService.deleteEmployee(employee.getId()));
+        salaryPercentiles.refresh();
+        assertNull(salaryPercentiles.current().byPosition().get("Percentile Analyst"));
+    }
+
+    @Test
+    void percentilesEndpoint_ShouldServeTheRebuiltSnapshot() throws Exception {
+        // Arrange
+        Employee employee = employeeService.saveEmployee(new Employee("Rest", "Percentile", "rest.pct@example.com",
+                "555-0148", "Percentile Auditor", 77_000.0, LocalDate.of(2023, 1, 1)));
+
+        // Act
+        salaryPercentiles.rebuild();
+
+        // Assert
+        mockMvc.perform(get("/api/employees/stats/percentiles"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.overall.count").isNumber())
+                .andExpect(jsonPath("$.byPosition['Percentile Auditor'].count").value(1))
+                .andExpect(jsonPath("$.byPosition['Percentile Auditor'].p50").value(77_000.0));
+
+        employeeService.deleteEmployee(employee.getId());
+    }
+
+    @Test
+    void rebuild_WhenChangesCommitWhileItRuns_ShouldCountEachOnce() {
+        // Arrange
+        String position = "Percentile Reconciler";
+
+        // Act: each write commits before the rebuild's scan but is only queued after it
+        Employee employee = rebuildingAfterCommit(() -> employeeService.saveEmployee(new Employee("Mid", "Scan",
+                "mid.scan@example.com", "555-0149", position, 50_000.0, LocalDate.of(2023, 1, 1))));
+        salaryPercentiles.refresh();
+        SalaryPercentilesResponse.Percentiles created = salaryPercentiles.current().byPosition().get(position);
+        employee.setSalary(90_000.0);
+        rebuildingAfterCommit(() -> employeeService.updateEmployee(employee.getId(), employee));
+        salaryPercentiles.refresh();
+        SalaryPercentilesResponse.Percentiles updated = salaryPercentiles.current().byPosition().get(position);
+        rebuildingAfterCommit(() -> {
+            employeeService.deleteEmployee(employee.getId());
+            return null;
+        });
+        salaryPercentiles.refresh();
+
+        // Assert
+        assertEquals(1, created.count());
+        assertEquals(50_000.0, created.p50());
+        assertEquals(1, updated.count());
+        assertEquals(90_000.0, updated.p50());
+        assertNull(salaryPercentiles.current().byPosition().get(position));
+        assertEquals(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employees WHERE salary IS NOT NULL", Long.class),
+                salaryPercentiles.current().overall().count());
+    }
+
+    @Test
+    void current_WhenAnotherInstanceChangesEmployees_ShouldRebuildToIncludeThem() throws Exception {
+        // Arrange: the other instance's insert reaches this one only as an invalidation
+        salaryPercentiles.rebuild();
+        Instant rebuiltAt = salaryPercentiles.current().rebuiltAt();
+        jdbcTemplate.update("INSERT INTO employees (id, first_name, last_name, email, phone_number, position, salary, "
+                        + "hire_date, change_seq) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                OTHER_INSTANCE_ID, "Other", "Instance", "other.instance@example.com", "555-0151", "Percentile Remote",
+                64_000.0, Date.valueOf(LocalDate.of(2022, 2, 2)), 0L);
+
+        // Act
+        eventPublisher.publishEvent(new RemoteEmployeeChangeEvent("other-instance", 1, true));
+        salaryPercentiles.refresh();
+
+        // Assert
+        assertTrue(salaryPercentiles.current().rebuiltAt().isAfter(rebuiltAt));
+        mockMvc.perform(get("/api/employees/stats/percentiles"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.otherInstanceChanges").value(0))
+                .andExpect(jsonPath("$.byPosition['Percentile Remote'].p50").value(64_000.0));
+
+        jdbcTemplate.update("DELETE FROM employees WHERE id = ?", OTHER_INSTANCE_ID);
+        salaryPercentiles.rebuild();
+    }
+
+    // Rebuilds once the write has committed, before the change events are queued
+    private <T> T rebuildingAfterCommit(Supplier<T> write) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public int getOrder() {
+                    return Ordered.HIGHEST_PRECEDENCE;
+                }
+
+                @Override
+                public void afterCommit() {
+                    salaryPercentiles.rebuild();
+                }
+            });
+            return write.get();
+        });
+    }
+}
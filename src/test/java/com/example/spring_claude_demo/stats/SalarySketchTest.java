@@ -0,0 +1,113 @@
+package com.example.spring_claude_demo.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SalarySketchTest {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    @Test
+    void quantile_ShouldStayWithinRankErrorOnSkewedSalaries() {
+        // Arrange
+        Random random = new Random(47);
+        double[] salaries = new double[200_000];
+        TDigest digest = new TDigest(100);
+
+        // Act
+        for (int i = 0; i < salaries.length; i++) {
+            salaries[i] = Math.exp(11 + 0.5 * random.nextGaussian());
+            digest.add(salaries[i]);
+        }
+
+        // Assert
+        Arrays.sort(salaries);
+        for (double q : QUANTILES) {
+            assertRankError(salaries, q, digest.quantile(q));
+        }
+        assertTrue(digest.centroidCount() <= 210, "centroids: " + digest.centroidCount());
+    }
+
+    @Test
+    void add_ShouldMergeDigestsOfSeparateHalves() {
+        // Arrange
+        Random random = new Random(48);
+        double[] salaries = new double[100_000];
+        TDigest first = new TDigest(100);
+        TDigest second = new TDigest(100);
+        for (int i = 0; i < salaries.length; i++) {
+            salaries[i] = 30_000 + random.nextDouble() * 170_000;
+            (i % 2 == 0 ? first : second).add(salaries[i]);
+        }
+
+        // Act
+        first.add(second);
+
+        // Assert
+        Arrays.sort(salaries);
+        assertEquals(salaries.length, first.totalWeight());
+        for (double q : QUANTILES) {
+            assertRankError(salaries, q, first.quantile(q));
+        }
+    }
+
+    @Test
+    void quantile_ShouldFollowRemovalsUpToTheDriftThreshold() {
+        // Arrange
+        Random random = new Random(49);
+        double[] salaries = new double[100_000];
+        SalarySketch sketch = new SalarySketch(100);
+        for (int i = 0; i < salaries.length; i++) {
+            salaries[i] = Math.exp(11 + 0.4 * random.nextGaussian());
+            sketch.add(salaries[i]);
+        }
+
+        // Act: remove a sixth, biased towards the top so the distribution really moves
+        int kept = 0;
+        double[] live = new double[salaries.length];
+        for (double salary : salaries) {
+            if (salary > 80_000 && random.nextDouble() < 0.5) {
+                sketch.remove(salary);
+            } else {
+                live[kept++] = salary;
+            }
+        }
+
+        // Assert
+        live = Arrays.copyOf(live, kept);
+        Arrays.sort(live);
+        assertEquals(kept, sketch.count());
+        assertTrue(sketch.drift() < 0.2, "drift: " + sketch.drift());
+        for (double q : QUANTILES) {
+            assertRankError(live, q, sketch.quantile(q));
+        }
+    }
+
+    @Test
+    void quantile_ShouldBeEmptyOnceEverythingIsRemoved() {
+        // Arrange
+        SalarySketch sketch = new SalarySketch(100);
+        sketch.add(50_000);
+        sketch.add(60_000);
+
+        // Act
+        sketch.remove(50_000);
+        sketch.remove(60_000);
+
+        // Assert
+        assertEquals(0, sketch.count());
+        assertTrue(Double.isNaN(sketch.quantile(0.5)));
+    }
+
+    // The estimate must sit at a rank within 1% of q, or 0.3% at the 99th percentile
+    private static void assertRankError(double[] sorted, double q, double estimate) {
+        int below = Arrays.binarySearch(sorted, estimate);
+        double rank = (below >= 0 ? below : -below - 1) / (double) sorted.length;
+        double tolerance = q >= 0.99 ? 0.003 : 0.01;
+        assertEquals(q, rank, tolerance, "rank of the p" + Math.round(q * 100) + " estimate " + estimate);
+    }
+}
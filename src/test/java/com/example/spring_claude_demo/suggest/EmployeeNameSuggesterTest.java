@@ -0,0 +1,169 @@
+package com.example.spring_claude_demo.suggest;
+
+import com.example.spring_claude_demo.model.Employee;
+import com.example.spring_claude_demo.service.EmployeeService;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.core.Ordered;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class EmployeeNameSuggesterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeNameSuggester suggester;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SuggestDuringScan suggestDuringScan;
+
+    @Test
+    void suggestEndpoint_ShouldFollowCreatesUpdatesAndDeletes() throws Exception {
+        // Arrange
+        Employee first = employeeService.saveEmployee(employee("Quill", "Quintero"));
+        Employee second = employeeService.saveEmployee(employee("Quentin", "Quintero"));
+        Employee third = employeeService.saveEmployee(employee("Ada", "Quinn"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/employees/suggest").param("prefix", "qu").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.suggestions.length()").value(3))
+                .andExpect(jsonPath("$.suggestions[0].text").value("Quintero"))
+                .andExpect(jsonPath("$.suggestions[0].field").value("lastName"))
+                .andExpect(jsonPath("$.suggestions[0].count").value(2));
+
+        Employee renamed = third.copy();
+        renamed.setLastName("Quiroga");
+        employeeService.updateEmployee(third.getId(), renamed);
+        employeeService.deleteEmployee(second.getId());
+        mockMvc.perform(get("/api/employees/suggest").param("prefix", "QUI"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.suggestions.length()").value(3))
+                .andExpect(jsonPath("$.suggestions[?(@.text == 'Quinn')]").isEmpty())
+                .andExpect(jsonPath("$.suggestions[?(@.text == 'Quiroga')].count").value(1))
+                .andExpect(jsonPath("$.suggestions[?(@.text == 'Quintero')].count").value(1));
+        mockMvc.perform(get("/api/employees/suggest").param("prefix", " "))
+                .andExpect(status().isBadRequest());
+
+        employeeService.deleteEmployee(first.getId());
+        employeeService.deleteEmployee(third.getId());
+    }
+
+    @Test
+    void rebuild_ShouldKeepServingSuggestionsWhileItScans() {
+        // Arrange
+        Employee employee = employeeService.saveEmployee(employee("Scarlett", "Scanlon"));
+        suggestDuringScan.arm();
+
+        // Act
+        suggester.rebuild();
+
+        // Assert
+        Object duringScan = suggestDuringScan.result.get();
+        assertInstanceOf(EmployeeSuggestResponse.class, duringScan, "suggest during the scan: " + duringScan);
+        assertEquals("Scanlon", ((EmployeeSuggestResponse) duringScan).suggestions().get(0).text());
+
+        employeeService.deleteEmployee(employee.getId());
+    }
+
+    @Test
+    void rebuild_WhenAWriteCommitsWhileItRuns_ShouldCountItOnce() {
+        // Arrange
+        Employee employee = employee("Mira", "Midscan");
+
+        // Act: the write commits before the rebuild's scan and is only announced after it
+        Employee saved = new TransactionTemplate(transactionManager).execute(status -> {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public int getOrder() {
+                    return Ordered.HIGHEST_PRECEDENCE;
+                }
+
+                @Override
+                public void afterCommit() {
+                    suggester.rebuild();
+                }
+            });
+            return employeeService.saveEmployee(employee);
+        });
+        EmployeeSuggestResponse response = suggester.suggest("Midscan", 1);
+
+        // Assert
+        assertEquals(List.of(new EmployeeSuggestResponse.Suggestion("Midscan", EmployeeNameSuggester.LAST_NAME, 1)),
+                response.suggestions());
+
+        employeeService.deleteEmployee(saved.getId());
+    }
+
+    private static Employee employee(String firstName, String lastName) {
+        return new Employee(firstName, lastName, firstName.toLowerCase() + "." + lastName.toLowerCase() + "@example.com",
+                "555-0149", "Picker Tester", 58000.0, LocalDate.of(2023, 5, 1));
+    }
+
+    // Asks for suggestions from another thread while the armed rebuild is inside its scan, once
+    @TestConfiguration
+    static class SuggestDuringScan implements QueryExecutionListener {
+
+        private final AtomicBoolean armed = new AtomicBoolean();
+        private final AtomicReference<Object> result = new AtomicReference<>();
+        private final ObjectProvider<EmployeeNameSuggester> suggester;
+
+        SuggestDuringScan(ObjectProvider<EmployeeNameSuggester> suggester) {
+            this.suggester = suggester;
+        }
+
+        void arm() {
+            result.set(null);
+            armed.set(true);
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            if (queryInfoList.stream().noneMatch(query -> query.getQuery().contains("last_name, first_name FROM"))
+                    || !armed.getAndSet(false)) {
+                return;
+            }
+            try {
+                result.set(CompletableFuture.supplyAsync(() -> suggester.getObject().suggest("Scanl", 1))
+                        .get(5, TimeUnit.SECONDS));
+            } catch (Exception ex) {
+                result.set(ex);
+            }
+        }
+    }
+}
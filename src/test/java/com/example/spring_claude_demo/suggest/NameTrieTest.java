@@ -0,0 +1,104 @@
+package com.example.spring_claude_demo.suggest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NameTrieTest {
+
+    @Test
+    void suggest_ShouldRankByCountThenAlphabetically() {
+        // Arrange
+        NameTrie trie = new NameTrie(10);
+        for (String name : List.of("Smith", "Smith", "Smith", "Smyth", "Smithers", "Smithers", "Small", "Doe")) {
+            trie.add(name);
+        }
+
+        // Act
+        List<NameTrie.Suggestion> suggestions = trie.suggest("sm", 3);
+
+        // Assert
+        assertEquals(List.of(new NameTrie.Suggestion("Smith", 3), new NameTrie.Suggestion("Smithers", 2),
+                new NameTrie.Suggestion("Small", 1)), suggestions);
+        assertEquals(5, trie.size());
+    }
+
+    @Test
+    void suggest_ShouldMatchPrefixesEndingInsideAnEdgeAndIgnoreCase() {
+        // Arrange
+        NameTrie trie = new NameTrie(10);
+        trie.add("Johnson");
+        trie.add("Jones");
+
+        // Act & Assert
+        assertEquals(List.of(new NameTrie.Suggestion("Johnson", 1)), trie.suggest("JOHN", 10));
+        assertEquals(List.of(new NameTrie.Suggestion("Johnson", 1)), trie.suggest("johns", 10));
+        assertEquals(2, trie.suggest("jo", 10).size());
+        assertTrue(trie.suggest("jox", 10).isEmpty());
+        assertTrue(trie.suggest("johnsonx", 10).isEmpty());
+    }
+
+    @Test
+    void remove_ShouldLowerRanksAndPruneEmptiedNames() {
+        // Arrange
+        NameTrie trie = new NameTrie(10);
+        trie.add("Garcia");
+        trie.add("Garcia");
+        trie.add("Gardner");
+        trie.add("Gar");
+        long emptyBytes = new NameTrie(10).estimatedBytes();
+
+        // Act
+        trie.remove("Garcia");
+        trie.remove("Gar");
+        List<NameTrie.Suggestion> afterOne = trie.suggest("ga", 10);
+        trie.remove("Garcia");
+        trie.remove("Gardner");
+        trie.remove("Unknown");
+
+        // Assert
+        assertEquals(List.of(new NameTrie.Suggestion("Garcia", 1), new NameTrie.Suggestion("Gardner", 1)), afterOne);
+        assertTrue(trie.suggest("g", 10).isEmpty());
+        assertEquals(0, trie.size());
+        assertEquals(emptyBytes, trie.estimatedBytes());
+    }
+
+    @Test
+    void suggest_ShouldMatchABruteForceTopKUnderRandomChurn() {
+        // Arrange
+        Random random = new Random(49);
+        NameTrie trie = new NameTrie(5);
+        Map<String, Integer> counts = new HashMap<>();
+        String[] syllables = {"an", "ber", "car", "de", "el", "son", "ma", "ri", "to", "ez"};
+
+        // Act
+        for (int i = 0; i < 20_000; i++) {
+            String name = syllables[random.nextInt(syllables.length)] + syllables[random.nextInt(syllables.length)]
+                    + (random.nextBoolean() ? syllables[random.nextInt(syllables.length)] : "");
+            if (counts.getOrDefault(name, 0) > 0 && random.nextInt(3) == 0) {
+                trie.remove(name);
+                counts.merge(name, -1, Integer::sum);
+            } else {
+                trie.add(name);
+                counts.merge(name, 1, Integer::sum);
+            }
+        }
+
+        // Assert
+        for (String prefix : List.of("a", "an", "ber", "carel", "dem", "e", "sonto", "z")) {
+            List<NameTrie.Suggestion> expected = counts.entrySet().stream()
+                    .filter(entry -> entry.getValue() > 0 && entry.getKey().startsWith(prefix))
+                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                    .limit(5)
+                    .map(entry -> new NameTrie.Suggestion(entry.getKey(), entry.getValue()))
+                    .toList();
+            assertEquals(expected, trie.suggest(prefix, 5), "prefix " + prefix);
+        }
+        assertEquals(counts.values().stream().filter(count -> count > 0).count(), trie.size());
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.spring_claude_demo.sync;
+
+import com.example.spring_claude_demo.model.Employee;
+import com.example.spring_claude_demo.repository.EmployeeRepository;
+import com.example.spring_claude_demo.repository.EmployeeTombstoneRepository;
+import com.example.spring_claude_demo.repository.SyncWatermarkRepository;
+import com.example.spring_claude_demo.service.EmployeeService;
+import com.example.spring_claude_demo.sharding.ShardRouter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Every tombstone is old enough to purge
+@SpringBootTest(properties = "app.sync.tombstone-retention=0s")
+public class EmployeeSyncServiceTest {
+
+    @Autowired
+    private EmployeeSyncService syncService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private SyncWatermarkRepository watermarkRepository;
+
+    @Autowired
+    private ChangeSequence changeSequence;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private SyncProperties properties;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void changesSince_AfterARestart_ShouldStillResetTokensOlderThanPurgedTombstones() {
+        // Arrange
+        Employee employee = employeeService.saveEmployee(new Employee("Purged", "Tombstone",
+                "purged.tombstone@example.com", "555-0129", "Sync Tester", 50000.0, LocalDate.of(2021, 1, 4)));
+        String token = syncService.changesSince(null, null).getNextToken();
+        employeeService.deleteEmployee(employee.getId());
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+        syncService.purgeTombstones();
+
+        // Act
+        EmployeeSyncService restarted = new EmployeeSyncService(employeeRepository, tombstoneRepository,
+                watermarkRepository, changeSequence, shardRouter, properties, transactionManager);
+        restarted.afterPropertiesSet();
+        EmployeeSyncResponse response = restarted.changesSince(token, null);
+
+        // Assert
+        assertTrue(response.isReset());
+        assertTrue(response.getDeletes().isEmpty());
+        assertTrue(response.getUpserts().stream().noneMatch(upsert -> upsert.getId().equals(employee.getId())));
+    }
+}
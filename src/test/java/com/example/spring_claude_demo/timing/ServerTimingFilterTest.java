@@ -0,0 +1,74 @@
+package com.example.spring_claude_demo.timing;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "app.server-timing.enabled=true")
+@AutoConfigureMockMvc
+public class ServerTimingFilterTest {
+
+    private static final Pattern HEADER = Pattern.compile(
+            "db;dur=([\\d.]+);desc=\"(\\d+) statements\", hydration;dur=([\\d.]+), service;dur=(-?[\\d.]+), "
+                    + "serialization;dur=([\\d.]+), total;dur=([\\d.]+)");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void create_ShouldReportStatementsAndPhases() throws Exception {
+        // Arrange
+        String body = """
+                {"firstName":"Server","lastName":"Timing","email":"server.timing@example.com",
+                 "phoneNumber":"555-0142","position":"Tester","salary":51000.0,"hireDate":"2023-05-01"}""";
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/employees").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        // Assert
+        Matcher header = HEADER.matcher(result.getResponse().getHeader(ServerTimingFilter.SERVER_TIMING));
+        assertTrue(header.matches(), result.getResponse().getHeader(ServerTimingFilter.SERVER_TIMING));
+        assertTrue(Integer.parseInt(header.group(2)) >= 1);
+        assertEquals(header.group(2), result.getResponse().getHeader(ServerTimingFilter.SQL_STATEMENT_COUNT));
+        assertTrue(Double.parseDouble(header.group(1)) > 0);
+        assertTrue(Double.parseDouble(header.group(5)) > 0);
+        assertTrue(Double.parseDouble(header.group(6)) >= Double.parseDouble(header.group(1)));
+        assertTrue(result.getResponse().getContentAsString().contains("server.timing@example.com"));
+
+        String id = result.getResponse().getContentAsString().replaceAll(".*\"id\":(\\d+).*", "$1");
+        mockMvc.perform(delete("/api/employees/" + id)).andExpect(status().isOk());
+    }
+
+    @Test
+    void list_ShouldCountQueriesAndKeepBody() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/employees/email").param("contains", "example.com"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ServerTimingFilter.SERVER_TIMING, containsString("statements\"")))
+                .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    void stream_ShouldNotBeBuffered() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/employees/stream"))
+                .andExpect(header().doesNotExist(ServerTimingFilter.SERVER_TIMING))
+                .andExpect(header().doesNotExist(ServerTimingFilter.SQL_STATEMENT_COUNT));
+    }
+}
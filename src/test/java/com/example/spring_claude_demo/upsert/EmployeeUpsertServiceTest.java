@@ -0,0 +1,175 @@
+package com.example.spring_claude_demo.upsert;
+
+import com.example.spring_claude_demo.event.EmployeeChangeEvent;
+import com.example.spring_claude_demo.event.EmployeeChangeType;
+import com.example.spring_claude_demo.model.Employee;
+import com.example.spring_claude_demo.service.EmployeeService;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "app.upsert.chunk-size=2")
+@AutoConfigureMockMvc
+@RecordApplicationEvents
+public class EmployeeUpsertServiceTest {
+
+    // Well clear of the ids the application generates
+    private static final long RACE_WINNER_ID = 1L << 42;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeUpsertService upsertService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private ConcurrentInsert concurrentInsert;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @Test
+    void upsert_WhenRepeated_ShouldOnlyWriteChangedRows() {
+        // Arrange
+        List<Employee> roster = List.of(
+                employee("Ada", "upsert.ada@example.com", 70000.0),
+                employee("Grace", "upsert.grace@example.com", 72000.0),
+                employee("Linus", "upsert.linus@example.com", 74000.0));
+
+        // Act
+        UpsertResult first = upsertService.upsert(roster);
+        Employee ada = employeeService.getEmployeesByEmailContaining("upsert.ada@").get(0);
+        // Warm the caches that the MERGE bypasses
+        employeeService.getEmployeeById(ada.getId());
+        UpsertResult repeated = upsertService.upsert(List.of(
+                employee("Ada", "upsert.ada@example.com", 70000.0),
+                employee("Grace", "upsert.grace@example.com", 72000.0),
+                employee("Linus", "upsert.linus@example.com", 74000.0)));
+        UpsertResult changed = upsertService.upsert(List.of(
+                employee("Ada", "upsert.ada@example.com", 81000.0),
+                employee("Grace", "upsert.grace@example.com", 72000.0)));
+
+        // Assert
+        assertEquals(new UpsertResult(3, 0, 0), first);
+        assertEquals(new UpsertResult(0, 0, 3), repeated);
+        assertEquals(new UpsertResult(0, 1, 1), changed);
+        Employee updated = employeeService.getEmployeeById(ada.getId()).orElseThrow();
+        assertEquals(81000.0, updated.getSalary());
+        assertEquals(1, employeeService.getEmployeesByEmailContaining("upsert.ada@").size());
+        assertTrue(updated.getChangeSeq() > ada.getChangeSeq());
+
+        roster.forEach(employee -> employeeService.deleteEmployee(
+                employeeService.getEmployeesByEmailContaining(employee.getEmail()).get(0).getId()));
+    }
+
+    @Test
+    void upsert_WhenANewRowLosesARace_ShouldCountAndAnnounceTheRowItMatched() {
+        // Arrange: another writer inserts the first email between the lookup and the MERGE
+        concurrentInsert.arm("race.winner@example.com");
+        List<Employee> roster = List.of(
+                employee("Winner", "race.winner@example.com", 70000.0),
+                employee("Fresh", "race.fresh@example.com", 71000.0));
+
+        // Act
+        UpsertResult result = upsertService.upsert(roster);
+
+        // Assert
+        assertEquals(new UpsertResult(1, 1, 0), result);
+        Employee winner = employeeService.getEmployeesByEmailContaining("race.winner@").get(0);
+        Employee fresh = employeeService.getEmployeesByEmailContaining("race.fresh@").get(0);
+        assertEquals(RACE_WINNER_ID, winner.getId());
+        assertEquals(70000.0, winner.getSalary());
+        List<EmployeeChangeEvent> events = applicationEvents.stream(EmployeeChangeEvent.class).toList();
+        assertEquals(List.of(fresh.getId()), events.stream()
+                .filter(event -> event.getType() == EmployeeChangeType.CREATED).map(EmployeeChangeEvent::getEmployeeId).toList());
+        assertEquals(List.of(RACE_WINNER_ID), events.stream()
+                .filter(event -> event.getType() == EmployeeChangeType.UPDATED).map(EmployeeChangeEvent::getEmployeeId).toList());
+
+        employeeService.deleteEmployee(winner.getId());
+        employeeService.deleteEmployee(fresh.getId());
+    }
+
+    @Test
+    void upsertEndpoint_ShouldReturnCountsAndRejectMissingEmail() throws Exception {
+        // Arrange
+        String body = """
+                [{"firstName":"Rest","lastName":"Upsert","email":"rest.upsert@example.com","phoneNumber":"555-0146",
+                  "position":"Tester","salary":50000.0,"hireDate":"2024-01-02"},
+                 {"firstName":"Rest","lastName":"Upsert","email":"rest.upsert@example.com","phoneNumber":"555-0146",
+                  "position":"Lead Tester","salary":50000.0,"hireDate":"2024-01-02"}]""";
+
+        // Act & Assert
+        mockMvc.perform(put("/api/employees/upsert").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(1))
+                .andExpect(jsonPath("$.updated").value(0))
+                .andExpect(jsonPath("$.unchanged").value(0));
+        assertEquals("Lead Tester", employeeService.getEmployeesByEmailContaining("rest.upsert@").get(0).getPosition());
+        mockMvc.perform(put("/api/employees/upsert").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"firstName\":\"No\",\"lastName\":\"Email\"}]"))
+                .andExpect(status().isBadRequest());
+
+        employeeService.deleteEmployee(employeeService.getEmployeesByEmailContaining("rest.upsert@").get(0).getId());
+    }
+
+    private static Employee employee(String firstName, String email, double salary) {
+        return new Employee(firstName, "Upsert", email, "555-0147", "Tester", salary, LocalDate.of(2022, 9, 1));
+    }
+
+    // Inserts a row for the armed email right after the upsert's classifying lookup, once
+    @TestConfiguration
+    static class ConcurrentInsert implements QueryExecutionListener {
+
+        private final AtomicReference<String> armed = new AtomicReference<>();
+        private final ObjectProvider<JdbcTemplate> jdbcTemplate;
+
+        ConcurrentInsert(ObjectProvider<JdbcTemplate> jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        void arm(String email) {
+            armed.set(email);
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            if (queryInfoList.stream().noneMatch(query -> query.getQuery().contains("JOIN employees e ON e.email"))) {
+                return;
+            }
+            String email = armed.getAndSet(null);
+            if (email != null) {
+                jdbcTemplate.getObject().update("INSERT INTO employees (id, first_name, last_name, email, phone_number, "
+                                + "position, salary, hire_date, change_seq) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                        RACE_WINNER_ID, "Other", "Writer", email, "555-0148", "Tester", 60000.0,
+                        Date.valueOf(LocalDate.of(2022, 9, 1)), 0L);
+            }
+        }
+    }
+}